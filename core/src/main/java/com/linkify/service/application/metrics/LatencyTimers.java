@@ -0,0 +1,35 @@
+package com.linkify.service.application.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+
+/**
+ * Meters with percentile histograms, so latency and size percentiles can be aggregated across instances. The expected
+ * ranges keep the number of histogram buckets small.
+ */
+public final class LatencyTimers {
+    private LatencyTimers() {
+    }
+
+    public static Timer timer(MeterRegistry meterRegistry, String name, String... tags) {
+        return Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+
+    public static DistributionSummary bytes(MeterRegistry meterRegistry, String name, String... tags) {
+        return DistributionSummary.builder(name)
+                .baseUnit("bytes")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(16.0)
+                .maximumExpectedValue(65_536.0)
+                .register(meterRegistry);
+    }
+}
@@ -8,7 +8,6 @@ import java.net.URISyntaxException;
 import java.security.SecureRandom;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.util.Base64;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -21,7 +20,7 @@ final public class ShortUrlDomainModel implements DomainModel {
 
     public ShortUrlDomainModel(String originalUrl, String owner, String slug, OffsetDateTime expirationDate) {
         isValidUrl(originalUrl);
-        isExpired(expirationDate);
+        ensureNotExpired(expirationDate);
 
         this.originalUrl = originalUrl;
         this.slug = slug;
@@ -29,6 +28,23 @@ final public class ShortUrlDomainModel implements DomainModel {
         this.expirationDate = expirationDate;
     }
 
+    // Skips validation; the parameter order only sets it apart from the public constructor.
+    private ShortUrlDomainModel(OffsetDateTime expirationDate, String originalUrl, String owner, String slug) {
+        this.originalUrl = originalUrl;
+        this.slug = slug;
+        this.owner = owner;
+        this.expirationDate = expirationDate;
+    }
+
+    /**
+     * Rebuilds a model from storage. Stored URLs were validated when they were created, and expired links are
+     * returned as-is so callers can check {@link #isExpired()} instead of catching {@link UrlExpiredException}.
+     */
+    public static ShortUrlDomainModel restore(String originalUrl, String owner, String slug,
+                                              OffsetDateTime expirationDate) {
+        return new ShortUrlDomainModel(expirationDate, originalUrl, owner, slug);
+    }
+
     private void isValidUrl(String url) {
         if (url == null || url.isEmpty()) {
             throw new InvalidUrlException("URL cannot be empty");
@@ -50,22 +66,37 @@ final public class ShortUrlDomainModel implements DomainModel {
 
     public String getUrlSlug() {
         if (slug == null) {
-            slug = generateSlug();
+            slug = generateSlug(expirationDate != null);
         }
 
         return slug;
     }
 
     public void regenerateSlug() {
-        slug = generateSlug();
+        slug = generateSlug(isExpiringSlug(getUrlSlug()));
     }
 
-    private String generateSlug() {
-        SecureRandom random = new SecureRandom();
-        byte[] bytes = new byte[8];
-        random.nextBytes(bytes);
-        String base64 = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
-        return base64.replace('+', '-').replace('/', '_');
+    public void regenerateSlug(boolean expiring) {
+        slug = generateSlug(expiring);
+    }
+
+    /**
+     * The top bit of a slug's first byte tells storage whether the link lives in the expiry-time layout, so lookups
+     * know where to go without probing. In base64url that bit is set exactly when the first character is one of
+     * {@code g-z}, {@code 0-9}, {@code -} or {@code _}.
+     */
+    public static boolean isExpiringSlug(String slug) {
+        if (slug == null || slug.isEmpty()) {
+            return false;
+        }
+
+        char first = slug.charAt(0);
+        return (first >= 'g' && first <= 'z') || (first >= '0' && first <= '9') || first == '-' || first == '_';
+    }
+
+    private String generateSlug(boolean expiring) {
+        long value = new SecureRandom().nextLong();
+        return SlugCodec.encode(expiring ? value | Long.MIN_VALUE : value & Long.MAX_VALUE);
     }
 
     public String getOwner() {
@@ -76,7 +107,11 @@ final public class ShortUrlDomainModel implements DomainModel {
         return expirationDate;
     }
 
-    private void isExpired(OffsetDateTime expirationDate) {
+    public boolean isExpired() {
+        return expirationDate != null && expirationDate.isBefore(OffsetDateTime.now(ZoneOffset.UTC));
+    }
+
+    private void ensureNotExpired(OffsetDateTime expirationDate) {
         Optional<OffsetDateTime> expirationDateOptional = Optional.ofNullable(expirationDate);
         OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
         if (expirationDateOptional.isPresent() && expirationDateOptional.get().isBefore(now)) {
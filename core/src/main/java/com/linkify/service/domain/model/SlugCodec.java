@@ -0,0 +1,76 @@
+package com.linkify.service.domain.model;
+
+import java.util.Arrays;
+
+/**
+ * Slugs are 8 random bytes in unpadded base64url, so each one is exactly one long. Storage keys links by that long
+ * (and Redis by its 8 big-endian bytes); the 11-character form only exists at the API. Strings that are not in that
+ * form are not slugs of any link.
+ */
+public final class SlugCodec {
+    public static final int LENGTH = 11;
+    private static final char[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private static final int[] VALUES = new int[128];
+
+    static {
+        Arrays.fill(VALUES, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            VALUES[ALPHABET[i]] = i;
+        }
+    }
+
+    private SlugCodec() {
+    }
+
+    public static boolean isValid(String slug) {
+        if (slug == null || slug.length() != LENGTH) {
+            return false;
+        }
+
+        for (int i = 0; i < LENGTH; i++) {
+            char c = slug.charAt(i);
+            if (c >= VALUES.length || VALUES[c] < 0) {
+                return false;
+            }
+        }
+        // 11 characters carry 66 bits; the last 2 are padding and zero in a canonical encoding.
+        return (VALUES[slug.charAt(LENGTH - 1)] & 0b11) == 0;
+    }
+
+    public static long decode(String slug) {
+        if (!isValid(slug)) {
+            throw new IllegalArgumentException("Not a slug: " + slug);
+        }
+
+        long value = 0;
+        for (int i = 0; i < LENGTH - 1; i++) {
+            value = (value << 6) | VALUES[slug.charAt(i)];
+        }
+        return (value << 4) | (VALUES[slug.charAt(LENGTH - 1)] >>> 2);
+    }
+
+    public static String encode(long value) {
+        char[] slug = new char[LENGTH];
+        slug[LENGTH - 1] = ALPHABET[(int) (value & 0xF) << 2];
+        long remaining = value >>> 4;
+        for (int i = LENGTH - 2; i >= 0; i--) {
+            slug[i] = ALPHABET[(int) (remaining & 0x3F)];
+            remaining >>>= 6;
+        }
+        return new String(slug);
+    }
+
+    /**
+     * The 8 big-endian bytes of the slug, as used for Redis keys.
+     */
+    public static byte[] toBytes(String slug) {
+        long value = decode(slug);
+        byte[] bytes = new byte[Long.BYTES];
+        for (int i = Long.BYTES - 1; i >= 0; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,12 @@
+package com.linkify.service.domain.port;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+
+import java.util.List;
+
+public interface ShortUrlBulkLoad {
+    /**
+     * Stores all of the given links in as few round trips as possible.
+     */
+    void saveAll(List<ShortUrlDomainModel> shortUrls);
+}
@@ -0,0 +1,7 @@
+package com.linkify.service.domain.port;
+
+import java.util.Collection;
+
+public interface ShortUrlCacheEviction {
+    void evict(Collection<String> slugs);
+}
@@ -0,0 +1,151 @@
+package com.linkify.service.infrastructure.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkify.service.domain.exception.FailedToFetchException;
+import com.linkify.service.domain.exception.FailedToPersistException;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressor;
+import com.linkify.service.infrastructure.persistence.model.ShortUrlCacheModel;
+import com.linkify.service.infrastructure.persistence.target.UrlFingerprint;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Redis values for cached links. With URL compression enabled a value is a version byte, the expiration date, the
+ * owner and the packed URL; otherwise it is the JSON of {@link ShortUrlCacheModel}. With URL targets enabled the URL
+ * is replaced by its fingerprint, and the URL itself is a separate target value shared by every link to it. All forms
+ * are always read, so turning either feature on or off does not invalidate the cache.
+ */
+@Component
+public class ShortUrlCacheCodec {
+    private static final byte BINARY_V1 = 1;
+    private static final byte TARGET_REFERENCE = 2;
+    private static final byte PLAIN_TARGET = 0;
+    private static final byte PACKED_TARGET = 1;
+
+    private final ObjectMapper objectMapper;
+    private final UrlCompressor urlCompressor;
+    private final UrlTargetCache urlTargetCache;
+
+    @Autowired
+    public ShortUrlCacheCodec(ObjectMapper objectMapper, UrlCompressor urlCompressor, UrlTargetCache urlTargetCache) {
+        this.objectMapper = objectMapper;
+        this.urlCompressor = urlCompressor;
+        this.urlTargetCache = urlTargetCache;
+    }
+
+    public boolean storesTargets() {
+        return urlTargetCache.enabled();
+    }
+
+    public byte[] encode(ShortUrlDomainModel shortUrlDomainModel) throws FailedToPersistException {
+        if (!urlCompressor.enabled()) {
+            try {
+                return objectMapper.writeValueAsString(new ShortUrlCacheModel(shortUrlDomainModel.getOriginalUrl(),
+                                shortUrlDomainModel.getOwner(), shortUrlDomainModel.getExpirationDate()))
+                        .getBytes(StandardCharsets.UTF_8);
+            } catch (Exception e) {
+                throw new FailedToPersistException("Failed to persist the URL", e);
+            }
+        }
+
+        return binary(BINARY_V1, shortUrlDomainModel, urlCompressor.compress(shortUrlDomainModel.getOriginalUrl()));
+    }
+
+    /**
+     * A link value that points at the target value stored under {@code fingerprint}.
+     */
+    public byte[] encodeReference(ShortUrlDomainModel shortUrlDomainModel, UrlFingerprint fingerprint) {
+        return binary(TARGET_REFERENCE, shortUrlDomainModel, fingerprint.toBytes());
+    }
+
+    public byte[] encodeTarget(String originalUrl) {
+        byte[] url = urlCompressor.enabled() ? urlCompressor.compress(originalUrl)
+                : originalUrl.getBytes(StandardCharsets.UTF_8);
+        byte[] value = new byte[1 + url.length];
+        value[0] = urlCompressor.enabled() ? PACKED_TARGET : PLAIN_TARGET;
+        System.arraycopy(url, 0, value, 1, url.length);
+        return value;
+    }
+
+    private static byte[] binary(byte format, ShortUrlDomainModel shortUrlDomainModel, byte[] url) {
+        byte[] owner = shortUrlDomainModel.getOwner().getBytes(StandardCharsets.UTF_8);
+        if (owner.length > 255) {
+            throw new FailedToPersistException("Owner is too long to cache", null);
+        }
+        OffsetDateTime expirationDate = shortUrlDomainModel.getExpirationDate();
+
+        ByteBuffer buffer = ByteBuffer.allocate(2 + (expirationDate == null ? 0 : 12) + 1 + owner.length
+                + url.length);
+        buffer.put(format);
+        if (expirationDate == null) {
+            buffer.put((byte) 0);
+        } else {
+            Instant instant = expirationDate.toInstant();
+            buffer.put((byte) 1).putLong(instant.getEpochSecond()).putInt(instant.getNano());
+        }
+        buffer.put((byte) owner.length).put(owner).put(url);
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a link value. Target references are resolved through the intern cache, then {@code targets}, which
+     * returns the stored target value or {@code null}.
+     *
+     * @return the cached link, or {@code null} if it references a target that is no longer cached
+     */
+    public ShortUrlCacheModel decode(byte[] value, Function<UrlFingerprint, byte[]> targets)
+            throws FailedToFetchException {
+        try {
+            if (value.length > 0 && (value[0] == BINARY_V1 || value[0] == TARGET_REFERENCE)) {
+                return decodeBinary(ByteBuffer.wrap(value), targets);
+            }
+            return objectMapper.readValue(new String(value, StandardCharsets.UTF_8), ShortUrlCacheModel.class);
+        } catch (Exception e) {
+            throw new FailedToFetchException("Error decoding cached short URL", e);
+        }
+    }
+
+    private ShortUrlCacheModel decodeBinary(ByteBuffer buffer, Function<UrlFingerprint, byte[]> targets) {
+        byte format = buffer.get();
+        OffsetDateTime expirationDate = null;
+        if (buffer.get() != 0) {
+            expirationDate = OffsetDateTime.ofInstant(Instant.ofEpochSecond(buffer.getLong(), buffer.getInt()),
+                    ZoneOffset.UTC);
+        }
+
+        byte[] owner = new byte[buffer.get() & 0xFF];
+        buffer.get(owner);
+        byte[] url = new byte[buffer.remaining()];
+        buffer.get(url);
+
+        String originalUrl = format == BINARY_V1 ? urlCompressor.decompress(url)
+                : resolveTarget(UrlFingerprint.fromBytes(url), targets);
+        return originalUrl == null ? null
+                : new ShortUrlCacheModel(originalUrl, new String(owner, StandardCharsets.UTF_8), expirationDate);
+    }
+
+    private String resolveTarget(UrlFingerprint fingerprint, Function<UrlFingerprint, byte[]> targets) {
+        String cached = urlTargetCache.get(fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+
+        byte[] target = targets.apply(fingerprint);
+        if (target == null) {
+            return null;
+        }
+        String url = target[0] == PACKED_TARGET ? urlCompressor.decompress(Arrays.copyOfRange(target, 1, target.length))
+                : new String(target, 1, target.length - 1, StandardCharsets.UTF_8);
+        return urlTargetCache.intern(fingerprint, url);
+    }
+}
@@ -0,0 +1,184 @@
+package com.linkify.service.infrastructure.persistence;
+
+import com.linkify.service.application.metrics.LatencyTimers;
+import com.linkify.service.domain.exception.FailedToPersistException;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.domain.port.ShortUrlBulkLoad;
+import com.linkify.service.domain.port.ShortUrlCacheEviction;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import com.linkify.service.infrastructure.persistence.model.ShortUrlCacheModel;
+import com.linkify.service.infrastructure.persistence.target.UrlFingerprint;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@Repository
+@Profile("!embedded")
+@ConditionalOnProperty(prefix = "linkify.redis-sharding", name = "enabled", havingValue = "false",
+        matchIfMissing = true)
+public class ShortUrlCacheRepository implements ShortUrlPersistence, ShortUrlCacheEviction, ShortUrlBulkLoad {
+    private static final Expiration TTL = Expiration.from(24, TimeUnit.HOURS);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ShortUrlCacheCodec shortUrlCacheCodec;
+    private final Timer getTimer;
+    private final Timer saveTimer;
+    private final DistributionSummary readSize;
+    private final DistributionSummary writeSize;
+
+    @Autowired
+    public ShortUrlCacheRepository(StringRedisTemplate redisTemplate, ShortUrlCacheCodec shortUrlCacheCodec,
+                                   MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.shortUrlCacheCodec = shortUrlCacheCodec;
+        this.getTimer = LatencyTimers.timer(meterRegistry, "linkify.store", "store", "redis", "operation", "get");
+        this.saveTimer = LatencyTimers.timer(meterRegistry, "linkify.store", "store", "redis", "operation", "save");
+        this.readSize = LatencyTimers.bytes(meterRegistry, "linkify.cache.payload", "operation", "read");
+        this.writeSize = LatencyTimers.bytes(meterRegistry, "linkify.cache.payload", "operation", "write");
+    }
+
+    @Override
+    public void save(ShortUrlDomainModel shortUrlDomainModel) {
+        saveTimer.record(() -> store(shortUrlDomainModel));
+    }
+
+    private void store(ShortUrlDomainModel shortUrlDomainModel) {
+        if (shortUrlCacheCodec.storesTargets()) {
+            saveWithTarget(shortUrlDomainModel);
+            return;
+        }
+
+        byte[] value = shortUrlCacheCodec.encode(shortUrlDomainModel);
+        writeSize.record(value.length);
+
+        try {
+            byte[] key = SlugCodec.toBytes(shortUrlDomainModel.getUrlSlug());
+            redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                    .set(key, value, TTL, RedisStringCommands.SetOption.upsert()));
+        } catch (Exception e) {
+            throw new FailedToPersistException("Failed to persist the URL to Redis", e);
+        }
+    }
+
+    /**
+     * Writes the link as a reference and refreshes the shared target in the same round trip. Target keys are the 16
+     * fingerprint bytes, so they never collide with the 8-byte slug keys.
+     */
+    private void saveWithTarget(ShortUrlDomainModel shortUrlDomainModel) {
+        UrlFingerprint fingerprint = UrlFingerprint.of(shortUrlDomainModel.getOriginalUrl());
+        byte[] target = shortUrlCacheCodec.encodeTarget(shortUrlDomainModel.getOriginalUrl());
+        byte[] link = shortUrlCacheCodec.encodeReference(shortUrlDomainModel, fingerprint);
+        writeSize.record(target.length + link.length);
+
+        try {
+            byte[] key = SlugCodec.toBytes(shortUrlDomainModel.getUrlSlug());
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.stringCommands().set(fingerprint.toBytes(), target, TTL,
+                        RedisStringCommands.SetOption.upsert());
+                connection.stringCommands().set(key, link, TTL, RedisStringCommands.SetOption.upsert());
+                return null;
+            });
+        } catch (Exception e) {
+            throw new FailedToPersistException("Failed to persist the URL to Redis", e);
+        }
+    }
+
+    /**
+     * Writes every link in one pipeline, in the same format as {@link #save(ShortUrlDomainModel)}.
+     */
+    @Override
+    public void saveAll(List<ShortUrlDomainModel> shortUrls) {
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (ShortUrlDomainModel shortUrlDomainModel : shortUrls) {
+                    set(connection, shortUrlDomainModel);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            throw new FailedToPersistException("Failed to persist the URLs to Redis", e);
+        }
+    }
+
+    private void set(RedisConnection connection, ShortUrlDomainModel shortUrlDomainModel) {
+        byte[] key = SlugCodec.toBytes(shortUrlDomainModel.getUrlSlug());
+        if (!shortUrlCacheCodec.storesTargets()) {
+            connection.stringCommands().set(key, shortUrlCacheCodec.encode(shortUrlDomainModel), TTL,
+                    RedisStringCommands.SetOption.upsert());
+            return;
+        }
+
+        UrlFingerprint fingerprint = UrlFingerprint.of(shortUrlDomainModel.getOriginalUrl());
+        connection.stringCommands().set(fingerprint.toBytes(),
+                shortUrlCacheCodec.encodeTarget(shortUrlDomainModel.getOriginalUrl()), TTL,
+                RedisStringCommands.SetOption.upsert());
+        connection.stringCommands().set(key, shortUrlCacheCodec.encodeReference(shortUrlDomainModel, fingerprint),
+                TTL, RedisStringCommands.SetOption.upsert());
+    }
+
+    @Override
+    public Optional<ShortUrlDomainModel> getShortUrl(String slug) {
+        if (!SlugCodec.isValid(slug)) {
+            return Optional.empty();
+        }
+
+        return getTimer.record(() -> get(slug));
+    }
+
+    private Optional<ShortUrlDomainModel> get(String slug) {
+        byte[] key = SlugCodec.toBytes(slug);
+        byte[] value = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands()
+                .get(key));
+        if (value == null) {
+            return Optional.empty();
+        }
+        readSize.record(value.length);
+
+        ShortUrlCacheModel shortUrlCacheModel = shortUrlCacheCodec.decode(value, fingerprint ->
+                redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands()
+                        .get(fingerprint.toBytes())));
+        if (shortUrlCacheModel == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(
+                ShortUrlDomainModel.restore(
+                        shortUrlCacheModel.originalUrl(),
+                        shortUrlCacheModel.owner(), slug,
+                        shortUrlCacheModel.expirationDate()
+                )
+        );
+    }
+
+    @Override
+    public Optional<ShortUrlDomainModel> getByOwnerAndOriginalUrl(String owner, String originalUrl) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void evict(Collection<String> slugs) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String slug : slugs) {
+                if (SlugCodec.isValid(slug)) {
+                    connection.keyCommands().unlink(SlugCodec.toBytes(slug));
+                }
+            }
+            return null;
+        });
+    }
+}
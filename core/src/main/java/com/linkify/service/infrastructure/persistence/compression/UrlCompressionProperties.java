@@ -0,0 +1,10 @@
+package com.linkify.service.infrastructure.persistence.compression;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "linkify.url-compression")
+public record UrlCompressionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1") int dictionaryVersion) {
+}
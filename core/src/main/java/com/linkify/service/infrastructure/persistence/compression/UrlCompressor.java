@@ -0,0 +1,187 @@
+package com.linkify.service.infrastructure.persistence.compression;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Packs original URLs with a versioned {@link UrlDictionary}. A packed URL is the dictionary version, the index of
+ * the interned prefix it starts with (0 for none), the method, and the rest of the URL either raw DEFLATE against the
+ * preset dictionary or, when that does not come out smaller, as UTF-8.
+ * <p>
+ * Every dictionary on the classpath can be decoded, so values written with an older version stay readable after the
+ * configured version moves on. When compression is disabled nothing is packed, but packed values are still read.
+ */
+@Component
+public class UrlCompressor {
+    static final int HEADER = 3;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 1;
+
+    Logger logger = LoggerFactory.getLogger(UrlCompressor.class);
+
+    private final Map<Integer, Codec> codecs = new LinkedHashMap<>();
+    private final Codec current;
+
+    @Autowired
+    public UrlCompressor(UrlCompressionProperties properties) {
+        this(classpathDictionaries(), properties.enabled() ? properties.dictionaryVersion() : 0);
+        if (current != null) {
+            logger.info("Packing original URLs with dictionary v{} ({} prefixes, {} byte preset)",
+                    current.dictionary.version(), current.dictionary.prefixes().size(),
+                    current.dictionary.dictionary().length);
+        }
+    }
+
+    /**
+     * @param currentVersion the version new values are packed with, or 0 to leave them unpacked
+     */
+    public UrlCompressor(List<UrlDictionary> dictionaries, int currentVersion) {
+        for (UrlDictionary dictionary : dictionaries) {
+            codecs.put(dictionary.version(), new Codec(dictionary));
+        }
+        if (currentVersion != 0 && !codecs.containsKey(currentVersion)) {
+            throw new IllegalStateException("No URL dictionary v" + currentVersion + " on the classpath");
+        }
+        current = currentVersion == 0 ? null : codecs.get(currentVersion);
+    }
+
+    private static List<UrlDictionary> classpathDictionaries() {
+        List<UrlDictionary> dictionaries = new ArrayList<>();
+        for (int version = 1; version <= 255; version++) {
+            Optional<UrlDictionary> dictionary = UrlDictionary.load(version);
+            if (dictionary.isEmpty()) {
+                break;
+            }
+            dictionaries.add(dictionary.get());
+        }
+        return dictionaries;
+    }
+
+    public boolean enabled() {
+        return current != null;
+    }
+
+    /**
+     * Packs {@code url} with the configured dictionary.
+     *
+     * @throws IllegalStateException when compression is disabled
+     */
+    public byte[] compress(String url) {
+        if (current == null) {
+            throw new IllegalStateException("URL compression is disabled");
+        }
+        return current.compress(url);
+    }
+
+    public String decompress(byte[] packed) {
+        if (packed.length < HEADER) {
+            throw new IllegalArgumentException("Packed URL is shorter than its header");
+        }
+
+        Codec codec = codecs.get(packed[0] & 0xFF);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown URL dictionary v" + (packed[0] & 0xFF));
+        }
+        return codec.decompress(packed);
+    }
+
+    private static final class Codec {
+        private final UrlDictionary dictionary;
+        private final Queue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+        private final Queue<Inflater> inflaters = new ConcurrentLinkedQueue<>();
+
+        private Codec(UrlDictionary dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        byte[] compress(String url) {
+            int prefix = dictionary.longestPrefix(url);
+            byte[] suffix = url.substring(prefix == 0 ? 0 : dictionary.prefix(prefix).length())
+                    .getBytes(StandardCharsets.UTF_8);
+
+            byte[] packed = new byte[HEADER + suffix.length];
+            packed[0] = (byte) dictionary.version();
+            packed[1] = (byte) prefix;
+
+            Deflater deflater = deflaters.poll();
+            if (deflater == null) {
+                deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+            }
+            try {
+                if (dictionary.dictionary().length > 0) {
+                    deflater.setDictionary(dictionary.dictionary());
+                }
+                deflater.setInput(suffix);
+                deflater.finish();
+                int length = deflater.deflate(packed, HEADER, suffix.length);
+                if (deflater.finished() && length < suffix.length) {
+                    packed[2] = DEFLATED;
+                    return Arrays.copyOf(packed, HEADER + length);
+                }
+            } finally {
+                deflater.reset();
+                deflaters.offer(deflater);
+            }
+
+            packed[2] = STORED;
+            System.arraycopy(suffix, 0, packed, HEADER, suffix.length);
+            return packed;
+        }
+
+        String decompress(byte[] packed) {
+            String prefix = packed[1] == 0 ? "" : dictionary.prefix(packed[1] & 0xFF);
+            return switch (packed[2]) {
+                case STORED -> prefix + new String(packed, HEADER, packed.length - HEADER, StandardCharsets.UTF_8);
+                case DEFLATED -> prefix + inflate(packed);
+                default -> throw new IllegalArgumentException("Unknown URL packing method " + packed[2]);
+            };
+        }
+
+        private String inflate(byte[] packed) {
+            Inflater inflater = inflaters.poll();
+            if (inflater == null) {
+                inflater = new Inflater(true);
+            }
+            try {
+                if (dictionary.dictionary().length > 0) {
+                    inflater.setDictionary(dictionary.dictionary());
+                }
+                inflater.setInput(packed, HEADER, packed.length - HEADER);
+
+                byte[] buffer = new byte[Math.max(64, 4 * packed.length)];
+                int length = 0;
+                while (!inflater.finished()) {
+                    if (length == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    }
+                    int inflated = inflater.inflate(buffer, length, buffer.length - length);
+                    if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new IllegalArgumentException("Packed URL is truncated");
+                    }
+                    length += inflated;
+                }
+                return new String(buffer, 0, length, StandardCharsets.UTF_8);
+            } catch (DataFormatException e) {
+                throw new IllegalArgumentException("Packed URL is corrupt", e);
+            } finally {
+                inflater.reset();
+                inflaters.offer(inflater);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.linkify.service.infrastructure.persistence.compression;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One version of the URL compression dictionary: up to 255 interned prefixes, usually scheme and host, and a preset
+ * DEFLATE dictionary of common URL fragments. A version is never changed once values have been written with it;
+ * retraining ships a new version next to the old ones.
+ * <p>
+ * The text form has one entry per line, {@code prefix <value>} or {@code token <value>}. Tokens are concatenated in
+ * file order, so the most useful ones go last where DEFLATE reaches them with the shortest distances.
+ */
+public final class UrlDictionary {
+    public static final int MAX_PREFIXES = 255;
+    static final String RESOURCE = "url-dictionaries/v%d.txt";
+
+    private final int version;
+    private final List<String> prefixes;
+    private final List<String> tokens;
+    private final byte[] dictionary;
+
+    public UrlDictionary(int version, List<String> prefixes, List<String> tokens) {
+        if (version < 1 || version > 255) {
+            throw new IllegalArgumentException("Dictionary version must be between 1 and 255: " + version);
+        }
+        if (prefixes.size() > MAX_PREFIXES) {
+            throw new IllegalArgumentException("At most " + MAX_PREFIXES + " prefixes, got " + prefixes.size());
+        }
+
+        this.version = version;
+        this.prefixes = List.copyOf(prefixes);
+        this.tokens = List.copyOf(tokens);
+        this.dictionary = String.join("", tokens).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Loads {@code url-dictionaries/v<version>.txt} from the classpath.
+     */
+    public static Optional<UrlDictionary> load(int version) {
+        InputStream resource = UrlDictionary.class.getClassLoader().getResourceAsStream(RESOURCE.formatted(version));
+        if (resource == null) {
+            return Optional.empty();
+        }
+
+        try (InputStream inputStream = resource) {
+            return Optional.of(read(version, inputStream));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read URL dictionary v" + version, e);
+        }
+    }
+
+    public static UrlDictionary read(int version, InputStream inputStream) throws IOException {
+        List<String> prefixes = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+
+            int separator = line.indexOf(' ');
+            String kind = separator < 0 ? line : line.substring(0, separator);
+            String value = separator < 0 ? "" : line.substring(separator + 1);
+            switch (kind) {
+                case "prefix" -> prefixes.add(value);
+                case "token" -> tokens.add(value);
+                default -> throw new IOException("Unexpected dictionary line: " + line);
+            }
+        }
+        return new UrlDictionary(version, prefixes, tokens);
+    }
+
+    public void write(Writer writer) throws IOException {
+        writer.write("# URL dictionary v" + version + "\n");
+        for (String prefix : prefixes) {
+            writer.write("prefix " + prefix + "\n");
+        }
+        for (String token : tokens) {
+            writer.write("token " + token + "\n");
+        }
+        writer.flush();
+    }
+
+    public int version() {
+        return version;
+    }
+
+    public List<String> prefixes() {
+        return prefixes;
+    }
+
+    public List<String> tokens() {
+        return tokens;
+    }
+
+    /**
+     * The 1-based index of the longest prefix of {@code url}, or 0 if none matches.
+     */
+    int longestPrefix(String url) {
+        int best = 0;
+        int bestLength = 0;
+        for (int i = 0; i < prefixes.size(); i++) {
+            String prefix = prefixes.get(i);
+            if (prefix.length() > bestLength && url.startsWith(prefix)) {
+                best = i + 1;
+                bestLength = prefix.length();
+            }
+        }
+        return best;
+    }
+
+    String prefix(int index) {
+        if (index < 1 || index > prefixes.size()) {
+            throw new IllegalArgumentException("No prefix " + index + " in URL dictionary v" + version);
+        }
+        return prefixes.get(index - 1);
+    }
+
+    byte[] dictionary() {
+        return dictionary;
+    }
+}
@@ -0,0 +1,97 @@
+package com.linkify.service.infrastructure.persistence.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Maps keys to nodes by placing each node at {@code virtualNodes} points on a 64-bit ring; a key belongs to the first
+ * point at or after its own hash. Adding or removing a node only moves the keys between its points and their
+ * predecessors, about 1/n of all keys.
+ * <p>
+ * Lookups read an immutable snapshot, so membership changes never block them.
+ */
+public class ConsistentHashRing<T> {
+    private final int virtualNodes;
+    private final Map<String, T> nodes = new LinkedHashMap<>();
+    private volatile Snapshot<T> snapshot = new Snapshot<>(Collections.emptyNavigableMap(), Map.of());
+
+    public ConsistentHashRing(int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.virtualNodes = virtualNodes;
+    }
+
+    public synchronized void addNode(String name, T node) {
+        nodes.put(name, node);
+        rebuild();
+    }
+
+    public synchronized T removeNode(String name) {
+        T removed = nodes.remove(name);
+        rebuild();
+        return removed;
+    }
+
+    public T nodeFor(String key) {
+        Snapshot<T> current = snapshot;
+        if (current.ring().isEmpty()) {
+            throw new IllegalStateException("No nodes on the ring");
+        }
+
+        Map.Entry<Long, String> point = current.ring().ceilingEntry(hash(key));
+        String name = point == null ? current.ring().firstEntry().getValue() : point.getValue();
+        return current.nodes().get(name);
+    }
+
+    /**
+     * Groups keys by the node that owns them, keeping their order within each group.
+     */
+    public Map<T, List<String>> partition(Collection<String> keys) {
+        Map<T, List<String>> partitions = new LinkedHashMap<>();
+        for (String key : keys) {
+            partitions.computeIfAbsent(nodeFor(key), node -> new ArrayList<>()).add(key);
+        }
+        return partitions;
+    }
+
+    public Map<String, T> nodes() {
+        return snapshot.nodes();
+    }
+
+    private void rebuild() {
+        NavigableMap<Long, String> points = new TreeMap<>();
+        for (String name : nodes.keySet()) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // On the rare collision the lexicographically smaller name keeps the point, whatever the insertion
+                // order, so every client builds the same ring from the same node list.
+                points.merge(hash(name + '#' + i), name, (a, b) -> a.compareTo(b) <= 0 ? a : b);
+            }
+        }
+        snapshot = new Snapshot<>(Collections.unmodifiableNavigableMap(points),
+                Collections.unmodifiableMap(new LinkedHashMap<>(nodes)));
+    }
+
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private record Snapshot<T>(NavigableMap<Long, String> ring, Map<String, T> nodes) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.linkify.service.infrastructure.persistence.sharding;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.ShortUrlBulkLoad;
+import com.linkify.service.domain.port.ShortUrlCacheEviction;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import com.linkify.service.infrastructure.persistence.ShortUrlCacheRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Spreads the short URL cache over several Redis nodes. Each slug is owned by one node of a
+ * {@link ConsistentHashRing}, and each node is served by its own {@link ShortUrlCacheRepository}.
+ * <p>
+ * After a node is added, the slugs it takes over miss once and are cached again on their next resolve. Slugs that
+ * move back to a node that was removed may find entries it still holds; those are bounded by the cache TTL and their
+ * expiry is checked on every read.
+ */
+public class ShardedShortUrlCacheRepository implements ShortUrlPersistence, ShortUrlCacheEviction, ShortUrlBulkLoad {
+    Logger logger = LoggerFactory.getLogger(ShardedShortUrlCacheRepository.class);
+
+    private final ConsistentHashRing<ShortUrlCacheRepository> ring;
+    private final ExecutorService fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardedShortUrlCacheRepository(ConsistentHashRing<ShortUrlCacheRepository> ring) {
+        this.ring = ring;
+    }
+
+    @Override
+    public void save(ShortUrlDomainModel shortUrlDomainModel) {
+        ring.nodeFor(shortUrlDomainModel.getUrlSlug()).save(shortUrlDomainModel);
+    }
+
+    @Override
+    public Optional<ShortUrlDomainModel> getShortUrl(String slug) {
+        return ring.nodeFor(slug).getShortUrl(slug);
+    }
+
+    @Override
+    public Optional<ShortUrlDomainModel> getByOwnerAndOriginalUrl(String owner, String originalUrl) {
+        return Optional.empty();
+    }
+
+    /**
+     * Sends one pipeline per node, all nodes at once, and returns when every node has answered.
+     */
+    @Override
+    public void evict(Collection<String> slugs) {
+        Map<ShortUrlCacheRepository, List<String>> partitions = ring.partition(slugs);
+        if (partitions.size() == 1) {
+            partitions.forEach(ShortUrlCacheRepository::evict);
+            return;
+        }
+
+        List<CompletableFuture<Void>> pipelines = new ArrayList<>(partitions.size());
+        partitions.forEach((shard, batch) ->
+                pipelines.add(CompletableFuture.runAsync(() -> shard.evict(batch), fanOutExecutor)));
+        CompletableFuture.allOf(pipelines.toArray(CompletableFuture[]::new)).join();
+    }
+
+    /**
+     * Groups the links by owning node and loads each group with one pipeline, all nodes at once.
+     */
+    @Override
+    public void saveAll(List<ShortUrlDomainModel> shortUrls) {
+        Map<ShortUrlCacheRepository, List<ShortUrlDomainModel>> partitions = new HashMap<>();
+        for (ShortUrlDomainModel shortUrlDomainModel : shortUrls) {
+            partitions.computeIfAbsent(ring.nodeFor(shortUrlDomainModel.getUrlSlug()), shard -> new ArrayList<>())
+                    .add(shortUrlDomainModel);
+        }
+
+        List<CompletableFuture<Void>> pipelines = new ArrayList<>(partitions.size());
+        partitions.forEach((shard, batch) ->
+                pipelines.add(CompletableFuture.runAsync(() -> shard.saveAll(batch), fanOutExecutor)));
+        CompletableFuture.allOf(pipelines.toArray(CompletableFuture[]::new)).join();
+    }
+
+    public void addShard(String name, ShortUrlCacheRepository shard) {
+        ring.addNode(name, shard);
+        logger.info("Added Redis shard {}, {} shards on the ring", name, ring.nodes().size());
+    }
+
+    public Optional<ShortUrlCacheRepository> removeShard(String name) {
+        ShortUrlCacheRepository removed = ring.removeNode(name);
+        logger.info("Removed Redis shard {}, {} shards on the ring", name, ring.nodes().size());
+        return Optional.ofNullable(removed);
+    }
+
+    public Map<String, ShortUrlCacheRepository> shards() {
+        return ring.nodes();
+    }
+}
@@ -0,0 +1,71 @@
+package com.linkify.service.infrastructure.persistence.target;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process intern table of recently seen destinations, keyed by fingerprint, so links to a hot URL share one
+ * {@code String} instead of a copy per row read. It is direct-mapped: a fingerprint has a single slot, and a newer
+ * target takes it over. Reads and writes race by design; entries are immutable, so a reader sees either the old or
+ * the new one.
+ * <p>
+ * A hit says nothing about what is stored: writers still upsert the url_target row every time.
+ */
+@Component
+public class UrlTargetCache {
+    private final boolean enabled;
+    private final Entry[] entries;
+    private final int mask;
+
+    @Autowired
+    public UrlTargetCache(UrlTargetProperties properties) {
+        this.enabled = properties.enabled();
+        int size = properties.internCacheSize() <= 0 ? 0 : Integer.highestOneBit(properties.internCacheSize());
+        this.entries = new Entry[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Whether new links are written as references to a shared target. References are resolved either way.
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public String get(UrlFingerprint fingerprint) {
+        if (entries.length == 0) {
+            return null;
+        }
+
+        Entry entry = entries[index(fingerprint)];
+        return entry != null && entry.fingerprint().equals(fingerprint) ? entry.url() : null;
+    }
+
+    /**
+     * Returns the cached instance of the target, or caches and returns {@code url}.
+     */
+    public String intern(UrlFingerprint fingerprint, String url) {
+        if (entries.length == 0) {
+            return url;
+        }
+
+        int index = index(fingerprint);
+        Entry entry = entries[index];
+        if (entry != null && entry.fingerprint().equals(fingerprint)) {
+            return entry.url();
+        }
+        entries[index] = new Entry(fingerprint, url);
+        return url;
+    }
+
+    public int capacity() {
+        return entries.length;
+    }
+
+    private int index(UrlFingerprint fingerprint) {
+        return (int) fingerprint.low() & mask;
+    }
+
+    private record Entry(UrlFingerprint fingerprint, String url) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.linkify.service.infrastructure.persistence.target;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "linkify.url-targets")
+public record UrlTargetProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("65536") int internCacheSize) {
+}
@@ -187,4 +187,55 @@ final class ShortUrlDomainModelTest {
         // Then
         assertNotEquals(hashCode1, hashCode2);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testRestoreKeepsExpiredLinkWithoutThrowing() {
+        // Given & When
+        ShortUrlDomainModel shortUrlDomainModel = assertDoesNotThrow(() -> ShortUrlDomainModel.restore(
+                "https://www.google.com", "Michal", "slug", OffsetDateTime.now().minusDays(1)));
+
+        // Then
+        assertTrue(shortUrlDomainModel.isExpired());
+        assertEquals("slug", shortUrlDomainModel.getUrlSlug());
+    }
+
+    @Test
+    void testIsExpiredReturnsFalseForPermanentOrFutureLinks() {
+        // Given
+        ShortUrlDomainModel permanent = new ShortUrlDomainModel("https://www.google.com", "Michal", null, null);
+        ShortUrlDomainModel future = new ShortUrlDomainModel("https://www.google.com", "Michal", null,
+                OffsetDateTime.now().plusDays(1));
+
+        // When & Then
+        assertFalse(permanent.isExpired());
+        assertFalse(future.isExpired());
+    }
+
+    @Test
+    void testGeneratedSlugCarriesExpiringHintOnlyForExpiringLinks() {
+        for (int i = 0; i < 100; i++) {
+            // Given
+            ShortUrlDomainModel expiring = new ShortUrlDomainModel("https://www.google.com", "Michal", null,
+                    OffsetDateTime.now().plusDays(1));
+            ShortUrlDomainModel permanent = new ShortUrlDomainModel("https://www.google.com", "Michal", null, null);
+
+            // When & Then
+            assertTrue(ShortUrlDomainModel.isExpiringSlug(expiring.getUrlSlug()));
+            assertFalse(ShortUrlDomainModel.isExpiringSlug(permanent.getUrlSlug()));
+        }
+    }
+
+    @Test
+    void testRegenerateSlugKeepsExpiringHint() {
+        // Given
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("https://www.google.com", "Michal", null,
+                OffsetDateTime.now().plusDays(1));
+        shortUrlDomainModel.getUrlSlug();
+
+        // When
+        shortUrlDomainModel.regenerateSlug();
+
+        // Then
+        assertTrue(ShortUrlDomainModel.isExpiringSlug(shortUrlDomainModel.getUrlSlug()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.linkify.service.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+final class SlugCodecTest {
+
+    @Test
+    void testGeneratedSlugsRoundTripThroughDistinctValues() {
+        // Given
+        Set<Long> values = new HashSet<>();
+
+        for (int i = 0; i < 1000; i++) {
+            String slug = new ShortUrlDomainModel("https://example.com", "owner", null, null).getUrlSlug();
+
+            // When
+            long value = SlugCodec.decode(slug);
+
+            // Then
+            assertTrue(SlugCodec.isValid(slug));
+            assertTrue(values.add(value));
+            assertEquals(slug, SlugCodec.encode(value));
+        }
+    }
+
+    @Test
+    void testBytesMatchBase64UrlDecoding() {
+        // Given
+        Random random = new Random(42);
+        byte[] bytes = new byte[8];
+
+        for (int i = 0; i < 1000; i++) {
+            random.nextBytes(bytes);
+            String slug = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+            // When & Then
+            assertArrayEquals(bytes, SlugCodec.toBytes(slug));
+        }
+    }
+
+    @Test
+    void testExpiringHintIsTheSignBit() {
+        // Given
+        String expiring = new ShortUrlDomainModel("https://example.com", "owner", null,
+                OffsetDateTime.now().plusDays(1)).getUrlSlug();
+        String permanent = new ShortUrlDomainModel("https://example.com", "owner", null, null).getUrlSlug();
+
+        // When & Then
+        assertTrue(SlugCodec.decode(expiring) < 0);
+        assertTrue(SlugCodec.decode(permanent) >= 0);
+    }
+
+    @Test
+    void testEncodesBoundaryValues() {
+        // Given & When & Then
+        assertEquals("AAAAAAAAAAA", SlugCodec.encode(0L));
+        assertEquals("__________8", SlugCodec.encode(-1L));
+        assertEquals("AAAAAAAAAAE", SlugCodec.encode(1L));
+        assertEquals("gAAAAAAAAAA", SlugCodec.encode(Long.MIN_VALUE));
+    }
+
+    @Test
+    void testStringsOutsideSlugFormAreRejected() {
+        // Given & When & Then
+        assertFalse(SlugCodec.isValid(null));
+        assertFalse(SlugCodec.isValid("slug"));
+        assertFalse(SlugCodec.isValid("AAAAAAAAAA+"));
+        assertFalse(SlugCodec.isValid("AAAAAAAAAAB"));
+        assertThrows(IllegalArgumentException.class, () -> SlugCodec.decode("slug"));
+    }
+}
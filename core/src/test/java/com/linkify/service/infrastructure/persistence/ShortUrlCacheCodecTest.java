@@ -0,0 +1,125 @@
+package com.linkify.service.infrastructure.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.linkify.service.domain.exception.FailedToFetchException;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressor;
+import com.linkify.service.infrastructure.persistence.compression.UrlDictionary;
+import com.linkify.service.infrastructure.persistence.model.ShortUrlCacheModel;
+import com.linkify.service.infrastructure.persistence.target.UrlFingerprint;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetCache;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetProperties;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShortUrlCacheCodecTest {
+    private static final String URL = "https://www.example.com/products/sale?utm_source=newsletter&utm_medium=email";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final UrlDictionary v1 = UrlDictionary.load(1).orElseThrow();
+
+    @Test
+    public void testWritesJsonWhenCompressionIsDisabled() {
+        // Given
+        ShortUrlCacheCodec codec = codec(0, false);
+
+        // When
+        byte[] value = codec.encode(new ShortUrlDomainModel(URL, "owner", "unknownSlug", null));
+
+        // Then
+        assertTrue(new String(value, StandardCharsets.UTF_8).startsWith("{"));
+        assertEquals(new ShortUrlCacheModel(URL, "owner", null), codec.decode(value, fingerprint -> null));
+    }
+
+    @Test
+    public void testPackedValueRoundTripsAndIsSmallerThanJson() {
+        // Given
+        ShortUrlCacheCodec json = codec(0, false);
+        ShortUrlCacheCodec packed = codec(1, false);
+        OffsetDateTime expirationDate = OffsetDateTime.of(2030, 1, 2, 3, 4, 5, 6, ZoneOffset.UTC);
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(URL, "owner", "unknownSlug",
+                expirationDate);
+
+        // When
+        byte[] value = packed.encode(shortUrlDomainModel);
+
+        // Then
+        assertTrue(value.length < json.encode(shortUrlDomainModel).length);
+        assertEquals(new ShortUrlCacheModel(URL, "owner", expirationDate), packed.decode(value, fingerprint -> null));
+    }
+
+    @Test
+    public void testReadsBothFormatsWhateverItWrites() {
+        // Given
+        ShortUrlCacheCodec json = codec(0, false);
+        ShortUrlCacheCodec packed = codec(1, false);
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(URL, "owner", "unknownSlug", null);
+
+        // When & Then
+        assertEquals(URL, json.decode(packed.encode(shortUrlDomainModel), fingerprint -> null).originalUrl());
+        assertEquals(URL, packed.decode(json.encode(shortUrlDomainModel), fingerprint -> null).originalUrl());
+    }
+
+    @Test
+    public void testDecodeThrowsFailedToFetchExceptionForUnknownDictionary() {
+        // Given
+        ShortUrlCacheCodec codec = codec(1, false);
+        byte[] value = codec.encode(new ShortUrlDomainModel(URL, "owner", "unknownSlug", null));
+        value[value.length - new UrlCompressor(List.of(v1), 1).compress(URL).length] = 9;
+
+        // When & Then
+        assertThrows(FailedToFetchException.class, () -> codec.decode(value, fingerprint -> null));
+    }
+
+    @Test
+    public void testReferenceResolvesTargetOnceAndThenFromInternCache() {
+        // Given
+        ShortUrlCacheCodec codec = codec(1, true);
+        UrlFingerprint fingerprint = UrlFingerprint.of(URL);
+        byte[] reference = codec.encodeReference(new ShortUrlDomainModel(URL, "owner", "unknownSlug", null),
+                fingerprint);
+        byte[] target = codec.encodeTarget(URL);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        ShortUrlCacheModel first = codec.decode(reference, requested -> {
+            loads.incrementAndGet();
+            return requested.equals(fingerprint) ? target : null;
+        });
+        ShortUrlCacheModel second = codec.decode(reference, requested -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        // Then
+        assertEquals(new ShortUrlCacheModel(URL, "owner", null), first);
+        assertEquals(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testReferenceToMissingTargetDecodesToNull() {
+        // Given
+        ShortUrlCacheCodec codec = codec(0, true);
+        byte[] reference = codec.encodeReference(new ShortUrlDomainModel(URL, "owner", "unknownSlug", null),
+                UrlFingerprint.of(URL));
+
+        // When & Then
+        assertNull(codec.decode(reference, fingerprint -> null));
+    }
+
+    private ShortUrlCacheCodec codec(int dictionaryVersion, boolean targets) {
+        return new ShortUrlCacheCodec(objectMapper, new UrlCompressor(List.of(v1), dictionaryVersion),
+                new UrlTargetCache(new UrlTargetProperties(targets, 16)));
+    }
+}
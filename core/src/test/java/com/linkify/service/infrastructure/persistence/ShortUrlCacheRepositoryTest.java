@@ -0,0 +1,281 @@
+package com.linkify.service.infrastructure.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkify.service.domain.exception.FailedToFetchException;
+import com.linkify.service.domain.exception.FailedToPersistException;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressor;
+import com.linkify.service.infrastructure.persistence.model.ShortUrlCacheModel;
+import com.linkify.service.infrastructure.persistence.target.UrlFingerprint;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetCache;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+
+public class ShortUrlCacheRepositoryTest {
+    private static final String SLUG = "unknownSlug";
+    private static final String JSON = "{\"originalUrl\":\"http://example.com\",\"owner\":\"owner\"," +
+            "\"expirationDate\":null}";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ShortUrlCacheRepository shortUrlCacheRepository;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        shortUrlCacheRepository = new ShortUrlCacheRepository(redisTemplate,
+                new ShortUrlCacheCodec(objectMapper, new UrlCompressor(List.of(), 0),
+                        new UrlTargetCache(new UrlTargetProperties(false, 0))), meterRegistry);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+    }
+
+    @Test
+    public void testSaveSuccessfully() throws FailedToPersistException, JsonProcessingException {
+        // Given
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("http://example.com", "owner", SLUG, null);
+        ShortUrlCacheModel shortUrlCacheModel = new ShortUrlCacheModel(shortUrlDomainModel.getOriginalUrl(),
+                shortUrlDomainModel.getOwner(), shortUrlDomainModel.getExpirationDate());
+
+        // When
+        when(objectMapper.writeValueAsString(shortUrlCacheModel)).thenReturn(JSON);
+
+        shortUrlCacheRepository.save(shortUrlDomainModel);
+
+        // Then
+        verify(stringCommands).set(aryEq(SlugCodec.toBytes(SLUG)), aryEq(JSON.getBytes(StandardCharsets.UTF_8)),
+                any(), any());
+        assertEquals(JSON.length(), meterRegistry.get("linkify.cache.payload").tag("operation", "write")
+                .summary().totalAmount());
+        assertEquals(1, meterRegistry.get("linkify.store").tags("store", "redis", "operation", "save").timer()
+                .count());
+    }
+
+    @Test
+    public void testSaveUsesEightByteKey() throws JsonProcessingException {
+        // Given
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("http://example.com", "owner", SLUG, null);
+        when(objectMapper.writeValueAsString(any())).thenReturn(JSON);
+
+        // When
+        shortUrlCacheRepository.save(shortUrlDomainModel);
+
+        // Then
+        verify(stringCommands).set(argThat(key -> key.length == Long.BYTES), any(), any(), any());
+    }
+
+    @Test
+    public void testSaveThrowsFailedToPersistException() throws JsonProcessingException {
+        // Given
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("http://example.com", "owner", SLUG, null);
+        ShortUrlCacheModel shortUrlCacheModel = new ShortUrlCacheModel(shortUrlDomainModel.getOriginalUrl(),
+                shortUrlDomainModel.getOwner(), shortUrlDomainModel.getExpirationDate());
+
+        when(objectMapper.writeValueAsString(shortUrlCacheModel)).thenReturn(JSON);
+        doThrow(RuntimeException.class).when(stringCommands).set(any(), any(), any(), any());
+
+        // Then
+        assertThrows(FailedToPersistException.class, () -> {
+            shortUrlCacheRepository.save(shortUrlDomainModel);
+        });
+
+        verify(stringCommands).set(aryEq(SlugCodec.toBytes(SLUG)), any(), any(), any());
+    }
+
+    @Test
+    public void testGetShortUrlThrowsFailedToFetchException() throws JsonProcessingException {
+        // Given
+        String json = "invalid json";
+
+        when(stringCommands.get(aryEq(SlugCodec.toBytes(SLUG)))).thenReturn(json.getBytes(StandardCharsets.UTF_8));
+
+        when(objectMapper.readValue(json, ShortUrlCacheModel.class)).thenThrow(JsonProcessingException.class);
+
+        // Then
+        assertThrows(FailedToFetchException.class, () -> {
+            shortUrlCacheRepository.getShortUrl(SLUG);
+        });
+
+        verify(stringCommands).get(aryEq(SlugCodec.toBytes(SLUG)));
+        verify(objectMapper).readValue(json, ShortUrlCacheModel.class);
+    }
+
+    @Test
+    public void testGetShortUrlReturnsNull() throws JsonProcessingException, FailedToFetchException {
+        // Given
+        when(stringCommands.get(any())).thenReturn(null);
+
+        // When
+        Optional<ShortUrlDomainModel> result = shortUrlCacheRepository.getShortUrl(SLUG);
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void testGetShortUrlSkipsRedisForStringsThatAreNotSlugs() {
+        // When
+        Optional<ShortUrlDomainModel> result = shortUrlCacheRepository.getShortUrl("not-a-slug");
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(stringCommands);
+    }
+
+    @Test
+    public void testGetShortUrlSuccessfully() throws JsonProcessingException, FailedToFetchException {
+        // Given
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("http://example.com", "owner", SLUG, null);
+        ShortUrlCacheModel shortUrlCacheModel = new ShortUrlCacheModel(shortUrlDomainModel.getOriginalUrl(),
+                shortUrlDomainModel.getOwner(), shortUrlDomainModel.getExpirationDate());
+
+        // When
+        when(stringCommands.get(aryEq(SlugCodec.toBytes(SLUG)))).thenReturn(JSON.getBytes(StandardCharsets.UTF_8));
+        when(objectMapper.readValue(JSON, ShortUrlCacheModel.class)).thenReturn(shortUrlCacheModel);
+
+        Optional<ShortUrlDomainModel> result = shortUrlCacheRepository.getShortUrl(SLUG);
+
+        // Then
+        assertEquals(shortUrlDomainModel, result.get());
+    }
+
+    @Test
+    public void testEvictUnlinksEightByteKeys() {
+        // Given
+        RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+
+        // When
+        shortUrlCacheRepository.evict(List.of(SLUG));
+
+        // Then
+        verify(keyCommands).unlink(aryEq(SlugCodec.toBytes(SLUG)));
+    }
+
+    @Test
+    public void testSaveAllWritesEveryLinkInOnePipeline() throws JsonProcessingException {
+        // Given
+        String otherSlug = SlugCodec.encode(42);
+        when(objectMapper.writeValueAsString(any())).thenReturn(JSON);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+
+        // When
+        shortUrlCacheRepository.saveAll(List.of(
+                new ShortUrlDomainModel("http://example.com", "owner", SLUG, null),
+                new ShortUrlDomainModel("http://example.com", "owner", otherSlug, null)));
+
+        // Then
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verify(stringCommands).set(aryEq(SlugCodec.toBytes(SLUG)), any(), any(), any());
+        verify(stringCommands).set(aryEq(SlugCodec.toBytes(otherSlug)), any(), any(), any());
+    }
+
+    @Test
+    public void testSaveWritesReferenceAndSharedTargetWhenTargetsAreEnabled() {
+        // Given
+        shortUrlCacheRepository = new ShortUrlCacheRepository(redisTemplate,
+                new ShortUrlCacheCodec(objectMapper, new UrlCompressor(List.of(), 0),
+                        new UrlTargetCache(new UrlTargetProperties(true, 16))), meterRegistry);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+
+        // When
+        shortUrlCacheRepository.save(new ShortUrlDomainModel("http://example.com", "owner", SLUG, null));
+
+        // Then
+        verify(stringCommands).set(aryEq(UrlFingerprint.of("http://example.com").toBytes()), any(), any(), any());
+        verify(stringCommands).set(aryEq(SlugCodec.toBytes(SLUG)), argThat(value -> value[0] == 2), any(), any());
+    }
+
+    @Test
+    public void testGetShortUrlReturnsEmptyWhenTargetIsNoLongerCached() {
+        // Given
+        ShortUrlCacheCodec codec = new ShortUrlCacheCodec(objectMapper, new UrlCompressor(List.of(), 0),
+                new UrlTargetCache(new UrlTargetProperties(true, 0)));
+        shortUrlCacheRepository = new ShortUrlCacheRepository(redisTemplate, codec, meterRegistry);
+        byte[] reference = codec.encodeReference(new ShortUrlDomainModel("http://example.com", "owner", SLUG, null),
+                UrlFingerprint.of("http://example.com"));
+        when(stringCommands.get(aryEq(SlugCodec.toBytes(SLUG)))).thenReturn(reference);
+
+        // When
+        Optional<ShortUrlDomainModel> result = shortUrlCacheRepository.getShortUrl(SLUG);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(stringCommands).get(aryEq(UrlFingerprint.of("http://example.com").toBytes()));
+    }
+
+    @Test
+    public void testGetByOwnerAndOriginalUrlReturnsEmptyOptional() {
+        // Given
+        String owner = "owner";
+        String originalUrl = "http://example.com";
+
+        // When
+        Optional<ShortUrlDomainModel> result = shortUrlCacheRepository.getByOwnerAndOriginalUrl(owner, originalUrl);
+
+        // Then
+        assertEquals(Optional.empty(), result);
+    }
+
+    @Test
+    public void testToJsonThrowsFailedToPersistException() throws Exception {
+        // Given
+        ShortUrlCacheModel shortUrlCacheModel = new ShortUrlCacheModel("http://example.com", "owner", null);
+
+        // Mock ObjectMapper to throw an exception when writeValueAsString is called
+        when(objectMapper.writeValueAsString(shortUrlCacheModel)).thenThrow(new JsonProcessingException(
+                "Serialization error") {});
+
+        // Then
+        FailedToPersistException exception = assertThrows(FailedToPersistException.class, () -> {
+            shortUrlCacheRepository.save(new ShortUrlDomainModel("http://example.com", "owner", SLUG, null));
+        });
+
+        // Verify the exception message
+        assertEquals("Failed to persist the URL", exception.getMessage());
+        assertInstanceOf(JsonProcessingException.class, exception.getCause());
+    }
+}
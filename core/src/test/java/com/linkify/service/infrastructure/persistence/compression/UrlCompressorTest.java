@@ -0,0 +1,91 @@
+package com.linkify.service.infrastructure.persistence.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UrlCompressorTest {
+    private final UrlDictionary v1 = UrlDictionary.load(1).orElseThrow();
+
+    @Test
+    public void testRoundTripsUrls() {
+        // Given
+        UrlCompressor urlCompressor = new UrlCompressor(List.of(v1), 1);
+
+        // When & Then
+        Stream.of("https://www.youtube.com/watch?v=dQw4w9WgXcQ",
+                "https://example.com/blog/article?utm_source=newsletter&utm_medium=email&utm_campaign=spring",
+                "http://a.b/", "https://www.", "ftp://x", "https://bücher.example/straße?q=ß")
+                .forEach(url -> assertEquals(url, urlCompressor.decompress(urlCompressor.compress(url))));
+    }
+
+    @Test
+    public void testInternsLongestPrefix() {
+        // Given
+        UrlCompressor urlCompressor = new UrlCompressor(List.of(v1), 1);
+
+        // When
+        byte[] packed = urlCompressor.compress("https://www.youtube.com/watch?v=dQw4w9WgXcQ");
+
+        // Then
+        assertEquals(v1.prefixes().indexOf("https://www.youtube.com/watch?v=") + 1, packed[1]);
+        assertEquals(UrlCompressor.HEADER + "dQw4w9WgXcQ".length(), packed.length);
+    }
+
+    @Test
+    public void testPackedTrackingParametersAreSmallerThanTheUrl() {
+        // Given
+        UrlCompressor urlCompressor = new UrlCompressor(List.of(v1), 1);
+        String url = "https://shop.example.com/products/summer-sale?utm_source=newsletter&utm_medium=email" +
+                "&utm_campaign=summer-sale&utm_content=header";
+
+        // When
+        byte[] packed = urlCompressor.compress(url);
+
+        // Then
+        assertTrue(packed.length < url.length() / 2, "packed to " + packed.length + " bytes");
+    }
+
+    @Test
+    public void testKeepsReadingOlderDictionaryVersions() {
+        // Given
+        byte[] packedWithV1 = new UrlCompressor(List.of(v1), 1).compress("https://github.com/linkify/service");
+        UrlDictionary v2 = new UrlDictionary(2, List.of("https://github.com/linkify/"), List.of("service"));
+        UrlCompressor urlCompressor = new UrlCompressor(List.of(v1, v2), 2);
+
+        // When
+        byte[] packedWithV2 = urlCompressor.compress("https://github.com/linkify/service");
+
+        // Then
+        assertEquals(2, packedWithV2[0]);
+        assertEquals("https://github.com/linkify/service", urlCompressor.decompress(packedWithV1));
+        assertEquals("https://github.com/linkify/service", urlCompressor.decompress(packedWithV2));
+    }
+
+    @Test
+    public void testRejectsUnknownVersionsAndCorruptValues() {
+        // Given
+        UrlCompressor urlCompressor = new UrlCompressor(List.of(v1), 1);
+        byte[] packed = urlCompressor.compress("https://example.com/blog/article?utm_source=newsletter");
+
+        // When
+        packed[0] = 9;
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> urlCompressor.decompress(packed));
+        assertThrows(IllegalArgumentException.class, () -> urlCompressor.decompress(new byte[]{1, 0}));
+        assertThrows(IllegalStateException.class, () -> new UrlCompressor(List.of(v1), 2));
+    }
+
+    @Test
+    public void testCompressThrowsWhenDisabled() {
+        // Given
+        UrlCompressor urlCompressor = new UrlCompressor(new UrlCompressionProperties(false, 1));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> urlCompressor.compress("https://example.com"));
+    }
+}
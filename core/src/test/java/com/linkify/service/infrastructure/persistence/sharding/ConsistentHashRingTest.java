@@ -0,0 +1,137 @@
+package com.linkify.service.infrastructure.persistence.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConsistentHashRingTest {
+    private static final int KEYS = 100_000;
+
+    @Test
+    public void testSpreadsKeysEvenlyAcrossNodes() {
+        // Given
+        ConsistentHashRing<String> ring = ring("a", "b", "c", "d");
+
+        // When
+        Map<String, Integer> counts = new HashMap<>();
+        for (String key : keys()) {
+            counts.merge(ring.nodeFor(key), 1, Integer::sum);
+        }
+
+        // Then
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertTrue(Math.abs(count - KEYS / 4) < KEYS / 4 * 0.2, "unbalanced: " + counts);
+        }
+    }
+
+    @Test
+    public void testAddingNodeOnlyMovesKeysToTheNewNode() {
+        // Given
+        ConsistentHashRing<String> ring = ring("a", "b", "c");
+        Map<String, String> before = assignments(ring);
+
+        // When
+        ring.addNode("d", "d");
+
+        // Then
+        int moved = 0;
+        for (Map.Entry<String, String> entry : before.entrySet()) {
+            String owner = ring.nodeFor(entry.getKey());
+            if (!owner.equals(entry.getValue())) {
+                assertEquals("d", owner);
+                moved++;
+            }
+        }
+        assertTrue(Math.abs(moved - KEYS / 4) < KEYS / 4 * 0.2, "moved " + moved);
+    }
+
+    @Test
+    public void testRemovingNodeOnlyMovesItsOwnKeys() {
+        // Given
+        ConsistentHashRing<String> ring = ring("a", "b", "c", "d");
+        Map<String, String> before = assignments(ring);
+
+        // When
+        String removed = ring.removeNode("b");
+
+        // Then
+        assertEquals("b", removed);
+        for (Map.Entry<String, String> entry : before.entrySet()) {
+            String owner = ring.nodeFor(entry.getKey());
+            if (entry.getValue().equals("b")) {
+                assertNotEquals("b", owner);
+            } else {
+                assertEquals(entry.getValue(), owner);
+            }
+        }
+    }
+
+    @Test
+    public void testSameNodesGiveSameRingWhateverTheOrder() {
+        // Given
+        ConsistentHashRing<String> first = ring("a", "b", "c");
+        ConsistentHashRing<String> second = ring("c", "a", "b");
+
+        // When & Then
+        assertEquals(assignments(first), assignments(second));
+    }
+
+    @Test
+    public void testPartitionGroupsKeysByOwner() {
+        // Given
+        ConsistentHashRing<String> ring = ring("a", "b", "c");
+        List<String> keys = keys().subList(0, 1000);
+
+        // When
+        Map<String, List<String>> partitions = ring.partition(keys);
+
+        // Then
+        int total = 0;
+        for (Map.Entry<String, List<String>> partition : partitions.entrySet()) {
+            for (String key : partition.getValue()) {
+                assertEquals(partition.getKey(), ring.nodeFor(key));
+            }
+            total += partition.getValue().size();
+        }
+        assertEquals(keys.size(), total);
+    }
+
+    @Test
+    public void testEmptyRingRejectsLookups() {
+        // Given
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(160);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> ring.nodeFor("slug"));
+    }
+
+    private static ConsistentHashRing<String> ring(String... nodes) {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(160);
+        for (String node : nodes) {
+            ring.addNode(node, node);
+        }
+        return ring;
+    }
+
+    private static Map<String, String> assignments(ConsistentHashRing<String> ring) {
+        Map<String, String> assignments = new HashMap<>();
+        for (String key : keys()) {
+            assignments.put(key, ring.nodeFor(key));
+        }
+        return assignments;
+    }
+
+    private static List<String> keys() {
+        List<String> keys = new ArrayList<>(KEYS);
+        for (int i = 0; i < KEYS; i++) {
+            keys.add("slug-" + i);
+        }
+        return keys;
+    }
+}
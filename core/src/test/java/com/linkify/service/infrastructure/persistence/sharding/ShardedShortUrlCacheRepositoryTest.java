@@ -0,0 +1,126 @@
+package com.linkify.service.infrastructure.persistence.sharding;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.infrastructure.persistence.ShortUrlCacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ShardedShortUrlCacheRepositoryTest {
+
+    private ShortUrlCacheRepository first;
+    private ShortUrlCacheRepository second;
+    private ShortUrlCacheRepository third;
+    private ConsistentHashRing<ShortUrlCacheRepository> ring;
+    private ShardedShortUrlCacheRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        first = mock(ShortUrlCacheRepository.class);
+        second = mock(ShortUrlCacheRepository.class);
+        third = mock(ShortUrlCacheRepository.class);
+        ring = new ConsistentHashRing<>(160);
+        ring.addNode("redis-1:6379", first);
+        ring.addNode("redis-2:6379", second);
+        ring.addNode("redis-3:6379", third);
+        repository = new ShardedShortUrlCacheRepository(ring);
+    }
+
+    @Test
+    public void testSaveAndGetGoToTheSlugsShard() {
+        // Given
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("https://example.com", "owner", "slug", null);
+        ShortUrlCacheRepository owner = ring.nodeFor("slug");
+        when(owner.getShortUrl("slug")).thenReturn(Optional.of(shortUrlDomainModel));
+
+        // When
+        repository.save(shortUrlDomainModel);
+        Optional<ShortUrlDomainModel> result = repository.getShortUrl("slug");
+
+        // Then
+        assertEquals(Optional.of(shortUrlDomainModel), result);
+        verify(owner).save(shortUrlDomainModel);
+        for (ShortUrlCacheRepository shard : List.of(first, second, third)) {
+            if (shard != owner) {
+                verifyNoInteractions(shard);
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEvictSendsEachShardOnlyItsOwnSlugs() {
+        // Given
+        List<String> slugs = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            slugs.add("slug-" + i);
+        }
+
+        // When
+        repository.evict(slugs);
+
+        // Then
+        int evicted = 0;
+        for (ShortUrlCacheRepository shard : List.of(first, second, third)) {
+            ArgumentCaptor<Collection<String>> batch = ArgumentCaptor.forClass(Collection.class);
+            verify(shard).evict(batch.capture());
+            for (String slug : batch.getValue()) {
+                assertSame(shard, ring.nodeFor(slug));
+            }
+            evicted += batch.getValue().size();
+        }
+        assertEquals(slugs.size(), evicted);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSaveAllSendsEachShardOnlyItsOwnLinks() {
+        // Given
+        List<ShortUrlDomainModel> shortUrls = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            shortUrls.add(new ShortUrlDomainModel("https://example.com", "owner", "slug-" + i, null));
+        }
+
+        // When
+        repository.saveAll(shortUrls);
+
+        // Then
+        int saved = 0;
+        for (ShortUrlCacheRepository shard : List.of(first, second, third)) {
+            ArgumentCaptor<List<ShortUrlDomainModel>> batch = ArgumentCaptor.forClass(List.class);
+            verify(shard).saveAll(batch.capture());
+            for (ShortUrlDomainModel shortUrl : batch.getValue()) {
+                assertSame(shard, ring.nodeFor(shortUrl.getUrlSlug()));
+            }
+            saved += batch.getValue().size();
+        }
+        assertEquals(shortUrls.size(), saved);
+    }
+
+    @Test
+    public void testRemovedShardGetsNoMoreTraffic() {
+        // Given
+        String slug = "slug";
+        ShortUrlCacheRepository owner = ring.nodeFor(slug);
+        String ownerName = ring.nodes().entrySet().stream()
+                .filter(entry -> entry.getValue() == owner).findFirst().orElseThrow().getKey();
+
+        // When
+        Optional<ShortUrlCacheRepository> removed = repository.removeShard(ownerName);
+        repository.getShortUrl(slug);
+
+        // Then
+        assertEquals(Optional.of(owner), removed);
+        verify(owner, never()).getShortUrl(any());
+        assertEquals(2, repository.shards().size());
+    }
+}
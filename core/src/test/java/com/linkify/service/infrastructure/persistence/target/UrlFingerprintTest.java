@@ -0,0 +1,43 @@
+package com.linkify.service.infrastructure.persistence.target;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UrlFingerprintTest {
+
+    @Test
+    public void testRoundTripsThroughBytes() {
+        // Given
+        UrlFingerprint fingerprint = UrlFingerprint.of("https://example.com/");
+
+        // When
+        byte[] bytes = fingerprint.toBytes();
+
+        // Then
+        assertEquals(UrlFingerprint.BYTES, bytes.length);
+        assertEquals(fingerprint, UrlFingerprint.fromBytes(bytes));
+    }
+
+    @Test
+    public void testIsTruncatedSha256() {
+        // When
+        UrlFingerprint fingerprint = UrlFingerprint.of("abc");
+
+        // Then
+        assertEquals(0xba7816bf8f01cfeaL, fingerprint.high());
+        assertEquals(0x414140de5dae2223L, fingerprint.low());
+    }
+
+    @Test
+    public void testDiffersForDifferentUrls() {
+        // When & Then
+        assertNotEquals(UrlFingerprint.of("https://example.com/a"), UrlFingerprint.of("https://example.com/b"));
+    }
+
+    @Test
+    public void testFromBytesRejectsWrongLength() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> UrlFingerprint.fromBytes(new byte[8]));
+    }
+}
@@ -0,0 +1,60 @@
+package com.linkify.service.infrastructure.persistence.target;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UrlTargetCacheTest {
+
+    @Test
+    public void testInternReturnsFirstInstanceForSameFingerprint() {
+        // Given
+        UrlTargetCache urlTargetCache = new UrlTargetCache(new UrlTargetProperties(true, 16));
+        String first = new String("https://example.com/");
+        String second = new String("https://example.com/");
+        UrlFingerprint fingerprint = UrlFingerprint.of(first);
+
+        // When
+        urlTargetCache.intern(fingerprint, first);
+
+        // Then
+        assertSame(first, urlTargetCache.intern(fingerprint, second));
+        assertSame(first, urlTargetCache.get(fingerprint));
+    }
+
+    @Test
+    public void testNewerTargetTakesOverSlot() {
+        // Given
+        UrlTargetCache urlTargetCache = new UrlTargetCache(new UrlTargetProperties(true, 1));
+        UrlFingerprint first = UrlFingerprint.of("https://example.com/a");
+        UrlFingerprint second = UrlFingerprint.of("https://example.com/b");
+
+        // When
+        urlTargetCache.intern(first, "https://example.com/a");
+        urlTargetCache.intern(second, "https://example.com/b");
+
+        // Then
+        assertNull(urlTargetCache.get(first));
+        assertEquals("https://example.com/b", urlTargetCache.get(second));
+    }
+
+    @Test
+    public void testCapacityIsRoundedDownToPowerOfTwo() {
+        // When & Then
+        assertEquals(64, new UrlTargetCache(new UrlTargetProperties(true, 100)).capacity());
+        assertEquals(0, new UrlTargetCache(new UrlTargetProperties(true, 0)).capacity());
+    }
+
+    @Test
+    public void testZeroCapacityCachesNothing() {
+        // Given
+        UrlTargetCache urlTargetCache = new UrlTargetCache(new UrlTargetProperties(true, 0));
+        UrlFingerprint fingerprint = UrlFingerprint.of("https://example.com/");
+
+        // When
+        urlTargetCache.intern(fingerprint, "https://example.com/");
+
+        // Then
+        assertNull(urlTargetCache.get(fingerprint));
+    }
+}
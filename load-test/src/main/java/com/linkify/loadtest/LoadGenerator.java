@@ -0,0 +1,121 @@
+package com.linkify.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load: requests are started on a fixed schedule whether or not earlier ones have completed, the way
+ * independent clients arrive. Latency is measured from when a request was due rather than from when it was sent, so a
+ * stall in the service, or in the generator itself, shows up in the tail instead of silently lowering the request rate
+ * (the coordinated omission correction). Requests that cannot be sent because too many are in flight are counted as
+ * having timed out, for the same reason.
+ */
+public class LoadGenerator {
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+    private static final int OWNERS = 1000;
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final LoadTestProperties properties;
+    private final List<String> slugs;
+    private final ZipfSampler zipfSampler;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong createdUrls = new AtomicLong();
+
+    public LoadGenerator(URI baseUri, LoadTestProperties properties, List<String> slugs) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUri = baseUri;
+        this.properties = properties;
+        this.slugs = slugs;
+        this.zipfSampler = new ZipfSampler(slugs.size(), properties.zipfExponent());
+    }
+
+    public LoadReport run(Duration duration) {
+        OperationStats resolves = new OperationStats("resolve");
+        OperationStats creates = new OperationStats("create");
+        SplittableRandom random = new SplittableRandom();
+        double intervalNanos = 1e9 / properties.rate();
+        long durationNanos = duration.toNanos();
+
+        long startNanos = System.nanoTime();
+        for (long request = 0; ; request++) {
+            long offsetNanos = (long) (request * intervalNanos);
+            if (offsetNanos >= durationNanos) {
+                break;
+            }
+            long dueNanos = startNanos + offsetNanos;
+            long waitNanos = dueNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+
+            boolean create = random.nextDouble() < properties.createRatio();
+            OperationStats stats = create ? creates : resolves;
+            if (inFlight.get() >= properties.maxInFlight()) {
+                stats.recordDropped(dueNanos, System.nanoTime() + properties.requestTimeout().toNanos());
+                continue;
+            }
+            send(create ? createRequest(random) : resolveRequest(random), stats, dueNanos);
+        }
+
+        long unfinished = drain();
+        return new LoadReport(Duration.ofNanos(System.nanoTime() - startNanos), resolves, creates, unfinished);
+    }
+
+    private void send(HttpRequest request, OperationStats stats, long dueNanos) {
+        inFlight.incrementAndGet();
+        long sentNanos = System.nanoTime();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, e) -> {
+                    long completedNanos = System.nanoTime();
+                    if (e == null) {
+                        stats.recordResponse(response.statusCode(), dueNanos, sentNanos, completedNanos);
+                    } else {
+                        stats.recordFailure(dueNanos, sentNanos, completedNanos);
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private HttpRequest resolveRequest(SplittableRandom random) {
+        String slug = slugs.get(zipfSampler.sample(random) - 1);
+        return HttpRequest.newBuilder(baseUri.resolve("/v1/urls/" + slug))
+                .timeout(properties.requestTimeout())
+                .GET()
+                .build();
+    }
+
+    private HttpRequest createRequest(SplittableRandom random) {
+        String body = "{\"originalUrl\":\"https://example.com/load/" + createdUrls.incrementAndGet() + "\","
+                + "\"owner\":\"owner-" + random.nextInt(OWNERS) + "\",\"expirationDate\":null}";
+        return HttpRequest.newBuilder(baseUri.resolve("/v1/urls"))
+                .header("Content-Type", "application/json")
+                .timeout(properties.requestTimeout())
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * Waits for the requests still in flight, so the next run starts from an idle service.
+     *
+     * @return the number of requests that had not completed when the wait gave up
+     */
+    private long drain() {
+        long deadlineNanos = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadlineNanos) {
+            LockSupport.parkNanos(1_000_000);
+        }
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,22 @@
+package com.linkify.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+
+public record LoadReport(Duration elapsed, OperationStats resolves, OperationStats creates, long unfinished) {
+
+    public void print(PrintStream out) {
+        long completed = resolves.completed() + creates.completed();
+        out.printf("%d requests in %.1f s, %.1f req/s, %d unfinished%n", completed, elapsed.toNanos() / 1e9,
+                completed / (elapsed.toNanos() / 1e9), unfinished);
+        resolves.print(out, elapsed);
+        creates.print(out, elapsed);
+    }
+
+    public void writeHistograms(Path directory) throws IOException {
+        resolves.writeHistograms(directory);
+        creates.writeHistograms(directory);
+    }
+}
@@ -0,0 +1,80 @@
+package com.linkify.loadtest;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Boots the service on a random port against in-process stand-ins for Redis and PostgreSQL, seeds them, and drives
+ * the REST API with a warm-up run and a measured run. Settings are {@code linkify.load.*} system properties; the
+ * service's own settings can be given the same way.
+ */
+public class LoadTest {
+    Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    private final LoadTestProperties properties;
+
+    public LoadTest(LoadTestProperties properties) {
+        this.properties = properties;
+    }
+
+    public LoadReport run(String... args) throws IOException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LoadTestApplication.class)
+                .profiles("embedded")
+                .properties("server.port=0", "logging.level.com.linkify.service=WARN")
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .registerSingleton("loadTestProperties", properties))
+                .run(args);
+        try {
+            List<String> slugs = seed(context.getBean("shortUrlCacheRepository", StandInShortUrlStore.class),
+                    context.getBean("shortUrlDatabaseRepository", StandInShortUrlStore.class));
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            LoadGenerator loadGenerator = new LoadGenerator(baseUri, properties, slugs);
+
+            logger.info("Warming up at {} req/s for {}", properties.rate(), properties.warmup());
+            loadGenerator.run(properties.warmup());
+            logger.info("Measuring at {} req/s for {}", properties.rate(), properties.duration());
+            LoadReport report = loadGenerator.run(properties.duration());
+
+            if (properties.histogramDirectory() != null) {
+                report.writeHistograms(properties.histogramDirectory());
+            }
+            return report;
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Stores the links resolves are drawn from. All are in the database, and {@code cacheCoverage} of them also in
+     * the cache, so the rest exercise the database fallback.
+     */
+    private List<String> seed(StandInShortUrlStore cache, StandInShortUrlStore database) {
+        SplittableRandom random = new SplittableRandom();
+        List<String> slugs = new ArrayList<>(properties.links());
+        for (int link = 0; link < properties.links(); link++) {
+            ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("https://example.com/seed/" + link,
+                    "owner-" + link % 1000, null, null);
+            database.seed(shortUrlDomainModel);
+            if (random.nextDouble() < properties.cacheCoverage()) {
+                cache.seed(shortUrlDomainModel);
+            }
+            slugs.add(shortUrlDomainModel.getUrlSlug());
+        }
+        logger.info("Seeded {} links, {} of them cached", database.size(), cache.size());
+        return slugs;
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadReport report = new LoadTest(LoadTestProperties.fromSystemProperties()).run(args);
+        report.print(System.out);
+    }
+}
@@ -0,0 +1,36 @@
+package com.linkify.loadtest;
+
+import com.linkify.service.LinkifyApplication;
+import com.linkify.service.infrastructure.scheduling.EmbeddedStoreCompactor;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+/**
+ * The service's context for load tests. It runs with the embedded profile, which leaves out PostgreSQL and Redis, and
+ * the embedded store is left out of the scan so the stand-ins below take the names the use cases inject.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ConfigurationPropertiesScan("com.linkify.service")
+@ComponentScan(basePackages = "com.linkify.service", excludeFilters = {
+        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                classes = {LinkifyApplication.class, EmbeddedStoreCompactor.class}),
+        @ComponentScan.Filter(type = FilterType.REGEX,
+                pattern = "com\\.linkify\\.service\\.infrastructure\\.persistence\\.embedded\\..*")
+})
+public class LoadTestApplication {
+
+    @Bean
+    public StandInShortUrlStore shortUrlCacheRepository(LoadTestProperties properties) {
+        return new StandInShortUrlStore(StandInShortUrlStore.Role.CACHE, properties.cache());
+    }
+
+    @Bean
+    public StandInShortUrlStore shortUrlDatabaseRepository(LoadTestProperties properties) {
+        return new StandInShortUrlStore(StandInShortUrlStore.Role.DATABASE, properties.database());
+    }
+}
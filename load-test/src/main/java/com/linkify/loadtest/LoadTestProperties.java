@@ -0,0 +1,39 @@
+package com.linkify.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+public record LoadTestProperties(
+        double rate,
+        Duration warmup,
+        Duration duration,
+        double createRatio,
+        int links,
+        double zipfExponent,
+        double cacheCoverage,
+        int maxInFlight,
+        Duration requestTimeout,
+        Path histogramDirectory,
+        StandInBehaviour cache,
+        StandInBehaviour database) {
+
+    public static LoadTestProperties fromSystemProperties() {
+        String histogramDirectory = System.getProperty("linkify.load.histogram-directory", "");
+        return new LoadTestProperties(
+                Double.parseDouble(System.getProperty("linkify.load.rate", "1000")),
+                DurationStyle.detectAndParse(System.getProperty("linkify.load.warmup", "10s")),
+                DurationStyle.detectAndParse(System.getProperty("linkify.load.duration", "60s")),
+                Double.parseDouble(System.getProperty("linkify.load.create-ratio", "0.1")),
+                Integer.getInteger("linkify.load.links", 100_000),
+                Double.parseDouble(System.getProperty("linkify.load.zipf-exponent", "1.0")),
+                Double.parseDouble(System.getProperty("linkify.load.cache-coverage", "0.9")),
+                Integer.getInteger("linkify.load.max-in-flight", 10_000),
+                DurationStyle.detectAndParse(System.getProperty("linkify.load.request-timeout", "10s")),
+                histogramDirectory.isEmpty() ? null : Path.of(histogramDirectory),
+                StandInBehaviour.fromSystemProperties("linkify.load.cache", "300us", "200us"),
+                StandInBehaviour.fromSystemProperties("linkify.load.database", "2ms", "3ms")
+        );
+    }
+}
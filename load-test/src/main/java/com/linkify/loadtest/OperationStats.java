@@ -0,0 +1,108 @@
+package com.linkify.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one kind of request. The response time is measured from when the request was due, the
+ * service time from when it was sent; the two only differ when the generator fell behind its schedule. Dropped
+ * requests are part of the response time but not of the service time.
+ */
+public final class OperationStats {
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99};
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String name;
+    private final Histogram responseTime = new ConcurrentHistogram(3);
+    private final Histogram serviceTime = new ConcurrentHistogram(3);
+    private final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public OperationStats(String name) {
+        this.name = name;
+    }
+
+    public void recordResponse(int status, long dueNanos, long sentNanos, long completedNanos) {
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        record(dueNanos, sentNanos, completedNanos);
+    }
+
+    /**
+     * A request that got no response at all. Its latency still counts, or a failing service would look fast.
+     */
+    public void recordFailure(long dueNanos, long sentNanos, long completedNanos) {
+        failed.increment();
+        record(dueNanos, sentNanos, completedNanos);
+    }
+
+    /**
+     * A request that was due but not sent because too many were in flight. It is recorded as if it had been sent and
+     * timed out, since leaving it out would hide exactly the overload that caused it.
+     */
+    public void recordDropped(long dueNanos, long timedOutNanos) {
+        dropped.increment();
+        responseTime.recordValue(Math.max(0, timedOutNanos - dueNanos));
+    }
+
+    private void record(long dueNanos, long sentNanos, long completedNanos) {
+        responseTime.recordValue(Math.max(0, completedNanos - dueNanos));
+        serviceTime.recordValue(Math.max(0, completedNanos - sentNanos));
+    }
+
+    public long completed() {
+        return serviceTime.getTotalCount();
+    }
+
+    public Histogram responseTime() {
+        return responseTime;
+    }
+
+    public Map<Integer, Long> statuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    public void print(PrintStream out, Duration elapsed) {
+        out.printf("%s: %d completed, %.1f req/s, %d failed, %d dropped, statuses %s%n", name, completed(),
+                completed() / (elapsed.toNanos() / 1e9), failed.sum(), dropped.sum(), statuses());
+        if (responseTime.getTotalCount() == 0) {
+            return;
+        }
+
+        out.printf("  %-10s %18s %18s%n", "percentile", "response time ms", "service time ms");
+        for (double percentile : PERCENTILES) {
+            out.printf("  %-10s %18.3f %18.3f%n", percentile, responseTime.getValueAtPercentile(percentile)
+                    / NANOS_PER_MILLI, serviceTime.getValueAtPercentile(percentile) / NANOS_PER_MILLI);
+        }
+        out.printf("  %-10s %18.3f %18.3f%n", "max", responseTime.getMaxValue() / NANOS_PER_MILLI,
+                serviceTime.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Writes the full distributions in HdrHistogram's percentile format, in milliseconds, for plotting.
+     */
+    public void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        write(responseTime, directory.resolve(name + "-response-time.hgrm"));
+        write(serviceTime, directory.resolve(name + "-service-time.hgrm"));
+    }
+
+    private static void write(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+}
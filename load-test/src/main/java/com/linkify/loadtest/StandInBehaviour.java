@@ -0,0 +1,34 @@
+package com.linkify.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * Latency and failures injected into a stand-in store. Each call takes {@code latency} plus an exponentially
+ * distributed extra with mean {@code jitter}, which gives the long tail real stores have, and fails with probability
+ * {@code failureRate}.
+ */
+public record StandInBehaviour(Duration latency, Duration jitter, double failureRate) {
+
+    public static StandInBehaviour fromSystemProperties(String prefix, String latency, String jitter) {
+        return new StandInBehaviour(
+                DurationStyle.detectAndParse(System.getProperty(prefix + ".latency", latency)),
+                DurationStyle.detectAndParse(System.getProperty(prefix + ".jitter", jitter)),
+                Double.parseDouble(System.getProperty(prefix + ".failure-rate", "0"))
+        );
+    }
+
+    public long delayNanos(RandomGenerator random) {
+        long jitterNanos = jitter.toNanos();
+        if (jitterNanos == 0) {
+            return latency.toNanos();
+        }
+        return latency.toNanos() + (long) (-Math.log(1.0 - random.nextDouble()) * jitterNanos);
+    }
+
+    public boolean fails(RandomGenerator random) {
+        return failureRate > 0 && random.nextDouble() < failureRate;
+    }
+}
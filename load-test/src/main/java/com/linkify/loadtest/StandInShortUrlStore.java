@@ -0,0 +1,102 @@
+package com.linkify.loadtest;
+
+import com.linkify.service.domain.exception.FailedToFetchException;
+import com.linkify.service.domain.exception.FailedToPersistException;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process stand-in for Redis or PostgreSQL. Links are kept in memory; every call first waits for a latency drawn
+ * from the {@link StandInBehaviour} and may fail with the exception the real repository would throw, so the use cases
+ * take the same fallback and load-shedding paths as against the real stores.
+ */
+public class StandInShortUrlStore implements ShortUrlPersistence {
+
+    public enum Role {
+        CACHE,
+        DATABASE
+    }
+
+    private final Role role;
+    private final StandInBehaviour behaviour;
+    private final ConcurrentMap<String, ShortUrlDomainModel> bySlug = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ShortUrlDomainModel> byOwnerAndUrl = new ConcurrentHashMap<>();
+
+    public StandInShortUrlStore(Role role, StandInBehaviour behaviour) {
+        this.role = role;
+        this.behaviour = behaviour;
+    }
+
+    /**
+     * Stores a link without delay or failure, for setting up a run.
+     */
+    public void seed(ShortUrlDomainModel shortUrlDomainModel) {
+        bySlug.put(shortUrlDomainModel.getUrlSlug(), shortUrlDomainModel);
+        byOwnerAndUrl.put(ownerKey(shortUrlDomainModel.getOwner(), shortUrlDomainModel.getOriginalUrl()),
+                shortUrlDomainModel);
+    }
+
+    public int size() {
+        return bySlug.size();
+    }
+
+    @Override
+    public void save(ShortUrlDomainModel shortUrlDomainModel) {
+        call(true);
+        if (role == Role.CACHE) {
+            seed(shortUrlDomainModel);
+            return;
+        }
+
+        // Like the database, a taken slug is retried once with a new one.
+        if (bySlug.putIfAbsent(shortUrlDomainModel.getUrlSlug(), shortUrlDomainModel) != null) {
+            shortUrlDomainModel.regenerateSlug();
+            if (bySlug.putIfAbsent(shortUrlDomainModel.getUrlSlug(), shortUrlDomainModel) != null) {
+                throw new DuplicateKeyException("Slug already exists: " + shortUrlDomainModel.getUrlSlug());
+            }
+        }
+        byOwnerAndUrl.put(ownerKey(shortUrlDomainModel.getOwner(), shortUrlDomainModel.getOriginalUrl()),
+                shortUrlDomainModel);
+    }
+
+    @Override
+    public Optional<ShortUrlDomainModel> getShortUrl(String slug) {
+        call(false);
+        return Optional.ofNullable(bySlug.get(slug));
+    }
+
+    @Override
+    public Optional<ShortUrlDomainModel> getByOwnerAndOriginalUrl(String owner, String originalUrl) {
+        call(false);
+        return Optional.ofNullable(byOwnerAndUrl.get(ownerKey(owner, originalUrl)));
+    }
+
+    private void call(boolean write) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long deadlineNanos = System.nanoTime() + behaviour.delayNanos(random);
+        for (long remaining = deadlineNanos - System.nanoTime(); remaining > 0;
+             remaining = deadlineNanos - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+
+        if (behaviour.fails(random)) {
+            throw switch (role) {
+                case CACHE -> write ? new FailedToPersistException("Injected cache write failure", null)
+                        : new FailedToFetchException("Injected cache read failure", null);
+                case DATABASE -> new DataAccessResourceFailureException("Injected database failure");
+            };
+        }
+    }
+
+    private static String ownerKey(String owner, String originalUrl) {
+        return owner + '\n' + originalUrl;
+    }
+}
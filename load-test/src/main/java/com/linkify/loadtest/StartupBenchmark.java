@@ -0,0 +1,169 @@
+package com.linkify.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts the service repeatedly in each {@link StartupMode} and measures what a client sees of a cold start: the time
+ * until the health check first answers, then the latency of the first create and the first resolve, which still run
+ * through unloaded classes and interpreted code on the JVM. Every start is a new process against the stores the
+ * service is configured for; the output of each is kept in the log directory. Settings are {@code linkify.startup.*}
+ * system properties.
+ */
+public class StartupBenchmark {
+    Logger logger = LoggerFactory.getLogger(StartupBenchmark.class);
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(5);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+    private static final Pattern SLUG = Pattern.compile("\"slug\"\\s*:\\s*\"([^\"]+)\"");
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final StartupBenchmarkProperties properties;
+    private final HttpClient httpClient;
+    private final URI baseUri;
+
+    public StartupBenchmark(StartupBenchmarkProperties properties) {
+        this.properties = properties;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        this.baseUri = URI.create("http://localhost:" + properties.port());
+    }
+
+    public Map<StartupMode, List<StartupSample>> run() throws IOException, InterruptedException {
+        Files.createDirectories(properties.logDirectory());
+        Map<StartupMode, List<StartupSample>> samples = new EnumMap<>(StartupMode.class);
+        for (StartupMode mode : StartupMode.values()) {
+            if (!mode.isAvailable(properties)) {
+                logger.warn("Skipping {}, its build output is missing", mode);
+                continue;
+            }
+
+            List<StartupSample> modeSamples = new ArrayList<>(properties.runs());
+            for (int run = 0; run < properties.runs(); run++) {
+                StartupSample sample = start(mode, run);
+                logger.info("{} run {}: {}", mode, run, sample);
+                modeSamples.add(sample);
+            }
+            samples.put(mode, modeSamples);
+        }
+        return samples;
+    }
+
+    private StartupSample start(StartupMode mode, int run) throws IOException, InterruptedException {
+        Path log = properties.logDirectory().resolve(mode.name().toLowerCase() + "-" + run + ".log");
+        ProcessBuilder processBuilder = mode.command(properties)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+
+        long startNanos = System.nanoTime();
+        Process process = processBuilder.start();
+        try {
+            Duration ready = awaitReady(process, startNanos, log);
+
+            long createNanos = System.nanoTime();
+            HttpResponse<String> created = httpClient.send(createRequest(mode, run),
+                    HttpResponse.BodyHandlers.ofString());
+            Duration firstCreate = Duration.ofNanos(System.nanoTime() - createNanos);
+
+            HttpRequest resolveRequest = HttpRequest.newBuilder(baseUri.resolve("/v1/urls/" + slug(created, log)))
+                    .GET()
+                    .build();
+            long resolveNanos = System.nanoTime();
+            httpClient.send(resolveRequest, HttpResponse.BodyHandlers.discarding());
+            Duration firstResolve = Duration.ofNanos(System.nanoTime() - resolveNanos);
+
+            return new StartupSample(ready, firstCreate, firstResolve);
+        } finally {
+            stop(process);
+        }
+    }
+
+    /**
+     * Polls the health check until it answers, timing from just before the process was launched.
+     */
+    private Duration awaitReady(Process process, long startNanos, Path log) throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(baseUri.resolve("/health"))
+                .timeout(Duration.ofSeconds(1))
+                .GET()
+                .build();
+        long deadlineNanos = startNanos + properties.timeout().toNanos();
+        while (System.nanoTime() < deadlineNanos) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Service exited with code " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return Duration.ofNanos(System.nanoTime() - startNanos);
+                }
+            } catch (IOException e) {
+                // Not listening yet.
+            }
+            Thread.sleep(POLL_INTERVAL);
+        }
+        throw new IllegalStateException("Service not ready after " + properties.timeout() + ", see " + log);
+    }
+
+    private HttpRequest createRequest(StartupMode mode, int run) {
+        // A new URL every start, so the create is not answered from an earlier run's link.
+        String body = "{\"originalUrl\":\"https://example.com/startup/" + mode.name().toLowerCase() + "/" + run + "/"
+                + System.currentTimeMillis() + "\",\"owner\":\"startup-benchmark\",\"expirationDate\":null}";
+        return HttpRequest.newBuilder(baseUri.resolve("/v1/urls"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String slug(HttpResponse<String> created, Path log) {
+        Matcher matcher = SLUG.matcher(created.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Create answered " + created.statusCode() + " without a slug, see " + log);
+        }
+        return matcher.group(1);
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    public static void print(Map<StartupMode, List<StartupSample>> samples, PrintStream out) {
+        out.printf("%-8s %5s %22s %22s %22s%n", "mode", "runs", "ready ms", "first create ms", "first resolve ms");
+        out.printf("%-8s %5s %22s %22s %22s%n", "", "", "median / max", "median / max", "median / max");
+        samples.forEach((mode, modeSamples) -> out.printf("%-8s %5d %22s %22s %22s%n", mode, modeSamples.size(),
+                summary(modeSamples, StartupSample::ready), summary(modeSamples, StartupSample::firstCreate),
+                summary(modeSamples, StartupSample::firstResolve)));
+    }
+
+    private static String summary(List<StartupSample> samples, Function<StartupSample, Duration> metric) {
+        List<Duration> sorted = samples.stream().map(metric).sorted(Comparator.naturalOrder()).toList();
+        return "%.1f / %.1f".formatted(sorted.get((sorted.size() - 1) / 2).toNanos() / NANOS_PER_MILLI,
+                sorted.getLast().toNanos() / NANOS_PER_MILLI);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        print(new StartupBenchmark(StartupBenchmarkProperties.fromSystemProperties()).run(), System.out);
+    }
+}
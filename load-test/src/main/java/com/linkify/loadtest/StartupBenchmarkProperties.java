@@ -0,0 +1,37 @@
+package com.linkify.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+public record StartupBenchmarkProperties(
+        int runs,
+        int port,
+        Duration timeout,
+        String java,
+        Path bootJar,
+        Path cdsDirectory,
+        Path nativeImage,
+        Path logDirectory,
+        List<String> args) {
+
+    public static StartupBenchmarkProperties fromSystemProperties() {
+        return new StartupBenchmarkProperties(
+                Integer.getInteger("linkify.startup.runs", 5),
+                Integer.getInteger("linkify.startup.port", 8089),
+                DurationStyle.detectAndParse(System.getProperty("linkify.startup.timeout", "60s")),
+                System.getProperty("linkify.startup.java",
+                        ProcessHandle.current().info().command().orElse("java")),
+                Path.of(System.getProperty("linkify.startup.boot-jar", "build/libs/linkify-0.0.1-SNAPSHOT.jar")),
+                Path.of(System.getProperty("linkify.startup.cds-directory", "build/cds")),
+                Path.of(System.getProperty("linkify.startup.native-image", "build/native/nativeCompile/linkify")),
+                Path.of(System.getProperty("linkify.startup.log-directory", "build/startup")),
+                Arrays.stream(System.getProperty("linkify.startup.args", "").split(" "))
+                        .filter(arg -> !arg.isBlank())
+                        .toList()
+        );
+    }
+}
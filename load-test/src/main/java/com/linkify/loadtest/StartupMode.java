@@ -0,0 +1,57 @@
+package com.linkify.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ways the service can be started, each as the command that starts it from the build outputs.
+ */
+public enum StartupMode {
+    JVM,
+    AOT,
+    CDS,
+    NATIVE;
+
+    private static final String CDS_ARCHIVE = "application.jsa";
+
+    /**
+     * Whether the build output this mode starts from exists; the native executable is only there after
+     * {@code nativeCompile}.
+     */
+    public boolean isAvailable(StartupBenchmarkProperties properties) {
+        return switch (this) {
+            case JVM, AOT -> Files.isRegularFile(properties.bootJar());
+            case CDS -> Files.isRegularFile(properties.cdsDirectory().resolve(properties.bootJar().getFileName()))
+                    && Files.isRegularFile(properties.cdsDirectory().resolve(CDS_ARCHIVE));
+            case NATIVE -> Files.isExecutable(properties.nativeImage());
+        };
+    }
+
+    public ProcessBuilder command(StartupBenchmarkProperties properties) {
+        String java = properties.java();
+        List<String> command = new ArrayList<>();
+        Path workingDirectory = null;
+        switch (this) {
+            case JVM -> command.addAll(List.of(java, "-jar", properties.bootJar().toString()));
+            case AOT -> command.addAll(List.of(java, "-Dspring.aot.enabled=true", "-jar",
+                    properties.bootJar().toString()));
+            case CDS -> {
+                // The archive only matches the extracted jar it was trained with, loaded from the same path.
+                workingDirectory = properties.cdsDirectory();
+                command.addAll(List.of(java, "-XX:SharedArchiveFile=" + CDS_ARCHIVE, "-Dspring.aot.enabled=true",
+                        "-jar", properties.bootJar().getFileName().toString()));
+            }
+            case NATIVE -> command.add(properties.nativeImage().toString());
+        }
+        command.add("--server.port=" + properties.port());
+        command.addAll(properties.args());
+
+        ProcessBuilder processBuilder = new ProcessBuilder(command);
+        if (workingDirectory != null) {
+            processBuilder.directory(workingDirectory.toFile());
+        }
+        return processBuilder;
+    }
+}
@@ -0,0 +1,10 @@
+package com.linkify.loadtest;
+
+import java.time.Duration;
+
+/**
+ * One start of the service: the time from launching the process to the first successful health check, and the
+ * latencies of the first create and the first resolve after that.
+ */
+public record StartupSample(Duration ready, Duration firstCreate, Duration firstResolve) {
+}
@@ -0,0 +1,65 @@
+package com.linkify.loadtest;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws ranks from 1 to {@code elements} with probability proportional to {@code 1 / rank^exponent}, so a few links
+ * take most of the traffic like on a real link shortener. Uses rejection-inversion sampling (Hörmann and Derflinger),
+ * which needs constant memory and time whatever the number of elements.
+ */
+public final class ZipfSampler {
+    private final int elements;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralElements;
+    private final double s;
+
+    public ZipfSampler(int elements, double exponent) {
+        if (elements < 1) {
+            throw new IllegalArgumentException("elements must be at least 1");
+        }
+        if (exponent <= 0) {
+            throw new IllegalArgumentException("exponent must be positive");
+        }
+
+        this.elements = elements;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1.0;
+        this.hIntegralElements = hIntegral(elements + 0.5);
+        this.s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    public int sample(RandomGenerator random) {
+        while (true) {
+            double u = hIntegralElements + random.nextDouble() * (hIntegralX1 - hIntegralElements);
+            double x = hIntegralInverse(u);
+            int k = (int) Math.min(Math.max(x + 0.5, 1), elements);
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return expm1OverX((1.0 - exponent) * logX) * logX;
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = Math.max(x * (1.0 - exponent), -1.0);
+        return Math.exp(log1pOverX(t) * x);
+    }
+
+    // log(1 + x) / x and (e^x - 1) / x, with their Taylor series near 0 where the division loses precision.
+    private static double log1pOverX(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+    }
+
+    private static double expm1OverX(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1.0 + x * 0.5 * (1.0 + x * (1.0 / 3.0) * (1.0 + 0.25 * x));
+    }
+}
@@ -0,0 +1,28 @@
+package com.linkify.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OperationStatsTest {
+
+    @Test
+    public void testDroppedRequestCountsAsTimeoutInResponseTime() {
+        // Given
+        OperationStats stats = new OperationStats("resolve");
+        long dueNanos = TimeUnit.SECONDS.toNanos(1);
+        long timedOutNanos = dueNanos + TimeUnit.SECONDS.toNanos(10);
+
+        // When
+        stats.recordResponse(200, dueNanos, dueNanos, dueNanos + TimeUnit.MILLISECONDS.toNanos(2));
+        stats.recordDropped(dueNanos, timedOutNanos);
+
+        // Then
+        assertEquals(1, stats.completed());
+        assertEquals(2, stats.responseTime().getTotalCount());
+        assertEquals(TimeUnit.SECONDS.toNanos(10), stats.responseTime().getMaxValue(),
+                TimeUnit.SECONDS.toNanos(10) / 1000.0);
+    }
+}
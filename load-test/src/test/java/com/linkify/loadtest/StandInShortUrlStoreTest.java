@@ -0,0 +1,75 @@
+package com.linkify.loadtest;
+
+import com.linkify.service.domain.exception.FailedToFetchException;
+import com.linkify.service.domain.exception.FailedToPersistException;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StandInShortUrlStoreTest {
+    private static final StandInBehaviour INSTANT = new StandInBehaviour(Duration.ZERO, Duration.ZERO, 0);
+    private static final StandInBehaviour FAILING = new StandInBehaviour(Duration.ZERO, Duration.ZERO, 1);
+
+    @Test
+    public void testSavedLinkIsFoundBySlugAndByOwnerAndUrl() {
+        // Given
+        StandInShortUrlStore store = new StandInShortUrlStore(StandInShortUrlStore.Role.DATABASE, INSTANT);
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("https://example.com", "owner", null, null);
+
+        // When
+        store.save(shortUrlDomainModel);
+
+        // Then
+        assertEquals(shortUrlDomainModel, store.getShortUrl(shortUrlDomainModel.getUrlSlug()).orElseThrow());
+        assertEquals(shortUrlDomainModel, store.getByOwnerAndOriginalUrl("owner", "https://example.com").orElseThrow());
+        assertTrue(store.getByOwnerAndOriginalUrl("other", "https://example.com").isEmpty());
+    }
+
+    @Test
+    public void testDatabaseRetriesATakenSlug() {
+        // Given
+        StandInShortUrlStore store = new StandInShortUrlStore(StandInShortUrlStore.Role.DATABASE, INSTANT);
+        ShortUrlDomainModel existing = new ShortUrlDomainModel("https://example.com/a", "owner", null, null);
+        store.seed(existing);
+        ShortUrlDomainModel colliding = new ShortUrlDomainModel("https://example.com/b", "owner",
+                existing.getUrlSlug(), null);
+
+        // When
+        store.save(colliding);
+
+        // Then
+        assertNotEquals(existing.getUrlSlug(), colliding.getUrlSlug());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    public void testInjectedFailuresThrowWhatTheRealStoresThrow() {
+        // Given
+        StandInShortUrlStore cache = new StandInShortUrlStore(StandInShortUrlStore.Role.CACHE, FAILING);
+        StandInShortUrlStore database = new StandInShortUrlStore(StandInShortUrlStore.Role.DATABASE, FAILING);
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("https://example.com", "owner", null, null);
+
+        // When & Then
+        assertThrows(FailedToFetchException.class, () -> cache.getShortUrl("slug"));
+        assertThrows(FailedToPersistException.class, () -> cache.save(shortUrlDomainModel));
+        assertThrows(DataAccessResourceFailureException.class, () -> database.getShortUrl("slug"));
+    }
+
+    @Test
+    public void testCallsTakeTheInjectedLatency() {
+        // Given
+        StandInShortUrlStore store = new StandInShortUrlStore(StandInShortUrlStore.Role.CACHE,
+                new StandInBehaviour(Duration.ofMillis(20), Duration.ZERO, 0));
+
+        // When
+        long startNanos = System.nanoTime();
+        store.getShortUrl("slug");
+
+        // Then
+        assertTrue(System.nanoTime() - startNanos >= Duration.ofMillis(20).toNanos());
+    }
+}
@@ -0,0 +1,54 @@
+package com.linkify.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupModeTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testCdsStartsTheExtractedJarWithTheArchive() {
+        // Given
+        StartupBenchmarkProperties properties = properties(List.of("--spring.profiles.active=embedded"));
+
+        // When
+        ProcessBuilder processBuilder = StartupMode.CDS.command(properties);
+
+        // Then
+        assertEquals(directory.resolve("cds").toFile(), processBuilder.directory());
+        assertEquals(List.of("java", "-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true", "-jar",
+                "linkify.jar", "--server.port=8089", "--spring.profiles.active=embedded"), processBuilder.command());
+    }
+
+    @Test
+    public void testModeIsUnavailableWithoutItsBuildOutput() throws IOException {
+        // Given
+        StartupBenchmarkProperties properties = properties(List.of());
+        Files.createFile(properties.bootJar());
+
+        // When
+        boolean jvm = StartupMode.JVM.isAvailable(properties);
+        boolean cds = StartupMode.CDS.isAvailable(properties);
+        boolean nativeImage = StartupMode.NATIVE.isAvailable(properties);
+
+        // Then
+        assertTrue(jvm);
+        assertFalse(cds);
+        assertFalse(nativeImage);
+    }
+
+    private StartupBenchmarkProperties properties(List<String> args) {
+        return new StartupBenchmarkProperties(1, 8089, Duration.ofSeconds(10), "java", directory.resolve("linkify.jar"),
+                directory.resolve("cds"), directory.resolve("linkify"), directory.resolve("logs"), args);
+    }
+}
@@ -0,0 +1,52 @@
+package com.linkify.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZipfSamplerTest {
+
+    @Test
+    public void testSampledFrequenciesFollowZipfLaw() {
+        // Given
+        ZipfSampler zipfSampler = new ZipfSampler(1000, 1.0);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[1001];
+        int samples = 1_000_000;
+
+        // When
+        for (int i = 0; i < samples; i++) {
+            counts[zipfSampler.sample(random)]++;
+        }
+
+        // Then
+        double harmonic = 0;
+        for (int rank = 1; rank <= 1000; rank++) {
+            harmonic += 1.0 / rank;
+        }
+        assertEquals(1.0 / harmonic, counts[1] / (double) samples, 0.005);
+        assertEquals(2.0, counts[1] / (double) counts[2], 0.1);
+        assertEquals(0, counts[0]);
+    }
+
+    @Test
+    public void testSamplesStayWithinRange() {
+        // Given
+        ZipfSampler zipfSampler = new ZipfSampler(3, 2.5);
+        SplittableRandom random = new SplittableRandom(7);
+
+        // When & Then
+        for (int i = 0; i < 10_000; i++) {
+            int rank = zipfSampler.sample(random);
+            assertTrue(rank >= 1 && rank <= 3);
+        }
+    }
+
+    @Test
+    public void testRejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(10, 0));
+    }
+}
@@ -0,0 +1,133 @@
+package com.linkify.redirect.benchmark;
+
+import com.linkify.redirect.RedirectHandler;
+import com.linkify.redirect.RedirectServer;
+import com.linkify.service.application.concurrency.AdaptiveConcurrencyLimiter;
+import com.linkify.service.application.concurrency.ConcurrencyLimitProperties;
+import com.linkify.service.application.concurrency.HedgingPolicy;
+import com.linkify.service.application.concurrency.HedgingProperties;
+import com.linkify.service.application.usecase.CreateShortUrlFromUrlUseCase;
+import com.linkify.service.application.usecase.FetchShortUrlBySlugUseCase;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import com.linkify.service.infrastructure.logging.AccessLog;
+import com.linkify.service.infrastructure.logging.AccessLogLevel;
+import com.linkify.service.infrastructure.logging.AccessLogProperties;
+import com.linkify.service.infrastructure.persistence.local.LocalCacheProperties;
+import com.linkify.service.infrastructure.persistence.local.ShortUrlLocalCacheRepository;
+import com.linkify.service.infrastructure.ratelimit.RateLimitProperties;
+import com.linkify.service.infrastructure.ratelimit.RateLimiter;
+import com.linkify.service.infrastructure.rest.url.HttpCacheProperties;
+import com.linkify.service.infrastructure.rest.url.ShortUrlCachePolicy;
+import com.linkify.service.infrastructure.rest.url.ShortUrlResponseMapper;
+import com.linkify.service.infrastructure.rest.url.UrlShortenerController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerKeepAliveHandler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Single-threaded throughput of one resolve request through the Netty redirect pipeline and through the Spring MVC
+ * endpoint, both backed by the same in-memory cache. Ops/s here is requests per core with network I/O and Redis left
+ * out, so the difference is the per-request cost of each HTTP stack.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+public class ResolvePerCoreBenchmark {
+    private static final String SLUG = "benchSlug";
+    private static final byte[] NETTY_REQUEST = ("GET /" + SLUG + " HTTP/1.1\r\nHost: localhost\r\n\r\n").getBytes();
+
+    private EmbeddedChannel nettyChannel;
+    private MockMvc mockMvc;
+    private AccessLog accessLog;
+
+    @Setup
+    public void setUp() {
+        ShortUrlDomainModel shortUrl = ShortUrlDomainModel.restore("https://example.com/some/landing/page",
+                "owner", SLUG, OffsetDateTime.now().plusDays(30));
+        ShortUrlPersistence cache = new InMemoryCache(shortUrl);
+
+        nettyChannel = new EmbeddedChannel(new HttpServerCodec(), new HttpServerKeepAliveHandler(),
+                new RedirectHandler(cache, RedirectServer.objectMapper()));
+
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new ConcurrencyLimitProperties(false, 1, 1, 1, 1.0, 1.0, Duration.ofSeconds(30)));
+        accessLog = new AccessLog(new AccessLogProperties(AccessLogLevel.OFF, Path.of("build/access.log"), 16, 16,
+                Duration.ofSeconds(1), Map.of()));
+        RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(false, null, null, null, false,
+                Duration.ofMinutes(1), Duration.ofMinutes(10)), null);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UrlShortenerController controller = new UrlShortenerController(
+                new FetchShortUrlBySlugUseCase(new ShortUrlLocalCacheRepository(new LocalCacheProperties(false,
+                        null, 0, null)), cache, cache, event -> {
+                }, limiter, new HedgingPolicy(new HedgingProperties(false, 0.95, Duration.ZERO, Duration.ZERO, 0, 0)),
+                        meterRegistry),
+                new CreateShortUrlFromUrlUseCase(cache, cache, event -> {
+                }, limiter, meterRegistry),
+                new ShortUrlResponseMapper(new ShortUrlCachePolicy(new HttpCacheProperties(Duration.ofHours(1),
+                        Map.of()))),
+                accessLog,
+                rateLimiter
+        );
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        nettyChannel.finishAndReleaseAll();
+        accessLog.close();
+    }
+
+    @Benchmark
+    public int nettyRedirect() {
+        ByteBuf request = ByteBufAllocator.DEFAULT.buffer(NETTY_REQUEST.length).writeBytes(NETTY_REQUEST);
+        nettyChannel.writeInbound(request);
+
+        int written = 0;
+        ByteBuf response;
+        while ((response = nettyChannel.readOutbound()) != null) {
+            written += response.readableBytes();
+            response.release();
+        }
+        return written;
+    }
+
+    @Benchmark
+    public int springResolve() throws Exception {
+        MvcResult result = mockMvc.perform(get("/v1/urls/{slug}", SLUG)).andReturn();
+        return result.getResponse().getContentLength() + result.getResponse().getStatus();
+    }
+
+    private record InMemoryCache(ShortUrlDomainModel shortUrl) implements ShortUrlPersistence {
+        @Override
+        public void save(ShortUrlDomainModel shortUrlDomainModel) {
+        }
+
+        @Override
+        public Optional<ShortUrlDomainModel> getShortUrl(String slug) {
+            return shortUrl.getUrlSlug().equals(slug) ? Optional.of(shortUrl) : Optional.empty();
+        }
+
+        @Override
+        public Optional<ShortUrlDomainModel> getByOwnerAndOriginalUrl(String owner, String originalUrl) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.linkify.redirect;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkify.service.domain.exception.FailedToFetchException;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import com.linkify.service.infrastructure.rest.handler.ErrorResponse;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Resolves {@code GET /{slug}} against the short URL cache and answers with a redirect, using the same lookup and
+ * expiry rules as the Spring resolve endpoint. {@code HEAD} gets the same status and headers without the body. Error
+ * bodies are written straight into buffers from the channel's allocator.
+ */
+@ChannelHandler.Sharable
+public class RedirectHandler extends SimpleChannelInboundHandler<HttpRequest> {
+    Logger logger = LoggerFactory.getLogger(RedirectHandler.class);
+
+    private final ShortUrlPersistence shortUrlCacheRepository;
+    private final ObjectMapper objectMapper;
+
+    public RedirectHandler(ShortUrlPersistence shortUrlCacheRepository, ObjectMapper objectMapper) {
+        this.shortUrlCacheRepository = shortUrlCacheRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, HttpRequest request) {
+        boolean head = HttpMethod.HEAD.equals(request.method());
+        if (!head && !HttpMethod.GET.equals(request.method())) {
+            FullHttpResponse response = error(ctx, request, HttpResponseStatus.METHOD_NOT_ALLOWED,
+                    "Method not allowed");
+            response.headers().set(HttpHeaderNames.ALLOW, "GET, HEAD");
+            ctx.writeAndFlush(response);
+            return;
+        }
+
+        String slug = slugFrom(request.uri());
+        FullHttpResponse response = slug == null
+                ? error(ctx, request, HttpResponseStatus.NOT_FOUND, "URL not found")
+                : resolve(ctx, request, slug);
+        ctx.writeAndFlush(head ? withoutBody(response) : response);
+    }
+
+    /**
+     * Keeps the status and headers, Content-Length included, of the response a GET would get.
+     */
+    private static FullHttpResponse withoutBody(FullHttpResponse response) {
+        FullHttpResponse headResponse = response.replace(Unpooled.EMPTY_BUFFER);
+        response.release();
+        return headResponse;
+    }
+
+    private FullHttpResponse resolve(ChannelHandlerContext ctx, HttpRequest request, String slug) {
+        Optional<ShortUrlDomainModel> shortUrlDomainModel;
+        try {
+            shortUrlDomainModel = shortUrlCacheRepository.getShortUrl(slug);
+        } catch (FailedToFetchException e) {
+            shortUrlDomainModel = Optional.empty();
+        } catch (DataAccessException e) {
+            logger.error("Failed to fetch short URL from cache for slug: {}", slug, e);
+            return error(ctx, request, HttpResponseStatus.SERVICE_UNAVAILABLE, "Failed to fetch short URL");
+        }
+
+        if (shortUrlDomainModel.isEmpty()) {
+            return error(ctx, request, HttpResponseStatus.NOT_FOUND, "URL not found for slug: " + slug);
+        }
+
+        if (shortUrlDomainModel.get().isExpired()) {
+            return error(ctx, request, HttpResponseStatus.NOT_FOUND, "URL has expired");
+        }
+
+        FullHttpResponse response = new DefaultFullHttpResponse(request.protocolVersion(), HttpResponseStatus.FOUND,
+                Unpooled.EMPTY_BUFFER);
+        response.headers()
+                .set(HttpHeaderNames.LOCATION, shortUrlDomainModel.get().getOriginalUrl())
+                .setInt(HttpHeaderNames.CONTENT_LENGTH, 0);
+        return response;
+    }
+
+    private FullHttpResponse error(ChannelHandlerContext ctx, HttpRequest request, HttpResponseStatus status,
+                                   String message) {
+        ByteBuf body = ctx.alloc().buffer();
+        try (ByteBufOutputStream outputStream = new ByteBufOutputStream(body)) {
+            objectMapper.writeValue(outputStream, new ErrorResponse(status.code(), message));
+        } catch (IOException e) {
+            body.release();
+            throw new IllegalStateException("Failed to write error response", e);
+        }
+
+        FullHttpResponse response = new DefaultFullHttpResponse(request.protocolVersion(), status, body);
+        response.headers()
+                .set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                .setInt(HttpHeaderNames.CONTENT_LENGTH, body.readableBytes());
+        return response;
+    }
+
+    static String slugFrom(String uri) {
+        int queryStart = uri.indexOf('?');
+        String path = queryStart < 0 ? uri : uri.substring(0, queryStart);
+        if (path.length() < 2 || path.charAt(0) != '/' || path.indexOf('/', 1) >= 0) {
+            return null;
+        }
+
+        return path.substring(1);
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        logger.warn("Closing redirect connection after an error", cause);
+        ctx.close();
+    }
+}
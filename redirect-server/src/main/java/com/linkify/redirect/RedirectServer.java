@@ -0,0 +1,132 @@
+package com.linkify.redirect;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import com.linkify.service.infrastructure.persistence.ShortUrlCacheCodec;
+import com.linkify.service.infrastructure.persistence.ShortUrlCacheRepository;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressionProperties;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressor;
+import com.linkify.service.infrastructure.persistence.sharding.ConsistentHashRing;
+import com.linkify.service.infrastructure.persistence.sharding.ShardedShortUrlCacheRepository;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetCache;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetProperties;
+import io.micrometer.core.instrument.Metrics;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutorGroup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolve-only entry point for the redirect fleet. Boots Netty and a Redis connection without a Spring context.
+ */
+public class RedirectServer {
+    Logger logger = LoggerFactory.getLogger(RedirectServer.class);
+
+    private final RedirectServerProperties properties;
+    private final RedirectHandler redirectHandler;
+    private final EventLoopGroup bossGroup = new NioEventLoopGroup(1);
+    private final EventLoopGroup workerGroup;
+    private final EventExecutorGroup lookupExecutors;
+
+    public RedirectServer(RedirectServerProperties properties, RedirectHandler redirectHandler) {
+        this.properties = properties;
+        this.redirectHandler = redirectHandler;
+        this.workerGroup = new NioEventLoopGroup(properties.workerThreads());
+        this.lookupExecutors = new DefaultEventExecutorGroup(properties.lookupThreads());
+    }
+
+    public Channel start() throws InterruptedException {
+        ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(bossGroup, workerGroup)
+                .channel(NioServerSocketChannel.class)
+                .option(ChannelOption.SO_BACKLOG, 1024)
+                .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childHandler(new RedirectServerInitializer(redirectHandler, lookupExecutors));
+
+        Channel channel = bootstrap.bind(properties.port()).sync().channel();
+        logger.info("Redirect server listening on port {}", properties.port());
+        return channel;
+    }
+
+    public void stop() {
+        bossGroup.shutdownGracefully();
+        workerGroup.shutdownGracefully();
+        lookupExecutors.shutdownGracefully();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        RedirectServerProperties properties = RedirectServerProperties.fromSystemProperties();
+
+        ObjectMapper objectMapper = objectMapper();
+        // The server never writes to Redis, but decodes values packed with any dictionary the service ships and
+        // resolves target references, interning hot targets like the service does.
+        ShortUrlCacheCodec shortUrlCacheCodec = new ShortUrlCacheCodec(objectMapper,
+                new UrlCompressor(new UrlCompressionProperties(false, 1)),
+                new UrlTargetCache(new UrlTargetProperties(false, 65536)));
+        List<LettuceConnectionFactory> connectionFactories = new ArrayList<>();
+        ShortUrlPersistence shortUrlCacheRepository;
+        if (properties.redisNodes().isEmpty()) {
+            shortUrlCacheRepository = cacheRepository(properties.redisHost(), properties.redisPort(),
+                    shortUrlCacheCodec, connectionFactories);
+        } else {
+            // Same node list and ring as the service's linkify.redis-sharding, so both agree on each slug's shard.
+            ConsistentHashRing<ShortUrlCacheRepository> ring = new ConsistentHashRing<>(
+                    Integer.getInteger("linkify.redirect.redis-virtual-nodes", 160));
+            for (String node : properties.redisNodes()) {
+                int separator = node.lastIndexOf(':');
+                ring.addNode(node, cacheRepository(node.substring(0, separator),
+                        Integer.parseInt(node.substring(separator + 1)), shortUrlCacheCodec, connectionFactories));
+            }
+            shortUrlCacheRepository = new ShardedShortUrlCacheRepository(ring);
+        }
+
+        RedirectHandler redirectHandler = new RedirectHandler(shortUrlCacheRepository, objectMapper);
+
+        RedirectServer server = new RedirectServer(properties, redirectHandler);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            connectionFactories.forEach(LettuceConnectionFactory::destroy);
+        }));
+
+        server.start().closeFuture().sync();
+    }
+
+    private static ShortUrlCacheRepository cacheRepository(String host, int port,
+                                                           ShortUrlCacheCodec shortUrlCacheCodec,
+                                                           List<LettuceConnectionFactory> connectionFactories) {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(host, port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactories.add(connectionFactory);
+        // Nothing exports metrics here yet; the global registry stays a no-op until a registry is added to it.
+        return new ShortUrlCacheRepository(new StringRedisTemplate(connectionFactory), shortUrlCacheCodec,
+                Metrics.globalRegistry);
+    }
+
+    // Same settings the Spring application's ObjectMapper uses for the cache JSON.
+    static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+    }
+}
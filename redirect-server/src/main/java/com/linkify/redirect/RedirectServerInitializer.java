@@ -0,0 +1,27 @@
+package com.linkify.redirect;
+
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpServerKeepAliveHandler;
+import io.netty.util.concurrent.EventExecutorGroup;
+
+public class RedirectServerInitializer extends ChannelInitializer<SocketChannel> {
+    private final RedirectHandler redirectHandler;
+    private final EventExecutorGroup lookupExecutors;
+
+    public RedirectServerInitializer(RedirectHandler redirectHandler, EventExecutorGroup lookupExecutors) {
+        this.redirectHandler = redirectHandler;
+        this.lookupExecutors = lookupExecutors;
+    }
+
+    @Override
+    protected void initChannel(SocketChannel channel) {
+        ChannelPipeline pipeline = channel.pipeline();
+        pipeline.addLast(new HttpServerCodec());
+        pipeline.addLast(new HttpServerKeepAliveHandler());
+        // Cache lookups block on Redis, so they run off the event loop.
+        pipeline.addLast(lookupExecutors, redirectHandler);
+    }
+}
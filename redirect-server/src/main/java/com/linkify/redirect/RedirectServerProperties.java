@@ -0,0 +1,26 @@
+package com.linkify.redirect;
+
+import java.util.Arrays;
+import java.util.List;
+
+public record RedirectServerProperties(
+        int port,
+        String redisHost,
+        int redisPort,
+        List<String> redisNodes,
+        int workerThreads,
+        int lookupThreads) {
+
+    public static RedirectServerProperties fromSystemProperties() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        return new RedirectServerProperties(
+                Integer.getInteger("linkify.redirect.port", 8081),
+                System.getProperty("linkify.redirect.redis-host", "redis"),
+                Integer.getInteger("linkify.redirect.redis-port", 6379),
+                Arrays.stream(System.getProperty("linkify.redirect.redis-nodes", "").split(","))
+                        .map(String::trim).filter(node -> !node.isEmpty()).toList(),
+                Integer.getInteger("linkify.redirect.worker-threads", cores),
+                Integer.getInteger("linkify.redirect.lookup-threads", cores * 4)
+        );
+    }
+}
@@ -0,0 +1,139 @@
+package com.linkify.redirect;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.*;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class RedirectHandlerTest {
+    private final ShortUrlPersistence shortUrlCacheRepository = mock(ShortUrlPersistence.class);
+
+    private EmbeddedChannel channel;
+
+    @BeforeEach
+    public void setUp() {
+        channel = new EmbeddedChannel(new RedirectHandler(shortUrlCacheRepository, RedirectServer.objectMapper()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testRedirectsToOriginalUrl() {
+        // Given
+        when(shortUrlCacheRepository.getShortUrl("slug")).thenReturn(Optional.of(ShortUrlDomainModel.restore(
+                "https://example.com", "owner", "slug", OffsetDateTime.now().plusDays(1))));
+
+        // When
+        FullHttpResponse response = send(HttpMethod.GET, "/slug");
+
+        // Then
+        assertEquals(HttpResponseStatus.FOUND, response.status());
+        assertEquals("https://example.com", response.headers().get(HttpHeaderNames.LOCATION));
+        response.release();
+    }
+
+    @Test
+    public void testReturnsNotFoundForUnknownSlug() {
+        // Given
+        when(shortUrlCacheRepository.getShortUrl("missing")).thenReturn(Optional.empty());
+
+        // When
+        FullHttpResponse response = send(HttpMethod.GET, "/missing?utm=1");
+
+        // Then
+        assertEquals(HttpResponseStatus.NOT_FOUND, response.status());
+        assertEquals("{\"status\":404,\"message\":\"URL not found for slug: missing\"}",
+                response.content().toString(CharsetUtil.UTF_8));
+        response.release();
+    }
+
+    @Test
+    public void testReturnsNotFoundForExpiredUrl() {
+        // Given
+        when(shortUrlCacheRepository.getShortUrl("slug")).thenReturn(Optional.of(ShortUrlDomainModel.restore(
+                "https://example.com", "owner", "slug", OffsetDateTime.now().minusDays(1))));
+
+        // When
+        FullHttpResponse response = send(HttpMethod.GET, "/slug");
+
+        // Then
+        assertEquals(HttpResponseStatus.NOT_FOUND, response.status());
+        assertTrue(response.content().toString(CharsetUtil.UTF_8).contains("URL has expired"));
+        response.release();
+    }
+
+    @Test
+    public void testReturnsServiceUnavailableWhenRedisFails() {
+        // Given
+        when(shortUrlCacheRepository.getShortUrl("slug"))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        // When
+        FullHttpResponse response = send(HttpMethod.GET, "/slug");
+
+        // Then
+        assertEquals(HttpResponseStatus.SERVICE_UNAVAILABLE, response.status());
+        response.release();
+    }
+
+    @Test
+    public void testHeadGetsTheRedirectWithoutABody() {
+        // Given
+        when(shortUrlCacheRepository.getShortUrl("slug")).thenReturn(Optional.of(ShortUrlDomainModel.restore(
+                "https://example.com", "owner", "slug", null)));
+        when(shortUrlCacheRepository.getShortUrl("missing")).thenReturn(Optional.empty());
+
+        // When
+        FullHttpResponse redirect = send(HttpMethod.HEAD, "/slug");
+        FullHttpResponse notFound = send(HttpMethod.HEAD, "/missing");
+
+        // Then
+        assertEquals(HttpResponseStatus.FOUND, redirect.status());
+        assertEquals("https://example.com", redirect.headers().get(HttpHeaderNames.LOCATION));
+        assertEquals(HttpResponseStatus.NOT_FOUND, notFound.status());
+        assertEquals(0, notFound.content().readableBytes());
+        assertEquals("{\"status\":404,\"message\":\"URL not found for slug: missing\"}".length(),
+                notFound.headers().getInt(HttpHeaderNames.CONTENT_LENGTH));
+        redirect.release();
+        notFound.release();
+    }
+
+    @Test
+    public void testRejectsOtherMethods() {
+        // When
+        FullHttpResponse response = send(HttpMethod.POST, "/slug");
+
+        // Then
+        assertEquals(HttpResponseStatus.METHOD_NOT_ALLOWED, response.status());
+        assertEquals("GET, HEAD", response.headers().get(HttpHeaderNames.ALLOW));
+        verifyNoInteractions(shortUrlCacheRepository);
+        response.release();
+    }
+
+    @Test
+    public void testSlugFromUri() {
+        assertEquals("abc", RedirectHandler.slugFrom("/abc"));
+        assertEquals("abc", RedirectHandler.slugFrom("/abc?x=1"));
+        assertNull(RedirectHandler.slugFrom("/"));
+        assertNull(RedirectHandler.slugFrom("/v1/urls/abc"));
+    }
+
+    private FullHttpResponse send(HttpMethod method, String uri) {
+        channel.writeInbound(new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, method, uri));
+        return channel.readOutbound();
+    }
+}
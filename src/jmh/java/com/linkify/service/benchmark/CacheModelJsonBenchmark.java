@@ -0,0 +1,49 @@
+package com.linkify.service.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.linkify.service.infrastructure.persistence.model.ShortUrlCacheModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JSON form of cached links, which Redis values use while URL compression is off. Encoding includes the UTF-8
+ * conversion the cache codec does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CacheModelJsonBenchmark {
+    private static final String URL = "https://www.example.com/products/sale?utm_source=newsletter&utm_medium=email";
+
+    @Param({"false", "true"})
+    public boolean withExpiry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private ShortUrlCacheModel shortUrlCacheModel;
+    private String json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        shortUrlCacheModel = new ShortUrlCacheModel(URL, "owner",
+                withExpiry ? OffsetDateTime.of(2030, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC) : null);
+        json = objectMapper.writeValueAsString(shortUrlCacheModel);
+    }
+
+    @Benchmark
+    public byte[] encode() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(shortUrlCacheModel).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ShortUrlCacheModel decode() throws JsonProcessingException {
+        return objectMapper.readValue(json, ShortUrlCacheModel.class);
+    }
+}
@@ -0,0 +1,57 @@
+package com.linkify.service.benchmark;
+
+import com.linkify.service.domain.event.ShortLinkFetchedEvent;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Work done for every link created or resolved: building the domain model with URL and expiry validation (and
+ * without, as storage does), drawing a new slug, and creating the fetched event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DomainModelBenchmark {
+    private static final String URL = "https://www.example.com/products/sale?utm_source=newsletter&utm_medium=email";
+    private static final String OWNER = "owner";
+    private static final String SLUG = SlugCodec.encode(42);
+
+    private OffsetDateTime expirationDate;
+    private ShortUrlDomainModel shortUrlDomainModel;
+
+    @Setup
+    public void setUp() {
+        expirationDate = OffsetDateTime.now().plusDays(30);
+        shortUrlDomainModel = ShortUrlDomainModel.restore(URL, OWNER, SLUG, expirationDate);
+    }
+
+    @Benchmark
+    public ShortUrlDomainModel construct() {
+        return new ShortUrlDomainModel(URL, OWNER, SLUG, null);
+    }
+
+    @Benchmark
+    public ShortUrlDomainModel constructWithExpiry() {
+        return new ShortUrlDomainModel(URL, OWNER, SLUG, expirationDate);
+    }
+
+    @Benchmark
+    public ShortUrlDomainModel restore() {
+        return ShortUrlDomainModel.restore(URL, OWNER, SLUG, expirationDate);
+    }
+
+    @Benchmark
+    public String generateSlug() {
+        shortUrlDomainModel.regenerateSlug(false);
+        return shortUrlDomainModel.getUrlSlug();
+    }
+
+    @Benchmark
+    public ShortLinkFetchedEvent fetchedEvent() {
+        return ShortLinkFetchedEvent.createFromShortUrlDomainModel(DomainModelBenchmark.class, shortUrlDomainModel);
+    }
+}
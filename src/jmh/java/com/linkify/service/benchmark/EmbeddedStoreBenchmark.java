@@ -0,0 +1,112 @@
+package com.linkify.service.benchmark;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import com.linkify.service.infrastructure.persistence.ShortUrlDatabaseRepository;
+import com.linkify.service.infrastructure.persistence.embedded.EmbeddedShortUrlRepository;
+import com.linkify.service.infrastructure.persistence.embedded.EmbeddedShortUrlStore;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressionProperties;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressor;
+import com.linkify.service.infrastructure.persistence.partitioning.ExpiryPartitioningProperties;
+import com.linkify.service.infrastructure.persistence.replica.ReplicaProperties;
+import com.linkify.service.infrastructure.persistence.replica.ReplicaReadRouting;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetCache;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetProperties;
+import org.flywaydb.core.Flyway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slug lookups and inserts through {@link ShortUrlPersistence}, for the embedded memory-mapped store and for
+ * {@link ShortUrlDatabaseRepository}. The database side needs PostgreSQL ({@code -Dlinkify.bench.jdbc-url}, defaults to
+ * the docker-compose database) and migrates its own {@code embedded_bench} schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmbeddedStoreBenchmark {
+    private static final String SCHEMA = "embedded_bench";
+
+    @Param({"embedded", "postgres"})
+    public String engine;
+
+    @Param({"100000"})
+    public int rows;
+
+    private ShortUrlPersistence persistence;
+    private String[] slugs;
+    private Path directory;
+    private EmbeddedShortUrlStore store;
+    private SingleConnectionDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if ("embedded".equals(engine)) {
+            directory = Files.createTempDirectory("embedded-bench");
+            store = EmbeddedShortUrlStore.open(directory, 64L << 20, rows * 2, false);
+            persistence = new EmbeddedShortUrlRepository(store);
+        } else {
+            String url = System.getProperty("linkify.bench.jdbc-url",
+                    "jdbc:postgresql://127.0.0.1:5432/linkify?user=postgres&password=root");
+            Flyway flyway = Flyway.configure().dataSource(url, null, null).schemas(SCHEMA)
+                    .placeholders(Map.of("short_url_partitions", "4")).cleanDisabled(false).load();
+            flyway.clean();
+            flyway.migrate();
+
+            dataSource = new SingleConnectionDataSource(url, true);
+            NamedParameterJdbcTemplate template = new NamedParameterJdbcTemplate(dataSource);
+            template.getJdbcTemplate().execute("SET search_path TO " + SCHEMA);
+            persistence = new ShortUrlDatabaseRepository(template,
+                    new ExpiryPartitioningProperties(false, Duration.ofDays(84), Duration.ofDays(1)),
+                    new ReplicaReadRouting(new ReplicaProperties(false, List.of(), Duration.ofSeconds(1), 10)),
+                    new UrlCompressor(new UrlCompressionProperties(false, 1)),
+                    new UrlTargetCache(new UrlTargetProperties(false, 65536)), new SimpleMeterRegistry());
+        }
+
+        slugs = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("https://example.com/" + i, "bench",
+                    null, null);
+            persistence.save(shortUrlDomainModel);
+            slugs[i] = shortUrlDomainModel.getUrlSlug();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+            FileSystemUtils.deleteRecursively(directory);
+        }
+        if (dataSource != null) {
+            new JdbcTemplate(dataSource).execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+            dataSource.destroy();
+        }
+    }
+
+    @Benchmark
+    public ShortUrlDomainModel lookupBySlug() {
+        return persistence.getShortUrl(slugs[ThreadLocalRandom.current().nextInt(slugs.length)]).orElse(null);
+    }
+
+    @Benchmark
+    public ShortUrlDomainModel insert() {
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("https://example.com/new", "bench", null,
+                null);
+        persistence.save(shortUrlDomainModel);
+        return shortUrlDomainModel;
+    }
+}
@@ -0,0 +1,111 @@
+package com.linkify.service.benchmark;
+
+import com.linkify.service.application.concurrency.AdaptiveConcurrencyLimiter;
+import com.linkify.service.application.concurrency.ConcurrencyLimitProperties;
+import com.linkify.service.application.concurrency.HedgingPolicy;
+import com.linkify.service.application.concurrency.HedgingProperties;
+import com.linkify.service.application.usecase.FetchShortUrlBySlugCommand;
+import com.linkify.service.application.usecase.FetchShortUrlBySlugUseCase;
+import com.linkify.service.application.usecase.UseCaseResult;
+import com.linkify.service.domain.exception.UrlExpiredException;
+import com.linkify.service.domain.exception.UrlNotFoundException;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the exception-driven miss/expiry path the service used to take with the result-based one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MissPathBenchmark {
+    private static final String MISSING_SLUG = "missingSlug";
+    private static final String EXPIRED_SLUG = "expiredSlug";
+
+    private FetchShortUrlBySlugUseCase fetchShortUrlBySlugUseCase;
+    private ShortUrlPersistence emptyCache;
+    private ShortUrlPersistence database;
+    private OffsetDateTime pastExpirationDate;
+
+    @Setup
+    public void setUp() {
+        pastExpirationDate = OffsetDateTime.now().minusDays(1);
+        ShortUrlDomainModel expired = ShortUrlDomainModel.restore("https://example.com/expired", "owner",
+                EXPIRED_SLUG, pastExpirationDate);
+
+        emptyCache = new StubPersistence(Optional.empty());
+        database = new StubPersistence(Optional.of(expired));
+        fetchShortUrlBySlugUseCase = new FetchShortUrlBySlugUseCase(emptyCache, emptyCache, database, event -> {
+        }, new AdaptiveConcurrencyLimiter(
+                new ConcurrencyLimitProperties(false, 1, 1, 1, 1.0, 1.0, Duration.ofSeconds(30))
+        ), new HedgingPolicy(new HedgingProperties(false, 0.95, Duration.ZERO, Duration.ZERO, 0, 0)),
+                new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public UseCaseResult<ShortUrlDomainModel> missWithResult() {
+        return fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand(MISSING_SLUG));
+    }
+
+    @Benchmark
+    public UseCaseResult<ShortUrlDomainModel> expiredWithResult() {
+        return fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand(EXPIRED_SLUG));
+    }
+
+    @Benchmark
+    public Object missWithExceptions() {
+        try {
+            return fetchThrowing(MISSING_SLUG);
+        } catch (UrlNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object expiredWithExceptions() {
+        try {
+            return fetchThrowing(EXPIRED_SLUG);
+        } catch (UrlNotFoundException e) {
+            return e;
+        }
+    }
+
+    private ShortUrlDomainModel fetchThrowing(String slug) {
+        Optional<ShortUrlDomainModel> shortUrlDomainModel = emptyCache.getShortUrl(slug);
+        if (shortUrlDomainModel.isEmpty()) {
+            shortUrlDomainModel = database.getShortUrl(slug).flatMap(stored -> {
+                try {
+                    return Optional.of(new ShortUrlDomainModel(stored.getOriginalUrl(), stored.getOwner(),
+                            stored.getUrlSlug(), pastExpirationDate));
+                } catch (UrlExpiredException e) {
+                    return Optional.empty();
+                }
+            });
+        }
+
+        return shortUrlDomainModel.orElseThrow(() -> new UrlNotFoundException("URL not found for slug: " + slug));
+    }
+
+    private record StubPersistence(Optional<ShortUrlDomainModel> expiredLink) implements ShortUrlPersistence {
+        @Override
+        public void save(ShortUrlDomainModel shortUrlDomainModel) {
+        }
+
+        @Override
+        public Optional<ShortUrlDomainModel> getShortUrl(String slug) {
+            return EXPIRED_SLUG.equals(slug) ? expiredLink : Optional.empty();
+        }
+
+        @Override
+        public Optional<ShortUrlDomainModel> getByOwnerAndOriginalUrl(String owner, String originalUrl) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.linkify.service.benchmark;
+
+import com.linkify.service.infrastructure.persistence.partitioning.ShortUrlPartitionLayout;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slug lookup latency against the number of hash partitions and the number of rows. Needs a PostgreSQL instance
+ * ({@code -Dlinkify.bench.jdbc-url}, defaults to the docker-compose database); each trial builds its own table in the
+ * {@code partition_bench} schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PartitionLookupBenchmark {
+    private static final String SCHEMA = "partition_bench";
+
+    @Param({"4", "16", "64"})
+    public int partitions;
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private Connection connection;
+    private PreparedStatement lookup;
+    private List<Long> slugs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(System.getProperty("linkify.bench.jdbc-url",
+                "jdbc:postgresql://127.0.0.1:5432/linkify?user=postgres&password=root"));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("SET search_path TO " + SCHEMA);
+            for (String sql : ShortUrlPartitionLayout.createTable(partitions)) {
+                statement.execute(sql);
+            }
+            statement.execute("INSERT INTO short_url (slug, owner, original_url) " +
+                    "SELECT ('x' || substr(md5(i::text), 1, 16))::bit(64)::bigint, 'bench', 'https://example.com/' || i " +
+                    "FROM generate_series(1, " + rows + ") AS i ON CONFLICT DO NOTHING");
+            statement.execute("ANALYZE short_url");
+
+            slugs = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery(
+                    "SELECT slug FROM short_url ORDER BY random() LIMIT 10000")) {
+                while (resultSet.next()) {
+                    slugs.add(resultSet.getLong(1));
+                }
+            }
+        }
+
+        lookup = connection.prepareStatement("SELECT * FROM short_url WHERE slug = ? LIMIT 1");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA " + SCHEMA + " CASCADE");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public String lookupBySlug() throws SQLException {
+        lookup.setLong(1, slugs.get(ThreadLocalRandom.current().nextInt(slugs.size())));
+        try (ResultSet resultSet = lookup.executeQuery()) {
+            return resultSet.next() ? resultSet.getString("original_url") : null;
+        }
+    }
+}
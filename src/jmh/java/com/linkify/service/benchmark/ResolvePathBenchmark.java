@@ -0,0 +1,89 @@
+package com.linkify.service.benchmark;
+
+import com.linkify.service.application.concurrency.AdaptiveConcurrencyLimiter;
+import com.linkify.service.application.concurrency.ConcurrencyLimitProperties;
+import com.linkify.service.application.concurrency.HedgingPolicy;
+import com.linkify.service.application.concurrency.HedgingProperties;
+import com.linkify.service.application.usecase.FetchShortUrlBySlugCommand;
+import com.linkify.service.application.usecase.FetchShortUrlBySlugUseCase;
+import com.linkify.service.application.usecase.UseCaseResult;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving a link that is found in the local cache, in the shared cache or only in the database. The stores are
+ * in-memory stand-ins that drop writes, so every invocation takes the same path and only the use case itself, the
+ * expiry check and the fetched event are measured. {@code metrics} compares no-op meters with recording ones, which
+ * is the cost the resolve metrics add.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResolvePathBenchmark {
+    private static final String SLUG = SlugCodec.encode(42);
+
+    @Param({"local-cache", "cache", "database"})
+    public String foundIn;
+
+    @Param({"off", "on"})
+    public String metrics;
+
+    private FetchShortUrlBySlugUseCase fetchShortUrlBySlugUseCase;
+    private Object lastEvent;
+
+    @Setup
+    public void setUp() {
+        ShortUrlDomainModel shortUrlDomainModel = ShortUrlDomainModel.restore("https://example.com/landing", "owner",
+                SLUG, OffsetDateTime.now().plusDays(30));
+        Map<String, ShortUrlDomainModel> links = Map.of(SLUG, shortUrlDomainModel);
+
+        fetchShortUrlBySlugUseCase = new FetchShortUrlBySlugUseCase(
+                new InMemoryPersistence(foundIn.equals("local-cache") ? links : Map.of()),
+                new InMemoryPersistence(foundIn.equals("cache") ? links : Map.of()),
+                new InMemoryPersistence(foundIn.equals("database") ? links : Map.of()),
+                event -> lastEvent = event,
+                new AdaptiveConcurrencyLimiter(
+                        new ConcurrencyLimitProperties(false, 1, 1, 1, 1.0, 1.0, Duration.ofSeconds(30))),
+                new HedgingPolicy(new HedgingProperties(false, 0.95, Duration.ZERO, Duration.ZERO, 0, 0)),
+                // A composite registry without children hands out no-op meters.
+                metrics.equals("on") ? new SimpleMeterRegistry() : new CompositeMeterRegistry());
+    }
+
+    @Benchmark
+    public UseCaseResult<ShortUrlDomainModel> resolve() {
+        return fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand(SLUG));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (lastEvent == null) {
+            throw new IllegalStateException("No fetched event was published");
+        }
+    }
+
+    private record InMemoryPersistence(Map<String, ShortUrlDomainModel> links) implements ShortUrlPersistence {
+        @Override
+        public void save(ShortUrlDomainModel shortUrlDomainModel) {
+        }
+
+        @Override
+        public Optional<ShortUrlDomainModel> getShortUrl(String slug) {
+            return Optional.ofNullable(links.get(slug));
+        }
+
+        @Override
+        public Optional<ShortUrlDomainModel> getByOwnerAndOriginalUrl(String owner, String originalUrl) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.linkify.service.benchmark;
+
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressor;
+import com.linkify.service.infrastructure.persistence.compression.UrlDictionary;
+import com.linkify.service.infrastructure.persistence.compression.UrlDictionaryTrainer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compression ratio and pack/unpack latency of original URLs, with the shipped v1 dictionary and with one trained on
+ * half of the corpus and measured on the other half. The corpus is {@code -Dlinkify.bench.url-corpus}, one URL per
+ * line, or a generated one with a long tail of hosts, article paths, tracking parameters and click ids. The ratio is
+ * printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UrlCompressionBenchmark {
+    private static final String[] HOSTS = {"www.youtube.com", "www.amazon.com", "github.com", "www.nytimes.com",
+            "medium.com", "docs.google.com", "www.linkedin.com", "shop.example.com", "blog.example.org",
+            "news.example.net", "www.bbc.co.uk", "en.wikipedia.org", "www.reddit.com", "store.steampowered.com"};
+    private static final String[] WORDS = {"how", "to", "build", "fast", "java", "services", "spring", "sale",
+            "summer", "guide", "review", "best", "new", "release", "notes", "2024", "product", "deal", "video",
+            "world", "news", "update", "tutorial", "postgres", "redis", "cache", "latency"};
+    private static final String[] SOURCES = {"newsletter", "twitter", "facebook", "linkedin", "email", "google"};
+    private static final String[] MEDIUMS = {"email", "social", "cpc", "referral"};
+
+    @Param({"v1", "trained"})
+    public String dictionary;
+
+    private UrlCompressor urlCompressor;
+    private List<String> urls;
+    private List<byte[]> packed;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String corpusFile = System.getProperty("linkify.bench.url-corpus");
+        List<String> corpus = corpusFile == null ? generate(20_000, new Random(42))
+                : Files.readAllLines(Path.of(corpusFile), StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.isBlank()).toList();
+
+        List<String> training = corpus.subList(0, corpus.size() / 2);
+        urls = corpus.subList(corpus.size() / 2, corpus.size());
+        UrlDictionary selected = "v1".equals(dictionary) ? UrlDictionary.load(1).orElseThrow()
+                : UrlDictionaryTrainer.train(2, training, UrlDictionary.MAX_PREFIXES,
+                UrlDictionaryTrainer.DEFAULT_DICTIONARY_BYTES);
+        urlCompressor = new UrlCompressor(List.of(selected), selected.version());
+
+        packed = new ArrayList<>(urls.size());
+        long rawBytes = 0;
+        long packedBytes = 0;
+        for (String url : urls) {
+            byte[] value = urlCompressor.compress(url);
+            packed.add(value);
+            rawBytes += url.getBytes(StandardCharsets.UTF_8).length;
+            packedBytes += value.length;
+        }
+        System.out.printf("%n%s dictionary: %d URLs, %d bytes raw, %d bytes packed, ratio %.2f%n", dictionary,
+                urls.size(), rawBytes, packedBytes, (double) rawBytes / packedBytes);
+    }
+
+    @Benchmark
+    public byte[] compress() {
+        return urlCompressor.compress(urls.get(nextIndex()));
+    }
+
+    @Benchmark
+    public String decompress() {
+        return urlCompressor.decompress(packed.get(nextIndex()));
+    }
+
+    private int nextIndex() {
+        next = next + 1 == urls.size() ? 0 : next + 1;
+        return next;
+    }
+
+    private static List<String> generate(int count, Random random) {
+        List<String> corpus = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder url = new StringBuilder("https://");
+            // Skewed towards the first hosts, with a tail of one-off subdomains.
+            url.append(random.nextInt(10) == 0 ? "m" + random.nextInt(5000) + ".example.com"
+                    : HOSTS[(int) (HOSTS.length * Math.pow(random.nextDouble(), 2))]);
+            url.append('/');
+            int segments = 1 + random.nextInt(3);
+            for (int segment = 0; segment < segments; segment++) {
+                if (segment > 0) {
+                    url.append('/');
+                }
+                int words = 1 + random.nextInt(5);
+                for (int word = 0; word < words; word++) {
+                    url.append(word == 0 ? "" : "-").append(WORDS[random.nextInt(WORDS.length)]);
+                }
+            }
+            if (random.nextInt(3) == 0) {
+                url.append("?id=").append(random.nextInt(1_000_000));
+            }
+            if (random.nextInt(2) == 0) {
+                url.append(url.indexOf("?") < 0 ? '?' : '&')
+                        .append("utm_source=").append(SOURCES[random.nextInt(SOURCES.length)])
+                        .append("&utm_medium=").append(MEDIUMS[random.nextInt(MEDIUMS.length)])
+                        .append("&utm_campaign=").append(WORDS[random.nextInt(WORDS.length)])
+                        .append('-').append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            if (random.nextInt(10) == 0) {
+                url.append(url.indexOf("?") < 0 ? '?' : '&').append("fbclid=")
+                        .append(Long.toString(random.nextLong() & Long.MAX_VALUE, 36))
+                        .append(Long.toString(random.nextLong() & Long.MAX_VALUE, 36));
+            }
+            corpus.add(url.toString());
+        }
+        return corpus;
+    }
+}
@@ -1,9 +1,16 @@
 package com.linkify.service;
 
+import com.linkify.service.infrastructure.aot.LinkifyRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
+@ImportRuntimeHints(LinkifyRuntimeHints.class)
 public class LinkifyApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,103 @@
+package com.linkify.service.application.concurrency;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * AIMD concurrency limit for database-bound work. The limit grows by one while latency stays close to the lowest
+ * latency seen in the current window and shrinks multiplicatively when latency rises above it or a call fails, so
+ * work over the limit is shed instead of queueing on a slow database.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+    private final ConcurrencyLimitProperties properties;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private long minLatencyNanos = Long.MAX_VALUE;
+    private long minLatencyResetAtNanos;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.estimatedLimit = properties.initialLimit();
+        this.limit = properties.initialLimit();
+        this.minLatencyResetAtNanos = nanoClock.getAsLong() + properties.minLatencyWindow().toNanos();
+    }
+
+    public Optional<Permit> tryAcquire() {
+        if (!properties.enabled()) {
+            return Optional.of(new Permit(0, 0));
+        }
+
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return Optional.empty();
+            }
+
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return Optional.of(new Permit(nanoClock.getAsLong(), current + 1));
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightAtStart, boolean dropped) {
+        long now = nanoClock.getAsLong();
+        if (now - minLatencyResetAtNanos >= 0) {
+            minLatencyNanos = latencyNanos;
+            minLatencyResetAtNanos = now + properties.minLatencyWindow().toNanos();
+        } else {
+            minLatencyNanos = Math.min(minLatencyNanos, latencyNanos);
+        }
+
+        if (dropped || latencyNanos > minLatencyNanos * properties.latencyTolerance()) {
+            estimatedLimit = Math.max(properties.minLimit(), estimatedLimit * properties.backoffRatio());
+        } else if (inFlightAtStart * 2 >= estimatedLimit) {
+            estimatedLimit = Math.min(properties.maxLimit(), estimatedLimit + 1);
+        }
+
+        limit = (int) estimatedLimit;
+    }
+
+    public final class Permit {
+        private final long startNanos;
+        private final int inFlightAtStart;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Returns the permit and feeds its latency into the limit. Failed calls count as drops and back the limit off.
+         */
+        public void complete(boolean succeeded) {
+            if (!properties.enabled()) {
+                return;
+            }
+
+            inFlight.decrementAndGet();
+            onSample(nanoClock.getAsLong() - startNanos, inFlightAtStart, !succeeded);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.linkify.service.application.concurrency;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Decides when a slow cache lookup is backed up by a database lookup. The hedge delay follows the configured
+ * percentile of recent cache latencies, clamped to {@code [minDelay, maxDelay]}; until enough samples exist it is
+ * {@code maxDelay}. Every lookup earns {@code maxHedgeRatio} of a hedge, up to {@code maxBurst}, so a slow cache can
+ * never multiply database load by more than that ratio.
+ * <p>
+ * Recording a latency takes no lock: samples go into a ring and the budget is a fixed-point counter. The percentile
+ * is recomputed on the hedge executor every {@value #RECOMPUTE_EVERY} samples, never on the lookup that recorded one.
+ */
+@Component
+public class HedgingPolicy {
+    static final int SAMPLES = 1024;
+    private static final int MIN_SAMPLES = 100;
+    private static final int RECOMPUTE_EVERY = 64;
+    private static final long BUDGET_UNIT = 1_000_000;
+
+    private final HedgingProperties properties;
+    private final ExecutorService executor;
+    private final AtomicLongArray samples = new AtomicLongArray(SAMPLES);
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicBoolean recomputing = new AtomicBoolean();
+    private final AtomicLong budget;
+    private final long maxBudget;
+    private final long budgetPerSample;
+    private volatile long hedgeDelayNanos;
+
+    @Autowired
+    public HedgingPolicy(HedgingProperties properties) {
+        this.properties = properties;
+        this.executor = properties.enabled() ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        this.hedgeDelayNanos = properties.maxDelay().toNanos();
+        this.maxBudget = properties.maxBurst() * BUDGET_UNIT;
+        this.budgetPerSample = Math.round(properties.maxHedgeRatio() * BUDGET_UNIT);
+        this.budget = new AtomicLong(maxBudget);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public Executor executor() {
+        return executor;
+    }
+
+    public long getHedgeDelayNanos() {
+        return hedgeDelayNanos;
+    }
+
+    public void recordPrimaryLatency(long latencyNanos) {
+        long sample = recorded.getAndIncrement();
+        samples.set((int) (sample % SAMPLES), latencyNanos);
+        budget.accumulateAndGet(budgetPerSample, (current, earned) -> Math.min(maxBudget, current + earned));
+
+        long count = sample + 1;
+        if (count >= MIN_SAMPLES && count % RECOMPUTE_EVERY == 0 && executor != null
+                && recomputing.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        recomputeHedgeDelay();
+                    } finally {
+                        recomputing.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the delay no longer matters.
+                recomputing.set(false);
+            }
+        }
+    }
+
+    void recomputeHedgeDelay() {
+        int sampleCount = (int) Math.min(SAMPLES, recorded.get());
+        if (sampleCount < MIN_SAMPLES) {
+            return;
+        }
+
+        long[] sorted = new long[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(properties.percentile() * sampleCount) - 1;
+        long percentile = sorted[Math.clamp(rank, 0, sampleCount - 1)];
+        hedgeDelayNanos = Math.clamp(percentile, properties.minDelay().toNanos(), properties.maxDelay().toNanos());
+    }
+
+    /**
+     * Takes one hedge from the budget, or returns false when the budget is spent.
+     */
+    public boolean tryHedge() {
+        while (true) {
+            long current = budget.get();
+            if (current < BUDGET_UNIT) {
+                return false;
+            }
+
+            if (budget.compareAndSet(current, current - BUDGET_UNIT)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Stops taking new lookups on the hedge executor; those already running finish.
+     */
+    @PreDestroy
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.linkify.service.application.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "linkify.hedging")
+public record HedgingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0.95") double percentile,
+        @DefaultValue("1ms") Duration minDelay,
+        @DefaultValue("50ms") Duration maxDelay,
+        @DefaultValue("0.05") double maxHedgeRatio,
+        @DefaultValue("10") int maxBurst) {
+}
@@ -0,0 +1,11 @@
+package com.linkify.service.application.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("linkify.CacheLookup")
+@Label("Cache Lookup")
+@Description("Lookup of a link in the local cache or Redis")
+public final class CacheLookupEvent extends ShortUrlFlightEvent {
+}
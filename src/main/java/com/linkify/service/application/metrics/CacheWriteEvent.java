@@ -0,0 +1,11 @@
+package com.linkify.service.application.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("linkify.CacheWrite")
+@Label("Cache Write")
+@Description("Write of a link to the local cache or Redis")
+public final class CacheWriteEvent extends ShortUrlFlightEvent {
+}
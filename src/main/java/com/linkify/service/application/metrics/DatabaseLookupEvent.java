@@ -0,0 +1,11 @@
+package com.linkify.service.application.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("linkify.DatabaseLookup")
+@Label("Database Lookup")
+@Description("Lookup of a link in the database")
+public final class DatabaseLookupEvent extends ShortUrlFlightEvent {
+}
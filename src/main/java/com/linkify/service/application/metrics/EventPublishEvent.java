@@ -0,0 +1,17 @@
+package com.linkify.service.application.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("linkify.EventPublish")
+@Label("Event Publish")
+@Description("Publication of a domain event to the application listeners")
+public final class EventPublishEvent extends ShortUrlFlightEvent {
+    @Label("Event")
+    String event;
+
+    public EventPublishEvent(String event) {
+        this.event = event;
+    }
+}
@@ -0,0 +1,54 @@
+package com.linkify.service.application.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the Java Flight Recorder events on the short URL paths. Callers {@code begin()} an event and
+ * {@link #complete(String, String, String)} it. The fields are only filled in once the event is known to be recorded,
+ * so with recording off an event costs two timestamp reads, and its allocation is removed by escape analysis.
+ */
+@Category("Linkify")
+@StackTrace(false)
+public abstract class ShortUrlFlightEvent extends Event {
+    public static final String LOCAL_CACHE = "local_cache";
+    public static final String CACHE = "cache";
+    public static final String DATABASE = "database";
+    public static final String EMBEDDED = "embedded";
+    public static final String EVENTS = "events";
+
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+    public static final String ERROR = "error";
+    public static final String WRITTEN = "written";
+    public static final String PUBLISHED = "published";
+    public static final String RETRIED = "retried";
+
+    @Label("Slug Hash")
+    @Description("Hash of the slug, so events of one link can be correlated without recording the link")
+    int slugHash;
+
+    @Label("Tier")
+    String tier;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Ends the event and commits it if it is enabled and over its threshold.
+     *
+     * @param slug the slug the operation was for, or {@code null} if it is not known
+     */
+    public void complete(String tier, String slug, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.slugHash = slug == null ? 0 : slug.hashCode();
+            this.tier = tier;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.linkify.service.application.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("linkify.SlugCollision")
+@Label("Slug Collision")
+@Description("A generated slug that was already taken, retried with a new one")
+public final class SlugCollisionEvent extends ShortUrlFlightEvent {
+
+    public static void retried(String tier, String slug) {
+        SlugCollisionEvent event = new SlugCollisionEvent();
+        event.begin();
+        event.complete(tier, slug, RETRIED);
+    }
+}
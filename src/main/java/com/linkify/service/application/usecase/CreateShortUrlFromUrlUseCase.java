@@ -1,16 +1,27 @@
 package com.linkify.service.application.usecase;
 
+import com.linkify.service.application.concurrency.AdaptiveConcurrencyLimiter;
+import com.linkify.service.application.metrics.CacheLookupEvent;
+import com.linkify.service.application.metrics.CacheWriteEvent;
+import com.linkify.service.application.metrics.DatabaseLookupEvent;
+import com.linkify.service.application.metrics.EventPublishEvent;
+import com.linkify.service.application.metrics.LatencyTimers;
 import com.linkify.service.domain.event.ShortLinkCreatedEvent;
 import com.linkify.service.domain.exception.FailedToPersistException;
 import com.linkify.service.domain.model.ShortUrlDomainModel;
 import com.linkify.service.domain.port.ShortUrlPersistence;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class CreateShortUrlFromUrlUseCase implements UseCase<CreateShortUrlFromUrlCommand, ShortUrlDomainModel> {
@@ -20,65 +31,151 @@ public class CreateShortUrlFromUrlUseCase implements UseCase<CreateShortUrlFromU
     private final ShortUrlPersistence shortUrlCacheRepository;
     private final ShortUrlPersistence shortUrlDatabaseRepository;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+    private final Timer createTimer;
+    private final Timer publishTimer;
+    private final Counter cacheHits;
+    private final Counter databaseHits;
+    private final Counter created;
+    private final Counter unavailable;
+    private final Counter overloaded;
+    private final Counter failed;
 
     @Autowired
     public CreateShortUrlFromUrlUseCase(ShortUrlPersistence shortUrlCacheRepository,
                                         ShortUrlPersistence shortUrlDatabaseRepository,
-                                        ApplicationEventPublisher applicationEventPublisher
+                                        ApplicationEventPublisher applicationEventPublisher,
+                                        AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter,
+                                        MeterRegistry meterRegistry
     ) {
         this.shortUrlCacheRepository = shortUrlCacheRepository;
         this.shortUrlDatabaseRepository = shortUrlDatabaseRepository;
         this.applicationEventPublisher = applicationEventPublisher;
+        this.adaptiveConcurrencyLimiter = adaptiveConcurrencyLimiter;
+        this.createTimer = LatencyTimers.timer(meterRegistry, "linkify.create");
+        this.publishTimer = LatencyTimers.timer(meterRegistry, "linkify.events.publish",
+                "event", ShortLinkCreatedEvent.eventName);
+        this.cacheHits = outcome(meterRegistry, "cache_hit");
+        this.databaseHits = outcome(meterRegistry, "database_hit");
+        this.created = outcome(meterRegistry, "created");
+        this.unavailable = outcome(meterRegistry, "unavailable");
+        this.overloaded = outcome(meterRegistry, "overloaded");
+        this.failed = outcome(meterRegistry, "failed");
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return meterRegistry.counter("linkify.create.outcomes", "outcome", outcome);
     }
 
     @Override
-    public Optional<ShortUrlDomainModel> execute(CreateShortUrlFromUrlCommand command) {
+    public UseCaseResult<ShortUrlDomainModel> execute(CreateShortUrlFromUrlCommand command) {
+        long startNanos = System.nanoTime();
+        try {
+            return create(command);
+        } finally {
+            createTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private UseCaseResult<ShortUrlDomainModel> create(CreateShortUrlFromUrlCommand command) {
         logger.debug("Trying to fetch short URL by owner {} and original URL: {} from cache", command.owner(),
                 command.originalUrl());
+        CacheLookupEvent cacheLookup = new CacheLookupEvent();
+        cacheLookup.begin();
         Optional<ShortUrlDomainModel> shortUrlDomainModel = shortUrlCacheRepository.getByOwnerAndOriginalUrl(
                 command.owner(),
                 command.originalUrl()
         );
-        if (shortUrlDomainModel.isPresent()) {
+        if (shortUrlDomainModel.isPresent() && !shortUrlDomainModel.get().isExpired()) {
+            cacheLookup.complete(CacheLookupEvent.CACHE, shortUrlDomainModel.get().getUrlSlug(), CacheLookupEvent.HIT);
             logger.debug("Short URL found in cache: {}", shortUrlDomainModel.get().getUrlSlug());
-            return shortUrlDomainModel;
+            cacheHits.increment();
+            return UseCaseResult.found(shortUrlDomainModel.get());
+        }
+        cacheLookup.complete(CacheLookupEvent.CACHE, null, CacheLookupEvent.MISS);
+
+        Optional<AdaptiveConcurrencyLimiter.Permit> permit = adaptiveConcurrencyLimiter.tryAcquire();
+        if (permit.isEmpty()) {
+            overloaded.increment();
+            return UseCaseResult.overloaded();
+        }
+
+        boolean databaseFailed = false;
+        try {
+            return findOrCreate(command);
+        } catch (DataAccessException e) {
+            databaseFailed = true;
+            failed.increment();
+            logger.error("Failed to create short URL for owner: {}", command.owner(), e);
+            return UseCaseResult.unavailable("Failed to create short URL");
+        } finally {
+            permit.get().complete(!databaseFailed);
         }
+    }
 
+    private UseCaseResult<ShortUrlDomainModel> findOrCreate(CreateShortUrlFromUrlCommand command) {
         logger.debug("Short URL not found in cache, fetching from database");
-        shortUrlDomainModel = shortUrlDatabaseRepository.getByOwnerAndOriginalUrl(
-                command.owner(),
-                command.originalUrl()
-        );
-        if (shortUrlDomainModel.isPresent()) {
+        Optional<ShortUrlDomainModel> shortUrlDomainModel = fetchFromDatabase(command);
+        if (shortUrlDomainModel.isPresent() && !shortUrlDomainModel.get().isExpired()) {
             logger.debug("Short URL found in database: {}", shortUrlDomainModel.get().getUrlSlug());
-            return shortUrlDomainModel;
+            databaseHits.increment();
+            return UseCaseResult.found(shortUrlDomainModel.get());
         }
 
         ShortUrlDomainModel newShortUrlDomainModel = new ShortUrlDomainModel(
                 command.originalUrl(), command.owner(), null, command.expirationDate()
         );
 
-        logger.info("Creating new short URL for owner {} and original URL: {}", command.owner(), command.originalUrl());
+        logger.debug("Creating new short URL for owner {} and original URL: {}", command.owner(),
+                command.originalUrl());
         shortUrlDatabaseRepository.save(newShortUrlDomainModel);
         publishDomainEvent(newShortUrlDomainModel);
 
+        CacheWriteEvent cacheWrite = new CacheWriteEvent();
+        cacheWrite.begin();
         try {
             logger.debug("Persisting new short URL to cache");
             shortUrlCacheRepository.save(newShortUrlDomainModel);
+            cacheWrite.complete(CacheWriteEvent.CACHE, newShortUrlDomainModel.getUrlSlug(), CacheWriteEvent.WRITTEN);
         } catch (FailedToPersistException e) {
-            return Optional.empty();
+            cacheWrite.complete(CacheWriteEvent.CACHE, newShortUrlDomainModel.getUrlSlug(), CacheWriteEvent.ERROR);
+            unavailable.increment();
+            return UseCaseResult.unavailable("Failed to create short URL");
         }
 
+        created.increment();
+        return UseCaseResult.found(newShortUrlDomainModel);
+    }
 
-        return Optional.of(newShortUrlDomainModel);
+    private Optional<ShortUrlDomainModel> fetchFromDatabase(CreateShortUrlFromUrlCommand command) {
+        DatabaseLookupEvent databaseLookup = new DatabaseLookupEvent();
+        databaseLookup.begin();
+        String slug = null;
+        String outcome = DatabaseLookupEvent.ERROR;
+        try {
+            Optional<ShortUrlDomainModel> shortUrlDomainModel = shortUrlDatabaseRepository.getByOwnerAndOriginalUrl(
+                    command.owner(),
+                    command.originalUrl()
+            );
+            slug = shortUrlDomainModel.map(ShortUrlDomainModel::getUrlSlug).orElse(null);
+            outcome = shortUrlDomainModel.isPresent() ? DatabaseLookupEvent.HIT : DatabaseLookupEvent.MISS;
+            return shortUrlDomainModel;
+        } finally {
+            databaseLookup.complete(DatabaseLookupEvent.DATABASE, slug, outcome);
+        }
     }
 
     private void publishDomainEvent(ShortUrlDomainModel shortUrlDomainModel) {
+        EventPublishEvent eventPublish = new EventPublishEvent(ShortLinkCreatedEvent.eventName);
+        eventPublish.begin();
+        long startNanos = System.nanoTime();
         applicationEventPublisher.publishEvent(
                 ShortLinkCreatedEvent.createFromShortUrlDomainModel(
                         CreateShortUrlFromUrlUseCase.class,
                         shortUrlDomainModel
                 )
         );
+        publishTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        eventPublish.complete(EventPublishEvent.EVENTS, shortUrlDomainModel.getUrlSlug(), EventPublishEvent.PUBLISHED);
     }
 }
@@ -0,0 +1,9 @@
+package com.linkify.service.application.usecase;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+
+import java.util.function.Consumer;
+
+public record ExportOwnerShortUrlsCommand(String owner, Consumer<ShortUrlDomainModel> consumer)
+        implements UseCaseCommand {
+}
@@ -0,0 +1,36 @@
+package com.linkify.service.application.usecase;
+
+import com.linkify.service.domain.exception.FailedToFetchException;
+import com.linkify.service.domain.port.OwnerShortUrlPersistence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Streams all links of an owner to the command's consumer as they are read.
+ */
+@Service
+@Profile("!embedded")
+public class ExportOwnerShortUrlsUseCase implements UseCase<ExportOwnerShortUrlsCommand, Long> {
+    Logger logger = LoggerFactory.getLogger(ExportOwnerShortUrlsUseCase.class);
+
+    private final OwnerShortUrlPersistence ownerShortUrlPersistence;
+
+    @Autowired
+    public ExportOwnerShortUrlsUseCase(OwnerShortUrlPersistence ownerShortUrlPersistence) {
+        this.ownerShortUrlPersistence = ownerShortUrlPersistence;
+    }
+
+    @Override
+    public UseCaseResult<Long> execute(ExportOwnerShortUrlsCommand command) {
+        try {
+            return UseCaseResult.found(ownerShortUrlPersistence.exportByOwner(command.owner(), command.consumer()));
+        } catch (DataAccessException | FailedToFetchException e) {
+            logger.error("Failed to export short URLs of owner: {}", command.owner(), e);
+            return UseCaseResult.unavailable("Failed to export short URLs");
+        }
+    }
+}
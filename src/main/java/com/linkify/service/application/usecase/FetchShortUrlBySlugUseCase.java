@@ -1,65 +1,279 @@
 package com.linkify.service.application.usecase;
 
+import com.linkify.service.application.concurrency.AdaptiveConcurrencyLimiter;
+import com.linkify.service.application.concurrency.HedgingPolicy;
+import com.linkify.service.application.metrics.CacheLookupEvent;
+import com.linkify.service.application.metrics.CacheWriteEvent;
+import com.linkify.service.application.metrics.DatabaseLookupEvent;
+import com.linkify.service.application.metrics.EventPublishEvent;
+import com.linkify.service.application.metrics.LatencyTimers;
 import com.linkify.service.domain.event.ShortLinkFetchedEvent;
 import com.linkify.service.domain.exception.FailedToFetchException;
-import com.linkify.service.domain.exception.UrlNotFoundException;
+import com.linkify.service.domain.exception.FailedToPersistException;
 import com.linkify.service.domain.model.ShortUrlDomainModel;
-import com.linkify.service.infrastructure.persistence.ShortUrlCacheRepository;
-import com.linkify.service.infrastructure.persistence.ShortUrlDatabaseRepository;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class FetchShortUrlBySlugUseCase implements UseCase<FetchShortUrlBySlugCommand, ShortUrlDomainModel> {
     Logger logger = LoggerFactory.getLogger(FetchShortUrlBySlugUseCase.class);
 
-    private final ShortUrlCacheRepository shortUrlCacheRepository;
-    private final ShortUrlDatabaseRepository shortUrlDatabaseRepository;
+    private final ShortUrlPersistence shortUrlLocalCacheRepository;
+    private final ShortUrlPersistence shortUrlCacheRepository;
+    private final ShortUrlPersistence shortUrlDatabaseRepository;
     private final ApplicationEventPublisher applicationEventPublisher;
+    private final AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+    private final HedgingPolicy hedgingPolicy;
+    private final Timer resolveTimer;
+    private final Timer publishTimer;
+    private final Counter localCacheHits;
+    private final Counter cacheHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+    private final Counter expired;
+    private final Counter unavailable;
+    private final Counter overloaded;
 
     @Autowired
     public FetchShortUrlBySlugUseCase(
-            ShortUrlCacheRepository shortUrlCacheRepository,
-            ShortUrlDatabaseRepository shortUrlDatabaseRepository,
-            ApplicationEventPublisher applicationEventPublisher
+            ShortUrlPersistence shortUrlLocalCacheRepository,
+            ShortUrlPersistence shortUrlCacheRepository,
+            ShortUrlPersistence shortUrlDatabaseRepository,
+            ApplicationEventPublisher applicationEventPublisher,
+            AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter,
+            HedgingPolicy hedgingPolicy,
+            MeterRegistry meterRegistry
     ) {
+        this.shortUrlLocalCacheRepository = shortUrlLocalCacheRepository;
         this.shortUrlCacheRepository = shortUrlCacheRepository;
         this.shortUrlDatabaseRepository = shortUrlDatabaseRepository;
         this.applicationEventPublisher = applicationEventPublisher;
+        this.adaptiveConcurrencyLimiter = adaptiveConcurrencyLimiter;
+        this.hedgingPolicy = hedgingPolicy;
+        this.resolveTimer = LatencyTimers.timer(meterRegistry, "linkify.resolve");
+        this.publishTimer = LatencyTimers.timer(meterRegistry, "linkify.events.publish",
+                "event", ShortLinkFetchedEvent.eventName);
+        this.localCacheHits = outcome(meterRegistry, "local_cache_hit");
+        this.cacheHits = outcome(meterRegistry, "cache_hit");
+        this.databaseHits = outcome(meterRegistry, "database_hit");
+        this.misses = outcome(meterRegistry, "miss");
+        this.expired = outcome(meterRegistry, "expired");
+        this.unavailable = outcome(meterRegistry, "unavailable");
+        this.overloaded = outcome(meterRegistry, "overloaded");
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return meterRegistry.counter("linkify.resolve.outcomes", "outcome", outcome);
     }
 
     @Override
-    public Optional<ShortUrlDomainModel> execute(FetchShortUrlBySlugCommand command) throws FailedToFetchException {
-        logger.info("Fetching short URL by slug: {}", command.slug());
-        Optional<ShortUrlDomainModel> shortUrlDomainModel = shortUrlCacheRepository.getShortUrl(command.slug());
-        logger.debug("Short URL found in cache: {}", shortUrlDomainModel.isPresent());
+    public UseCaseResult<ShortUrlDomainModel> execute(FetchShortUrlBySlugCommand command) {
+        long startNanos = System.nanoTime();
+        CacheLookupEvent localCacheLookup = new CacheLookupEvent();
+        localCacheLookup.begin();
+        Optional<ShortUrlDomainModel> shortUrlDomainModel = shortUrlLocalCacheRepository.getShortUrl(command.slug());
+        localCacheLookup.complete(CacheLookupEvent.LOCAL_CACHE, command.slug(),
+                shortUrlDomainModel.isPresent() ? CacheLookupEvent.HIT : CacheLookupEvent.MISS);
+        boolean fromLocalCache = shortUrlDomainModel.isPresent();
+        Counter hits = localCacheHits;
+        CompletableFuture<Optional<ShortUrlDomainModel>> hedge = null;
+        if (shortUrlDomainModel.isEmpty()) {
+            if (hedgingPolicy.isEnabled()) {
+                CacheLookup cacheLookup = fetchFromCacheOrHedge(command.slug());
+                shortUrlDomainModel = cacheLookup.cached();
+                hedge = cacheLookup.hedge();
+            } else {
+                shortUrlDomainModel = fetchFromCache(command.slug());
+            }
+            hits = cacheHits;
+        }
+
         if (shortUrlDomainModel.isEmpty()) {
-            logger.debug("Short URL not found in cache, fetching from database");
-            shortUrlDomainModel = shortUrlDatabaseRepository.getShortUrl(command.slug());
+            hits = databaseHits;
+            try {
+                if (hedge != null) {
+                    shortUrlDomainModel = join(hedge);
+                } else {
+                    Optional<AdaptiveConcurrencyLimiter.Permit> permit = adaptiveConcurrencyLimiter.tryAcquire();
+                    if (permit.isEmpty()) {
+                        return finish(UseCaseResult.overloaded(), overloaded, startNanos);
+                    }
+                    shortUrlDomainModel = fetchFromDatabase(command.slug(), permit.get());
+                }
+            } catch (DataAccessException | FailedToFetchException e) {
+                logger.error("Failed to fetch short URL from database for slug: {}", command.slug(), e);
+                return finish(UseCaseResult.unavailable("Failed to fetch short URL"), unavailable, startNanos);
+            }
         }
 
         if (shortUrlDomainModel.isEmpty()) {
-            logger.warn("Short URL not found for slug: {}", command.slug());
-            throw new UrlNotFoundException("URL not found for slug: " + command.slug());
+            return finish(UseCaseResult.notFound(), misses, startNanos);
+        }
+
+        if (!fromLocalCache) {
+            CacheWriteEvent localCacheWrite = new CacheWriteEvent();
+            localCacheWrite.begin();
+            shortUrlLocalCacheRepository.save(shortUrlDomainModel.get());
+            localCacheWrite.complete(CacheWriteEvent.LOCAL_CACHE, command.slug(), CacheWriteEvent.WRITTEN);
+        }
+
+        if (shortUrlDomainModel.get().isExpired()) {
+            return finish(UseCaseResult.expired(), expired, startNanos);
+        }
+
+        if (hits == databaseHits) {
+            writeBackToCache(shortUrlDomainModel.get());
         }
 
-        logger.info("Short URL found for slug: {}", command.slug());
         publishDomainEvent(shortUrlDomainModel.get());
-        return shortUrlDomainModel;
+        return finish(UseCaseResult.found(shortUrlDomainModel.get()), hits, startNanos);
+    }
+
+    private UseCaseResult<ShortUrlDomainModel> finish(UseCaseResult<ShortUrlDomainModel> result, Counter outcome,
+                                                      long startNanos) {
+        outcome.increment();
+        resolveTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private Optional<ShortUrlDomainModel> fetchFromDatabase(String slug, AdaptiveConcurrencyLimiter.Permit permit) {
+        DatabaseLookupEvent databaseLookup = new DatabaseLookupEvent();
+        databaseLookup.begin();
+        boolean succeeded = false;
+        String outcome = DatabaseLookupEvent.ERROR;
+        try {
+            Optional<ShortUrlDomainModel> shortUrlDomainModel = shortUrlDatabaseRepository.getShortUrl(slug);
+            succeeded = true;
+            outcome = shortUrlDomainModel.isPresent() ? DatabaseLookupEvent.HIT : DatabaseLookupEvent.MISS;
+            return shortUrlDomainModel;
+        } finally {
+            databaseLookup.complete(DatabaseLookupEvent.DATABASE, slug, outcome);
+            permit.complete(succeeded);
+        }
+    }
+
+    /**
+     * Looks the slug up in the cache, and if the cache has not answered within the hedge delay, starts a database
+     * lookup next to it. A cache hit wins; otherwise the database lookup is returned for the caller to wait on. The
+     * hedge needs both a hedge from the budget and a database permit, and is skipped without them.
+     */
+    private CacheLookup fetchFromCacheOrHedge(String slug) {
+        long startNanos = System.nanoTime();
+        CompletableFuture<Optional<ShortUrlDomainModel>> cacheLookup = CompletableFuture.supplyAsync(() -> {
+            try {
+                return fetchFromCache(slug);
+            } finally {
+                hedgingPolicy.recordPrimaryLatency(System.nanoTime() - startNanos);
+            }
+        }, hedgingPolicy.executor());
+
+        try {
+            return new CacheLookup(cacheLookup.get(hedgingPolicy.getHedgeDelayNanos(), TimeUnit.NANOSECONDS), null);
+        } catch (TimeoutException e) {
+            // The cache is slower than usual; fall through to hedging.
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FailedToFetchException("Interrupted while reading short URL from cache", e);
+        }
+
+        Optional<AdaptiveConcurrencyLimiter.Permit> permit = hedgingPolicy.tryHedge()
+                ? adaptiveConcurrencyLimiter.tryAcquire()
+                : Optional.empty();
+        if (permit.isEmpty()) {
+            return new CacheLookup(join(cacheLookup), null);
+        }
+
+        logger.debug("Cache lookup for slug {} is slow, hedging with the database", slug);
+        CompletableFuture<Optional<ShortUrlDomainModel>> databaseLookup = CompletableFuture.supplyAsync(
+                () -> fetchFromDatabase(slug, permit.get()), hedgingPolicy.executor());
+        CompletableFuture.anyOf(cacheLookup, databaseLookup).handle((result, e) -> null).join();
+        if (databaseLookup.state() == Future.State.FAILED) {
+            // Without the database, the cache is the only answer left.
+            cacheLookup.handle((result, e) -> null).join();
+        }
+
+        if (cacheLookup.state() == Future.State.SUCCESS && cacheLookup.resultNow().isPresent()) {
+            return new CacheLookup(cacheLookup.resultNow(), null);
+        }
+        return new CacheLookup(Optional.empty(), databaseLookup);
     }
 
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        return cause instanceof RuntimeException runtimeException ? runtimeException : new CompletionException(cause);
+    }
+
+    private Optional<ShortUrlDomainModel> fetchFromCache(String slug) {
+        CacheLookupEvent cacheLookup = new CacheLookupEvent();
+        cacheLookup.begin();
+        try {
+            Optional<ShortUrlDomainModel> shortUrlDomainModel = shortUrlCacheRepository.getShortUrl(slug);
+            cacheLookup.complete(CacheLookupEvent.CACHE, slug,
+                    shortUrlDomainModel.isPresent() ? CacheLookupEvent.HIT : CacheLookupEvent.MISS);
+            return shortUrlDomainModel;
+        } catch (DataAccessException | FailedToFetchException e) {
+            cacheLookup.complete(CacheLookupEvent.CACHE, slug, CacheLookupEvent.ERROR);
+            logger.warn("Failed to read short URL from cache for slug: {}, falling back to database", slug, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Puts a link read from the database back into Redis, so that the redirect fleet, which only reads Redis, finds it
+     * again after its entry expired or was evicted. A failed write only costs the next lookup another database read.
+     */
+    private void writeBackToCache(ShortUrlDomainModel shortUrlDomainModel) {
+        CacheWriteEvent cacheWrite = new CacheWriteEvent();
+        cacheWrite.begin();
+        try {
+            shortUrlCacheRepository.save(shortUrlDomainModel);
+            cacheWrite.complete(CacheWriteEvent.CACHE, shortUrlDomainModel.getUrlSlug(), CacheWriteEvent.WRITTEN);
+        } catch (DataAccessException | FailedToPersistException e) {
+            cacheWrite.complete(CacheWriteEvent.CACHE, shortUrlDomainModel.getUrlSlug(), CacheWriteEvent.ERROR);
+            logger.warn("Failed to write short URL back to cache for slug: {}", shortUrlDomainModel.getUrlSlug(), e);
+        }
+    }
 
     private void publishDomainEvent(ShortUrlDomainModel shortUrlDomainModel) {
+        EventPublishEvent eventPublish = new EventPublishEvent(ShortLinkFetchedEvent.eventName);
+        eventPublish.begin();
+        long startNanos = System.nanoTime();
         applicationEventPublisher.publishEvent(
                 ShortLinkFetchedEvent.createFromShortUrlDomainModel(
                         FetchShortUrlBySlugUseCase.class,
                         shortUrlDomainModel
                 )
         );
+        publishTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        eventPublish.complete(EventPublishEvent.EVENTS, shortUrlDomainModel.getUrlSlug(), EventPublishEvent.PUBLISHED);
+    }
+
+    private record CacheLookup(Optional<ShortUrlDomainModel> cached,
+                               CompletableFuture<Optional<ShortUrlDomainModel>> hedge) {
     }
 }
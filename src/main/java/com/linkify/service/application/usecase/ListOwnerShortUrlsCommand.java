@@ -0,0 +1,7 @@
+package com.linkify.service.application.usecase;
+
+/**
+ * @param afterSlug the last slug of the previous page, or {@code null} for the first page
+ */
+public record ListOwnerShortUrlsCommand(String owner, String afterSlug, int limit) implements UseCaseCommand {
+}
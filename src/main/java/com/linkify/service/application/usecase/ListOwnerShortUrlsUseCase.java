@@ -0,0 +1,49 @@
+package com.linkify.service.application.usecase;
+
+import com.linkify.service.domain.exception.FailedToFetchException;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.OwnerShortUrlPersistence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Pages through an owner's links by slug. Each page continues after the last slug of the previous one, so deep pages
+ * cost the same as the first and links created meanwhile never shift the pages already read.
+ */
+@Service
+@Profile("!embedded")
+public class ListOwnerShortUrlsUseCase implements UseCase<ListOwnerShortUrlsCommand, OwnerShortUrlsPage> {
+    Logger logger = LoggerFactory.getLogger(ListOwnerShortUrlsUseCase.class);
+
+    private final OwnerShortUrlPersistence ownerShortUrlPersistence;
+
+    @Autowired
+    public ListOwnerShortUrlsUseCase(OwnerShortUrlPersistence ownerShortUrlPersistence) {
+        this.ownerShortUrlPersistence = ownerShortUrlPersistence;
+    }
+
+    @Override
+    public UseCaseResult<OwnerShortUrlsPage> execute(ListOwnerShortUrlsCommand command) {
+        List<ShortUrlDomainModel> shortUrls;
+        try {
+            // One extra row tells whether another page follows without a count query.
+            shortUrls = ownerShortUrlPersistence.listByOwner(command.owner(), command.afterSlug(),
+                    command.limit() + 1);
+        } catch (DataAccessException | FailedToFetchException e) {
+            logger.error("Failed to list short URLs of owner: {}", command.owner(), e);
+            return UseCaseResult.unavailable("Failed to list short URLs");
+        }
+
+        if (shortUrls.size() <= command.limit()) {
+            return UseCaseResult.found(new OwnerShortUrlsPage(shortUrls, null));
+        }
+        List<ShortUrlDomainModel> page = shortUrls.subList(0, command.limit());
+        return UseCaseResult.found(new OwnerShortUrlsPage(page, page.get(page.size() - 1).getUrlSlug()));
+    }
+}
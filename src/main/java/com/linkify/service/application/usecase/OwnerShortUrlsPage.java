@@ -0,0 +1,11 @@
+package com.linkify.service.application.usecase;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+
+import java.util.List;
+
+/**
+ * @param nextSlug the slug to continue after, or {@code null} when this is the last page
+ */
+public record OwnerShortUrlsPage(List<ShortUrlDomainModel> shortUrls, String nextSlug) {
+}
@@ -0,0 +1,178 @@
+package com.linkify.service.application.usecase;
+
+import com.linkify.service.application.concurrency.AdaptiveConcurrencyLimiter;
+import com.linkify.service.application.metrics.CacheLookupEvent;
+import com.linkify.service.application.metrics.CacheWriteEvent;
+import com.linkify.service.application.metrics.DatabaseLookupEvent;
+import com.linkify.service.application.metrics.EventPublishEvent;
+import com.linkify.service.application.metrics.LatencyTimers;
+import com.linkify.service.domain.event.ShortLinkCreatedEvent;
+import com.linkify.service.domain.exception.FailedToPersistException;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.ReactiveShortUrlPersistence;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates a short URL on the reactive stack with the same database limit, meters and flight events as
+ * {@link CreateShortUrlFromUrlUseCase}.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveCreateShortUrlFromUrlUseCase implements ReactiveUseCase<CreateShortUrlFromUrlCommand,
+        ShortUrlDomainModel> {
+    Logger logger = LoggerFactory.getLogger(ReactiveCreateShortUrlFromUrlUseCase.class);
+
+    private final ReactiveShortUrlPersistence reactiveShortUrlCacheRepository;
+    private final ReactiveShortUrlPersistence reactiveShortUrlDatabaseRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+    private final Timer createTimer;
+    private final Timer publishTimer;
+    private final Counter cacheHits;
+    private final Counter databaseHits;
+    private final Counter created;
+    private final Counter unavailable;
+    private final Counter overloaded;
+    private final Counter failed;
+
+    @Autowired
+    public ReactiveCreateShortUrlFromUrlUseCase(ReactiveShortUrlPersistence reactiveShortUrlCacheRepository,
+                                                ReactiveShortUrlPersistence reactiveShortUrlDatabaseRepository,
+                                                ApplicationEventPublisher applicationEventPublisher,
+                                                AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter,
+                                                MeterRegistry meterRegistry
+    ) {
+        this.reactiveShortUrlCacheRepository = reactiveShortUrlCacheRepository;
+        this.reactiveShortUrlDatabaseRepository = reactiveShortUrlDatabaseRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.adaptiveConcurrencyLimiter = adaptiveConcurrencyLimiter;
+        this.createTimer = LatencyTimers.timer(meterRegistry, "linkify.create");
+        this.publishTimer = LatencyTimers.timer(meterRegistry, "linkify.events.publish",
+                "event", ShortLinkCreatedEvent.eventName);
+        this.cacheHits = outcome(meterRegistry, "cache_hit");
+        this.databaseHits = outcome(meterRegistry, "database_hit");
+        this.created = outcome(meterRegistry, "created");
+        this.unavailable = outcome(meterRegistry, "unavailable");
+        this.overloaded = outcome(meterRegistry, "overloaded");
+        this.failed = outcome(meterRegistry, "failed");
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return meterRegistry.counter("linkify.create.outcomes", "outcome", outcome);
+    }
+
+    @Override
+    public Mono<UseCaseResult<ShortUrlDomainModel>> execute(CreateShortUrlFromUrlCommand command) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return fetchFromCache(command)
+                    .map(shortUrlDomainModel -> {
+                        cacheHits.increment();
+                        return UseCaseResult.found(shortUrlDomainModel);
+                    })
+                    .switchIfEmpty(Mono.defer(() -> findOrCreate(command)))
+                    .doFinally(signal -> createTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private Mono<ShortUrlDomainModel> fetchFromCache(CreateShortUrlFromUrlCommand command) {
+        CacheLookupEvent cacheLookup = new CacheLookupEvent();
+        cacheLookup.begin();
+        return reactiveShortUrlCacheRepository.getByOwnerAndOriginalUrl(command.owner(), command.originalUrl())
+                .filter(shortUrlDomainModel -> !shortUrlDomainModel.isExpired())
+                .doOnSuccess(shortUrlDomainModel -> cacheLookup.complete(CacheLookupEvent.CACHE,
+                        shortUrlDomainModel != null ? shortUrlDomainModel.getUrlSlug() : null,
+                        shortUrlDomainModel != null ? CacheLookupEvent.HIT : CacheLookupEvent.MISS));
+    }
+
+    private Mono<UseCaseResult<ShortUrlDomainModel>> findOrCreate(CreateShortUrlFromUrlCommand command) {
+        Optional<AdaptiveConcurrencyLimiter.Permit> permit = adaptiveConcurrencyLimiter.tryAcquire();
+        if (permit.isEmpty()) {
+            overloaded.increment();
+            return Mono.just(UseCaseResult.overloaded());
+        }
+
+        return fetchFromDatabase(command)
+                .filter(shortUrlDomainModel -> !shortUrlDomainModel.isExpired())
+                .map(shortUrlDomainModel -> {
+                    databaseHits.increment();
+                    return UseCaseResult.found(shortUrlDomainModel);
+                })
+                .switchIfEmpty(Mono.defer(() -> create(command)))
+                .doFinally(signal -> permit.get().complete(signal != SignalType.ON_ERROR))
+                .onErrorResume(DataAccessException.class, e -> {
+                    failed.increment();
+                    logger.error("Failed to create short URL for owner: {}", command.owner(), e);
+                    return Mono.just(UseCaseResult.<ShortUrlDomainModel>unavailable("Failed to create short URL"));
+                });
+    }
+
+    private Mono<ShortUrlDomainModel> fetchFromDatabase(CreateShortUrlFromUrlCommand command) {
+        DatabaseLookupEvent databaseLookup = new DatabaseLookupEvent();
+        databaseLookup.begin();
+        return reactiveShortUrlDatabaseRepository.getByOwnerAndOriginalUrl(command.owner(), command.originalUrl())
+                .doOnSuccess(shortUrlDomainModel -> databaseLookup.complete(DatabaseLookupEvent.DATABASE,
+                        shortUrlDomainModel != null ? shortUrlDomainModel.getUrlSlug() : null,
+                        shortUrlDomainModel != null ? DatabaseLookupEvent.HIT : DatabaseLookupEvent.MISS))
+                .doOnError(e -> databaseLookup.complete(DatabaseLookupEvent.DATABASE, null, DatabaseLookupEvent.ERROR));
+    }
+
+    private Mono<UseCaseResult<ShortUrlDomainModel>> create(CreateShortUrlFromUrlCommand command) {
+        return Mono.fromCallable(() -> new ShortUrlDomainModel(
+                        command.originalUrl(), command.owner(), null, command.expirationDate()
+                ))
+                .flatMap(newShortUrlDomainModel -> {
+                    logger.debug("Creating new short URL for owner {} and original URL: {}", command.owner(),
+                            command.originalUrl());
+                    return reactiveShortUrlDatabaseRepository.save(newShortUrlDomainModel)
+                            .then(Mono.fromRunnable(() -> publishDomainEvent(newShortUrlDomainModel)))
+                            .then(Mono.defer(() -> writeToCache(newShortUrlDomainModel)));
+                });
+    }
+
+    private Mono<UseCaseResult<ShortUrlDomainModel>> writeToCache(ShortUrlDomainModel shortUrlDomainModel) {
+        CacheWriteEvent cacheWrite = new CacheWriteEvent();
+        cacheWrite.begin();
+        return reactiveShortUrlCacheRepository.save(shortUrlDomainModel)
+                .then(Mono.fromSupplier(() -> {
+                    cacheWrite.complete(CacheWriteEvent.CACHE, shortUrlDomainModel.getUrlSlug(),
+                            CacheWriteEvent.WRITTEN);
+                    created.increment();
+                    return UseCaseResult.found(shortUrlDomainModel);
+                }))
+                .onErrorResume(FailedToPersistException.class, e -> {
+                    cacheWrite.complete(CacheWriteEvent.CACHE, shortUrlDomainModel.getUrlSlug(),
+                            CacheWriteEvent.ERROR);
+                    unavailable.increment();
+                    return Mono.just(UseCaseResult.<ShortUrlDomainModel>unavailable("Failed to create short URL"));
+                });
+    }
+
+    private void publishDomainEvent(ShortUrlDomainModel shortUrlDomainModel) {
+        EventPublishEvent eventPublish = new EventPublishEvent(ShortLinkCreatedEvent.eventName);
+        eventPublish.begin();
+        long startNanos = System.nanoTime();
+        applicationEventPublisher.publishEvent(
+                ShortLinkCreatedEvent.createFromShortUrlDomainModel(
+                        ReactiveCreateShortUrlFromUrlUseCase.class,
+                        shortUrlDomainModel
+                )
+        );
+        publishTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        eventPublish.complete(EventPublishEvent.EVENTS, shortUrlDomainModel.getUrlSlug(), EventPublishEvent.PUBLISHED);
+    }
+}
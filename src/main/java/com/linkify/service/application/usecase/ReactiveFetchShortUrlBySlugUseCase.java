@@ -0,0 +1,181 @@
+package com.linkify.service.application.usecase;
+
+import com.linkify.service.application.concurrency.AdaptiveConcurrencyLimiter;
+import com.linkify.service.application.metrics.CacheLookupEvent;
+import com.linkify.service.application.metrics.CacheWriteEvent;
+import com.linkify.service.application.metrics.DatabaseLookupEvent;
+import com.linkify.service.application.metrics.EventPublishEvent;
+import com.linkify.service.application.metrics.LatencyTimers;
+import com.linkify.service.domain.event.ShortLinkFetchedEvent;
+import com.linkify.service.domain.exception.FailedToFetchException;
+import com.linkify.service.domain.exception.FailedToPersistException;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.ReactiveShortUrlPersistence;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves a slug on the reactive stack with the same database limit, meters and flight events as
+ * {@link FetchShortUrlBySlugUseCase}. There is no local cache tier and no hedging here: a lookup does not hold a
+ * thread while it waits, so a slow cache costs no capacity.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveFetchShortUrlBySlugUseCase implements ReactiveUseCase<FetchShortUrlBySlugCommand,
+        ShortUrlDomainModel> {
+    Logger logger = LoggerFactory.getLogger(ReactiveFetchShortUrlBySlugUseCase.class);
+
+    private final ReactiveShortUrlPersistence reactiveShortUrlCacheRepository;
+    private final ReactiveShortUrlPersistence reactiveShortUrlDatabaseRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+    private final Timer resolveTimer;
+    private final Timer publishTimer;
+    private final Counter cacheHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+    private final Counter expired;
+    private final Counter unavailable;
+    private final Counter overloaded;
+
+    @Autowired
+    public ReactiveFetchShortUrlBySlugUseCase(
+            ReactiveShortUrlPersistence reactiveShortUrlCacheRepository,
+            ReactiveShortUrlPersistence reactiveShortUrlDatabaseRepository,
+            ApplicationEventPublisher applicationEventPublisher,
+            AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter,
+            MeterRegistry meterRegistry
+    ) {
+        this.reactiveShortUrlCacheRepository = reactiveShortUrlCacheRepository;
+        this.reactiveShortUrlDatabaseRepository = reactiveShortUrlDatabaseRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.adaptiveConcurrencyLimiter = adaptiveConcurrencyLimiter;
+        this.resolveTimer = LatencyTimers.timer(meterRegistry, "linkify.resolve");
+        this.publishTimer = LatencyTimers.timer(meterRegistry, "linkify.events.publish",
+                "event", ShortLinkFetchedEvent.eventName);
+        this.cacheHits = outcome(meterRegistry, "cache_hit");
+        this.databaseHits = outcome(meterRegistry, "database_hit");
+        this.misses = outcome(meterRegistry, "miss");
+        this.expired = outcome(meterRegistry, "expired");
+        this.unavailable = outcome(meterRegistry, "unavailable");
+        this.overloaded = outcome(meterRegistry, "overloaded");
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return meterRegistry.counter("linkify.resolve.outcomes", "outcome", outcome);
+    }
+
+    @Override
+    public Mono<UseCaseResult<ShortUrlDomainModel>> execute(FetchShortUrlBySlugCommand command) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return fetchFromCache(command.slug())
+                    .map(shortUrlDomainModel -> resolved(shortUrlDomainModel, cacheHits, startNanos))
+                    .switchIfEmpty(Mono.defer(() -> fetchFromDatabase(command.slug(), startNanos)))
+                    .onErrorResume(e -> e instanceof DataAccessException || e instanceof FailedToFetchException, e -> {
+                        logger.error("Failed to fetch short URL from database for slug: {}", command.slug(), e);
+                        return Mono.just(finish(UseCaseResult.unavailable("Failed to fetch short URL"), unavailable,
+                                startNanos));
+                    });
+        });
+    }
+
+    private UseCaseResult<ShortUrlDomainModel> resolved(ShortUrlDomainModel shortUrlDomainModel, Counter hits,
+                                                        long startNanos) {
+        if (shortUrlDomainModel.isExpired()) {
+            return finish(UseCaseResult.expired(), expired, startNanos);
+        }
+
+        publishDomainEvent(shortUrlDomainModel);
+        return finish(UseCaseResult.found(shortUrlDomainModel), hits, startNanos);
+    }
+
+    private UseCaseResult<ShortUrlDomainModel> finish(UseCaseResult<ShortUrlDomainModel> result, Counter outcome,
+                                                      long startNanos) {
+        outcome.increment();
+        resolveTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    private Mono<ShortUrlDomainModel> fetchFromCache(String slug) {
+        CacheLookupEvent cacheLookup = new CacheLookupEvent();
+        cacheLookup.begin();
+        return reactiveShortUrlCacheRepository.getShortUrl(slug)
+                .doOnSuccess(shortUrlDomainModel -> cacheLookup.complete(CacheLookupEvent.CACHE, slug,
+                        shortUrlDomainModel != null ? CacheLookupEvent.HIT : CacheLookupEvent.MISS))
+                .onErrorResume(e -> e instanceof DataAccessException || e instanceof FailedToFetchException, e -> {
+                    cacheLookup.complete(CacheLookupEvent.CACHE, slug, CacheLookupEvent.ERROR);
+                    logger.warn("Failed to read short URL from cache for slug: {}, falling back to database", slug, e);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<UseCaseResult<ShortUrlDomainModel>> fetchFromDatabase(String slug, long startNanos) {
+        Optional<AdaptiveConcurrencyLimiter.Permit> permit = adaptiveConcurrencyLimiter.tryAcquire();
+        if (permit.isEmpty()) {
+            return Mono.just(finish(UseCaseResult.overloaded(), overloaded, startNanos));
+        }
+
+        DatabaseLookupEvent databaseLookup = new DatabaseLookupEvent();
+        databaseLookup.begin();
+        return reactiveShortUrlDatabaseRepository.getShortUrl(slug)
+                .doOnSuccess(shortUrlDomainModel -> databaseLookup.complete(DatabaseLookupEvent.DATABASE, slug,
+                        shortUrlDomainModel != null ? DatabaseLookupEvent.HIT : DatabaseLookupEvent.MISS))
+                .doOnError(e -> databaseLookup.complete(DatabaseLookupEvent.DATABASE, slug, DatabaseLookupEvent.ERROR))
+                .doFinally(signal -> permit.get().complete(signal != SignalType.ON_ERROR))
+                .flatMap(this::writeBackToCache)
+                .map(shortUrlDomainModel -> resolved(shortUrlDomainModel, databaseHits, startNanos))
+                .switchIfEmpty(Mono.fromSupplier(() -> finish(UseCaseResult.notFound(), misses, startNanos)));
+    }
+
+    /**
+     * Puts a live link read from the database back into Redis, where the redirect fleet looks for it. A failed write
+     * only costs the next lookup another database read.
+     */
+    private Mono<ShortUrlDomainModel> writeBackToCache(ShortUrlDomainModel shortUrlDomainModel) {
+        if (shortUrlDomainModel.isExpired()) {
+            return Mono.just(shortUrlDomainModel);
+        }
+
+        CacheWriteEvent cacheWrite = new CacheWriteEvent();
+        cacheWrite.begin();
+        return reactiveShortUrlCacheRepository.save(shortUrlDomainModel)
+                .doOnSuccess(ignored -> cacheWrite.complete(CacheWriteEvent.CACHE, shortUrlDomainModel.getUrlSlug(),
+                        CacheWriteEvent.WRITTEN))
+                .onErrorResume(e -> e instanceof DataAccessException || e instanceof FailedToPersistException, e -> {
+                    cacheWrite.complete(CacheWriteEvent.CACHE, shortUrlDomainModel.getUrlSlug(),
+                            CacheWriteEvent.ERROR);
+                    logger.warn("Failed to write short URL back to cache for slug: {}",
+                            shortUrlDomainModel.getUrlSlug(), e);
+                    return Mono.empty();
+                })
+                .thenReturn(shortUrlDomainModel);
+    }
+
+    private void publishDomainEvent(ShortUrlDomainModel shortUrlDomainModel) {
+        EventPublishEvent eventPublish = new EventPublishEvent(ShortLinkFetchedEvent.eventName);
+        eventPublish.begin();
+        long startNanos = System.nanoTime();
+        applicationEventPublisher.publishEvent(
+                ShortLinkFetchedEvent.createFromShortUrlDomainModel(
+                        ReactiveFetchShortUrlBySlugUseCase.class,
+                        shortUrlDomainModel
+                )
+        );
+        publishTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        eventPublish.complete(EventPublishEvent.EVENTS, shortUrlDomainModel.getUrlSlug(), EventPublishEvent.PUBLISHED);
+    }
+}
@@ -0,0 +1,7 @@
+package com.linkify.service.application.usecase;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUseCase<T, K> {
+    Mono<UseCaseResult<K>> execute(T command);
+}
@@ -0,0 +1,11 @@
+package com.linkify.service.application.usecase;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+public record ReapExpiredShortUrlsCommand(
+        OffsetDateTime expiredBefore,
+        int batchSize,
+        int maxBatchesPerPartition,
+        Duration pauseBetweenBatches) implements UseCaseCommand {
+}
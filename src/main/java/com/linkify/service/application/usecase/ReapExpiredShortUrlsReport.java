@@ -0,0 +1,16 @@
+package com.linkify.service.application.usecase;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+public record ReapExpiredShortUrlsReport(
+        Map<String, Long> reclaimedRows,
+        long evictedKeys,
+        List<String> failedPartitions,
+        Duration duration) {
+
+    public long totalReclaimedRows() {
+        return reclaimedRows.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,103 @@
+package com.linkify.service.application.usecase;
+
+import com.linkify.service.domain.port.ExpiredShortUrlPersistence;
+import com.linkify.service.domain.port.ShortUrlCacheEviction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deletes expired short URLs partition by partition in bounded batches, pausing between batches so the reaper never
+ * competes with live traffic for long, and evicts the deleted slugs from the cache.
+ */
+@Service
+@Profile("!embedded")
+public class ReapExpiredShortUrlsUseCase implements UseCase<ReapExpiredShortUrlsCommand, ReapExpiredShortUrlsReport> {
+    Logger logger = LoggerFactory.getLogger(ReapExpiredShortUrlsUseCase.class);
+
+    private final ExpiredShortUrlPersistence expiredShortUrlPersistence;
+    private final ShortUrlCacheEviction shortUrlCacheEviction;
+
+    @Autowired
+    public ReapExpiredShortUrlsUseCase(ExpiredShortUrlPersistence expiredShortUrlPersistence,
+                                       ShortUrlCacheEviction shortUrlCacheEviction) {
+        this.expiredShortUrlPersistence = expiredShortUrlPersistence;
+        this.shortUrlCacheEviction = shortUrlCacheEviction;
+    }
+
+    @Override
+    public UseCaseResult<ReapExpiredShortUrlsReport> execute(ReapExpiredShortUrlsCommand command) {
+        long startNanos = System.nanoTime();
+        Map<String, Long> reclaimedRows = new LinkedHashMap<>();
+        List<String> failedPartitions = new ArrayList<>();
+        long evictedKeys = 0;
+
+        List<String> partitions;
+        try {
+            partitions = expiredShortUrlPersistence.partitions();
+        } catch (DataAccessException e) {
+            logger.error("Failed to list short URL partitions, skipping this run", e);
+            return UseCaseResult.unavailable("Failed to list short URL partitions");
+        }
+
+        for (String partition : partitions) {
+            long reclaimed = 0;
+            try {
+                for (int batch = 0; batch < command.maxBatchesPerPartition(); batch++) {
+                    List<String> slugs = expiredShortUrlPersistence.deleteExpired(partition,
+                            command.expiredBefore(), command.batchSize());
+                    reclaimed += slugs.size();
+                    evictedKeys += evict(slugs);
+
+                    if (slugs.size() < command.batchSize() || !pause(command.pauseBetweenBatches())) {
+                        break;
+                    }
+                }
+            } catch (DataAccessException e) {
+                logger.error("Failed to delete expired short URLs from partition {}", partition, e);
+                failedPartitions.add(partition);
+            }
+            reclaimedRows.put(partition, reclaimed);
+        }
+
+        return UseCaseResult.found(new ReapExpiredShortUrlsReport(reclaimedRows, evictedKeys, failedPartitions,
+                Duration.ofNanos(System.nanoTime() - startNanos)));
+    }
+
+    private long evict(List<String> slugs) {
+        if (slugs.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            shortUrlCacheEviction.evict(slugs);
+            return slugs.size();
+        } catch (DataAccessException e) {
+            logger.warn("Failed to evict {} expired slugs from cache, leaving them to expire", slugs.size(), e);
+            return 0;
+        }
+    }
+
+    private static boolean pause(Duration pause) {
+        if (pause.isZero()) {
+            return true;
+        }
+
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,8 +1,6 @@
 package com.linkify.service.application.usecase;
 
 
-import java.util.Optional;
-
 public interface UseCase<T, K> {
-    Optional<K> execute(T command);
+    UseCaseResult<K> execute(T command);
 }
@@ -0,0 +1,45 @@
+package com.linkify.service.application.usecase;
+
+public sealed interface UseCaseResult<K> {
+    record Found<K>(K value) implements UseCaseResult<K> {
+    }
+
+    record NotFound<K>() implements UseCaseResult<K> {
+    }
+
+    record Expired<K>() implements UseCaseResult<K> {
+    }
+
+    record Unavailable<K>(String reason) implements UseCaseResult<K> {
+    }
+
+    record Overloaded<K>() implements UseCaseResult<K> {
+    }
+
+    NotFound<?> NOT_FOUND = new NotFound<>();
+    Expired<?> EXPIRED = new Expired<>();
+    Overloaded<?> OVERLOADED = new Overloaded<>();
+
+    static <K> UseCaseResult<K> found(K value) {
+        return new Found<>(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K> UseCaseResult<K> notFound() {
+        return (UseCaseResult<K>) NOT_FOUND;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K> UseCaseResult<K> expired() {
+        return (UseCaseResult<K>) EXPIRED;
+    }
+
+    static <K> UseCaseResult<K> unavailable(String reason) {
+        return new Unavailable<>(reason);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K> UseCaseResult<K> overloaded() {
+        return (UseCaseResult<K>) OVERLOADED;
+    }
+}
@@ -0,0 +1,15 @@
+package com.linkify.service.domain.port;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface ExpiredShortUrlPersistence {
+    List<String> partitions();
+
+    /**
+     * Deletes at most {@code limit} rows of one partition that expired before the given time.
+     *
+     * @return slugs of the deleted rows
+     */
+    List<String> deleteExpired(String partition, OffsetDateTime expiredBefore, int limit);
+}
@@ -0,0 +1,21 @@
+package com.linkify.service.domain.port;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface OwnerShortUrlPersistence {
+    /**
+     * Links of {@code owner} in slug order, starting after {@code afterSlug}, or from the first one when it is
+     * {@code null}.
+     */
+    List<ShortUrlDomainModel> listByOwner(String owner, String afterSlug, int limit);
+
+    /**
+     * Hands every link of {@code owner} to {@code consumer} while reading them, without holding them in memory.
+     *
+     * @return the number of links
+     */
+    long exportByOwner(String owner, Consumer<ShortUrlDomainModel> consumer);
+}
@@ -0,0 +1,12 @@
+package com.linkify.service.domain.port;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveShortUrlPersistence {
+    Mono<Void> save(ShortUrlDomainModel shortUrlDomainModel);
+
+    Mono<ShortUrlDomainModel> getShortUrl(String slug);
+
+    Mono<ShortUrlDomainModel> getByOwnerAndOriginalUrl(String owner, String originalUrl);
+}
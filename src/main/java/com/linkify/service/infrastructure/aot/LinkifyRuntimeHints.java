@@ -0,0 +1,52 @@
+package com.linkify.service.infrastructure.aot;
+
+import com.linkify.service.application.metrics.CacheLookupEvent;
+import com.linkify.service.application.metrics.CacheWriteEvent;
+import com.linkify.service.application.metrics.DatabaseLookupEvent;
+import com.linkify.service.application.metrics.EventPublishEvent;
+import com.linkify.service.application.metrics.ShortUrlFlightEvent;
+import com.linkify.service.application.metrics.SlugCollisionEvent;
+import com.linkify.service.domain.event.DomainEvent;
+import com.linkify.service.domain.event.ShortLinkCreatedEvent;
+import com.linkify.service.domain.event.ShortLinkFetchedEvent;
+import com.linkify.service.infrastructure.persistence.model.ShortUrlCacheModel;
+import com.linkify.service.infrastructure.rest.handler.ErrorResponse;
+import com.linkify.service.infrastructure.rest.url.ShortUrlRequest;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reflection and resource hints for the native image. Spring infers hints for request and response bodies of the
+ * controllers, but not for the cache model Jackson writes to Redis, the domain events or the flight recorder events,
+ * nor for the URL dictionaries the compressor loads from the classpath.
+ */
+public class LinkifyRuntimeHints implements RuntimeHintsRegistrar {
+    static final List<Class<?>> JACKSON_TYPES = List.of(ShortUrlCacheModel.class, ShortUrlRequest.class,
+            ErrorResponse.class, DomainEvent.class, ShortLinkCreatedEvent.class, ShortLinkFetchedEvent.class);
+    // Package-private to the controllers, so resolved by name.
+    static final List<String> RESPONSE_TYPES = List.of("com.linkify.service.infrastructure.rest.url.ShortUrlResponse",
+            "com.linkify.service.infrastructure.rest.url.OwnerUrlResponse",
+            "com.linkify.service.infrastructure.rest.url.OwnerUrlPageResponse");
+    static final List<Class<?>> FLIGHT_EVENTS = List.of(ShortUrlFlightEvent.class, CacheLookupEvent.class,
+            DatabaseLookupEvent.class, CacheWriteEvent.class, EventPublishEvent.class, SlugCollisionEvent.class);
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        Class<?>[] types = Stream.concat(JACKSON_TYPES.stream(),
+                        RESPONSE_TYPES.stream().map(name -> ClassUtils.resolveClassName(name, classLoader)))
+                .toArray(Class<?>[]::new);
+        bindingRegistrar.registerReflectionHints(hints.reflection(), types);
+        // The recorder reads the event fields reflectively to describe them.
+        FLIGHT_EVENTS.forEach(event -> hints.reflection().registerType(event, MemberCategory.DECLARED_FIELDS,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS));
+        hints.resources().registerPattern("url-dictionaries/*.txt");
+    }
+}
@@ -0,0 +1,228 @@
+package com.linkify.service.infrastructure.logging;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Access log kept off the request thread: callers enqueue compact records into a bounded ring buffer and a single
+ * writer thread appends them to the log file in batches. Records are dropped, not blocked on, when the buffer is full.
+ * The writer thread is started the first time the level is above {@code OFF}.
+ */
+@Component
+@ManagedResource(objectName = "com.linkify.service:name=AccessLog")
+public class AccessLog {
+    Logger logger = LoggerFactory.getLogger(AccessLog.class);
+
+    private final BlockingQueue<AccessLogRecord> buffer;
+    private final Map<String, Double> sampling;
+    private final Path file;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile Thread writerThread;
+    private volatile AccessLogLevel level;
+    private volatile boolean running = true;
+
+    @Autowired
+    public AccessLog(AccessLogProperties properties) {
+        this.buffer = new ArrayBlockingQueue<>(properties.bufferSize());
+        this.sampling = new ConcurrentHashMap<>(properties.sampling());
+        this.file = properties.file();
+        this.batchSize = properties.batchSize();
+        this.flushIntervalNanos = properties.flushInterval().toNanos();
+        this.level = properties.level();
+
+        if (isEnabled()) {
+            startWriter();
+        }
+    }
+
+    public boolean isEnabled() {
+        return level != AccessLogLevel.OFF;
+    }
+
+    public void record(String route, int status, String slug, long startNanos) {
+        AccessLogLevel currentLevel = level;
+        if (currentLevel == AccessLogLevel.OFF || (currentLevel == AccessLogLevel.ERRORS && status < 400)) {
+            return;
+        }
+
+        Double rate = sampling.get(route);
+        if (rate != null && rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            return;
+        }
+
+        AccessLogRecord record = new AccessLogRecord(System.currentTimeMillis(), route, status, slug,
+                (System.nanoTime() - startNanos) / 1_000);
+        if (!buffer.offer(record)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    @ManagedAttribute
+    public String getLevel() {
+        return level.name();
+    }
+
+    @ManagedAttribute
+    public void setLevel(String level) {
+        this.level = AccessLogLevel.valueOf(level);
+        if (isEnabled()) {
+            startWriter();
+        }
+    }
+
+    @ManagedOperation
+    public void setSampleRate(String route, double rate) {
+        sampling.put(route, rate);
+    }
+
+    @ManagedAttribute
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    boolean isWriterStarted() {
+        return writerThread != null;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = writerThread;
+        }
+        if (thread != null) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private synchronized void startWriter() {
+        if (writerThread == null && running) {
+            writerThread = Thread.ofPlatform().daemon().name("access-log-writer").start(this::drain);
+        }
+    }
+
+    private void drain() {
+        List<AccessLogRecord> batch = new ArrayList<>(batchSize);
+        StringBuilder line = new StringBuilder(128);
+        Writer writer = null;
+        boolean failing = false;
+
+        try {
+            while (running || !buffer.isEmpty()) {
+                AccessLogRecord first = poll();
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+
+                try {
+                    if (writer == null) {
+                        writer = open();
+                    }
+                    for (AccessLogRecord record : batch) {
+                        line.setLength(0);
+                        record.appendTo(line);
+                        writer.append(line);
+                    }
+                    writer.flush();
+                    failing = false;
+                } catch (IOException e) {
+                    // The batch is lost, but the file is reopened for the next one, e.g. once the disk has room again.
+                    dropped.addAndGet(batch.size());
+                    if (!failing) {
+                        logger.error("Failed to write the access log, dropping records until it recovers", e);
+                        failing = true;
+                    }
+                    closeQuietly(writer);
+                    writer = null;
+                }
+                batch.clear();
+            }
+        } finally {
+            closeQuietly(writer);
+        }
+    }
+
+    private AccessLogRecord poll() {
+        try {
+            return buffer.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            running = false;
+            return buffer.poll();
+        }
+    }
+
+    private Writer open() throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        return Files.newBufferedWriter(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void closeQuietly(Writer writer) {
+        if (writer == null) {
+            return;
+        }
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close access log", e);
+        }
+    }
+
+    record AccessLogRecord(long timestampMillis, String route, int status, String slug, long durationMicros) {
+        void appendTo(StringBuilder line) {
+            line.append("{\"ts\":\"").append(Instant.ofEpochMilli(timestampMillis))
+                    .append("\",\"route\":\"").append(route)
+                    .append("\",\"status\":").append(status)
+                    .append(",\"slug\":\"");
+            appendEscaped(line, slug);
+            line.append("\",\"us\":").append(durationMicros).append("}\n");
+        }
+
+        private static void appendEscaped(StringBuilder line, String value) {
+            if (value == null) {
+                return;
+            }
+
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    line.append('\\').append(c);
+                } else if (c >= 0x20) {
+                    line.append(c);
+                }
+            }
+        }
+    }
+}
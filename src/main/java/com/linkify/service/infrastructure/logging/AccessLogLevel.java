@@ -0,0 +1,7 @@
+package com.linkify.service.infrastructure.logging;
+
+public enum AccessLogLevel {
+    OFF,
+    ERRORS,
+    ALL
+}
@@ -0,0 +1,22 @@
+package com.linkify.service.infrastructure.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "linkify.access-log")
+public record AccessLogProperties(
+        @DefaultValue("OFF") AccessLogLevel level,
+        @DefaultValue("logs/access.log") Path file,
+        @DefaultValue("8192") int bufferSize,
+        @DefaultValue("512") int batchSize,
+        @DefaultValue("200ms") Duration flushInterval,
+        Map<String, Double> sampling) {
+
+    public AccessLogProperties {
+        sampling = sampling == null ? Map.of() : Map.copyOf(sampling);
+    }
+}
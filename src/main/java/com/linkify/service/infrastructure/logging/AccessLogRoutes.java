@@ -0,0 +1,11 @@
+package com.linkify.service.infrastructure.logging;
+
+public final class AccessLogRoutes {
+    public static final String RESOLVE = "resolve";
+    public static final String CREATE = "create";
+    public static final String LIST = "list";
+    public static final String EXPORT = "export";
+
+    private AccessLogRoutes() {
+    }
+}
@@ -0,0 +1,55 @@
+package com.linkify.service.infrastructure.persistence;
+
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.domain.port.ExpiredShortUrlPersistence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+@Repository
+@Profile("!embedded")
+public class ExpiredShortUrlDatabaseRepository implements ExpiredShortUrlPersistence {
+    private static final Pattern PARTITION_NAME = Pattern.compile("[a-z0-9_]+");
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    public ExpiredShortUrlDatabaseRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    @Override
+    public List<String> partitions() {
+        String sql = "SELECT child.relname FROM pg_inherits " +
+                "JOIN pg_class child ON child.oid = pg_inherits.inhrelid " +
+                "WHERE pg_inherits.inhparent = 'short_url'::regclass ORDER BY child.relname";
+
+        return namedParameterJdbcTemplate.queryForList(sql, new MapSqlParameterSource(), String.class);
+    }
+
+    @Override
+    public List<String> deleteExpired(String partition, OffsetDateTime expiredBefore, int limit) {
+        if (!PARTITION_NAME.matcher(partition).matches()) {
+            throw new IllegalArgumentException("Invalid partition name: " + partition);
+        }
+
+        // Walks the partition's expires_at index; SKIP LOCKED lets several nodes reap at the same time.
+        String sql = "DELETE FROM " + partition + " WHERE slug IN (" +
+                "SELECT slug FROM " + partition + " WHERE expires_at < :expiredBefore " +
+                "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED) RETURNING slug";
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("expiredBefore", expiredBefore)
+                .addValue("limit", limit);
+
+        return namedParameterJdbcTemplate.queryForList(sql, parameters, Long.class).stream()
+                .map(SlugCodec::encode)
+                .toList();
+    }
+}
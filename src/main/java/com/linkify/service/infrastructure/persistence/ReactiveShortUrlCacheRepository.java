@@ -0,0 +1,78 @@
+package com.linkify.service.infrastructure.persistence;
+
+import com.linkify.service.domain.exception.FailedToPersistException;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.domain.port.ReactiveShortUrlPersistence;
+import com.linkify.service.infrastructure.persistence.model.ShortUrlCacheModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+@Repository
+@Profile("reactive")
+public class ReactiveShortUrlCacheRepository implements ReactiveShortUrlPersistence {
+    private static final Expiration TTL = Expiration.from(Duration.ofHours(24));
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ShortUrlCacheCodec shortUrlCacheCodec;
+
+    @Autowired
+    public ReactiveShortUrlCacheRepository(ReactiveStringRedisTemplate redisTemplate,
+                                           ShortUrlCacheCodec shortUrlCacheCodec) {
+        this.redisTemplate = redisTemplate;
+        this.shortUrlCacheCodec = shortUrlCacheCodec;
+    }
+
+    @Override
+    public Mono<Void> save(ShortUrlDomainModel shortUrlDomainModel) {
+        return Mono.fromCallable(() -> shortUrlCacheCodec.encode(shortUrlDomainModel))
+                .flatMap(value -> redisTemplate.execute(connection -> connection.stringCommands()
+                                .set(key(shortUrlDomainModel.getUrlSlug()), ByteBuffer.wrap(value), TTL,
+                                        RedisStringCommands.SetOption.upsert()))
+                        .next()
+                        .onErrorMap(e -> !(e instanceof FailedToPersistException),
+                                e -> new FailedToPersistException("Failed to persist the URL to Redis", e)))
+                .then();
+    }
+
+    @Override
+    public Mono<ShortUrlDomainModel> getShortUrl(String slug) {
+        if (!SlugCodec.isValid(slug)) {
+            return Mono.empty();
+        }
+
+        return redisTemplate.execute(connection -> connection.stringCommands().get(key(slug)))
+                .next()
+                .mapNotNull(buffer -> {
+                    byte[] value = new byte[buffer.remaining()];
+                    buffer.get(value);
+                    // Targets missing from the intern cache are left to the database rather than a second lookup.
+                    ShortUrlCacheModel shortUrlCacheModel = shortUrlCacheCodec.decode(value, fingerprint -> null);
+                    if (shortUrlCacheModel == null) {
+                        return null;
+                    }
+                    return ShortUrlDomainModel.restore(
+                            shortUrlCacheModel.originalUrl(),
+                            shortUrlCacheModel.owner(), slug,
+                            shortUrlCacheModel.expirationDate()
+                    );
+                });
+    }
+
+    @Override
+    public Mono<ShortUrlDomainModel> getByOwnerAndOriginalUrl(String owner, String originalUrl) {
+        return Mono.empty();
+    }
+
+    private static ByteBuffer key(String slug) {
+        return ByteBuffer.wrap(SlugCodec.toBytes(slug));
+    }
+}
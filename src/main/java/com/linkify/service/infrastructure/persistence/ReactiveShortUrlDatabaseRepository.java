@@ -0,0 +1,176 @@
+package com.linkify.service.infrastructure.persistence;
+
+import com.linkify.service.application.metrics.SlugCollisionEvent;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.domain.port.ReactiveShortUrlPersistence;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressor;
+import com.linkify.service.infrastructure.persistence.partitioning.ExpiryPartitioningProperties;
+import com.linkify.service.infrastructure.persistence.target.UrlFingerprint;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetCache;
+import io.r2dbc.spi.Readable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Writes and reads links the way {@link ShortUrlDatabaseRepository} does, through the same {@link ShortUrlRow}: expiry
+ * routing, url_target references and packed URLs all apply on the reactive stack too.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveShortUrlDatabaseRepository implements ReactiveShortUrlPersistence {
+    private static final String COLUMNS = ShortUrlRow.COLUMNS;
+
+    Logger logger = LoggerFactory.getLogger(ReactiveShortUrlDatabaseRepository.class);
+    private final DatabaseClient databaseClient;
+    private final ExpiryPartitioningProperties expiryPartitioningProperties;
+    private final UrlCompressor urlCompressor;
+    private final UrlTargetCache urlTargetCache;
+
+    @Autowired
+    public ReactiveShortUrlDatabaseRepository(DatabaseClient databaseClient,
+                                              ExpiryPartitioningProperties expiryPartitioningProperties,
+                                              UrlCompressor urlCompressor, UrlTargetCache urlTargetCache) {
+        this.databaseClient = databaseClient;
+        this.expiryPartitioningProperties = expiryPartitioningProperties;
+        this.urlCompressor = urlCompressor;
+        this.urlTargetCache = urlTargetCache;
+    }
+
+    @Override
+    public Mono<Void> save(ShortUrlDomainModel shortUrlDomainModel) {
+        return Mono.defer(() -> {
+            ShortUrlRow row = ShortUrlRow.inline(shortUrlDomainModel, urlCompressor);
+            Mono<ShortUrlRow> stored = urlTargetCache.enabled()
+                    ? saveTarget(row, shortUrlDomainModel.getOriginalUrl()).thenReturn(row.referencingTarget())
+                    : Mono.just(row);
+            return stored.flatMap(link -> saveExpiring(shortUrlDomainModel, link)
+                    .flatMap(savedExpiring -> savedExpiring ? Mono.<Void>empty() : insert(shortUrlDomainModel, link)));
+        });
+    }
+
+    private Mono<Void> insert(ShortUrlDomainModel shortUrlDomainModel, ShortUrlRow row) {
+        return insert(ShortUrlRow.INSERT, shortUrlDomainModel, row).then()
+                .onErrorResume(DuplicateKeyException.class, e -> {
+                    logger.warn("Slug already exists in the database, trying to generate a new one");
+                    SlugCollisionEvent.retried(SlugCollisionEvent.DATABASE, shortUrlDomainModel.getUrlSlug());
+                    shortUrlDomainModel.regenerateSlug();
+                    return insert(ShortUrlRow.INSERT, shortUrlDomainModel, row).then();
+                });
+    }
+
+    /**
+     * Emits whether the link went to short_url_expiring; false when it is not routed there, or when no partition
+     * covers its expiration date yet and the hash layout has to take it.
+     */
+    private Mono<Boolean> saveExpiring(ShortUrlDomainModel shortUrlDomainModel, ShortUrlRow row) {
+        if (!ShortUrlRow.routesToExpiringLayout(shortUrlDomainModel, expiryPartitioningProperties)) {
+            return Mono.just(false);
+        }
+        if (!ShortUrlDomainModel.isExpiringSlug(shortUrlDomainModel.getUrlSlug())) {
+            shortUrlDomainModel.regenerateSlug(true);
+        }
+
+        return insertExpiring(shortUrlDomainModel, row)
+                .flatMap(inserted -> inserted ? Mono.just(true) : insertExpiring(shortUrlDomainModel, row))
+                .onErrorResume(DataIntegrityViolationException.class, e -> {
+                    logger.warn("No expiring partition for {}, storing link in short_url",
+                            shortUrlDomainModel.getExpirationDate());
+                    return Mono.just(false);
+                });
+    }
+
+    private Mono<Boolean> insertExpiring(ShortUrlDomainModel shortUrlDomainModel, ShortUrlRow row) {
+        return insert(ShortUrlRow.INSERT_EXPIRING, shortUrlDomainModel, row).map(inserted -> {
+            if (inserted == 1) {
+                return true;
+            }
+
+            logger.warn("Slug already exists in the database, trying to generate a new one");
+            SlugCollisionEvent.retried(SlugCollisionEvent.DATABASE, shortUrlDomainModel.getUrlSlug());
+            shortUrlDomainModel.regenerateSlug(true);
+            return false;
+        });
+    }
+
+    private Mono<Long> insert(String sql, ShortUrlDomainModel shortUrlDomainModel, ShortUrlRow row) {
+        return Mono.defer(() -> {
+            ShortUrlRow link = row.withSlug(shortUrlDomainModel.getUrlSlug());
+            return databaseClient.sql(sql)
+                    .bind("slug", link.slug())
+                    .bind("owner", link.owner())
+                    .bind("originalUrl", Parameter.fromOrEmpty(link.originalUrl(), String.class))
+                    .bind("originalUrlPacked", Parameter.fromOrEmpty(link.originalUrlPacked(), byte[].class))
+                    .bind("originalUrlHash", link.originalUrlHash().toBytes())
+                    .bind("targetFingerprint", Parameter.fromOrEmpty(link.targetFingerprint() == null ? null
+                            : link.targetFingerprint().toBytes(), byte[].class))
+                    .bind("expiresAt", Parameter.fromOrEmpty(link.expiresAt(), OffsetDateTime.class))
+                    .fetch()
+                    .rowsUpdated();
+        });
+    }
+
+    /**
+     * Stores the destination once in url_target, on every save as the blocking repository does.
+     */
+    private Mono<Void> saveTarget(ShortUrlRow inline, String originalUrl) {
+        return databaseClient.sql(ShortUrlRow.INSERT_TARGET)
+                .bind("targetFingerprint", inline.originalUrlHash().toBytes())
+                .bind("originalUrl", Parameter.fromOrEmpty(inline.originalUrl(), String.class))
+                .bind("originalUrlPacked", Parameter.fromOrEmpty(inline.originalUrlPacked(), byte[].class))
+                .then()
+                .doOnSuccess(ignored -> urlTargetCache.intern(inline.originalUrlHash(), originalUrl));
+    }
+
+    @Override
+    public Mono<ShortUrlDomainModel> getShortUrl(String slug) {
+        if (!SlugCodec.isValid(slug)) {
+            return Mono.empty();
+        }
+
+        String sql = ShortUrlRow.resolvingTargets(ShortUrlDomainModel.isExpiringSlug(slug)
+                ? "SELECT * FROM (SELECT " + COLUMNS + " FROM short_url_expiring WHERE slug = :slug " +
+                "UNION ALL SELECT " + COLUMNS + " FROM short_url WHERE slug = :slug) AS candidates LIMIT 1"
+                : "SELECT " + COLUMNS + " FROM short_url WHERE slug = :slug LIMIT 1");
+
+        return databaseClient.sql(sql)
+                .bind("slug", SlugCodec.decode(slug))
+                .map(this::toDomainModel)
+                .first();
+    }
+
+    @Override
+    public Mono<ShortUrlDomainModel> getByOwnerAndOriginalUrl(String owner, String originalUrl) {
+        // Matched on the fingerprint of the plain URL, which every link stores however its URL is stored.
+        return databaseClient.sql(ShortUrlRow.resolvingTargets("SELECT * FROM (SELECT " + COLUMNS + " FROM short_url " +
+                        "WHERE owner = :owner AND original_url_hash = :originalUrlHash UNION ALL " +
+                        "SELECT " + COLUMNS + " FROM short_url_expiring " +
+                        "WHERE owner = :owner AND original_url_hash = :originalUrlHash) AS candidates " +
+                        "ORDER BY expires_at DESC NULLS FIRST LIMIT 1"))
+                .bind("owner", owner)
+                .bind("originalUrlHash", UrlFingerprint.of(originalUrl).toBytes())
+                .map(this::toDomainModel)
+                .first();
+    }
+
+    private ShortUrlDomainModel toDomainModel(Readable row) {
+        return ShortUrlRow.read(
+                row.get("slug", Long.class),
+                row.get("owner", String.class),
+                row.get("original_url", String.class),
+                row.get("original_url_packed", byte[].class),
+                row.get("target_fingerprint", byte[].class),
+                row.get("expires_at", OffsetDateTime.class)
+        ).toDomainModel(urlCompressor, urlTargetCache);
+    }
+}
@@ -1,100 +1,285 @@
 package com.linkify.service.infrastructure.persistence;
 
-import com.linkify.service.domain.exception.UrlExpiredException;
+import com.linkify.service.application.metrics.LatencyTimers;
+import com.linkify.service.application.metrics.SlugCollisionEvent;
 import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.domain.port.OwnerShortUrlPersistence;
 import com.linkify.service.domain.port.ShortUrlPersistence;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressor;
+import com.linkify.service.infrastructure.persistence.partitioning.ExpiryPartitioningProperties;
+import com.linkify.service.infrastructure.persistence.replica.ReplicaReadRouting;
+import com.linkify.service.infrastructure.persistence.target.UrlFingerprint;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Repository
-public class ShortUrlDatabaseRepository implements ShortUrlPersistence {
+@Profile("!embedded")
+public class ShortUrlDatabaseRepository implements ShortUrlPersistence, OwnerShortUrlPersistence {
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final String COLUMNS = ShortUrlRow.COLUMNS;
+
     Logger logger = LoggerFactory.getLogger(ShortUrlDatabaseRepository.class);
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final ExpiryPartitioningProperties expiryPartitioningProperties;
+    private final ReplicaReadRouting replicaReadRouting;
+    private final UrlCompressor urlCompressor;
+    private final UrlTargetCache urlTargetCache;
+    private final Timer getTimer;
+    private final Timer ownerLookupTimer;
+    private final Timer saveTimer;
 
     @Autowired
-    public ShortUrlDatabaseRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+    public ShortUrlDatabaseRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                      ExpiryPartitioningProperties expiryPartitioningProperties,
+                                      ReplicaReadRouting replicaReadRouting, UrlCompressor urlCompressor,
+                                      UrlTargetCache urlTargetCache, MeterRegistry meterRegistry) {
         this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.expiryPartitioningProperties = expiryPartitioningProperties;
+        this.replicaReadRouting = replicaReadRouting;
+        this.urlCompressor = urlCompressor;
+        this.urlTargetCache = urlTargetCache;
+        this.getTimer = LatencyTimers.timer(meterRegistry, "linkify.store", "store", "postgres", "operation", "get");
+        this.ownerLookupTimer = LatencyTimers.timer(meterRegistry, "linkify.store", "store", "postgres",
+                "operation", "owner_lookup");
+        this.saveTimer = LatencyTimers.timer(meterRegistry, "linkify.store", "store", "postgres", "operation", "save");
     }
 
     @Override
     public void save(ShortUrlDomainModel shortUrlDomainModel) {
-        String sql = "INSERT INTO short_url (slug, owner, original_url, expires_at) " +
-                "VALUES (:slug, :owner, :originalUrl, :expiresAt)";
+        saveTimer.record(() -> insert(shortUrlDomainModel));
 
-        MapSqlParameterSource parameters = new MapSqlParameterSource()
-                .addValue("slug", shortUrlDomainModel.getUrlSlug())
-                .addValue("owner", shortUrlDomainModel.getOwner())
-                .addValue("originalUrl", shortUrlDomainModel.getOriginalUrl())
-                .addValue("expiresAt", shortUrlDomainModel.getExpirationDate());
+        // Until replicas have caught up, reads of this link on this node go to the primary.
+        replicaReadRouting.written(shortUrlDomainModel.getUrlSlug());
+        replicaReadRouting.written(ownerKey(shortUrlDomainModel.getOwner(), shortUrlDomainModel.getOriginalUrl()));
+        replicaReadRouting.written(ownerKey(shortUrlDomainModel.getOwner()));
+    }
+
+    private void insert(ShortUrlDomainModel shortUrlDomainModel) {
+        ShortUrlRow row = ShortUrlRow.inline(shortUrlDomainModel, urlCompressor);
+        if (urlTargetCache.enabled()) {
+            saveTarget(row, shortUrlDomainModel.getOriginalUrl());
+            row = row.referencingTarget();
+        }
+        if (ShortUrlRow.routesToExpiringLayout(shortUrlDomainModel, expiryPartitioningProperties)
+                && saveExpiring(shortUrlDomainModel, row)) {
+            return;
+        }
 
         try {
-            namedParameterJdbcTemplate.update(sql, parameters);
+            namedParameterJdbcTemplate.update(ShortUrlRow.INSERT,
+                    insertParameters(row.withSlug(shortUrlDomainModel.getUrlSlug())));
         } catch (DuplicateKeyException e) {
             logger.warn("Slug already exists in the database, trying to generate a new one");
+            SlugCollisionEvent.retried(SlugCollisionEvent.DATABASE, shortUrlDomainModel.getUrlSlug());
             shortUrlDomainModel.regenerateSlug();
 
-            parameters.addValue("slug", shortUrlDomainModel.getUrlSlug());
-            namedParameterJdbcTemplate.update(sql, parameters);
+            namedParameterJdbcTemplate.update(ShortUrlRow.INSERT,
+                    insertParameters(row.withSlug(shortUrlDomainModel.getUrlSlug())));
+        }
+    }
+
+    private boolean saveExpiring(ShortUrlDomainModel shortUrlDomainModel, ShortUrlRow row) {
+        if (!ShortUrlDomainModel.isExpiringSlug(shortUrlDomainModel.getUrlSlug())) {
+            shortUrlDomainModel.regenerateSlug(true);
+        }
+
+        try {
+            for (int attempt = 0; attempt < 2; attempt++) {
+                if (namedParameterJdbcTemplate.update(ShortUrlRow.INSERT_EXPIRING,
+                        insertParameters(row.withSlug(shortUrlDomainModel.getUrlSlug()))) == 1) {
+                    return true;
+                }
+
+                logger.warn("Slug already exists in the database, trying to generate a new one");
+                SlugCollisionEvent.retried(SlugCollisionEvent.DATABASE, shortUrlDomainModel.getUrlSlug());
+                shortUrlDomainModel.regenerateSlug(true);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // No partition covers this expiration date yet; the hash layout takes any link.
+            logger.warn("No expiring partition for {}, storing link in short_url",
+                    shortUrlDomainModel.getExpirationDate());
         }
+        return false;
+    }
+
+    /**
+     * Stores the destination once in url_target. The insert always runs, since the intern cache is also filled from
+     * Redis and does not prove the row exists; a target that is already stored is left as it is.
+     */
+    private void saveTarget(ShortUrlRow inline, String originalUrl) {
+        namedParameterJdbcTemplate.update(ShortUrlRow.INSERT_TARGET, new MapSqlParameterSource()
+                .addValue("targetFingerprint", inline.originalUrlHash().toBytes(), Types.BINARY)
+                .addValue("originalUrl", inline.originalUrl(), Types.VARCHAR)
+                .addValue("originalUrlPacked", inline.originalUrlPacked(), Types.BINARY));
+        urlTargetCache.intern(inline.originalUrlHash(), originalUrl);
+    }
+
+    private static MapSqlParameterSource insertParameters(ShortUrlRow row) {
+        return new MapSqlParameterSource()
+                .addValue("slug", row.slug())
+                .addValue("owner", row.owner())
+                .addValue("originalUrl", row.originalUrl(), Types.VARCHAR)
+                .addValue("originalUrlPacked", row.originalUrlPacked(), Types.BINARY)
+                .addValue("originalUrlHash", row.originalUrlHash().toBytes(), Types.BINARY)
+                .addValue("targetFingerprint", row.targetFingerprint() == null ? null
+                        : row.targetFingerprint().toBytes(), Types.BINARY)
+                .addValue("expiresAt", row.expiresAt());
     }
 
     @Override
     public Optional<ShortUrlDomainModel> getShortUrl(String slug) {
-        String sql = "SELECT * FROM short_url WHERE slug = :slug LIMIT 1";
+        if (!SlugCodec.isValid(slug)) {
+            return Optional.empty();
+        }
+
+        // Slugs with the expiring hint may still be in short_url (written before routing or past the horizon), so
+        // those read both layouts in one statement; the LIMIT stops as soon as the expiring layout has the row.
+        String sql = ShortUrlRow.resolvingTargets(ShortUrlDomainModel.isExpiringSlug(slug)
+                ? "SELECT * FROM (SELECT " + COLUMNS + " FROM short_url_expiring WHERE slug = :slug " +
+                "UNION ALL SELECT " + COLUMNS + " FROM short_url WHERE slug = :slug) AS candidates LIMIT 1"
+                : "SELECT " + COLUMNS + " FROM short_url WHERE slug = :slug LIMIT 1");
 
         MapSqlParameterSource parameters = new MapSqlParameterSource()
-                .addValue("slug", slug);
+                .addValue("slug", SlugCodec.decode(slug));
 
-        return namedParameterJdbcTemplate.query(sql, parameters, resultSet -> {
-            if (resultSet.next()) {
-                try {
-                    ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
-                            resultSet.getString("original_url"),
-                            resultSet.getString("owner"),
-                            resultSet.getString("slug"),
-                            resultSet.getObject("expires_at", OffsetDateTime.class)
-                    );
-                    return Optional.of(shortUrlDomainModel);
-                } catch (UrlExpiredException e) {
-                    return Optional.empty();
-                }
-            }
-            return Optional.empty();
-        });
+        return getTimer.record(() -> replicaReadRouting.read(slug, () -> queryFirst(sql, parameters)));
     }
 
     @Override
     public Optional<ShortUrlDomainModel> getByOwnerAndOriginalUrl(String owner, String originalUrl) {
-        String sql = "SELECT * FROM short_url WHERE owner = :owner AND original_url = :originalUrl " +
-                "ORDER BY expires_at DESC NULLS FIRST LIMIT 1";
+        // Matched on the fingerprint of the plain URL, which every link stores however its URL is stored.
+        String sql = ShortUrlRow.resolvingTargets("SELECT * FROM (SELECT " + COLUMNS + " FROM short_url " +
+                "WHERE owner = :owner AND original_url_hash = :originalUrlHash UNION ALL " +
+                "SELECT " + COLUMNS + " FROM short_url_expiring " +
+                "WHERE owner = :owner AND original_url_hash = :originalUrlHash) AS candidates " +
+                "ORDER BY expires_at DESC NULLS FIRST LIMIT 1");
 
         MapSqlParameterSource parameters = new MapSqlParameterSource()
                 .addValue("owner", owner)
-                .addValue("originalUrl", originalUrl);
+                .addValue("originalUrlHash", UrlFingerprint.of(originalUrl).toBytes(), Types.BINARY);
+
+        return ownerLookupTimer.record(() -> replicaReadRouting.read(ownerKey(owner, originalUrl),
+                () -> queryFirst(sql, parameters)));
+    }
 
+    @Override
+    public List<ShortUrlDomainModel> listByOwner(String owner, String afterSlug, int limit) {
+        long fromSlug = Long.MIN_VALUE;
+        if (afterSlug != null) {
+            long lastSlug = SlugCodec.decode(afterSlug);
+            if (lastSlug == Long.MAX_VALUE) {
+                return List.of();
+            }
+            fromSlug = lastSlug + 1;
+        }
+
+        // Each layout is read from its (owner, slug) index up to the page size and the two runs are merged, so a
+        // page costs the same however deep into the listing it starts.
+        String page = " WHERE owner = :owner AND slug >= :fromSlug ORDER BY slug LIMIT :limit";
+        String sql = ShortUrlRow.resolvingTargets("SELECT * FROM ((SELECT " + COLUMNS + " FROM short_url" + page +
+                ") UNION ALL (SELECT " + COLUMNS + " FROM short_url_expiring" + page + ")) AS candidates " +
+                "ORDER BY slug LIMIT :limit") + " ORDER BY link.slug";
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("owner", owner)
+                .addValue("fromSlug", fromSlug)
+                .addValue("limit", limit);
+
+        return replicaReadRouting.read(ownerKey(owner), () -> namedParameterJdbcTemplate.query(sql, parameters,
+                (resultSet, rowNum) -> toDomainModel(resultSet)));
+    }
+
+    @Override
+    public long exportByOwner(String owner, Consumer<ShortUrlDomainModel> consumer) {
+        String sql = ShortUrlRow.resolvingTargets("SELECT " + COLUMNS + " FROM short_url WHERE owner = ? UNION ALL " +
+                "SELECT " + COLUMNS + " FROM short_url_expiring WHERE owner = ?");
+
+        Long exported = replicaReadRouting.read(ownerKey(owner), () -> namedParameterJdbcTemplate.getJdbcTemplate()
+                .execute((ConnectionCallback<Long>) connection -> export(connection, sql, owner, consumer)));
+        return exported == null ? 0 : exported;
+    }
+
+    /**
+     * PostgreSQL only reads a result in fetch-size batches through a cursor, which needs a transaction; with
+     * autocommit on it loads the whole result first.
+     */
+    private long export(Connection connection, String sql, String owner, Consumer<ShortUrlDomainModel> consumer)
+            throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setFetchSize(EXPORT_FETCH_SIZE);
+            statement.setString(1, owner);
+            statement.setString(2, owner);
+
+            long exported = 0;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    consumer.accept(toDomainModel(resultSet));
+                    exported++;
+                }
+            }
+            if (autoCommit) {
+                connection.commit();
+            }
+            return exported;
+        } catch (SQLException | RuntimeException e) {
+            if (autoCommit) {
+                connection.rollback();
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private Optional<ShortUrlDomainModel> queryFirst(String sql, MapSqlParameterSource parameters) {
         return namedParameterJdbcTemplate.query(sql, parameters, resultSet -> {
             if (resultSet.next()) {
-                try {
-                    ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
-                            resultSet.getString("original_url"),
-                            resultSet.getString("owner"),
-                            resultSet.getString("slug"),
-                            resultSet.getObject("expires_at", OffsetDateTime.class)
-                    );
-                    return Optional.of(shortUrlDomainModel);
-                } catch (UrlExpiredException e) {
-                    return Optional.empty();
-                }
+                return Optional.of(toDomainModel(resultSet));
             }
             return Optional.empty();
         });
     }
+
+    private ShortUrlDomainModel toDomainModel(ResultSet resultSet) throws SQLException {
+        return ShortUrlRow.read(
+                resultSet.getLong("slug"),
+                resultSet.getString("owner"),
+                resultSet.getString("original_url"),
+                resultSet.getBytes("original_url_packed"),
+                resultSet.getBytes("target_fingerprint"),
+                resultSet.getObject("expires_at", OffsetDateTime.class)
+        ).toDomainModel(urlCompressor, urlTargetCache);
+    }
+
+    private static String ownerKey(String owner, String originalUrl) {
+        return owner + '\n' + originalUrl;
+    }
+
+    private static String ownerKey(String owner) {
+        return owner + '\n';
+    }
 }
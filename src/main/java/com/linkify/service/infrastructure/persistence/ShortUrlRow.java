@@ -0,0 +1,108 @@
+package com.linkify.service.infrastructure.persistence;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressor;
+import com.linkify.service.infrastructure.persistence.partitioning.ExpiryPartitioningProperties;
+import com.linkify.service.infrastructure.persistence.target.UrlFingerprint;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetCache;
+import org.springframework.dao.DataRetrievalFailureException;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A link as stored in short_url or short_url_expiring. The blocking and the reactive repository both go through it, so
+ * they write and read links the same way.
+ */
+record ShortUrlRow(long slug, String owner, String originalUrl, byte[] originalUrlPacked,
+                   UrlFingerprint originalUrlHash, UrlFingerprint targetFingerprint, OffsetDateTime expiresAt) {
+    static final String COLUMNS = "slug, owner, original_url, original_url_packed, original_url_hash, " +
+            "target_fingerprint, expires_at";
+    static final String VALUES = ":slug, :owner, :originalUrl, :originalUrlPacked, :originalUrlHash, " +
+            ":targetFingerprint, :expiresAt";
+    static final String INSERT = "INSERT INTO short_url (" + COLUMNS + ") VALUES (" + VALUES + ")";
+    static final String INSERT_EXPIRING = "INSERT INTO short_url_expiring (" + COLUMNS + ") " +
+            "SELECT " + VALUES + " WHERE NOT EXISTS (SELECT 1 FROM short_url_expiring WHERE slug = :slug)";
+    static final String INSERT_TARGET = "INSERT INTO url_target (fingerprint, original_url, " +
+            "original_url_packed) VALUES (:targetFingerprint, :originalUrl, :originalUrlPacked) " +
+            "ON CONFLICT (fingerprint) DO NOTHING";
+
+    /**
+     * The row of a new link with its URL stored inline, and only packed when URL compression is enabled. Every link
+     * carries the fingerprint of its plain URL for owner lookups.
+     */
+    static ShortUrlRow inline(ShortUrlDomainModel shortUrlDomainModel, UrlCompressor urlCompressor) {
+        String originalUrl = shortUrlDomainModel.getOriginalUrl();
+        boolean packed = urlCompressor.enabled();
+        return new ShortUrlRow(
+                SlugCodec.decode(shortUrlDomainModel.getUrlSlug()),
+                shortUrlDomainModel.getOwner(),
+                packed ? null : originalUrl,
+                packed ? urlCompressor.compress(originalUrl) : null,
+                UrlFingerprint.of(originalUrl),
+                null,
+                shortUrlDomainModel.getExpirationDate()
+        );
+    }
+
+    /**
+     * The same link carrying no URL of its own but a reference to the url_target row that holds it. The URL columns
+     * of the inline row are the ones to store in that target.
+     */
+    ShortUrlRow referencingTarget() {
+        return new ShortUrlRow(slug, owner, null, null, originalUrlHash, originalUrlHash, expiresAt);
+    }
+
+    ShortUrlRow withSlug(String urlSlug) {
+        return new ShortUrlRow(SlugCodec.decode(urlSlug), owner, originalUrl, originalUrlPacked, originalUrlHash,
+                targetFingerprint, expiresAt);
+    }
+
+    /**
+     * Links expiring within the horizon go to short_url_expiring, whose weekly partitions are dropped whole once
+     * expired. Their slugs carry the expiring hint, so lookups know which layout to read.
+     */
+    static boolean routesToExpiringLayout(ShortUrlDomainModel shortUrlDomainModel,
+                                          ExpiryPartitioningProperties expiryPartitioningProperties) {
+        OffsetDateTime expirationDate = shortUrlDomainModel.getExpirationDate();
+        return expiryPartitioningProperties.enabled() && expirationDate != null
+                && expirationDate.isBefore(OffsetDateTime.now().plus(expiryPartitioningProperties.horizon()));
+    }
+
+    /**
+     * Wraps a link query so that each link's URL comes from url_target when the link references one.
+     */
+    static String resolvingTargets(String linkQuery) {
+        return "SELECT link.slug, link.owner, link.expires_at, link.target_fingerprint, " +
+                "COALESCE(link.original_url, target.original_url) AS original_url, " +
+                "COALESCE(link.original_url_packed, target.original_url_packed) AS original_url_packed " +
+                "FROM (" + linkQuery + ") AS link " +
+                "LEFT JOIN url_target target ON target.fingerprint = link.target_fingerprint";
+    }
+
+    /**
+     * Maps a row read through {@link #resolvingTargets(String)}, which carries no original_url_hash.
+     */
+    static ShortUrlRow read(long slug, String owner, String originalUrl, byte[] originalUrlPacked,
+                            byte[] targetFingerprint, OffsetDateTime expiresAt) {
+        return new ShortUrlRow(slug, owner, originalUrl, originalUrlPacked, null,
+                targetFingerprint == null ? null : UrlFingerprint.fromBytes(targetFingerprint), expiresAt);
+    }
+
+    ShortUrlDomainModel toDomainModel(UrlCompressor urlCompressor, UrlTargetCache urlTargetCache) {
+        String urlSlug = SlugCodec.encode(slug);
+        if (originalUrl == null && originalUrlPacked == null) {
+            throw new DataRetrievalFailureException(targetFingerprint != null
+                    ? "Link " + urlSlug + " references a url_target row that does not exist"
+                    : "Link " + urlSlug + " has no original URL");
+        }
+
+        String url = originalUrl != null ? originalUrl : urlCompressor.decompress(originalUrlPacked);
+        return ShortUrlDomainModel.restore(
+                targetFingerprint == null ? url : urlTargetCache.intern(targetFingerprint, url),
+                owner,
+                urlSlug,
+                expiresAt
+        );
+    }
+}
@@ -0,0 +1,103 @@
+package com.linkify.service.infrastructure.persistence.compression;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds a {@link UrlDictionary} from a sample of stored URLs. Prefixes are the scheme and host, with and without the
+ * first path segment, ranked by the bytes they would save. Tokens are path segments and query parameters, split
+ * before {@code / ? & #} and after {@code =}, ranked the same way and kept until the preset is full.
+ * <p>
+ * Run offline against a dump of original URLs, one per line:
+ * {@code java -cp linkify.jar ...UrlDictionaryTrainer urls.txt 2 > core/src/main/resources/url-dictionaries/v2.txt}
+ */
+public final class UrlDictionaryTrainer {
+    public static final int DEFAULT_DICTIONARY_BYTES = 4096;
+    private static final Pattern PREFIX = Pattern.compile("^[a-z][a-z0-9+.-]*://[^/?#]+/(?:[^/?#]+/)?");
+    private static final Pattern TOKEN = Pattern.compile("[/?&#]?[^/?&#=]*=?");
+    private static final int MIN_COUNT = 2;
+    private static final int MIN_TOKEN_LENGTH = 3;
+
+    private UrlDictionaryTrainer() {
+    }
+
+    public static UrlDictionary train(int version, Collection<String> corpus, int maxPrefixes, int maxDictionaryBytes) {
+        Map<String, Integer> prefixCounts = new HashMap<>();
+        for (String url : corpus) {
+            Matcher matcher = PREFIX.matcher(url);
+            if (matcher.find()) {
+                String withSegment = matcher.group();
+                prefixCounts.merge(withSegment, 1, Integer::sum);
+                String host = withSegment.substring(0, withSegment.indexOf('/', withSegment.indexOf("://") + 3) + 1);
+                if (!host.equals(withSegment)) {
+                    prefixCounts.merge(host, 1, Integer::sum);
+                }
+            }
+        }
+        List<String> prefixes = ranked(prefixCounts).stream()
+                .limit(Math.min(maxPrefixes, UrlDictionary.MAX_PREFIXES))
+                .toList();
+
+        UrlDictionary prefixesOnly = new UrlDictionary(version, prefixes, List.of());
+        Map<String, Integer> tokenCounts = new HashMap<>();
+        for (String url : corpus) {
+            int prefix = prefixesOnly.longestPrefix(url);
+            Matcher matcher = TOKEN.matcher(prefix == 0 ? url : url.substring(prefixesOnly.prefix(prefix).length()));
+            while (matcher.find()) {
+                if (matcher.group().length() >= MIN_TOKEN_LENGTH) {
+                    tokenCounts.merge(matcher.group(), 1, Integer::sum);
+                }
+            }
+        }
+
+        List<String> tokens = new ArrayList<>();
+        int bytes = 0;
+        for (String token : ranked(tokenCounts)) {
+            int length = token.getBytes(StandardCharsets.UTF_8).length;
+            if (bytes + length <= maxDictionaryBytes) {
+                tokens.add(token);
+                bytes += length;
+            }
+        }
+        // DEFLATE reaches the end of the preset with the shortest distances, so the most frequent tokens go last.
+        tokens.sort(Comparator.comparingInt((String token) -> tokenCounts.get(token)).thenComparing(token -> token));
+
+        return new UrlDictionary(version, prefixes, tokens);
+    }
+
+    private static List<String> ranked(Map<String, Integer> counts) {
+        return counts.entrySet().stream()
+                .filter(entry -> entry.getValue() >= MIN_COUNT)
+                .sorted(Comparator.comparingLong((Map.Entry<String, Integer> entry) ->
+                                -(long) entry.getValue() * entry.getKey().length())
+                        .thenComparing(Map.Entry::getKey))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: UrlDictionaryTrainer <urls.txt> <version> [dictionary bytes]");
+            System.exit(1);
+        }
+
+        List<String> corpus = Files.readAllLines(Path.of(args[0]), StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.isBlank())
+                .toList();
+        int maxDictionaryBytes = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_DICTIONARY_BYTES;
+        UrlDictionary dictionary = train(Integer.parseInt(args[1]), corpus, UrlDictionary.MAX_PREFIXES,
+                maxDictionaryBytes);
+        dictionary.write(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,143 @@
+package com.linkify.service.infrastructure.persistence.embedded;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One fixed-size, memory-mapped data file. Records are appended after an 8-byte header and never changed in place.
+ * The mapping uses an automatic arena: it is released once no reader holds the segment any more, so readers never
+ * see it unmapped under them.
+ */
+final class DataSegment {
+    private static final int MAGIC = 0x594b464c;
+    private static final int VERSION = 1;
+    private static final long FILE_HEADER_BYTES = 2 * Integer.BYTES;
+    private static final Pattern FILE_NAME = Pattern.compile("segment-(\\d{8})\\.dat");
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final int id;
+    private final Path path;
+    private final MemorySegment memory;
+    private long writePosition = FILE_HEADER_BYTES;
+
+    private DataSegment(int id, Path path, MemorySegment memory) {
+        this.id = id;
+        this.path = path;
+        this.memory = memory;
+    }
+
+    static DataSegment create(Path directory, int id, long size) throws IOException {
+        DataSegment segment = map(id, directory.resolve(String.format("segment-%08d.dat", id)), size);
+        segment.memory.set(INT, 0, MAGIC);
+        segment.memory.set(INT, Integer.BYTES, VERSION);
+        return segment;
+    }
+
+    static DataSegment open(int id, Path path) throws IOException {
+        DataSegment segment = map(id, path, 0);
+        int magic = segment.memory.get(INT, 0);
+        if (magic == 0) {
+            // Created but never written before a crash.
+            segment.memory.set(INT, 0, MAGIC);
+            segment.memory.set(INT, Integer.BYTES, VERSION);
+        } else if (magic != MAGIC || segment.memory.get(INT, Integer.BYTES) != VERSION) {
+            throw new IOException("Not a short URL data segment: " + path);
+        }
+        return segment;
+    }
+
+    static int idOf(Path path) {
+        Matcher matcher = FILE_NAME.matcher(path.getFileName().toString());
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    /**
+     * Returns the positions of the intact records, from the first one up to the end of the data or the first torn
+     * record.
+     */
+    long[] positions() {
+        long[] positions = new long[64];
+        int count = 0;
+        long position = FILE_HEADER_BYTES;
+        for (int size = ShortUrlRecord.sizeAt(memory, position); size > 0;
+             size = ShortUrlRecord.sizeAt(memory, position)) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count++] = position;
+            position += size;
+        }
+
+        writePosition = position;
+        return Arrays.copyOf(positions, count);
+    }
+
+    /**
+     * Zeroes the bytes of a torn record so that later appends start from a clean tail.
+     * Call after {@link #positions()}; returns whether there was one.
+     */
+    boolean truncateTornTail() {
+        if (writePosition + Integer.BYTES > memory.byteSize() || memory.get(INT, writePosition) == 0) {
+            return false;
+        }
+
+        memory.asSlice(writePosition).fill((byte) 0);
+        return true;
+    }
+
+    long append(byte[] record) {
+        long position = writePosition;
+        MemorySegment.copy(MemorySegment.ofArray(record), 0, memory, position, record.length);
+        writePosition += record.length;
+        return position;
+    }
+
+    boolean fits(int bytes) {
+        return writePosition + bytes <= memory.byteSize();
+    }
+
+    long usedBytes() {
+        return writePosition - FILE_HEADER_BYTES;
+    }
+
+    void force(long position, long length) {
+        memory.asSlice(position, length).force();
+    }
+
+    void force() {
+        memory.force();
+    }
+
+    int id() {
+        return id;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    MemorySegment memory() {
+        return memory;
+    }
+
+    private static DataSegment map(int id, Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            if (channel.size() < size) {
+                channel.write(ByteBuffer.wrap(new byte[1]), size - 1);
+            }
+            return new DataSegment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size(),
+                    Arena.ofAuto()));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.linkify.service.infrastructure.persistence.embedded;
+
+import com.linkify.service.application.metrics.SlugCollisionEvent;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.util.Optional;
+
+@Repository("shortUrlDatabaseRepository")
+@Profile("embedded")
+public class EmbeddedShortUrlRepository implements ShortUrlPersistence {
+    Logger logger = LoggerFactory.getLogger(EmbeddedShortUrlRepository.class);
+    private final EmbeddedShortUrlStore embeddedShortUrlStore;
+
+    @Autowired
+    public EmbeddedShortUrlRepository(EmbeddedShortUrlStore embeddedShortUrlStore) {
+        this.embeddedShortUrlStore = embeddedShortUrlStore;
+    }
+
+    @Override
+    public void save(ShortUrlDomainModel shortUrlDomainModel) {
+        try {
+            if (embeddedShortUrlStore.putIfAbsent(shortUrlDomainModel)) {
+                return;
+            }
+
+            logger.warn("Slug already exists in the embedded store, trying to generate a new one");
+            SlugCollisionEvent.retried(SlugCollisionEvent.EMBEDDED, shortUrlDomainModel.getUrlSlug());
+            shortUrlDomainModel.regenerateSlug();
+            if (!embeddedShortUrlStore.putIfAbsent(shortUrlDomainModel)) {
+                throw new DuplicateKeyException("Slug already exists: " + shortUrlDomainModel.getUrlSlug());
+            }
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Failed to write to the embedded store", e);
+        }
+    }
+
+    @Override
+    public Optional<ShortUrlDomainModel> getShortUrl(String slug) {
+        return embeddedShortUrlStore.get(slug);
+    }
+
+    @Override
+    public Optional<ShortUrlDomainModel> getByOwnerAndOriginalUrl(String owner, String originalUrl) {
+        return embeddedShortUrlStore.getByOwnerAndOriginalUrl(owner, originalUrl);
+    }
+}
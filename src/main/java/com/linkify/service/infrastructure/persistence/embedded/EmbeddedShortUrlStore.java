@@ -0,0 +1,325 @@
+package com.linkify.service.infrastructure.persistence.embedded;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only short URL storage in memory-mapped segment files, with off-heap hash indexes by slug and by owner and
+ * original URL. The indexes are rebuilt from the segments on open, so a crash loses at most a torn last record.
+ * <p>
+ * Writes and compaction are serialised by a lock. Reads take no locks: they read the current segment map and index,
+ * then the record the index points at. Compaction copies the live records of a segment, repoints the indexes, and
+ * only then drops the segment from the map, so a reader always finds the segment its location refers to.
+ */
+public final class EmbeddedShortUrlStore implements AutoCloseable {
+    private static final int POSITION_BITS = 40;
+    private static final long POSITION_MASK = (1L << POSITION_BITS) - 1;
+
+    Logger logger = LoggerFactory.getLogger(EmbeddedShortUrlStore.class);
+
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean syncWrites;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Map<Integer, DataSegment> segments;
+    private volatile OffHeapIndex slugIndex;
+    private volatile OffHeapIndex ownerIndex;
+    private DataSegment active;
+
+    private EmbeddedShortUrlStore(Path directory, long segmentSize, boolean syncWrites) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.syncWrites = syncWrites;
+    }
+
+    public static EmbeddedShortUrlStore open(Path directory, long segmentSize, int initialIndexCapacity,
+                                             boolean syncWrites) throws IOException {
+        Files.createDirectories(directory);
+        EmbeddedShortUrlStore store = new EmbeddedShortUrlStore(directory, segmentSize, syncWrites);
+        store.recover(initialIndexCapacity);
+        return store;
+    }
+
+    public Optional<ShortUrlDomainModel> get(String slug) {
+        Map<Integer, DataSegment> snapshot = segments;
+        byte[] slugBytes = ShortUrlRecord.bytes(slug);
+        long location = slugIndex.find(OffHeapIndex.hash(slug), candidate -> {
+            MemorySegment memory = memoryOf(snapshot, candidate);
+            return memory != null && ShortUrlRecord.hasSlug(memory, positionOf(candidate), slugBytes);
+        });
+        return location == OffHeapIndex.NOT_FOUND ? Optional.empty() : Optional.of(
+                ShortUrlRecord.decode(memoryOf(snapshot, location), positionOf(location)));
+    }
+
+    /**
+     * Returns the link written last for the pair, which is the one the create use case would pick: it only writes a
+     * new link for a pair once the previous one has expired.
+     */
+    public Optional<ShortUrlDomainModel> getByOwnerAndOriginalUrl(String owner, String originalUrl) {
+        Map<Integer, DataSegment> snapshot = segments;
+        byte[] ownerBytes = ShortUrlRecord.bytes(owner);
+        byte[] urlBytes = ShortUrlRecord.bytes(originalUrl);
+        long location = ownerIndex.find(OffHeapIndex.hash(owner, originalUrl), candidate -> {
+            MemorySegment memory = memoryOf(snapshot, candidate);
+            return memory != null
+                    && ShortUrlRecord.hasOwnerAndOriginalUrl(memory, positionOf(candidate), ownerBytes, urlBytes);
+        });
+        return location == OffHeapIndex.NOT_FOUND ? Optional.empty() : Optional.of(
+                ShortUrlRecord.decode(memoryOf(snapshot, location), positionOf(location)));
+    }
+
+    /**
+     * Appends the link unless its slug is taken. Returns false, without writing, when it is.
+     */
+    public boolean putIfAbsent(ShortUrlDomainModel shortUrlDomainModel) throws IOException {
+        byte[] record = ShortUrlRecord.encode(shortUrlDomainModel);
+        writeLock.lock();
+        try {
+            if (get(shortUrlDomainModel.getUrlSlug()).isPresent()) {
+                return false;
+            }
+
+            long location = append(record);
+            index(location);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Rewrites every sealed segment in which records expired before {@code expiredBefore} or superseded records make
+     * up at least {@code minGarbageRatio} of the data. Holds the write lock for one segment at a time.
+     */
+    public CompactionResult compact(Instant expiredBefore, double minGarbageRatio) throws IOException {
+        int rewritten = 0;
+        long dropped = 0;
+        long reclaimedBytes = 0;
+        for (DataSegment segment : new TreeMap<>(segments).values()) {
+            writeLock.lock();
+            try {
+                if (segment == active) {
+                    continue;
+                }
+
+                long[] counts = compact(segment, expiredBefore, minGarbageRatio);
+                if (counts != null) {
+                    rewritten++;
+                    dropped += counts[0];
+                    reclaimedBytes += counts[1];
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        return new CompactionResult(rewritten, dropped, reclaimedBytes);
+    }
+
+    public int size() {
+        return slugIndex.size();
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            active.force();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void recover(int initialIndexCapacity) throws IOException {
+        TreeMap<Integer, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "segment-*.dat")) {
+            for (Path path : stream) {
+                int id = DataSegment.idOf(path);
+                if (id >= 0) {
+                    files.put(id, path);
+                }
+            }
+        }
+
+        Map<Integer, DataSegment> recovered = new HashMap<>();
+        Map<Integer, long[]> positions = new HashMap<>();
+        int records = 0;
+        for (Map.Entry<Integer, Path> file : files.entrySet()) {
+            DataSegment segment = DataSegment.open(file.getKey(), file.getValue());
+            long[] segmentPositions = segment.positions();
+            if (segment.truncateTornTail()) {
+                logger.warn("Dropped a torn record at the end of segment {} after {} intact records",
+                        segment.id(), segmentPositions.length);
+            }
+            recovered.put(segment.id(), segment);
+            positions.put(segment.id(), segmentPositions);
+            records += segmentPositions.length;
+        }
+
+        if (recovered.isEmpty()) {
+            DataSegment first = DataSegment.create(directory, 0, segmentSize);
+            recovered.put(first.id(), first);
+            positions.put(first.id(), new long[0]);
+        }
+
+        segments = Map.copyOf(recovered);
+        active = recovered.get(files.isEmpty() ? 0 : files.lastKey());
+        slugIndex = new OffHeapIndex(Math.max(initialIndexCapacity, records * 2));
+        ownerIndex = new OffHeapIndex(Math.max(initialIndexCapacity, records * 2));
+
+        // Replaying in write order lets a later copy of a record, left behind by an interrupted compaction, win.
+        for (Map.Entry<Integer, long[]> segment : new TreeMap<>(positions).entrySet()) {
+            for (long position : segment.getValue()) {
+                index(locationOf(segment.getKey(), position));
+            }
+        }
+
+        logger.info("Opened embedded short URL store in {} with {} links in {} segments", directory,
+                slugIndex.size(), segments.size());
+    }
+
+    private long[] compact(DataSegment segment, Instant expiredBefore, double minGarbageRatio) throws IOException {
+        MemorySegment memory = segment.memory();
+        List<Long> live = new ArrayList<>();
+        List<Long> dead = new ArrayList<>();
+        long liveBytes = 0;
+        for (long position : segment.positions()) {
+            long location = locationOf(segment.id(), position);
+            String slug = ShortUrlRecord.slug(memory, position);
+            boolean current = slugIndex.find(OffHeapIndex.hash(slug), candidate -> candidate == location)
+                    != OffHeapIndex.NOT_FOUND;
+            if (current && !ShortUrlRecord.isExpiredBefore(memory, position, expiredBefore)) {
+                live.add(position);
+                liveBytes += ShortUrlRecord.sizeAt(memory, position);
+            } else {
+                dead.add(position);
+            }
+        }
+
+        long usedBytes = segment.usedBytes();
+        if (usedBytes == 0 || (usedBytes - liveBytes) < usedBytes * minGarbageRatio) {
+            return null;
+        }
+
+        for (long position : live) {
+            byte[] record = memory.asSlice(position, ShortUrlRecord.sizeAt(memory, position)).toArray(
+                    ValueLayout.JAVA_BYTE);
+            long from = locationOf(segment.id(), position);
+            long to = append(record);
+            slugIndex.replace(OffHeapIndex.hash(ShortUrlRecord.slug(memory, position)), from, to);
+            ownerIndex.replace(ownerHash(memory, position), from, to);
+        }
+
+        for (long position : dead) {
+            long location = locationOf(segment.id(), position);
+            slugIndex.remove(OffHeapIndex.hash(ShortUrlRecord.slug(memory, position)), location);
+            ownerIndex.remove(ownerHash(memory, position), location);
+        }
+
+        // Copies must be durable before the only other copy goes away.
+        active.force();
+        Map<Integer, DataSegment> remaining = new HashMap<>(segments);
+        remaining.remove(segment.id());
+        segments = Map.copyOf(remaining);
+        Files.deleteIfExists(segment.path());
+
+        logger.info("Compacted segment {}: kept {} links, dropped {}", segment.id(), live.size(), dead.size());
+        return new long[]{dead.size(), usedBytes - liveBytes};
+    }
+
+    private long append(byte[] record) throws IOException {
+        if (!active.fits(record.length)) {
+            if (record.length > segmentSize / 2) {
+                throw new IllegalArgumentException("Record of " + record.length + " bytes does not fit a segment");
+            }
+
+            active.force();
+            DataSegment next = DataSegment.create(directory, active.id() + 1, segmentSize);
+            Map<Integer, DataSegment> grown = new HashMap<>(segments);
+            grown.put(next.id(), next);
+            segments = Map.copyOf(grown);
+            active = next;
+        }
+
+        long position = active.append(record);
+        if (syncWrites) {
+            active.force(position, record.length);
+        }
+        return locationOf(active.id(), position);
+    }
+
+    private void index(long location) {
+        Map<Integer, DataSegment> snapshot = segments;
+        MemorySegment memory = memoryOf(snapshot, location);
+        long position = positionOf(location);
+        if (slugIndex.needsGrowth()) {
+            slugIndex = slugIndex.grow();
+        }
+        if (ownerIndex.needsGrowth()) {
+            ownerIndex = ownerIndex.grow();
+        }
+
+        String slug = ShortUrlRecord.slug(memory, position);
+        byte[] slugBytes = ShortUrlRecord.bytes(slug);
+        slugIndex.put(OffHeapIndex.hash(slug), location, candidate -> {
+            MemorySegment candidateMemory = memoryOf(snapshot, candidate);
+            return candidateMemory != null && ShortUrlRecord.hasSlug(candidateMemory, positionOf(candidate), slugBytes);
+        });
+
+        byte[] owner = ShortUrlRecord.bytes(ShortUrlRecord.owner(memory, position));
+        byte[] originalUrl = ShortUrlRecord.bytes(ShortUrlRecord.originalUrl(memory, position));
+        ownerIndex.put(ownerHash(memory, position), location, candidate -> {
+            MemorySegment candidateMemory = memoryOf(snapshot, candidate);
+            return candidateMemory != null && ShortUrlRecord.hasOwnerAndOriginalUrl(candidateMemory,
+                    positionOf(candidate), owner, originalUrl);
+        });
+    }
+
+    private static long ownerHash(MemorySegment memory, long position) {
+        return OffHeapIndex.hash(ShortUrlRecord.owner(memory, position), ShortUrlRecord.originalUrl(memory, position));
+    }
+
+    /**
+     * Looks the segment up in the reader's snapshot first, which still holds segments compacted away since, then in
+     * the current map, which holds segments rolled over since.
+     */
+    private MemorySegment memoryOf(Map<Integer, DataSegment> snapshot, long location) {
+        int id = (int) (location >>> POSITION_BITS);
+        DataSegment segment = snapshot.get(id);
+        if (segment == null) {
+            segment = segments.get(id);
+        }
+        return segment == null ? null : segment.memory();
+    }
+
+    private static long locationOf(int segmentId, long position) {
+        return ((long) segmentId << POSITION_BITS) | position;
+    }
+
+    private static long positionOf(long location) {
+        return location & POSITION_MASK;
+    }
+
+    public record CompactionResult(int segmentsRewritten, long droppedLinks, long reclaimedBytes) {
+    }
+}
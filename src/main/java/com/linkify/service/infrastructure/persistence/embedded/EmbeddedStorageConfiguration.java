@@ -0,0 +1,24 @@
+package com.linkify.service.infrastructure.persistence.embedded;
+
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+
+@Configuration
+@Profile("embedded")
+public class EmbeddedStorageConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedShortUrlStore embeddedShortUrlStore(EmbeddedStorageProperties properties) throws IOException {
+        return EmbeddedShortUrlStore.open(properties.directory(), properties.segmentSize().toBytes(),
+                properties.initialIndexCapacity(), properties.syncWrites());
+    }
+
+    @Bean
+    public ShortUrlPersistence shortUrlCacheRepository() {
+        return new NoOpShortUrlCache();
+    }
+}
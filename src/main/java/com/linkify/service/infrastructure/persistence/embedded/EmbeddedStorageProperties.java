@@ -0,0 +1,18 @@
+package com.linkify.service.infrastructure.persistence.embedded;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "linkify.embedded")
+public record EmbeddedStorageProperties(
+        @DefaultValue("data/embedded") Path directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("65536") int initialIndexCapacity,
+        @DefaultValue("false") boolean syncWrites,
+        @DefaultValue("1d") Duration compactionGracePeriod,
+        @DefaultValue("0.5") double compactionGarbageRatio) {
+}
@@ -0,0 +1,27 @@
+package com.linkify.service.infrastructure.persistence.embedded;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+
+import java.util.Optional;
+
+/**
+ * Stands in for the Redis cache when the embedded store is used: the store is served from mapped memory already, so
+ * a second copy would only cost memory.
+ */
+public class NoOpShortUrlCache implements ShortUrlPersistence {
+
+    @Override
+    public void save(ShortUrlDomainModel shortUrlDomainModel) {
+    }
+
+    @Override
+    public Optional<ShortUrlDomainModel> getShortUrl(String slug) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<ShortUrlDomainModel> getByOwnerAndOriginalUrl(String owner, String originalUrl) {
+        return Optional.empty();
+    }
+}
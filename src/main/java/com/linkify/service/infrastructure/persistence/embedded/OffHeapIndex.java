@@ -0,0 +1,174 @@
+package com.linkify.service.infrastructure.persistence.embedded;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.VarHandle;
+import java.util.function.LongPredicate;
+
+/**
+ * Open-addressing hash table from a 64-bit key hash to a record location, kept outside the Java heap. Each slot is a
+ * (hash, location) pair of longs, probed linearly. Keys are not stored: on a hash match the caller checks the record
+ * at the location. Only one thread writes; readers take no locks. A writer publishes the location before the hash, so
+ * a reader that sees the hash also sees the location.
+ */
+final class OffHeapIndex {
+    static final long NOT_FOUND = -1L;
+
+    private static final long EMPTY = 0L;
+    private static final long TOMBSTONE = -1L;
+    private static final long SLOT_BYTES = 2 * Long.BYTES;
+    private static final int MIN_CAPACITY = 16;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final VarHandle LONG = ValueLayout.JAVA_LONG.varHandle();
+
+    private final MemorySegment slots;
+    private final int capacity;
+    private final long mask;
+    private int size;
+    private int used;
+
+    OffHeapIndex(int capacity) {
+        int powerOfTwo = MIN_CAPACITY;
+        while (powerOfTwo < capacity) {
+            powerOfTwo <<= 1;
+        }
+
+        this.capacity = powerOfTwo;
+        this.mask = powerOfTwo - 1;
+        this.slots = Arena.ofAuto().allocate(powerOfTwo * SLOT_BYTES, Long.BYTES);
+    }
+
+    static long hash(String key) {
+        return finish(update(FNV_OFFSET, key));
+    }
+
+    static long hash(String first, String second) {
+        return finish(update((update(FNV_OFFSET, first) ^ '\n') * FNV_PRIME, second));
+    }
+
+    long find(long hash, LongPredicate matches) {
+        for (long slot = hash & mask; ; slot = (slot + 1) & mask) {
+            long offset = slot * SLOT_BYTES;
+            long slotHash = (long) LONG.getAcquire(slots, offset);
+            if (slotHash == EMPTY) {
+                return NOT_FOUND;
+            }
+
+            if (slotHash == hash) {
+                long location = (long) LONG.getAcquire(slots, offset + Long.BYTES);
+                if (location != TOMBSTONE && matches.test(location)) {
+                    return location;
+                }
+            }
+        }
+    }
+
+    /**
+     * Points the entry the predicate recognises at a new location, or adds an entry. Callers grow the index first
+     * when {@link #needsGrowth()} says so.
+     */
+    void put(long hash, long location, LongPredicate matches) {
+        for (long slot = hash & mask; ; slot = (slot + 1) & mask) {
+            long offset = slot * SLOT_BYTES;
+            long slotHash = (long) LONG.get(slots, offset);
+            if (slotHash == EMPTY) {
+                LONG.setRelease(slots, offset + Long.BYTES, location);
+                LONG.setRelease(slots, offset, hash);
+                size++;
+                used++;
+                return;
+            }
+
+            if (slotHash == hash) {
+                long existing = (long) LONG.get(slots, offset + Long.BYTES);
+                if (existing != TOMBSTONE && matches.test(existing)) {
+                    LONG.setRelease(slots, offset + Long.BYTES, location);
+                    return;
+                }
+            }
+        }
+    }
+
+    boolean replace(long hash, long expected, long location) {
+        long offset = slotOf(hash, expected);
+        if (offset < 0) {
+            return false;
+        }
+
+        LONG.setRelease(slots, offset + Long.BYTES, location);
+        return true;
+    }
+
+    boolean remove(long hash, long expected) {
+        long offset = slotOf(hash, expected);
+        if (offset < 0) {
+            return false;
+        }
+
+        // The hash stays so that probe sequences running through this slot keep going.
+        LONG.setRelease(slots, offset + Long.BYTES, TOMBSTONE);
+        size--;
+        return true;
+    }
+
+    boolean needsGrowth() {
+        return (used + 1L) * 10 > capacity * 7L;
+    }
+
+    /**
+     * Copies the live entries into a new index, twice as large unless most of the used slots are tombstones.
+     */
+    OffHeapIndex grow() {
+        OffHeapIndex grown = new OffHeapIndex(size * 2L > capacity ? capacity * 2 : capacity);
+        for (long slot = 0; slot < capacity; slot++) {
+            long offset = slot * SLOT_BYTES;
+            long slotHash = (long) LONG.get(slots, offset);
+            long location = (long) LONG.get(slots, offset + Long.BYTES);
+            if (slotHash != EMPTY && location != TOMBSTONE) {
+                grown.put(slotHash, location, existing -> false);
+            }
+        }
+        return grown;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    private long slotOf(long hash, long location) {
+        for (long slot = hash & mask; ; slot = (slot + 1) & mask) {
+            long offset = slot * SLOT_BYTES;
+            long slotHash = (long) LONG.get(slots, offset);
+            if (slotHash == EMPTY) {
+                return -1;
+            }
+
+            if (slotHash == hash && (long) LONG.get(slots, offset + Long.BYTES) == location) {
+                return offset;
+            }
+        }
+    }
+
+    private static long update(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+        }
+        return hash;
+    }
+
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        // 0 marks an empty slot.
+        return hash == EMPTY ? 1 : hash;
+    }
+}
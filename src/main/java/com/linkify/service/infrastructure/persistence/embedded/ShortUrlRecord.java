@@ -0,0 +1,161 @@
+package com.linkify.service.infrastructure.persistence.embedded;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.zip.CRC32C;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * On-disk layout of one short URL, little-endian:
+ * <pre>
+ * int   body length
+ * int   CRC32C of the body
+ * byte  flags (reserved)
+ * long  expires_at in epoch microseconds, Long.MIN_VALUE for permanent links
+ * short slug length,  slug (UTF-8)
+ * short owner length, owner (UTF-8), -1 for no owner
+ * int   URL length,   original URL (UTF-8)
+ * </pre>
+ * A zero length marks the end of a segment; a bad length or checksum marks a record torn by a crash.
+ */
+final class ShortUrlRecord {
+    static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT_UNALIGNED
+            .withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private static final long EXPIRES_AT = HEADER_BYTES + 1;
+    private static final long SLUG_LENGTH = EXPIRES_AT + Long.BYTES;
+    private static final long SLUG = SLUG_LENGTH + Short.BYTES;
+    private static final int MIN_BODY_BYTES = 1 + Long.BYTES + Short.BYTES + Short.BYTES + Integer.BYTES;
+    private static final long PERMANENT = Long.MIN_VALUE;
+
+    private ShortUrlRecord() {
+    }
+
+    static byte[] encode(ShortUrlDomainModel shortUrlDomainModel) {
+        byte[] slug = shortUrlDomainModel.getUrlSlug().getBytes(UTF_8);
+        byte[] owner = shortUrlDomainModel.getOwner() == null ? null : shortUrlDomainModel.getOwner().getBytes(UTF_8);
+        byte[] originalUrl = shortUrlDomainModel.getOriginalUrl().getBytes(UTF_8);
+        if (slug.length > Short.MAX_VALUE || (owner != null && owner.length > Short.MAX_VALUE)) {
+            throw new IllegalArgumentException("Slug and owner must be shorter than " + Short.MAX_VALUE + " bytes");
+        }
+
+        int bodyBytes = MIN_BODY_BYTES + slug.length + (owner == null ? 0 : owner.length) + originalUrl.length;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + bodyBytes).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(bodyBytes).putInt(0)
+                .put((byte) 0)
+                .putLong(toMicros(shortUrlDomainModel.getExpirationDate()))
+                .putShort((short) slug.length).put(slug)
+                .putShort((short) (owner == null ? -1 : owner.length)).put(owner == null ? new byte[0] : owner)
+                .putInt(originalUrl.length).put(originalUrl);
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), HEADER_BYTES, bodyBytes);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    /**
+     * Returns the size of the intact record at the position, header included, or -1 at the end of the data or at a
+     * torn record.
+     */
+    static int sizeAt(MemorySegment memory, long position) {
+        if (position + HEADER_BYTES > memory.byteSize()) {
+            return -1;
+        }
+
+        int bodyBytes = memory.get(INT, position);
+        if (bodyBytes < MIN_BODY_BYTES || position + HEADER_BYTES + bodyBytes > memory.byteSize()) {
+            return -1;
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(memory.asSlice(position + HEADER_BYTES, bodyBytes).asByteBuffer());
+        return (int) crc.getValue() == memory.get(INT, position + Integer.BYTES) ? HEADER_BYTES + bodyBytes : -1;
+    }
+
+    static ShortUrlDomainModel decode(MemorySegment memory, long position) {
+        long expiresAt = memory.get(LONG, position + EXPIRES_AT);
+        return ShortUrlDomainModel.restore(
+                originalUrl(memory, position),
+                owner(memory, position),
+                slug(memory, position),
+                expiresAt == PERMANENT ? null : OffsetDateTime.ofInstant(
+                        Instant.EPOCH.plus(expiresAt, ChronoUnit.MICROS), ZoneOffset.UTC)
+        );
+    }
+
+    static String slug(MemorySegment memory, long position) {
+        return string(memory, position + SLUG, memory.get(SHORT, position + SLUG_LENGTH));
+    }
+
+    static boolean hasSlug(MemorySegment memory, long position, byte[] slug) {
+        return equals(memory, position + SLUG, memory.get(SHORT, position + SLUG_LENGTH), slug);
+    }
+
+    static boolean hasOwnerAndOriginalUrl(MemorySegment memory, long position, byte[] owner, byte[] originalUrl) {
+        long ownerLength = ownerLengthOffset(memory, position);
+        short ownerBytes = memory.get(SHORT, ownerLength);
+        if (owner == null ? ownerBytes != -1 : !equals(memory, ownerLength + Short.BYTES, ownerBytes, owner)) {
+            return false;
+        }
+
+        long urlLength = ownerLength + Short.BYTES + Math.max(ownerBytes, 0);
+        return equals(memory, urlLength + Integer.BYTES, memory.get(INT, urlLength), originalUrl);
+    }
+
+    static boolean isExpiredBefore(MemorySegment memory, long position, Instant instant) {
+        long expiresAt = memory.get(LONG, position + EXPIRES_AT);
+        return expiresAt != PERMANENT && expiresAt < toMicros(instant);
+    }
+
+    static String owner(MemorySegment memory, long position) {
+        long ownerLength = ownerLengthOffset(memory, position);
+        short ownerBytes = memory.get(SHORT, ownerLength);
+        return ownerBytes < 0 ? null : string(memory, ownerLength + Short.BYTES, ownerBytes);
+    }
+
+    static String originalUrl(MemorySegment memory, long position) {
+        long ownerLength = ownerLengthOffset(memory, position);
+        long urlLength = ownerLength + Short.BYTES + Math.max(memory.get(SHORT, ownerLength), 0);
+        return string(memory, urlLength + Integer.BYTES, memory.get(INT, urlLength));
+    }
+
+    static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(UTF_8);
+    }
+
+    private static long ownerLengthOffset(MemorySegment memory, long position) {
+        return position + SLUG + memory.get(SHORT, position + SLUG_LENGTH);
+    }
+
+    private static String string(MemorySegment memory, long offset, int length) {
+        return new String(memory.asSlice(offset, length).toArray(ValueLayout.JAVA_BYTE), UTF_8);
+    }
+
+    private static boolean equals(MemorySegment memory, long offset, int length, byte[] expected) {
+        return length == expected.length
+                && MemorySegment.mismatch(memory, offset, offset + length, MemorySegment.ofArray(expected), 0,
+                expected.length) == -1;
+    }
+
+    private static long toMicros(OffsetDateTime dateTime) {
+        return dateTime == null ? PERMANENT : toMicros(dateTime.toInstant());
+    }
+
+    private static long toMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+}
@@ -0,0 +1,13 @@
+package com.linkify.service.infrastructure.persistence.local;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "linkify.local-cache")
+public record LocalCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("256MB") DataSize maxBytes,
+        @DefaultValue("128") int averageEntryBytes,
+        @DefaultValue("1MB") DataSize regionSize) {
+}
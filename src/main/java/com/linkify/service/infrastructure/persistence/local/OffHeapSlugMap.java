@@ -0,0 +1,256 @@
+package com.linkify.service.infrastructure.persistence.local;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Fixed-size map from 8-byte slug keys to short URLs, held entirely outside the Java heap.
+ * <p>
+ * Slots are grouped into buckets of {@value #WAYS}; a key only ever lives in its own bucket. Each slot holds a
+ * sequence number, the key and a reference (offset and length) to the entry's bytes in the arena. Readers take no
+ * locks: they read the sequence, the slot and the entry bytes, then check that the sequence has not moved, and retry
+ * if it has. Writers are serialised and bump the sequence to an odd value while a slot changes.
+ * <p>
+ * Both levels evict with a clock. A full bucket replaces the first slot, from its hand on, that has not been read
+ * since the hand last passed. The arena is split into regions filled one after the other; when it runs out, the
+ * clock picks a region that has not been read since the hand last passed, and the slots pointing into it are cleared
+ * before it is reused.
+ */
+final class OffHeapSlugMap {
+    static final int WAYS = 8;
+
+    private static final long SLOT_BYTES = 3 * Long.BYTES;
+    private static final long SEQUENCE = 0;
+    private static final long KEY = Long.BYTES;
+    private static final long REFERENCE = 2 * Long.BYTES;
+    private static final long EMPTY = 0;
+    private static final int LENGTH_BITS = 24;
+    private static final long LENGTH_MASK = (1L << LENGTH_BITS) - 1;
+    private static final long PERMANENT = Long.MIN_VALUE;
+    private static final int ENTRY_HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES;
+    private static final VarHandle LONG = ValueLayout.JAVA_LONG.varHandle();
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final long buckets;
+    private final MemorySegment slots;
+    private final MemorySegment referencedSlots;
+    private final MemorySegment hands;
+    private final MemorySegment arena;
+    private final int regionSize;
+    private final int regionCount;
+    private final MemorySegment referencedRegions;
+    private final MemorySegment regionFill;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private int currentRegion;
+    private int regionOffset;
+    private int regionsUsed = 1;
+    private int regionHand;
+    private volatile int size;
+
+    OffHeapSlugMap(long maxBytes, int averageEntryBytes, int regionSize) {
+        long perEntry = SLOT_BYTES + 1 + averageEntryBytes;
+        this.buckets = Math.max(1, maxBytes / perEntry / WAYS);
+        long tableBytes = buckets * WAYS * (SLOT_BYTES + 1) + buckets;
+        this.regionSize = regionSize;
+        this.regionCount = (int) Math.max(2, (maxBytes - tableBytes) / regionSize);
+
+        Arena memory = Arena.ofAuto();
+        this.slots = memory.allocate(buckets * WAYS * SLOT_BYTES, Long.BYTES);
+        this.referencedSlots = memory.allocate(buckets * WAYS);
+        this.hands = memory.allocate(buckets);
+        this.arena = memory.allocate((long) regionCount * regionSize, Long.BYTES);
+        this.referencedRegions = memory.allocate(regionCount);
+        this.regionFill = memory.allocate((long) regionCount * Integer.BYTES, Integer.BYTES);
+    }
+
+    ShortUrlDomainModel get(long key, String slug) {
+        long firstSlot = bucketOf(key) * WAYS;
+        for (long slot = firstSlot; slot < firstSlot + WAYS; slot++) {
+            long offset = slot * SLOT_BYTES;
+            while (true) {
+                long sequence = (long) LONG.getAcquire(slots, offset + SEQUENCE);
+                if ((sequence & 1) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                long reference = (long) LONG.get(slots, offset + REFERENCE);
+                if (reference == EMPTY || (long) LONG.get(slots, offset + KEY) != key) {
+                    break;
+                }
+
+                byte[] entry = arena.asSlice(reference >>> LENGTH_BITS, reference & LENGTH_MASK)
+                        .toArray(ValueLayout.JAVA_BYTE);
+                VarHandle.acquireFence();
+                if ((long) LONG.get(slots, offset + SEQUENCE) != sequence) {
+                    continue;
+                }
+
+                referencedSlots.set(ValueLayout.JAVA_BYTE, slot, (byte) 1);
+                referencedRegions.set(ValueLayout.JAVA_BYTE, (reference >>> LENGTH_BITS) / regionSize, (byte) 1);
+                return decode(entry, slug);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores the link under the key, replacing an entry with the same key. Entries larger than a region are not
+     * stored.
+     */
+    void put(long key, ShortUrlDomainModel shortUrlDomainModel) {
+        byte[] owner = shortUrlDomainModel.getOwner() == null ? null : shortUrlDomainModel.getOwner().getBytes(UTF_8);
+        byte[] originalUrl = shortUrlDomainModel.getOriginalUrl().getBytes(UTF_8);
+        int entryBytes = ENTRY_HEADER_BYTES + Short.BYTES + (owner == null ? 0 : owner.length) + Integer.BYTES
+                + originalUrl.length;
+        if (entryBytes > Math.min(regionSize, LENGTH_MASK) || (owner != null && owner.length > Short.MAX_VALUE)) {
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            long slot = slotFor(key);
+            long position = allocate(entryBytes);
+            ByteBuffer entry = ByteBuffer.allocate(entryBytes).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt(entryBytes)
+                    .putInt((int) slot)
+                    .putLong(key)
+                    .putLong(toMicros(shortUrlDomainModel.getExpirationDate()))
+                    .putShort((short) (owner == null ? -1 : owner.length))
+                    .put(owner == null ? new byte[0] : owner)
+                    .putInt(originalUrl.length)
+                    .put(originalUrl);
+            MemorySegment.copy(MemorySegment.ofArray(entry.array()), 0, arena, position, entryBytes);
+
+            long offset = slot * SLOT_BYTES;
+            boolean occupied = (long) LONG.get(slots, offset + REFERENCE) != EMPTY;
+            write(offset, key, (position << LENGTH_BITS) | entryBytes);
+            referencedSlots.set(ValueLayout.JAVA_BYTE, slot, (byte) 0);
+            if (!occupied) {
+                size++;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    long capacity() {
+        return buckets * WAYS;
+    }
+
+    long byteSize() {
+        return slots.byteSize() + referencedSlots.byteSize() + hands.byteSize() + arena.byteSize()
+                + referencedRegions.byteSize() + regionFill.byteSize();
+    }
+
+    private long slotFor(long key) {
+        long bucket = bucketOf(key);
+        long firstSlot = bucket * WAYS;
+        long free = -1;
+        for (long slot = firstSlot; slot < firstSlot + WAYS; slot++) {
+            long offset = slot * SLOT_BYTES;
+            if ((long) LONG.get(slots, offset + REFERENCE) == EMPTY) {
+                free = free < 0 ? slot : free;
+            } else if ((long) LONG.get(slots, offset + KEY) == key) {
+                return slot;
+            }
+        }
+        if (free >= 0) {
+            return free;
+        }
+
+        int hand = hands.get(ValueLayout.JAVA_BYTE, bucket);
+        while (referencedSlots.get(ValueLayout.JAVA_BYTE, firstSlot + hand) != 0) {
+            referencedSlots.set(ValueLayout.JAVA_BYTE, firstSlot + hand, (byte) 0);
+            hand = (hand + 1) % WAYS;
+        }
+        hands.set(ValueLayout.JAVA_BYTE, bucket, (byte) ((hand + 1) % WAYS));
+        return firstSlot + hand;
+    }
+
+    private long allocate(int entryBytes) {
+        if (regionOffset + entryBytes > regionSize) {
+            regionFill.setAtIndex(ValueLayout.JAVA_INT, currentRegion, regionOffset);
+            currentRegion = regionsUsed < regionCount ? regionsUsed++ : evictRegion();
+            regionOffset = 0;
+        }
+
+        long position = (long) currentRegion * regionSize + regionOffset;
+        regionOffset += entryBytes;
+        return position;
+    }
+
+    private int evictRegion() {
+        int region = regionHand;
+        while (region == currentRegion || referencedRegions.get(ValueLayout.JAVA_BYTE, region) != 0) {
+            referencedRegions.set(ValueLayout.JAVA_BYTE, region, (byte) 0);
+            region = (region + 1) % regionCount;
+        }
+        regionHand = (region + 1) % regionCount;
+
+        long start = (long) region * regionSize;
+        long end = start + regionFill.getAtIndex(ValueLayout.JAVA_INT, region);
+        for (long position = start; position < end; position += arena.get(INT, position)) {
+            long slot = Integer.toUnsignedLong(arena.get(INT, position + Integer.BYTES));
+            long offset = slot * SLOT_BYTES;
+            long reference = (long) LONG.get(slots, offset + REFERENCE);
+            if (reference >>> LENGTH_BITS == position) {
+                write(offset, 0, EMPTY);
+                size--;
+            }
+        }
+        // Readers must see the cleared slots before any of the region's bytes change.
+        VarHandle.storeStoreFence();
+        regionFill.setAtIndex(ValueLayout.JAVA_INT, region, 0);
+        return region;
+    }
+
+    private void write(long offset, long key, long reference) {
+        long sequence = (long) LONG.get(slots, offset + SEQUENCE);
+        LONG.setOpaque(slots, offset + SEQUENCE, sequence + 1);
+        VarHandle.storeStoreFence();
+        LONG.set(slots, offset + KEY, key);
+        LONG.set(slots, offset + REFERENCE, reference);
+        LONG.setRelease(slots, offset + SEQUENCE, sequence + 2);
+    }
+
+    private long bucketOf(long key) {
+        long hash = key * 0x9e3779b97f4a7c15L;
+        return Long.remainderUnsigned(hash ^ (hash >>> 32), buckets);
+    }
+
+    private static ShortUrlDomainModel decode(byte[] entry, String slug) {
+        ByteBuffer buffer = ByteBuffer.wrap(entry).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(Integer.BYTES + Integer.BYTES + Long.BYTES);
+        long expiresAt = buffer.getLong();
+        short ownerBytes = buffer.getShort();
+        String owner = ownerBytes < 0 ? null : new String(entry, buffer.position(), ownerBytes, UTF_8);
+        buffer.position(buffer.position() + Math.max(ownerBytes, 0));
+        int urlBytes = buffer.getInt();
+        String originalUrl = new String(entry, buffer.position(), urlBytes, UTF_8);
+        return ShortUrlDomainModel.restore(originalUrl, owner, slug, expiresAt == PERMANENT ? null
+                : OffsetDateTime.ofInstant(Instant.EPOCH.plus(expiresAt, ChronoUnit.MICROS), ZoneOffset.UTC));
+    }
+
+    private static long toMicros(OffsetDateTime dateTime) {
+        return dateTime == null ? PERMANENT : ChronoUnit.MICROS.between(Instant.EPOCH, dateTime.toInstant());
+    }
+}
@@ -0,0 +1,60 @@
+package com.linkify.service.infrastructure.persistence.local;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Node-local tier in front of the Redis cache. Entries live in an {@link OffHeapSlugMap}, so the heap does not grow
+ * with the number of cached links. When disabled, every lookup misses and nothing is stored.
+ */
+@Repository
+public class ShortUrlLocalCacheRepository implements ShortUrlPersistence {
+    Logger logger = LoggerFactory.getLogger(ShortUrlLocalCacheRepository.class);
+
+    private final OffHeapSlugMap slugMap;
+
+    @Autowired
+    public ShortUrlLocalCacheRepository(LocalCacheProperties properties) {
+        if (!properties.enabled()) {
+            slugMap = null;
+            return;
+        }
+
+        slugMap = new OffHeapSlugMap(properties.maxBytes().toBytes(), properties.averageEntryBytes(),
+                Math.toIntExact(properties.regionSize().toBytes()));
+        logger.info("Local slug cache holds up to {} links in {} bytes off-heap", slugMap.capacity(),
+                slugMap.byteSize());
+    }
+
+    @Override
+    public void save(ShortUrlDomainModel shortUrlDomainModel) {
+        String slug = shortUrlDomainModel.getUrlSlug();
+        if (slugMap != null && SlugCodec.isValid(slug)) {
+            slugMap.put(SlugCodec.decode(slug), shortUrlDomainModel);
+        }
+    }
+
+    @Override
+    public Optional<ShortUrlDomainModel> getShortUrl(String slug) {
+        if (slugMap == null || !SlugCodec.isValid(slug)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(slugMap.get(SlugCodec.decode(slug), slug));
+    }
+
+    @Override
+    public Optional<ShortUrlDomainModel> getByOwnerAndOriginalUrl(String owner, String originalUrl) {
+        return Optional.empty();
+    }
+
+    public int size() {
+        return slugMap == null ? 0 : slugMap.size();
+    }
+}
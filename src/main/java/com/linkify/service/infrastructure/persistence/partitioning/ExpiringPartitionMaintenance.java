@@ -0,0 +1,118 @@
+package com.linkify.service.infrastructure.persistence.partitioning;
+
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.domain.port.ShortUrlCacheEviction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+/**
+ * Keeps one short_url_expiring partition per week (Monday to Monday, UTC) from the current week up to the routing
+ * horizon, and drops whole partitions once every link in them has been expired for longer than the grace period.
+ */
+@Component
+@Profile("!embedded")
+public class ExpiringPartitionMaintenance {
+    static final String TABLE = "short_url_expiring";
+    private static final int EVICT_BATCH_SIZE = 1000;
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    Logger logger = LoggerFactory.getLogger(ExpiringPartitionMaintenance.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShortUrlCacheEviction shortUrlCacheEviction;
+    private final ExpiryPartitioningProperties properties;
+
+    @Autowired
+    public ExpiringPartitionMaintenance(JdbcTemplate jdbcTemplate, ShortUrlCacheEviction shortUrlCacheEviction,
+                                        ExpiryPartitioningProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shortUrlCacheEviction = shortUrlCacheEviction;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${linkify.expiry-partitioning.cron:0 15 * * * *}")
+    public void maintain() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        createPartitions(now);
+        dropExpiredPartitions(now);
+    }
+
+    private void createPartitions(OffsetDateTime now) {
+        // One week past the horizon, so a link routed here always finds its partition.
+        LocalDate last = now.plus(properties.horizon()).toLocalDate().plusWeeks(1);
+        for (LocalDate week = weekStart(now.toLocalDate()); !week.isAfter(last); week = week.plusWeeks(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(week) + " PARTITION OF " + TABLE +
+                    " FOR VALUES FROM ('" + week + "T00:00:00Z') TO ('" + week.plusWeeks(1) + "T00:00:00Z')");
+        }
+    }
+
+    private void dropExpiredPartitions(OffsetDateTime now) {
+        LocalDate droppableBefore = weekStart(now.minus(properties.gracePeriod()).toLocalDate());
+        List<String> partitions = jdbcTemplate.queryForList("SELECT child.relname FROM pg_inherits " +
+                "JOIN pg_class child ON child.oid = pg_inherits.inhrelid " +
+                "WHERE pg_inherits.inhparent = '" + TABLE + "'::regclass ORDER BY child.relname", String.class);
+
+        for (String partition : partitions) {
+            LocalDate week = weekOf(partition);
+            if (week == null || week.plusWeeks(1).isAfter(droppableBefore)) {
+                continue;
+            }
+
+            evict(partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            logger.info("Dropped expired partition {}", partition);
+        }
+    }
+
+    private void evict(String partition) {
+        String firstBatch = "SELECT slug FROM " + partition + " ORDER BY slug LIMIT " + EVICT_BATCH_SIZE;
+        String nextBatch = "SELECT slug FROM " + partition + " WHERE slug > ? ORDER BY slug LIMIT " +
+                EVICT_BATCH_SIZE;
+        try {
+            List<Long> slugs = jdbcTemplate.queryForList(firstBatch, Long.class);
+            while (!slugs.isEmpty()) {
+                shortUrlCacheEviction.evict(slugs.stream().map(SlugCodec::encode).toList());
+                slugs = jdbcTemplate.queryForList(nextBatch, Long.class, slugs.getLast());
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Failed to evict slugs of {} from cache, leaving them to expire", partition, e);
+        }
+    }
+
+    static String partitionName(LocalDate week) {
+        return TABLE + "_w" + PARTITION_SUFFIX.format(week);
+    }
+
+    static LocalDate weekOf(String partition) {
+        String prefix = TABLE + "_w";
+        if (!partition.startsWith(prefix) || partition.length() != prefix.length() + 8) {
+            return null;
+        }
+        return LocalDate.parse(partition.substring(prefix.length()), PARTITION_SUFFIX);
+    }
+
+    static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
@@ -0,0 +1,13 @@
+package com.linkify.service.infrastructure.persistence.partitioning;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "linkify.expiry-partitioning")
+public record ExpiryPartitioningProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("84d") Duration horizon,
+        @DefaultValue("1d") Duration gracePeriod) {
+}
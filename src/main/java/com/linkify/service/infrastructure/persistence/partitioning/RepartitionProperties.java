@@ -0,0 +1,13 @@
+package com.linkify.service.infrastructure.persistence.partitioning;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "linkify.repartition")
+public record RepartitionProperties(
+        @DefaultValue("16") int partitions,
+        @DefaultValue("5000") int chunkSize,
+        @DefaultValue("4") int parallelism,
+        @DefaultValue("1000") int catchUpThreshold,
+        @DefaultValue("false") boolean dropOld) {
+}
@@ -0,0 +1,31 @@
+package com.linkify.service.infrastructure.persistence.partitioning;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+@Component
+@Profile("repartition")
+public class RepartitionRunner implements ApplicationRunner {
+    private final ShortUrlRepartitioner shortUrlRepartitioner;
+    private final RepartitionProperties properties;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    public RepartitionRunner(ShortUrlRepartitioner shortUrlRepartitioner, RepartitionProperties properties,
+                             ConfigurableApplicationContext applicationContext) {
+        this.shortUrlRepartitioner = shortUrlRepartitioner;
+        this.properties = properties;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        shortUrlRepartitioner.repartition(properties);
+        SpringApplication.exit(applicationContext);
+    }
+}
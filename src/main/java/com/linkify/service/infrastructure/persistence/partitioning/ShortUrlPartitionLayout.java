@@ -0,0 +1,72 @@
+package com.linkify.service.infrastructure.persistence.partitioning;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Current DDL for a hash-partitioned short_url table, used for the shadow table built while repartitioning, which
+ * carries a name suffix until it is swapped in. Versioned migrations keep their own copy of the DDL of their time.
+ */
+public final class ShortUrlPartitionLayout {
+    public static final String TABLE = "short_url";
+    public static final String SHADOW_SUFFIX = "_next";
+
+    private ShortUrlPartitionLayout() {
+    }
+
+    public static List<String> createTable(int partitions) {
+        return statements("", partitions, "SERIAL");
+    }
+
+    public static List<String> createShadowTable(int partitions) {
+        return statements(SHADOW_SUFFIX, partitions, "INTEGER NOT NULL DEFAULT nextval('short_url_id_seq')");
+    }
+
+    private static List<String> statements(String suffix, int partitions, String idColumn) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("Partition count must be positive: " + partitions);
+        }
+
+        String table = TABLE + suffix;
+        List<String> statements = new ArrayList<>();
+        statements.add("CREATE TABLE " + table + " (" +
+                "slug BIGINT NOT NULL, " +
+                "id " + idColumn + ", " +
+                "owner VARCHAR(16) NOT NULL, " +
+                "original_url VARCHAR(2048) NULL, " +
+                "original_url_packed BYTEA NULL, " +
+                "original_url_hash BYTEA NULL, " +
+                "target_fingerprint BYTEA NULL, " +
+                "expires_at TIMESTAMPTZ NULL, " +
+                "PRIMARY KEY (slug, id), " +
+                "CONSTRAINT unique_slug" + suffix + " UNIQUE(slug)) " +
+                "PARTITION BY HASH (slug)");
+
+        for (int remainder = 0; remainder < partitions; remainder++) {
+            String partition = table + "_p" + remainder;
+            statements.add("CREATE TABLE " + partition + " PARTITION OF " + table +
+                    " FOR VALUES WITH (MODULUS " + partitions + ", REMAINDER " + remainder + ")");
+            statements.add(urlHashIndex(suffix, remainder));
+            statements.add(ownerSlugIndex(suffix, remainder));
+            statements.add("CREATE INDEX idx_short_url_expires_at" + suffix + "_p" + remainder +
+                    " ON " + partition + "(expires_at)");
+        }
+        return statements;
+    }
+
+    /**
+     * Index for owner lookups, which match the fingerprint of the plain URL however the URL is stored.
+     */
+    private static String urlHashIndex(String suffix, int remainder) {
+        return "CREATE INDEX IF NOT EXISTS idx_owner_original_url_hash" + suffix + "_p" + remainder +
+                " ON " + TABLE + suffix + "_p" + remainder + "(owner, original_url_hash)";
+    }
+
+    /**
+     * Index for listing an owner's links in slug order.
+     */
+    private static String ownerSlugIndex(String suffix, int remainder) {
+        return "CREATE INDEX IF NOT EXISTS idx_owner_slug" + suffix + "_p" + remainder +
+                " ON " + TABLE + suffix + "_p" + remainder + "(owner, slug)";
+    }
+}
@@ -0,0 +1,269 @@
+package com.linkify.service.infrastructure.persistence.partitioning;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Moves short_url to a new number of hash partitions while the service keeps reading and writing it:
+ * <ol>
+ *     <li>a trigger on short_url records the slug of every changed row in short_url_changes,</li>
+ *     <li>a shadow table with the new layout is filled from each old partition in keyset chunks, in parallel,</li>
+ *     <li>the recorded changes are replayed until the backlog is small,</li>
+ *     <li>under an exclusive lock the last changes are replayed and the tables are renamed in one transaction.</li>
+ * </ol>
+ * A change is deleted in the transaction that replays it, rather than tracked by an id watermark: ids are handed out
+ * when a change is recorded, not when it commits, so a lower id can become visible after higher ones were replayed.
+ * The old table is kept as short_url_old unless dropping it is requested.
+ */
+@Component
+@Profile("!embedded")
+public class ShortUrlRepartitioner {
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z0-9_]+");
+    private static final String SHADOW = ShortUrlPartitionLayout.TABLE + ShortUrlPartitionLayout.SHADOW_SUFFIX;
+    private static final String OLD = ShortUrlPartitionLayout.TABLE + "_old";
+    private static final String COLUMNS = "slug, id, owner, original_url, original_url_packed, original_url_hash, " +
+            "target_fingerprint, expires_at";
+
+    Logger logger = LoggerFactory.getLogger(ShortUrlRepartitioner.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public ShortUrlRepartitioner(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void repartition(RepartitionProperties properties) throws InterruptedException {
+        long startNanos = System.nanoTime();
+        List<String> sourcePartitions = prepare(properties);
+        long copied = copy(sourcePartitions, properties);
+        catchUp(properties);
+        switchOver(properties);
+        logger.info("Repartitioned short_url into {} partitions, copied {} rows in {} ms", properties.partitions(),
+                copied, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Starts recording changes and creates the empty shadow table.
+     *
+     * @return the partitions of the current short_url
+     */
+    List<String> prepare(RepartitionProperties properties) {
+        for (String leftover : List.of(SHADOW, OLD, "short_url_changes")) {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?::text) IS NOT NULL",
+                    Boolean.class, leftover))) {
+                throw new IllegalStateException(leftover + " already exists, remove it before repartitioning");
+            }
+        }
+
+        List<String> sourcePartitions = partitionsOf(ShortUrlPartitionLayout.TABLE);
+        logger.info("Repartitioning short_url from {} to {} partitions", sourcePartitions.size(),
+                properties.partitions());
+
+        startChangeCapture();
+        ShortUrlPartitionLayout.createShadowTable(properties.partitions()).forEach(jdbcTemplate::execute);
+        return sourcePartitions;
+    }
+
+    void catchUp(RepartitionProperties properties) {
+        do {
+            replayChanges(properties.chunkSize());
+        } while (pendingChanges() > properties.catchUpThreshold());
+    }
+
+    void switchOver(RepartitionProperties properties) {
+        transactionTemplate.executeWithoutResult(status -> swap(properties.chunkSize()));
+        if (properties.dropOld()) {
+            jdbcTemplate.execute("DROP TABLE " + OLD);
+        }
+    }
+
+    private void startChangeCapture() {
+        jdbcTemplate.execute("CREATE TABLE short_url_changes (id BIGSERIAL PRIMARY KEY, slug BIGINT NOT NULL)");
+        jdbcTemplate.execute("CREATE FUNCTION short_url_capture() RETURNS trigger AS $$ BEGIN " +
+                "IF TG_OP <> 'INSERT' THEN INSERT INTO short_url_changes (slug) VALUES (OLD.slug); END IF; " +
+                "IF TG_OP <> 'DELETE' THEN INSERT INTO short_url_changes (slug) VALUES (NEW.slug); END IF; " +
+                "RETURN NULL; END $$ LANGUAGE plpgsql");
+        jdbcTemplate.execute("CREATE TRIGGER short_url_capture AFTER INSERT OR UPDATE OR DELETE ON short_url " +
+                "FOR EACH ROW EXECUTE FUNCTION short_url_capture()");
+    }
+
+    private void stopChangeCapture() {
+        jdbcTemplate.execute("DROP TRIGGER short_url_capture ON " + ShortUrlPartitionLayout.TABLE);
+        jdbcTemplate.execute("DROP FUNCTION short_url_capture()");
+        jdbcTemplate.execute("DROP TABLE short_url_changes");
+    }
+
+    long copy(List<String> sourcePartitions, RepartitionProperties properties) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(properties.parallelism());
+        try {
+            List<Future<Long>> copies = new ArrayList<>();
+            for (String partition : sourcePartitions) {
+                copies.add(executor.submit(() -> copyPartition(partition, properties.chunkSize())));
+            }
+
+            long copied = 0;
+            for (Future<Long> copy : copies) {
+                try {
+                    copied += copy.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Failed to copy short_url partition", e.getCause());
+                }
+            }
+            return copied;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long copyPartition(String partition, int chunkSize) {
+        long startNanos = System.nanoTime();
+        String sql = "WITH chunk AS (SELECT " + COLUMNS + " FROM " + identifier(partition) +
+                " WHERE slug >= ? ORDER BY slug LIMIT ?), " +
+                "copied AS (INSERT INTO " + SHADOW + " (" + COLUMNS + ") SELECT " + COLUMNS + " FROM chunk " +
+                "ON CONFLICT DO NOTHING) " +
+                "SELECT max(slug) AS last_slug, count(*) AS copied_rows FROM chunk";
+
+        long fromSlug = Long.MIN_VALUE;
+        long copied = 0;
+        while (true) {
+            Map<String, Object> chunk = jdbcTemplate.queryForMap(sql, fromSlug, chunkSize);
+            long rows = ((Number) chunk.get("copied_rows")).longValue();
+            copied += rows;
+            if (rows < chunkSize) {
+                break;
+            }
+
+            long lastSlug = ((Number) chunk.get("last_slug")).longValue();
+            if (lastSlug == Long.MAX_VALUE) {
+                break;
+            }
+            fromSlug = lastSlug + 1;
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        logger.info("Copied {} rows from {} ({} rows/s)", copied, partition, copied * 1000 / elapsedMillis);
+        return copied;
+    }
+
+    /**
+     * Re-copies the current state of every changed slug, one chunk per transaction, until no recorded change is left.
+     */
+    private void replayChanges(int chunkSize) {
+        Integer replayed;
+        do {
+            replayed = transactionTemplate.execute(status -> replayChunk(chunkSize));
+        } while (replayed != null && replayed > 0);
+    }
+
+    /**
+     * Takes up to {@code chunkSize} changes off short_url_changes and re-copies their slugs.
+     *
+     * @return the number of slugs replayed
+     */
+    private int replayChunk(int chunkSize) {
+        List<Long> slugs = jdbcTemplate.queryForList("WITH replayed AS (DELETE FROM short_url_changes " +
+                "WHERE id IN (SELECT id FROM short_url_changes ORDER BY id LIMIT ?) RETURNING slug) " +
+                "SELECT DISTINCT slug FROM replayed", Long.class, chunkSize);
+        if (slugs.isEmpty()) {
+            return 0;
+        }
+
+        Long[] changedSlugs = slugs.toArray(Long[]::new);
+        jdbcTemplate.update("DELETE FROM " + SHADOW + " WHERE slug = ANY (?)", (Object) changedSlugs);
+        jdbcTemplate.update("INSERT INTO " + SHADOW + " (" + COLUMNS + ") SELECT " + COLUMNS + " FROM " +
+                ShortUrlPartitionLayout.TABLE + " WHERE slug = ANY (?)", (Object) changedSlugs);
+        return slugs.size();
+    }
+
+    private long pendingChanges() {
+        Long pending = jdbcTemplate.queryForObject("SELECT count(*) FROM short_url_changes", Long.class);
+        return pending == null ? 0 : pending;
+    }
+
+    /**
+     * Once the lock is held no writer is in flight, so every recorded change is visible and replayed here.
+     */
+    private void swap(int chunkSize) {
+        jdbcTemplate.execute("LOCK TABLE " + ShortUrlPartitionLayout.TABLE + " IN ACCESS EXCLUSIVE MODE");
+        int replayed;
+        do {
+            replayed = replayChunk(chunkSize);
+        } while (replayed > 0);
+        stopChangeCapture();
+
+        List<String> oldPartitions = partitionsOf(ShortUrlPartitionLayout.TABLE);
+        List<String> newPartitions = partitionsOf(SHADOW);
+
+        renameIndexes(tablesOf(ShortUrlPartitionLayout.TABLE, oldPartitions), name -> name + "_old");
+        for (String partition : oldPartitions) {
+            rename(partition, partition.startsWith(ShortUrlPartitionLayout.TABLE)
+                    ? OLD + partition.substring(ShortUrlPartitionLayout.TABLE.length())
+                    : partition + "_old");
+        }
+        rename(ShortUrlPartitionLayout.TABLE, OLD);
+
+        renameIndexes(tablesOf(SHADOW, newPartitions),
+                name -> name.replace(ShortUrlPartitionLayout.SHADOW_SUFFIX, ""));
+        for (String partition : newPartitions) {
+            rename(partition, ShortUrlPartitionLayout.TABLE + partition.substring(SHADOW.length()));
+        }
+        rename(SHADOW, ShortUrlPartitionLayout.TABLE);
+
+        jdbcTemplate.execute("ALTER SEQUENCE short_url_id_seq OWNED BY " + ShortUrlPartitionLayout.TABLE + ".id");
+    }
+
+    private List<String> partitionsOf(String table) {
+        return jdbcTemplate.queryForList("SELECT child.relname FROM pg_inherits " +
+                "JOIN pg_class child ON child.oid = pg_inherits.inhrelid " +
+                "WHERE pg_inherits.inhparent = ?::regclass ORDER BY child.relname", String.class, table);
+    }
+
+    private static List<String> tablesOf(String table, List<String> partitions) {
+        List<String> tables = new ArrayList<>(partitions);
+        tables.add(table);
+        return tables;
+    }
+
+    private void renameIndexes(List<String> tables, UnaryOperator<String> newName) {
+        for (String table : tables) {
+            List<String> indexes = jdbcTemplate.queryForList(
+                    "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema() AND tablename = ?",
+                    String.class, table);
+            for (String index : indexes) {
+                String renamed = newName.apply(index);
+                if (!renamed.equals(index)) {
+                    jdbcTemplate.execute("ALTER INDEX " + identifier(index) + " RENAME TO " + identifier(renamed));
+                }
+            }
+        }
+    }
+
+    private void rename(String table, String newName) {
+        jdbcTemplate.execute("ALTER TABLE " + identifier(table) + " RENAME TO " + identifier(newName));
+    }
+
+    private static String identifier(String name) {
+        if (!IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Unexpected identifier: " + name);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,46 @@
+package com.linkify.service.infrastructure.persistence.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "linkify.replicas", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @Primary
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                               ReplicaProperties replicaProperties) {
+        DataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaProperties.Replica> nodes = replicaProperties.nodes();
+        for (int i = 0; i < nodes.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(nodes.get(i).url());
+            replica.setUsername(nodes.get(i).username());
+            replica.setPassword(nodes.get(i).password());
+            replica.setMaximumPoolSize(replicaProperties.poolSize());
+            replica.setReadOnly(true);
+            replicas.put("replica-" + i, replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource dataSource,
+                                               ReplicaReadRouting replicaReadRouting,
+                                               ReplicaProperties replicaProperties) {
+        return new ReplicaLagMonitor(dataSource, replicaReadRouting, replicaProperties);
+    }
+}
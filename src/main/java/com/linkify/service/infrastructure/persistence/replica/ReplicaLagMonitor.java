@@ -0,0 +1,61 @@
+package com.linkify.service.infrastructure.persistence.replica;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Measures each replica's replay lag and takes replicas out of rotation while the lag is above the bound, the replica
+ * cannot be reached or it has no WAL receiver. Without a receiver, for instance after losing its primary, a replica has
+ * replayed everything it received and would otherwise look up to date.
+ */
+public class ReplicaLagMonitor {
+    private static final String LAG_QUERY = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver) THEN NULL " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final ReplicaReadRouting replicaReadRouting;
+    private final ReplicaProperties properties;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, ReplicaReadRouting replicaReadRouting,
+                             ReplicaProperties properties) {
+        this.routingDataSource = routingDataSource;
+        this.replicaReadRouting = replicaReadRouting;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${linkify.replicas.check-interval-ms:500}")
+    public void check() {
+        for (String key : routingDataSource.getReplicaKeys()) {
+            routingDataSource.setHealthy(key, isWithinLagBound(key));
+        }
+        replicaReadRouting.evictExpiredWrites();
+    }
+
+    private boolean isWithinLagBound(String key) {
+        try {
+            Double lagMillis = new JdbcTemplate(routingDataSource.getReplica(key))
+                    .queryForObject(LAG_QUERY, Double.class);
+            if (lagMillis == null) {
+                logger.warn("Replica {} is not receiving WAL, routing its reads to the primary", key);
+                return false;
+            }
+
+            boolean withinBound = lagMillis <= properties.maxLag().toMillis();
+            if (!withinBound) {
+                logger.warn("Replica {} is {} ms behind, routing its reads to the primary", key, lagMillis);
+            }
+            return withinBound;
+        } catch (DataAccessException e) {
+            logger.warn("Replica {} is unavailable, routing its reads to the primary", key, e);
+            return false;
+        }
+    }
+}
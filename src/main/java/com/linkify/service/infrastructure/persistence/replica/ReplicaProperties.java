@@ -0,0 +1,22 @@
+package com.linkify.service.infrastructure.persistence.replica;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "linkify.replicas")
+public record ReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        List<Replica> nodes,
+        @DefaultValue("1s") Duration maxLag,
+        @DefaultValue("10") int poolSize) {
+
+    public ReplicaProperties {
+        nodes = nodes == null ? List.of() : List.copyOf(nodes);
+    }
+
+    public record Replica(String url, String username, String password) {
+    }
+}
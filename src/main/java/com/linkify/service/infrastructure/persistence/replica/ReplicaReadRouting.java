@@ -0,0 +1,73 @@
+package com.linkify.service.infrastructure.persistence.replica;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Marks repository reads that may be served by a replica. Keys written by this instance within the replication lag
+ * bound are read from the primary instead, so a link is always visible to the node that has just created it.
+ */
+@Component
+public class ReplicaReadRouting {
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    private final ReplicaProperties properties;
+    private final LongSupplier nanoClock;
+    private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReplicaReadRouting(ReplicaProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    ReplicaReadRouting(ReplicaProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    public <T> T read(String key, Supplier<T> query) {
+        if (!properties.enabled() || isRecentlyWritten(key)) {
+            return query.get();
+        }
+
+        REPLICA_READ.set(Boolean.TRUE);
+        try {
+            return query.get();
+        } finally {
+            REPLICA_READ.remove();
+        }
+    }
+
+    public void written(String key) {
+        if (properties.enabled()) {
+            recentWrites.put(key, nanoClock.getAsLong());
+        }
+    }
+
+    public void evictExpiredWrites() {
+        long oldest = nanoClock.getAsLong() - properties.maxLag().toNanos();
+        recentWrites.values().removeIf(writtenAt -> writtenAt - oldest < 0);
+    }
+
+    static boolean isReplicaRead() {
+        return REPLICA_READ.get() != null;
+    }
+
+    private boolean isRecentlyWritten(String key) {
+        Long writtenAt = recentWrites.get(key);
+        if (writtenAt == null) {
+            return false;
+        }
+
+        if (nanoClock.getAsLong() - writtenAt > properties.maxLag().toNanos()) {
+            recentWrites.remove(key, writtenAt);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package com.linkify.service.infrastructure.persistence.sharding;
+
+import com.linkify.service.infrastructure.persistence.ShortUrlCacheCodec;
+import com.linkify.service.infrastructure.persistence.ShortUrlCacheRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single-node short URL cache with one sharded over {@code linkify.redis-sharding.nodes}. Rate limiting
+ * keeps using {@code spring.redis.*}.
+ */
+@Configuration
+@Profile("!embedded")
+@ConditionalOnProperty(prefix = "linkify.redis-sharding", name = "enabled", havingValue = "true")
+public class RedisShardingConfiguration implements DisposableBean {
+    private final List<LettuceConnectionFactory> connectionFactories = new ArrayList<>();
+
+    @Bean
+    public ShardedShortUrlCacheRepository shortUrlCacheRepository(RedisShardingProperties redisShardingProperties,
+                                                                  ShortUrlCacheCodec shortUrlCacheCodec,
+                                                                  MeterRegistry meterRegistry) {
+        if (redisShardingProperties.nodes().isEmpty()) {
+            throw new IllegalStateException("linkify.redis-sharding.nodes must list at least one host:port");
+        }
+
+        ConsistentHashRing<ShortUrlCacheRepository> ring =
+                new ConsistentHashRing<>(redisShardingProperties.virtualNodes());
+        for (String node : redisShardingProperties.nodes()) {
+            // Nodes share their meters, so Redis latency and payload sizes are reported for the cache as a whole.
+            ring.addNode(node, new ShortUrlCacheRepository(new StringRedisTemplate(connect(node)),
+                    shortUrlCacheCodec, meterRegistry));
+        }
+        return new ShardedShortUrlCacheRepository(ring);
+    }
+
+    private LettuceConnectionFactory connect(String node) {
+        int separator = node.lastIndexOf(':');
+        if (separator < 0) {
+            throw new IllegalStateException("Redis shard must be given as host:port, got " + node);
+        }
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                node.substring(0, separator), Integer.parseInt(node.substring(separator + 1))));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        connectionFactories.add(connectionFactory);
+        return connectionFactory;
+    }
+
+    @Override
+    public void destroy() {
+        connectionFactories.forEach(LettuceConnectionFactory::destroy);
+    }
+}
@@ -0,0 +1,16 @@
+package com.linkify.service.infrastructure.persistence.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Redis nodes the short URL cache is spread over, each given as {@code host:port}.
+ */
+@ConfigurationProperties(prefix = "linkify.redis-sharding")
+public record RedisShardingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<String> nodes,
+        @DefaultValue("160") int virtualNodes) {
+}
@@ -0,0 +1,140 @@
+package com.linkify.service.infrastructure.persistence.snapshot;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+/**
+ * Streams every live link into a {@link ShortUrlSnapshotWriter} file. Each partition of short_url and
+ * short_url_expiring is read in keyset chunks, several partitions at a time, and every chunk becomes one block.
+ * <p>
+ * Partitions are read in separate transactions while the service keeps writing, so the snapshot holds every link that
+ * existed for the whole export but is not a single point in time.
+ */
+@Component
+@Profile("!embedded")
+public class ShortUrlSnapshotExporter {
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z0-9_]+");
+
+    Logger logger = LoggerFactory.getLogger(ShortUrlSnapshotExporter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UrlCompressor urlCompressor;
+
+    @Autowired
+    public ShortUrlSnapshotExporter(JdbcTemplate jdbcTemplate, UrlCompressor urlCompressor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.urlCompressor = urlCompressor;
+    }
+
+    public long export(SnapshotProperties properties) throws IOException, InterruptedException {
+        long startNanos = System.nanoTime();
+        List<String> partitions = new ArrayList<>(partitionsOf("short_url"));
+        partitions.addAll(partitionsOf("short_url_expiring"));
+        OffsetDateTime now = OffsetDateTime.now();
+
+        ShortUrlSnapshotWriter writer = new ShortUrlSnapshotWriter(properties.file());
+        ExecutorService executor = Executors.newFixedThreadPool(properties.parallelism());
+        try {
+            List<Future<Long>> exports = new ArrayList<>();
+            for (String partition : partitions) {
+                exports.add(executor.submit(() -> exportPartition(partition, now, properties.chunkSize(), writer)));
+            }
+            for (Future<Long> export : exports) {
+                try {
+                    export.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Failed to export short_url partition", e.getCause());
+                }
+            }
+            writer.close();
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            writer.abort();
+            throw e;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long rows = writer.rows();
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        logger.info("Exported {} links from {} partitions to {} in {} ms ({} rows/s)", rows, partitions.size(),
+                properties.file(), elapsedMillis, rows * 1000 / elapsedMillis);
+        return rows;
+    }
+
+    private long exportPartition(String partition, OffsetDateTime now, int chunkSize, ShortUrlSnapshotWriter writer)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        String sql = "SELECT link.slug, link.owner, link.expires_at, " +
+                "COALESCE(link.original_url, target.original_url) AS original_url, " +
+                "COALESCE(link.original_url_packed, target.original_url_packed) AS original_url_packed " +
+                "FROM " + identifier(partition) + " link " +
+                "LEFT JOIN url_target target ON target.fingerprint = link.target_fingerprint " +
+                "WHERE link.slug >= ? AND (link.expires_at IS NULL OR link.expires_at > ?) " +
+                "ORDER BY link.slug LIMIT ?";
+
+        long fromSlug = Long.MIN_VALUE;
+        long exported = 0;
+        while (true) {
+            List<ShortUrlDomainModel> chunk = jdbcTemplate.query(sql, (resultSet, rowNum) -> toDomainModel(resultSet),
+                    fromSlug, now, chunkSize);
+            writer.write(chunk);
+            exported += chunk.size();
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+
+            long lastSlug = SlugCodec.decode(chunk.get(chunk.size() - 1).getUrlSlug());
+            if (lastSlug == Long.MAX_VALUE) {
+                break;
+            }
+            fromSlug = lastSlug + 1;
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        logger.info("Exported {} links from {} ({} rows/s)", exported, partition, exported * 1000 / elapsedMillis);
+        return exported;
+    }
+
+    private ShortUrlDomainModel toDomainModel(ResultSet resultSet) throws SQLException {
+        byte[] packed = resultSet.getBytes("original_url_packed");
+        String originalUrl = packed != null ? urlCompressor.decompress(packed) : resultSet.getString("original_url");
+        if (originalUrl == null) {
+            throw new IllegalStateException("Link " + resultSet.getLong("slug") + " has no original URL");
+        }
+
+        return ShortUrlDomainModel.restore(originalUrl, resultSet.getString("owner"),
+                SlugCodec.encode(resultSet.getLong("slug")), resultSet.getObject("expires_at", OffsetDateTime.class));
+    }
+
+    private List<String> partitionsOf(String table) {
+        return jdbcTemplate.queryForList("SELECT child.relname FROM pg_inherits " +
+                "JOIN pg_class child ON child.oid = pg_inherits.inhrelid " +
+                "WHERE pg_inherits.inhparent = ?::regclass ORDER BY child.relname", String.class, table);
+    }
+
+    private static String identifier(String name) {
+        if (!IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Unexpected identifier: " + name);
+        }
+        return name;
+    }
+}
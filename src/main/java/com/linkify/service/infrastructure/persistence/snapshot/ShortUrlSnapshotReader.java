@@ -0,0 +1,167 @@
+package com.linkify.service.infrastructure.persistence.snapshot;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a file written by {@link ShortUrlSnapshotWriter} block by block. The checksum and row count are only known at
+ * the end, so restores call {@link #verify(Path)} first and never load a file that is truncated or corrupt.
+ */
+final class ShortUrlSnapshotReader implements AutoCloseable {
+    private static final int MAX_ROW_BYTES = Long.BYTES + 1 + Long.BYTES + 1 + 255 + 2 + 65535;
+
+    private final CheckedInputStream checked;
+    private final DataInputStream input;
+    private final Inflater inflater = new Inflater();
+    private long rows;
+    private boolean finished;
+
+    ShortUrlSnapshotReader(Path file) throws IOException {
+        this.checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16),
+                new CRC32C());
+        this.input = new DataInputStream(checked);
+        try {
+            byte[] magic = new byte[ShortUrlSnapshotWriter.MAGIC.length];
+            input.readFully(magic);
+            if (!Arrays.equals(magic, ShortUrlSnapshotWriter.MAGIC)) {
+                throw new IllegalStateException(file + " is not a short URL snapshot");
+            }
+            int version = input.readUnsignedByte();
+            if (version != ShortUrlSnapshotWriter.VERSION) {
+                throw new IllegalStateException("Unsupported snapshot version " + version);
+            }
+            input.readLong();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the whole file and checks its trailer.
+     *
+     * @return the number of rows in the snapshot
+     */
+    static long verify(Path file) throws IOException {
+        try (ShortUrlSnapshotReader reader = new ShortUrlSnapshotReader(file)) {
+            while (reader.nextBlock() != null) {
+                // Decoding every block also catches corruption the checksum would only report at the end.
+            }
+            return reader.rows;
+        }
+    }
+
+    /**
+     * @return the next block of rows, or {@code null} after the trailer has been read and checked
+     */
+    List<ShortUrlDomainModel> nextBlock() throws IOException {
+        if (finished) {
+            return null;
+        }
+
+        try {
+            int blockRows = input.readInt();
+            if (blockRows == 0) {
+                readTrailer();
+                return null;
+            }
+
+            int rawLength = input.readInt();
+            int deflatedLength = input.readInt();
+            // Checked before allocating, so a damaged header fails cleanly instead of exhausting the heap.
+            if (blockRows < 0 || rawLength < 0 || rawLength > (long) blockRows * MAX_ROW_BYTES
+                    || deflatedLength < 0 || deflatedLength > rawLength + rawLength / 8 + 64) {
+                throw new IllegalStateException("Snapshot block header is corrupt");
+            }
+            byte[] deflated = new byte[deflatedLength];
+            input.readFully(deflated);
+            rows += blockRows;
+            return decode(inflate(deflated, rawLength), blockRows);
+        } catch (EOFException e) {
+            throw new IllegalStateException("Snapshot is truncated after " + rows + " rows", e);
+        }
+    }
+
+    private void readTrailer() throws IOException {
+        long expectedRows = input.readLong();
+        long checksum = checked.getChecksum().getValue();
+        long expectedChecksum = input.readLong();
+        finished = true;
+
+        if (expectedRows != rows) {
+            throw new IllegalStateException("Snapshot has " + rows + " rows, its trailer says " + expectedRows);
+        }
+        if (checksum != expectedChecksum) {
+            throw new IllegalStateException("Snapshot checksum does not match");
+        }
+    }
+
+    private byte[] inflate(byte[] deflated, int rawLength) {
+        byte[] raw = new byte[rawLength];
+        inflater.reset();
+        inflater.setInput(deflated);
+        try {
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, rawLength - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != rawLength || !inflater.finished()) {
+                throw new IllegalStateException("Snapshot block is corrupt");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Snapshot block is corrupt", e);
+        }
+    }
+
+    private static List<ShortUrlDomainModel> decode(byte[] raw, int blockRows) throws IOException {
+        DataInputStream block = new DataInputStream(new ByteArrayInputStream(raw));
+        List<ShortUrlDomainModel> shortUrls = new ArrayList<>(blockRows);
+        for (int row = 0; row < blockRows; row++) {
+            String slug = SlugCodec.encode(block.readLong());
+            OffsetDateTime expirationDate = null;
+            if ((block.readUnsignedByte() & ShortUrlSnapshotWriter.HAS_EXPIRY) != 0) {
+                long micros = block.readLong();
+                expirationDate = OffsetDateTime.ofInstant(Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                        Math.floorMod(micros, 1_000_000) * 1_000L), ZoneOffset.UTC);
+            }
+            byte[] owner = new byte[block.readUnsignedByte()];
+            block.readFully(owner);
+            byte[] originalUrl = new byte[block.readUnsignedShort()];
+            block.readFully(originalUrl);
+
+            shortUrls.add(ShortUrlDomainModel.restore(new String(originalUrl, StandardCharsets.UTF_8),
+                    new String(owner, StandardCharsets.UTF_8), slug, expirationDate));
+        }
+        return shortUrls;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        input.close();
+    }
+}
@@ -0,0 +1,177 @@
+package com.linkify.service.infrastructure.persistence.snapshot;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.domain.port.ShortUrlBulkLoad;
+import com.linkify.service.infrastructure.persistence.target.UrlFingerprint;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Loads a snapshot written by {@link ShortUrlSnapshotExporter}. The file is verified end to end before anything is
+ * written, and links that expired since the export are skipped.
+ */
+@Component
+@Profile("!embedded")
+public class ShortUrlSnapshotRestorer {
+    private static final String COPY = "COPY short_url (slug, owner, original_url, original_url_hash, expires_at) " +
+            "FROM STDIN WITH (FORMAT csv)";
+    private static final HexFormat HEX = HexFormat.of();
+
+    Logger logger = LoggerFactory.getLogger(ShortUrlSnapshotRestorer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShortUrlBulkLoad shortUrlBulkLoad;
+
+    @Autowired
+    public ShortUrlSnapshotRestorer(JdbcTemplate jdbcTemplate, ShortUrlBulkLoad shortUrlBulkLoad) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shortUrlBulkLoad = shortUrlBulkLoad;
+    }
+
+    /**
+     * Warms the cache with every link. Blocks are pipelined to Redis from several threads while the next ones are
+     * read; at most twice the parallelism are held in memory.
+     */
+    public long restoreToRedis(SnapshotProperties properties) throws IOException, InterruptedException {
+        long expected = ShortUrlSnapshotReader.verify(properties.file());
+        long startNanos = System.nanoTime();
+        OffsetDateTime now = OffsetDateTime.now();
+
+        Semaphore inFlight = new Semaphore(properties.parallelism() * 2);
+        ExecutorService executor = Executors.newFixedThreadPool(properties.parallelism());
+        long restored = 0;
+        try (ShortUrlSnapshotReader reader = new ShortUrlSnapshotReader(properties.file())) {
+            List<Future<?>> loads = new ArrayList<>();
+            List<ShortUrlDomainModel> block;
+            while ((block = reader.nextBlock()) != null) {
+                List<ShortUrlDomainModel> live = live(block, now);
+                restored += live.size();
+                inFlight.acquire();
+                loads.add(executor.submit(() -> {
+                    try {
+                        shortUrlBulkLoad.saveAll(live);
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+            for (Future<?> load : loads) {
+                try {
+                    load.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Failed to load snapshot block into Redis", e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        report("Redis", restored, expected, startNanos);
+        return restored;
+    }
+
+    /**
+     * Fills an empty database with one COPY into short_url. Links are written with their plain original URL; the
+     * expiring layout, url_target and URL compression are deliberately not used, and lookups find the links in
+     * short_url either way. Expiring links are therefore left to the reaper rather than to partition drops.
+     */
+    public long restoreToDatabase(SnapshotProperties properties) throws IOException {
+        long expected = ShortUrlSnapshotReader.verify(properties.file());
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM short_url) " +
+                "OR EXISTS (SELECT 1 FROM short_url_expiring)", Boolean.class))) {
+            throw new IllegalStateException("short_url is not empty, restore into a fresh database");
+        }
+
+        long startNanos = System.nanoTime();
+        OffsetDateTime now = OffsetDateTime.now();
+        Long restored = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY);
+            try (ShortUrlSnapshotReader reader = new ShortUrlSnapshotReader(properties.file())) {
+                List<ShortUrlDomainModel> block;
+                while ((block = reader.nextBlock()) != null) {
+                    byte[] rows = csv(live(block, now));
+                    copyIn.writeToCopy(rows, 0, rows.length);
+                }
+                return copyIn.endCopy();
+            } catch (IOException e) {
+                cancel(copyIn);
+                throw new UncheckedIOException(e);
+            } catch (SQLException | RuntimeException e) {
+                cancel(copyIn);
+                throw e;
+            }
+        });
+
+        long rows = restored == null ? 0 : restored;
+        report("the database", rows, expected, startNanos);
+        return rows;
+    }
+
+    private static void cancel(CopyIn copyIn) throws SQLException {
+        if (copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+
+    private static List<ShortUrlDomainModel> live(List<ShortUrlDomainModel> block, OffsetDateTime now) {
+        List<ShortUrlDomainModel> live = new ArrayList<>(block.size());
+        for (ShortUrlDomainModel shortUrl : block) {
+            if (shortUrl.getExpirationDate() == null || shortUrl.getExpirationDate().isAfter(now)) {
+                live.add(shortUrl);
+            }
+        }
+        return live;
+    }
+
+    /**
+     * CSV rows for COPY. Text fields are always quoted, so only an unquoted empty expiry is read as NULL. The URL
+     * fingerprint is written in the hex form of bytea.
+     */
+    static byte[] csv(List<ShortUrlDomainModel> shortUrls) {
+        StringBuilder rows = new StringBuilder(shortUrls.size() * 96);
+        for (ShortUrlDomainModel shortUrl : shortUrls) {
+            rows.append(SlugCodec.decode(shortUrl.getUrlSlug())).append(',');
+            quote(rows, shortUrl.getOwner()).append(',');
+            quote(rows, shortUrl.getOriginalUrl()).append(',');
+            byte[] urlHash = UrlFingerprint.of(shortUrl.getOriginalUrl()).toBytes();
+            rows.append("\\x").append(HEX.formatHex(urlHash)).append(',');
+            if (shortUrl.getExpirationDate() != null) {
+                rows.append(shortUrl.getExpirationDate());
+            }
+            rows.append('\n');
+        }
+        return rows.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static StringBuilder quote(StringBuilder rows, String value) {
+        return rows.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private void report(String target, long restored, long expected, long startNanos) {
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        logger.info("Restored {} of {} links into {} in {} ms ({} rows/s), {} had expired", restored, expected,
+                target, elapsedMillis, restored * 1000 / elapsedMillis, expected - restored);
+    }
+}
@@ -0,0 +1,155 @@
+package com.linkify.service.infrastructure.persistence.snapshot;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a snapshot of short URL mappings:
+ * <pre>
+ * header   magic "LNKS", format version, creation time (epoch millis)
+ * block    row count, raw length, deflated length, deflated rows   (repeated)
+ * trailer  0, total rows, CRC32C of every byte before it
+ * </pre>
+ * A row is the slug, a flag byte, the expiry in epoch microseconds when the flag is set, the owner and the original
+ * URL, each prefixed with its UTF-8 length. Blocks may be written from several threads; each lands whole. The file is
+ * written next to its destination and moved into place on {@link #close()}, so a failed export never leaves a file
+ * that looks complete.
+ */
+final class ShortUrlSnapshotWriter implements AutoCloseable {
+    static final byte[] MAGIC = {'L', 'N', 'K', 'S'};
+    static final byte VERSION = 1;
+    static final int HAS_EXPIRY = 1;
+
+    private final Path file;
+    private final Path partial;
+    private final CheckedOutputStream checked;
+    private final DataOutputStream output;
+    private long rows;
+    private boolean closed;
+
+    ShortUrlSnapshotWriter(Path file) throws IOException {
+        this.file = file;
+        this.partial = file.resolveSibling(file.getFileName() + ".partial");
+        this.checked = new CheckedOutputStream(new BufferedOutputStream(Files.newOutputStream(partial), 1 << 16),
+                new CRC32C());
+        this.output = new DataOutputStream(checked);
+        output.write(MAGIC);
+        output.writeByte(VERSION);
+        output.writeLong(System.currentTimeMillis());
+    }
+
+    static byte[] encode(List<ShortUrlDomainModel> shortUrls) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(shortUrls.size() * 96);
+        DataOutputStream block = new DataOutputStream(bytes);
+        try {
+            for (ShortUrlDomainModel shortUrl : shortUrls) {
+                block.writeLong(SlugCodec.decode(shortUrl.getUrlSlug()));
+                OffsetDateTime expirationDate = shortUrl.getExpirationDate();
+                block.writeByte(expirationDate == null ? 0 : HAS_EXPIRY);
+                if (expirationDate != null) {
+                    Instant instant = expirationDate.toInstant();
+                    block.writeLong(instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000);
+                }
+                byte[] owner = shortUrl.getOwner().getBytes(StandardCharsets.UTF_8);
+                byte[] originalUrl = shortUrl.getOriginalUrl().getBytes(StandardCharsets.UTF_8);
+                if (owner.length > 255 || originalUrl.length > 65535) {
+                    throw new IllegalArgumentException("Link " + shortUrl.getUrlSlug() + " is too long to export");
+                }
+                block.writeByte(owner.length);
+                block.write(owner);
+                block.writeShort(originalUrl.length);
+                block.write(originalUrl);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode snapshot block", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Appends one block. Rows are encoded and compressed by the caller's thread; only the write is serialised.
+     */
+    void write(List<ShortUrlDomainModel> shortUrls) throws IOException {
+        if (shortUrls.isEmpty()) {
+            return;
+        }
+
+        byte[] raw = encode(shortUrls);
+        byte[] deflated = deflate(raw);
+        synchronized (this) {
+            output.writeInt(shortUrls.size());
+            output.writeInt(raw.length);
+            output.writeInt(deflated.length);
+            output.write(deflated);
+            rows += shortUrls.size();
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            byte[] buffer = new byte[raw.length + 64];
+            deflater.setInput(raw);
+            deflater.finish();
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    synchronized long rows() {
+        return rows;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        output.writeInt(0);
+        output.writeLong(rows);
+        output.flush();
+        long checksum = checked.getChecksum().getValue();
+        output.writeLong(checksum);
+        output.close();
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Drops the partial file without publishing it.
+     */
+    synchronized void abort() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        output.close();
+        Files.deleteIfExists(partial);
+    }
+}
@@ -0,0 +1,7 @@
+package com.linkify.service.infrastructure.persistence.snapshot;
+
+public enum SnapshotOperation {
+    EXPORT,
+    RESTORE_REDIS,
+    RESTORE_DATABASE
+}
@@ -0,0 +1,14 @@
+package com.linkify.service.infrastructure.persistence.snapshot;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+@ConfigurationProperties(prefix = "linkify.snapshot")
+public record SnapshotProperties(
+        @DefaultValue("EXPORT") SnapshotOperation operation,
+        @DefaultValue("short-urls.snapshot") Path file,
+        @DefaultValue("4") int parallelism,
+        @DefaultValue("5000") int chunkSize) {
+}
@@ -0,0 +1,40 @@
+package com.linkify.service.infrastructure.persistence.snapshot;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+@Profile("snapshot")
+public class SnapshotRunner implements ApplicationRunner {
+    private final ShortUrlSnapshotExporter shortUrlSnapshotExporter;
+    private final ShortUrlSnapshotRestorer shortUrlSnapshotRestorer;
+    private final SnapshotProperties properties;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    public SnapshotRunner(ShortUrlSnapshotExporter shortUrlSnapshotExporter,
+                          ShortUrlSnapshotRestorer shortUrlSnapshotRestorer, SnapshotProperties properties,
+                          ConfigurableApplicationContext applicationContext) {
+        this.shortUrlSnapshotExporter = shortUrlSnapshotExporter;
+        this.shortUrlSnapshotRestorer = shortUrlSnapshotRestorer;
+        this.properties = properties;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException, InterruptedException {
+        switch (properties.operation()) {
+            case EXPORT -> shortUrlSnapshotExporter.export(properties);
+            case RESTORE_REDIS -> shortUrlSnapshotRestorer.restoreToRedis(properties);
+            case RESTORE_DATABASE -> shortUrlSnapshotRestorer.restoreToDatabase(properties);
+        }
+        SpringApplication.exit(applicationContext);
+    }
+}
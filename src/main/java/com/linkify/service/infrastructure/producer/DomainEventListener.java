@@ -12,7 +12,9 @@ public class DomainEventListener implements ApplicationListener<DomainEvent> {
 
     @Override
     public void onApplicationEvent(DomainEvent event) {
-        logger.info("Received domain event: {} with payload: {}. Publishing it to a queue...", event.getEventName(),
-                event.getEventPayload());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Received domain event: {} with payload: {}. Publishing it to a queue...",
+                    event.getEventName(), event.getEventPayload());
+        }
     }
 }
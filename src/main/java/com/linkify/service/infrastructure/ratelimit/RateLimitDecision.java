@@ -0,0 +1,9 @@
+package com.linkify.service.infrastructure.ratelimit;
+
+public record RateLimitDecision(boolean allowed, long retryAfterSeconds) {
+    public static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0);
+
+    static RateLimitDecision rejected(long waitNanos) {
+        return new RateLimitDecision(false, Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L));
+    }
+}
@@ -0,0 +1,28 @@
+package com.linkify.service.infrastructure.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "linkify.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        Budget createPerOwner,
+        Budget createPerClient,
+        Budget resolvePerClient,
+        @DefaultValue("true") boolean redisSync,
+        @DefaultValue("1m") Duration window,
+        @DefaultValue("10m") Duration idleEviction) {
+
+    public record Budget(double permitsPerSecond, int burst) {
+    }
+
+    Budget budget(RateLimitScope scope) {
+        return switch (scope) {
+            case CREATE_OWNER -> createPerOwner;
+            case CREATE_CLIENT -> createPerClient;
+            case RESOLVE_CLIENT -> resolvePerClient;
+        };
+    }
+}
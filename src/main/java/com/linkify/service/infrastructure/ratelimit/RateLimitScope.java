@@ -0,0 +1,17 @@
+package com.linkify.service.infrastructure.ratelimit;
+
+public enum RateLimitScope {
+    CREATE_OWNER("create:owner"),
+    CREATE_CLIENT("create:client"),
+    RESOLVE_CLIENT("resolve:client");
+
+    private final String prefix;
+
+    RateLimitScope(String prefix) {
+        this.prefix = prefix;
+    }
+
+    String key(String value) {
+        return prefix + ":" + value;
+    }
+}
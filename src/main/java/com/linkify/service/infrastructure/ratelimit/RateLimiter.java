@@ -0,0 +1,125 @@
+package com.linkify.service.infrastructure.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-key rate limiting against in-process token buckets. Buckets are reconciled across nodes in the background: the
+ * permits each node handed out are added to a per-window Redis counter in one pipelined batch, and buckets whose
+ * cluster-wide usage is over budget are closed until the window ends.
+ */
+@Component
+public class RateLimiter {
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    private final RateLimitProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, StringRedisTemplate redisTemplate) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+    }
+
+    public RateLimitDecision tryAcquire(RateLimitScope scope, String value) {
+        if (!properties.enabled()) {
+            return RateLimitDecision.ALLOWED;
+        }
+
+        RateLimitProperties.Budget budget = properties.budget(scope);
+        if (budget == null) {
+            return RateLimitDecision.ALLOWED;
+        }
+
+        long nowNanos = System.nanoTime();
+        String key = scope.key(value);
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, ignored -> new Bucket(budget,
+                    new TokenBucket(budget.permitsPerSecond(), budget.burst(), nowNanos)));
+        }
+
+        long waitNanos = bucket.tokenBucket().tryAcquire(nowNanos);
+        return waitNanos == 0 ? RateLimitDecision.ALLOWED : RateLimitDecision.rejected(waitNanos);
+    }
+
+    @Scheduled(fixedDelayString = "${linkify.rate-limit.sync-interval-ms:1000}")
+    public void synchronize() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        long nowNanos = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.tokenBucket()
+                .isIdleSince(nowNanos - properties.idleEviction().toNanos(), properties.redisSync()));
+
+        if (!properties.redisSync()) {
+            return;
+        }
+
+        long windowMillis = properties.window().toMillis();
+        long nowMillis = System.currentTimeMillis();
+        long windowIndex = nowMillis / windowMillis;
+        long windowEndNanos = nowNanos + ((windowIndex + 1) * windowMillis - nowMillis) * 1_000_000L;
+
+        List<byte[]> keys = new ArrayList<>();
+        List<Long> permits = new ArrayList<>();
+        List<Bucket> pending = new ArrayList<>();
+        buckets.forEach((key, bucket) -> {
+            long used = bucket.tokenBucket().drainUnsynchronizedPermits();
+            if (used > 0) {
+                keys.add((KEY_PREFIX + key + ":" + windowIndex).getBytes(StandardCharsets.UTF_8));
+                permits.add(used);
+                pending.add(bucket);
+            }
+        });
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Object> results;
+        try {
+            results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < keys.size(); i++) {
+                    connection.stringCommands().incrBy(keys.get(i), permits.get(i));
+                    connection.keyCommands().pExpire(keys.get(i), windowMillis * 2);
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            logger.warn("Failed to synchronize rate limits with Redis, enforcing local budgets only", e);
+            return;
+        }
+
+        for (int i = 0; i < pending.size(); i++) {
+            Bucket bucket = pending.get(i);
+            Object clusterPermits = results.get(i * 2);
+            if (clusterPermits instanceof Long used && used > bucket.windowLimit(properties.window())) {
+                bucket.tokenBucket().blockUntil(windowEndNanos);
+            }
+        }
+    }
+
+    private record Bucket(RateLimitProperties.Budget budget, TokenBucket tokenBucket) {
+        long windowLimit(Duration window) {
+            return (long) (budget.permitsPerSecond() * window.toMillis() / 1000.0) + budget.burst();
+        }
+    }
+}
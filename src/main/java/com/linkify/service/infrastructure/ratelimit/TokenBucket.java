@@ -0,0 +1,61 @@
+package com.linkify.service.infrastructure.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole bucket state is a single "theoretical arrival time" updated with
+ * compare-and-set, so acquiring a permit never blocks.
+ */
+final class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime;
+    private final LongAdder unsynchronizedPermits = new LongAdder();
+
+    private volatile long lastUsedNanos;
+
+    TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+        this.lastUsedNanos = nowNanos;
+    }
+
+    /**
+     * @return 0 when a permit was taken, otherwise the nanoseconds until the next permit becomes available
+     */
+    long tryAcquire(long nowNanos) {
+        lastUsedNanos = nowNanos;
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long start = tat - nowNanos < 0 ? nowNanos : tat;
+            long wait = start - nowNanos - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+
+            if (theoreticalArrivalTime.compareAndSet(tat, start + emissionIntervalNanos)) {
+                unsynchronizedPermits.increment();
+                return 0;
+            }
+        }
+    }
+
+    void blockUntil(long untilNanos) {
+        long blockedTat = untilNanos + burstToleranceNanos;
+        theoreticalArrivalTime.accumulateAndGet(blockedTat,
+                (current, blocked) -> current - blocked < 0 ? blocked : current);
+    }
+
+    long drainUnsynchronizedPermits() {
+        return unsynchronizedPermits.sumThenReset();
+    }
+
+    /**
+     * @param synchronizing whether permits still have to be reported to Redis, which keeps a bucket until they are
+     */
+    boolean isIdleSince(long nanos, boolean synchronizing) {
+        return lastUsedNanos - nanos < 0 && (!synchronizing || unsynchronizedPermits.sum() == 0);
+    }
+}
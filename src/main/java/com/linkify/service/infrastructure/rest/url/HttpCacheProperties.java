@@ -0,0 +1,20 @@
+package com.linkify.service.infrastructure.rest.url;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "linkify.http-cache")
+public record HttpCacheProperties(
+        @DefaultValue("1h") Duration maxAge,
+        Map<String, OwnerPolicy> owners) {
+
+    public HttpCacheProperties {
+        owners = owners == null ? Map.of() : Map.copyOf(owners);
+    }
+
+    public record OwnerPolicy(Duration maxAge, boolean noStore) {
+    }
+}
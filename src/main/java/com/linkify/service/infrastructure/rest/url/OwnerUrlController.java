@@ -0,0 +1,105 @@
+package com.linkify.service.infrastructure.rest.url;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkify.service.application.usecase.ExportOwnerShortUrlsCommand;
+import com.linkify.service.application.usecase.ExportOwnerShortUrlsUseCase;
+import com.linkify.service.application.usecase.ListOwnerShortUrlsCommand;
+import com.linkify.service.application.usecase.ListOwnerShortUrlsUseCase;
+import com.linkify.service.application.usecase.UseCaseResult;
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.infrastructure.logging.AccessLog;
+import com.linkify.service.infrastructure.logging.AccessLogRoutes;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Lists the links of one owner, a page at a time or as one NDJSON stream.
+ */
+@RestController
+@Profile("!reactive & !embedded")
+@RequestMapping("/v1/owners/{owner}/urls")
+public class OwnerUrlController {
+    private final ListOwnerShortUrlsUseCase listOwnerShortUrlsUseCase;
+    private final ExportOwnerShortUrlsUseCase exportOwnerShortUrlsUseCase;
+    private final ShortUrlResponseMapper shortUrlResponseMapper;
+    private final OwnerUrlListingProperties ownerUrlListingProperties;
+    private final ObjectMapper objectMapper;
+    private final AccessLog accessLog;
+
+    public OwnerUrlController(ListOwnerShortUrlsUseCase listOwnerShortUrlsUseCase,
+                              ExportOwnerShortUrlsUseCase exportOwnerShortUrlsUseCase,
+                              ShortUrlResponseMapper shortUrlResponseMapper,
+                              OwnerUrlListingProperties ownerUrlListingProperties,
+                              ObjectMapper objectMapper,
+                              AccessLog accessLog) {
+        this.listOwnerShortUrlsUseCase = listOwnerShortUrlsUseCase;
+        this.exportOwnerShortUrlsUseCase = exportOwnerShortUrlsUseCase;
+        this.shortUrlResponseMapper = shortUrlResponseMapper;
+        this.ownerUrlListingProperties = ownerUrlListingProperties;
+        this.objectMapper = objectMapper;
+        this.accessLog = accessLog;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> listUrls(@PathVariable String owner,
+                                      @RequestParam(required = false) String after,
+                                      @RequestParam(required = false) Integer limit) {
+        long startNanos = System.nanoTime();
+        ResponseEntity<?> response = list(owner, after,
+                limit == null ? ownerUrlListingProperties.defaultPageSize() : limit);
+
+        accessLog.record(AccessLogRoutes.LIST, response.getStatusCode().value(), null, startNanos);
+        return response;
+    }
+
+    /**
+     * One JSON object per line. The status is sent before the first link is read, so a failure part way through
+     * aborts the response instead of turning it into an error.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUrls(@PathVariable String owner) {
+        long startNanos = System.nanoTime();
+        StreamingResponseBody body = outputStream -> {
+            ExportOwnerShortUrlsCommand command = new ExportOwnerShortUrlsCommand(owner,
+                    shortUrl -> writeLine(outputStream, ShortUrlResponseMapper.ownerUrl(shortUrl)));
+            UseCaseResult<Long> result = exportOwnerShortUrlsUseCase.execute(command);
+
+            accessLog.record(AccessLogRoutes.EXPORT, result instanceof UseCaseResult.Found<Long> ? 200 : 503, null,
+                    startNanos);
+            if (!(result instanceof UseCaseResult.Found<Long>)) {
+                throw new IOException("Export of short URLs failed for owner: " + owner);
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private ResponseEntity<?> list(String owner, String after, int limit) {
+        if (limit < 1 || limit > ownerUrlListingProperties.maxPageSize()) {
+            return shortUrlResponseMapper.badRequest("limit must be between 1 and "
+                    + ownerUrlListingProperties.maxPageSize());
+        }
+        if (after != null && !SlugCodec.isValid(after)) {
+            return shortUrlResponseMapper.badRequest("after must be a slug from a previous page");
+        }
+
+        ListOwnerShortUrlsCommand command = new ListOwnerShortUrlsCommand(owner, after, limit);
+        return shortUrlResponseMapper.listed(listOwnerShortUrlsUseCase.execute(command));
+    }
+
+    private void writeLine(OutputStream outputStream, OwnerUrlResponse ownerUrlResponse) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(ownerUrlResponse));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
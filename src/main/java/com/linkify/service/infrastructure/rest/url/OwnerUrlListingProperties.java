@@ -0,0 +1,10 @@
+package com.linkify.service.infrastructure.rest.url;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "linkify.owner-urls")
+public record OwnerUrlListingProperties(
+        @DefaultValue("50") int defaultPageSize,
+        @DefaultValue("500") int maxPageSize) {
+}
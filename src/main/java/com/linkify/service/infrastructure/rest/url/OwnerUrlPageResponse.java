@@ -0,0 +1,6 @@
+package com.linkify.service.infrastructure.rest.url;
+
+import java.util.List;
+
+record OwnerUrlPageResponse(List<OwnerUrlResponse> urls, String next) {
+}
@@ -0,0 +1,6 @@
+package com.linkify.service.infrastructure.rest.url;
+
+import java.time.OffsetDateTime;
+
+record OwnerUrlResponse(String slug, String originalUrl, OffsetDateTime expirationDate) {
+}
@@ -0,0 +1,93 @@
+package com.linkify.service.infrastructure.rest.url;
+
+import com.linkify.service.application.usecase.CreateShortUrlFromUrlCommand;
+import com.linkify.service.application.usecase.FetchShortUrlBySlugCommand;
+import com.linkify.service.application.usecase.ReactiveCreateShortUrlFromUrlUseCase;
+import com.linkify.service.application.usecase.ReactiveFetchShortUrlBySlugUseCase;
+import com.linkify.service.infrastructure.logging.AccessLog;
+import com.linkify.service.infrastructure.logging.AccessLogRoutes;
+import com.linkify.service.infrastructure.ratelimit.RateLimitDecision;
+import com.linkify.service.infrastructure.ratelimit.RateLimitScope;
+import com.linkify.service.infrastructure.ratelimit.RateLimiter;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/v1/urls")
+public class ReactiveUrlShortenerController {
+    private final ReactiveFetchShortUrlBySlugUseCase fetchShortUrlBySlugUseCase;
+    private final ReactiveCreateShortUrlFromUrlUseCase createShortUrlFromUrlUseCase;
+    private final ShortUrlResponseMapper shortUrlResponseMapper;
+    private final AccessLog accessLog;
+    private final RateLimiter rateLimiter;
+
+    public ReactiveUrlShortenerController(ReactiveFetchShortUrlBySlugUseCase fetchShortUrlBySlugUseCase,
+                                          ReactiveCreateShortUrlFromUrlUseCase createShortUrlFromUrlUseCase,
+                                          ShortUrlResponseMapper shortUrlResponseMapper,
+                                          AccessLog accessLog,
+                                          RateLimiter rateLimiter) {
+        this.fetchShortUrlBySlugUseCase = fetchShortUrlBySlugUseCase;
+        this.createShortUrlFromUrlUseCase = createShortUrlFromUrlUseCase;
+        this.shortUrlResponseMapper = shortUrlResponseMapper;
+        this.accessLog = accessLog;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @GetMapping("/{slug}")
+    public Mono<ResponseEntity<?>> getShortUrl(@PathVariable String slug,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH,
+                                                       required = false) String ifNoneMatch,
+                                               ServerHttpRequest serverRequest) {
+        long startNanos = System.nanoTime();
+        return resolve(slug, ifNoneMatch, client(serverRequest))
+                .doOnNext(response -> accessLog.record(AccessLogRoutes.RESOLVE, response.getStatusCode().value(),
+                        slug, startNanos));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<?>> createShortUrl(@Valid @RequestBody ShortUrlRequest request,
+                                                  ServerHttpRequest serverRequest) {
+        long startNanos = System.nanoTime();
+        return create(request, client(serverRequest))
+                .doOnNext(response -> accessLog.record(AccessLogRoutes.CREATE, response.getStatusCode().value(),
+                        response.getBody() instanceof ShortUrlResponse created ? created.slug() : null,
+                        startNanos));
+    }
+
+    private Mono<ResponseEntity<?>> resolve(String slug, String ifNoneMatch, String client) {
+        RateLimitDecision decision = rateLimiter.tryAcquire(RateLimitScope.RESOLVE_CLIENT, client);
+        if (!decision.allowed()) {
+            return Mono.just(shortUrlResponseMapper.tooManyRequests(decision));
+        }
+
+        return fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand(slug))
+                .map(result -> shortUrlResponseMapper.fetched(result, slug, ifNoneMatch));
+    }
+
+    private Mono<ResponseEntity<?>> create(ShortUrlRequest request, String client) {
+        RateLimitDecision decision = rateLimiter.tryAcquire(RateLimitScope.CREATE_CLIENT, client);
+        if (decision.allowed()) {
+            decision = rateLimiter.tryAcquire(RateLimitScope.CREATE_OWNER, request.owner());
+        }
+        if (!decision.allowed()) {
+            return Mono.just(shortUrlResponseMapper.tooManyRequests(decision));
+        }
+
+        CreateShortUrlFromUrlCommand command = new CreateShortUrlFromUrlCommand(request.originalUrl(),
+                request.owner(), request.expirationDate().isEmpty() ? null : request.expirationDate().get());
+        return createShortUrlFromUrlUseCase.execute(command).map(shortUrlResponseMapper::created);
+    }
+
+    private static String client(ServerHttpRequest serverRequest) {
+        InetSocketAddress remoteAddress = serverRequest.getRemoteAddress();
+        return remoteAddress == null ? "unknown" : remoteAddress.getHostString();
+    }
+}
@@ -0,0 +1,108 @@
+package com.linkify.service.infrastructure.rest.url;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+@Component
+public class ShortUrlCachePolicy {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final HttpCacheProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public ShortUrlCachePolicy(HttpCacheProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    ShortUrlCachePolicy(HttpCacheProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public ResponseEntity<ShortUrlResponse> toResponse(ShortUrlDomainModel shortUrlDomainModel, String ifNoneMatch) {
+        String etag = etag(shortUrlDomainModel);
+        CacheControl cacheControl = cacheControl(shortUrlDomainModel);
+
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(new ShortUrlResponse(shortUrlDomainModel.getUrlSlug(), shortUrlDomainModel.getOriginalUrl()));
+    }
+
+    CacheControl cacheControl(ShortUrlDomainModel shortUrlDomainModel) {
+        HttpCacheProperties.OwnerPolicy ownerPolicy = properties.owners().get(shortUrlDomainModel.getOwner());
+        if (ownerPolicy != null && ownerPolicy.noStore()) {
+            return CacheControl.noStore();
+        }
+
+        Duration maxAge = ownerPolicy != null && ownerPolicy.maxAge() != null
+                ? ownerPolicy.maxAge()
+                : properties.maxAge();
+
+        OffsetDateTime expirationDate = shortUrlDomainModel.getExpirationDate();
+        if (expirationDate != null) {
+            Duration untilExpiry = Duration.between(OffsetDateTime.now(clock), expirationDate);
+            if (untilExpiry.compareTo(maxAge) < 0) {
+                maxAge = untilExpiry;
+            }
+        }
+
+        if (maxAge.getSeconds() <= 0) {
+            return CacheControl.noStore();
+        }
+
+        return CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    String etag(ShortUrlDomainModel shortUrlDomainModel) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = fnv(hash, shortUrlDomainModel.getUrlSlug());
+        hash = (hash ^ '\n') * FNV_PRIME;
+        hash = fnv(hash, shortUrlDomainModel.getOriginalUrl());
+
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    private static long fnv(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+
+        return hash;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*")) {
+                return true;
+            }
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals(etag)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
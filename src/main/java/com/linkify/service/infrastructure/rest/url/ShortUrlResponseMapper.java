@@ -0,0 +1,87 @@
+package com.linkify.service.infrastructure.rest.url;
+
+import com.linkify.service.application.usecase.OwnerShortUrlsPage;
+import com.linkify.service.application.usecase.UseCaseResult;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.infrastructure.ratelimit.RateLimitDecision;
+import com.linkify.service.infrastructure.rest.handler.ErrorResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class ShortUrlResponseMapper {
+    private final ShortUrlCachePolicy shortUrlCachePolicy;
+
+    @Autowired
+    public ShortUrlResponseMapper(ShortUrlCachePolicy shortUrlCachePolicy) {
+        this.shortUrlCachePolicy = shortUrlCachePolicy;
+    }
+
+    public ResponseEntity<?> fetched(UseCaseResult<ShortUrlDomainModel> result, String slug, String ifNoneMatch) {
+        return switch (result) {
+            case UseCaseResult.Found<ShortUrlDomainModel> found ->
+                    shortUrlCachePolicy.toResponse(found.value(), ifNoneMatch);
+            case UseCaseResult.NotFound<ShortUrlDomainModel> notFound ->
+                    error(HttpStatus.NOT_FOUND, "URL not found for slug: " + slug);
+            case UseCaseResult.Expired<ShortUrlDomainModel> expired -> error(HttpStatus.NOT_FOUND, "URL has expired");
+            case UseCaseResult.Unavailable<ShortUrlDomainModel> unavailable ->
+                    error(HttpStatus.SERVICE_UNAVAILABLE, unavailable.reason());
+            case UseCaseResult.Overloaded<ShortUrlDomainModel> overloaded -> overloaded();
+        };
+    }
+
+    public ResponseEntity<?> created(UseCaseResult<ShortUrlDomainModel> result) {
+        return switch (result) {
+            case UseCaseResult.Found<ShortUrlDomainModel> found -> ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new ShortUrlResponse(found.value().getUrlSlug(), found.value().getOriginalUrl()));
+            case UseCaseResult.Overloaded<ShortUrlDomainModel> overloaded -> overloaded();
+            case UseCaseResult.Unavailable<ShortUrlDomainModel> unavailable ->
+                    error(HttpStatus.SERVICE_UNAVAILABLE, unavailable.reason());
+            case UseCaseResult.NotFound<ShortUrlDomainModel> notFound ->
+                    error(HttpStatus.SERVICE_UNAVAILABLE, "Failed to create short URL");
+            case UseCaseResult.Expired<ShortUrlDomainModel> expired ->
+                    error(HttpStatus.SERVICE_UNAVAILABLE, "Failed to create short URL");
+        };
+    }
+
+    public ResponseEntity<?> listed(UseCaseResult<OwnerShortUrlsPage> result) {
+        if (result instanceof UseCaseResult.Found<OwnerShortUrlsPage> found) {
+            List<OwnerUrlResponse> urls = found.value().shortUrls().stream()
+                    .map(ShortUrlResponseMapper::ownerUrl)
+                    .toList();
+            return ResponseEntity.ok(new OwnerUrlPageResponse(urls, found.value().nextSlug()));
+        }
+
+        return error(HttpStatus.SERVICE_UNAVAILABLE, "Failed to list short URLs");
+    }
+
+    static OwnerUrlResponse ownerUrl(ShortUrlDomainModel shortUrlDomainModel) {
+        return new OwnerUrlResponse(shortUrlDomainModel.getUrlSlug(), shortUrlDomainModel.getOriginalUrl(),
+                shortUrlDomainModel.getExpirationDate());
+    }
+
+    public ResponseEntity<?> badRequest(String message) {
+        return error(HttpStatus.BAD_REQUEST, message);
+    }
+
+    public ResponseEntity<?> tooManyRequests(RateLimitDecision decision) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()))
+                .body(new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests"));
+    }
+
+    private static ResponseEntity<ErrorResponse> overloaded() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service is overloaded"));
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(new ErrorResponse(status.value(), message));
+    }
+}
@@ -4,60 +4,84 @@ import com.linkify.service.application.usecase.CreateShortUrlFromUrlCommand;
 import com.linkify.service.application.usecase.CreateShortUrlFromUrlUseCase;
 import com.linkify.service.application.usecase.FetchShortUrlBySlugCommand;
 import com.linkify.service.application.usecase.FetchShortUrlBySlugUseCase;
-import com.linkify.service.domain.exception.FailedToFetchException;
-import com.linkify.service.domain.exception.UrlNotFoundException;
-import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.infrastructure.logging.AccessLog;
+import com.linkify.service.infrastructure.logging.AccessLogRoutes;
+import com.linkify.service.infrastructure.ratelimit.RateLimitDecision;
+import com.linkify.service.infrastructure.ratelimit.RateLimitScope;
+import com.linkify.service.infrastructure.ratelimit.RateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import org.springframework.http.HttpStatus;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Optional;
-
 @RestController
+@Profile("!reactive")
 @RequestMapping("/v1/urls")
 public class UrlShortenerController {
     private FetchShortUrlBySlugUseCase fetchShortUrlBySlugUseCase;
     private CreateShortUrlFromUrlUseCase createShortUrlFromUrlUseCase;
+    private ShortUrlResponseMapper shortUrlResponseMapper;
+    private AccessLog accessLog;
+    private RateLimiter rateLimiter;
 
     public UrlShortenerController(FetchShortUrlBySlugUseCase fetchShortUrlBySlugUseCase,
-                                  CreateShortUrlFromUrlUseCase createShortUrlFromUrlUseCase) {
+                                  CreateShortUrlFromUrlUseCase createShortUrlFromUrlUseCase,
+                                  ShortUrlResponseMapper shortUrlResponseMapper,
+                                  AccessLog accessLog,
+                                  RateLimiter rateLimiter) {
         this.fetchShortUrlBySlugUseCase = fetchShortUrlBySlugUseCase;
         this.createShortUrlFromUrlUseCase = createShortUrlFromUrlUseCase;
+        this.shortUrlResponseMapper = shortUrlResponseMapper;
+        this.accessLog = accessLog;
+        this.rateLimiter = rateLimiter;
     }
 
     @GetMapping("/{slug}")
-    public ShortUrlResponse getShortUrl(@PathVariable String slug) {
-        FetchShortUrlBySlugCommand command = new FetchShortUrlBySlugCommand(slug);
-        try {
-            Optional<ShortUrlDomainModel> shortUrlDomainModel = fetchShortUrlBySlugUseCase.execute(command);
+    public ResponseEntity<?> getShortUrl(@PathVariable String slug,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH,
+                                                 required = false) String ifNoneMatch,
+                                         HttpServletRequest servletRequest) {
+        long startNanos = System.nanoTime();
+        ResponseEntity<?> response = resolve(slug, ifNoneMatch, servletRequest.getRemoteAddr());
 
-            if (shortUrlDomainModel.isEmpty()) {
-                throw new UrlNotFoundException("Failed to fetch short URL");
-            }
-
-            return new ShortUrlResponse(shortUrlDomainModel.get().getUrlSlug(),
-                    shortUrlDomainModel.get().getOriginalUrl());
-        } catch (FailedToFetchException e) {
-            throw new UrlNotFoundException("Failed to fetch short URL");
-        }
+        accessLog.record(AccessLogRoutes.RESOLVE, response.getStatusCode().value(), slug, startNanos);
+        return response;
     }
 
     @PostMapping
-    public ResponseEntity createShortUrl(@Valid @RequestBody ShortUrlRequest request) {
-        CreateShortUrlFromUrlCommand command = new CreateShortUrlFromUrlCommand(request.originalUrl(),
-                request.owner(), request.expirationDate().isEmpty() ? null : request.expirationDate().get());
-        Optional<ShortUrlDomainModel> shortUrlDomainModel = createShortUrlFromUrlUseCase.execute(command);
+    public ResponseEntity<?> createShortUrl(@Valid @RequestBody ShortUrlRequest request,
+                                            HttpServletRequest servletRequest) {
+        long startNanos = System.nanoTime();
+        ResponseEntity<?> response = create(request, servletRequest.getRemoteAddr());
+
+        accessLog.record(AccessLogRoutes.CREATE, response.getStatusCode().value(),
+                response.getBody() instanceof ShortUrlResponse created ? created.slug() : null, startNanos);
+        return response;
+    }
 
-        if (shortUrlDomainModel.isEmpty()) {
-            throw new UrlNotFoundException("Failed to create short URL");
+    private ResponseEntity<?> resolve(String slug, String ifNoneMatch, String client) {
+        RateLimitDecision decision = rateLimiter.tryAcquire(RateLimitScope.RESOLVE_CLIENT, client);
+        if (!decision.allowed()) {
+            return shortUrlResponseMapper.tooManyRequests(decision);
         }
 
-        ShortUrlResponse response = new ShortUrlResponse(
-                shortUrlDomainModel.get().getUrlSlug(),
-                shortUrlDomainModel.get().getOriginalUrl()
-        );
+        FetchShortUrlBySlugCommand command = new FetchShortUrlBySlugCommand(slug);
+        return shortUrlResponseMapper.fetched(fetchShortUrlBySlugUseCase.execute(command), slug, ifNoneMatch);
+    }
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    private ResponseEntity<?> create(ShortUrlRequest request, String client) {
+        RateLimitDecision decision = rateLimiter.tryAcquire(RateLimitScope.CREATE_CLIENT, client);
+        if (decision.allowed()) {
+            decision = rateLimiter.tryAcquire(RateLimitScope.CREATE_OWNER, request.owner());
+        }
+        if (!decision.allowed()) {
+            return shortUrlResponseMapper.tooManyRequests(decision);
+        }
+
+        CreateShortUrlFromUrlCommand command = new CreateShortUrlFromUrlCommand(request.originalUrl(),
+                request.owner(), request.expirationDate().isEmpty() ? null : request.expirationDate().get());
+        return shortUrlResponseMapper.created(createShortUrlFromUrlUseCase.execute(command));
     }
 }
@@ -0,0 +1,42 @@
+package com.linkify.service.infrastructure.scheduling;
+
+import com.linkify.service.infrastructure.persistence.embedded.EmbeddedShortUrlStore;
+import com.linkify.service.infrastructure.persistence.embedded.EmbeddedStorageProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+
+@Component
+@Profile("embedded")
+public class EmbeddedStoreCompactor {
+    Logger logger = LoggerFactory.getLogger(EmbeddedStoreCompactor.class);
+
+    private final EmbeddedShortUrlStore embeddedShortUrlStore;
+    private final EmbeddedStorageProperties properties;
+
+    @Autowired
+    public EmbeddedStoreCompactor(EmbeddedShortUrlStore embeddedShortUrlStore, EmbeddedStorageProperties properties) {
+        this.embeddedShortUrlStore = embeddedShortUrlStore;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${linkify.embedded.compaction-cron:0 */30 * * * *}")
+    public void compact() {
+        try {
+            EmbeddedShortUrlStore.CompactionResult result = embeddedShortUrlStore.compact(
+                    Instant.now().minus(properties.compactionGracePeriod()), properties.compactionGarbageRatio());
+            if (result.segmentsRewritten() > 0) {
+                logger.info("Compacted {} segments of the embedded store, dropped {} expired links, reclaimed {} bytes",
+                        result.segmentsRewritten(), result.droppedLinks(), result.reclaimedBytes());
+            }
+        } catch (IOException e) {
+            logger.error("Failed to compact the embedded store", e);
+        }
+    }
+}
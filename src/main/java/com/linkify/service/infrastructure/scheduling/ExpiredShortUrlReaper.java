@@ -0,0 +1,59 @@
+package com.linkify.service.infrastructure.scheduling;
+
+import com.linkify.service.application.usecase.ReapExpiredShortUrlsCommand;
+import com.linkify.service.application.usecase.ReapExpiredShortUrlsReport;
+import com.linkify.service.application.usecase.ReapExpiredShortUrlsUseCase;
+import com.linkify.service.application.usecase.UseCaseResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+@Component
+@Profile("!embedded")
+public class ExpiredShortUrlReaper {
+    Logger logger = LoggerFactory.getLogger(ExpiredShortUrlReaper.class);
+
+    private final ReapExpiredShortUrlsUseCase reapExpiredShortUrlsUseCase;
+    private final ExpiredShortUrlReaperProperties properties;
+
+    private volatile ReapExpiredShortUrlsReport lastReport;
+
+    @Autowired
+    public ExpiredShortUrlReaper(ReapExpiredShortUrlsUseCase reapExpiredShortUrlsUseCase,
+                                 ExpiredShortUrlReaperProperties properties) {
+        this.reapExpiredShortUrlsUseCase = reapExpiredShortUrlsUseCase;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${linkify.reaper.cron:0 */10 * * * *}")
+    public void reap() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        ReapExpiredShortUrlsCommand command = new ReapExpiredShortUrlsCommand(
+                OffsetDateTime.now().minus(properties.gracePeriod()),
+                properties.batchSize(),
+                properties.maxBatchesPerPartition(),
+                properties.pauseBetweenBatches()
+        );
+
+        UseCaseResult<ReapExpiredShortUrlsReport> result = reapExpiredShortUrlsUseCase.execute(command);
+        if (result instanceof UseCaseResult.Found<ReapExpiredShortUrlsReport> found) {
+            lastReport = found.value();
+            logger.info("Reaped {} expired short URLs ({} per partition), evicted {} cache keys in {} ms, " +
+                            "failed partitions: {}", lastReport.totalReclaimedRows(), lastReport.reclaimedRows(),
+                    lastReport.evictedKeys(), lastReport.duration().toMillis(), lastReport.failedPartitions());
+        }
+    }
+
+    public Optional<ReapExpiredShortUrlsReport> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+}
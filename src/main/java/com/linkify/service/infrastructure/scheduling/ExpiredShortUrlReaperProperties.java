@@ -0,0 +1,15 @@
+package com.linkify.service.infrastructure.scheduling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "linkify.reaper")
+public record ExpiredShortUrlReaperProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("100") int maxBatchesPerPartition,
+        @DefaultValue("50ms") Duration pauseBetweenBatches,
+        @DefaultValue("1d") Duration gracePeriod) {
+}
@@ -0,0 +1,78 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Re-creates the still empty short_url table of a new install with the partition count from the
+ * {@code short_url_partitions} placeholder. Tables that already hold rows are left alone; they are moved to a new
+ * partition count online with the repartition profile. The DDL is the layout as of this version; later migrations
+ * change it like any other table.
+ */
+public class V2__Configurable_short_url_partitions extends BaseJavaMigration {
+    Logger logger = LoggerFactory.getLogger(V2__Configurable_short_url_partitions.class);
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        int partitions = Integer.parseInt(
+                context.getConfiguration().getPlaceholders().getOrDefault("short_url_partitions", "4"));
+
+        try (Statement statement = context.getConnection().createStatement()) {
+            int current = count(statement, "SELECT count(*) FROM pg_inherits " +
+                    "WHERE inhparent = 'short_url'::regclass");
+            if (current == partitions) {
+                return;
+            }
+
+            if (count(statement, "SELECT count(*) FROM (SELECT 1 FROM short_url LIMIT 1) AS any_row") > 0) {
+                logger.warn("short_url already holds rows, keeping its {} partitions instead of {}", current,
+                        partitions);
+                return;
+            }
+
+            statement.execute("DROP TABLE short_url");
+            for (String sql : createTable(partitions)) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private static List<String> createTable(int partitions) {
+        List<String> statements = new ArrayList<>();
+        statements.add("CREATE TABLE short_url (" +
+                "slug VARCHAR(16) NOT NULL, " +
+                "id SERIAL, " +
+                "owner VARCHAR(16) NOT NULL, " +
+                "original_url VARCHAR(2048) NOT NULL, " +
+                "expires_at TIMESTAMPTZ NULL, " +
+                "PRIMARY KEY (slug, id), " +
+                "CONSTRAINT unique_slug UNIQUE(slug)) " +
+                "PARTITION BY HASH (slug)");
+
+        for (int remainder = 0; remainder < partitions; remainder++) {
+            String partition = "short_url_p" + remainder;
+            statements.add("CREATE TABLE " + partition + " PARTITION OF short_url" +
+                    " FOR VALUES WITH (MODULUS " + partitions + ", REMAINDER " + remainder + ")");
+            statements.add("CREATE INDEX idx_owner_original_url_p" + remainder +
+                    " ON " + partition + "(owner, original_url)");
+            statements.add("CREATE INDEX idx_short_url_expires_at_p" + remainder +
+                    " ON " + partition + "(expires_at)");
+        }
+        return statements;
+    }
+
+    private static int count(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores slugs as the 64-bit value their 11 base64url characters encode. short_url is partitioned by slug, whose type
+ * cannot be altered in place, so its rows are copied into a BIGINT table with the same partition count which then
+ * takes its name. short_url_expiring is partitioned by expiry and is altered in place. Both tables are locked while
+ * this runs; large installs should schedule it like any other offline migration. The shadow table DDL is the layout
+ * as of this version.
+ */
+public class V4__Binary_slugs extends BaseJavaMigration {
+    private static final String TABLE = "short_url";
+    private static final String SHADOW_SUFFIX = "_next";
+    private static final String DECODE = "('x' || encode(decode(translate(slug, '-_', '+/') || '=', 'base64'), " +
+            "'hex'))::bit(64)::bigint";
+
+    Logger logger = LoggerFactory.getLogger(V4__Binary_slugs.class);
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            if (!isBigint(statement, "short_url")) {
+                rebuildShortUrl(statement);
+            }
+            if (!isBigint(statement, "short_url_expiring")) {
+                statement.execute("ALTER TABLE short_url_expiring ALTER COLUMN slug TYPE BIGINT USING " + DECODE);
+            }
+        }
+    }
+
+    private void rebuildShortUrl(Statement statement) throws SQLException {
+        String table = TABLE;
+        String shadow = table + SHADOW_SUFFIX;
+        int partitions = count(statement, "SELECT count(*) FROM pg_inherits WHERE inhparent = '" + table +
+                "'::regclass");
+
+        statement.execute("LOCK TABLE " + table + " IN ACCESS EXCLUSIVE MODE");
+        for (String sql : createShadowTable(partitions)) {
+            statement.execute(sql);
+        }
+        int copied = statement.executeUpdate("INSERT INTO " + shadow + " (slug, id, owner, original_url, expires_at) " +
+                "SELECT " + DECODE + ", id, owner, original_url, expires_at FROM " + table);
+
+        statement.execute("ALTER SEQUENCE short_url_id_seq OWNED BY NONE");
+        statement.execute("DROP TABLE " + table);
+
+        List<String> tables = names(statement, "SELECT child.relname FROM pg_inherits " +
+                "JOIN pg_class child ON child.oid = pg_inherits.inhrelid " +
+                "WHERE pg_inherits.inhparent = '" + shadow + "'::regclass");
+        tables.add(shadow);
+        for (String name : tables) {
+            for (String index : names(statement, "SELECT indexname FROM pg_indexes " +
+                    "WHERE schemaname = current_schema() AND tablename = '" + name + "'")) {
+                statement.execute("ALTER INDEX " + index + " RENAME TO " + withoutSuffix(index));
+            }
+            statement.execute("ALTER TABLE " + name + " RENAME TO " + withoutSuffix(name));
+        }
+        statement.execute("ALTER SEQUENCE short_url_id_seq OWNED BY " + table + ".id");
+
+        logger.info("Rewrote {} short_url rows across {} partitions with BIGINT slugs", copied, partitions);
+    }
+
+    private static List<String> createShadowTable(int partitions) {
+        String shadow = TABLE + SHADOW_SUFFIX;
+        List<String> statements = new ArrayList<>();
+        statements.add("CREATE TABLE " + shadow + " (" +
+                "slug BIGINT NOT NULL, " +
+                "id INTEGER NOT NULL DEFAULT nextval('short_url_id_seq'), " +
+                "owner VARCHAR(16) NOT NULL, " +
+                "original_url VARCHAR(2048) NOT NULL, " +
+                "expires_at TIMESTAMPTZ NULL, " +
+                "PRIMARY KEY (slug, id), " +
+                "CONSTRAINT unique_slug" + SHADOW_SUFFIX + " UNIQUE(slug)) " +
+                "PARTITION BY HASH (slug)");
+
+        for (int remainder = 0; remainder < partitions; remainder++) {
+            String partition = shadow + "_p" + remainder;
+            statements.add("CREATE TABLE " + partition + " PARTITION OF " + shadow +
+                    " FOR VALUES WITH (MODULUS " + partitions + ", REMAINDER " + remainder + ")");
+            statements.add("CREATE INDEX idx_owner_original_url" + SHADOW_SUFFIX + "_p" + remainder +
+                    " ON " + partition + "(owner, original_url)");
+            statements.add("CREATE INDEX idx_short_url_expires_at" + SHADOW_SUFFIX + "_p" + remainder +
+                    " ON " + partition + "(expires_at)");
+        }
+        return statements;
+    }
+
+    private static boolean isBigint(Statement statement, String table) throws SQLException {
+        return count(statement, "SELECT count(*) FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = '" + table + "' " +
+                "AND column_name = 'slug' AND data_type = 'bigint'") > 0;
+    }
+
+    private static String withoutSuffix(String name) {
+        return name.replace(SHADOW_SUFFIX, "");
+    }
+
+    private static List<String> names(Statement statement, String sql) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                names.add(resultSet.getString(1));
+            }
+        }
+        return names;
+    }
+
+    private static int count(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds original_url_packed next to original_url. Links written with URL compression enabled keep their URL there,
+ * packed with a versioned dictionary, and leave original_url empty. Existing rows are not rewritten.
+ */
+public class V5__Packed_original_url extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : List.of("short_url", "short_url_expiring")) {
+                statement.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS original_url_packed BYTEA");
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN original_url DROP NOT NULL");
+            }
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_short_url_expiring_owner_original_url_packed " +
+                    "ON short_url_expiring(owner, original_url_packed)");
+
+            List<String> partitions = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery("SELECT child.relname FROM pg_inherits " +
+                    "JOIN pg_class child ON child.oid = pg_inherits.inhrelid " +
+                    "WHERE pg_inherits.inhparent = 'short_url'::regclass")) {
+                while (resultSet.next()) {
+                    partitions.add(resultSet.getString(1));
+                }
+            }
+            for (String partition : partitions) {
+                int remainder = Integer.parseInt(partition.substring(partition.lastIndexOf("_p") + 2));
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_owner_original_url_packed_p" + remainder +
+                        " ON " + partition + "(owner, original_url_packed)");
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds url_target, one row per distinct destination keyed by its fingerprint, and the target_fingerprint column links
+ * written with URL targets enabled use instead of their own URL columns. Existing rows keep their inline URLs.
+ */
+public class V6__Url_targets extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS url_target (" +
+                    "fingerprint BYTEA PRIMARY KEY, " +
+                    "original_url VARCHAR(2048) NULL, " +
+                    "original_url_packed BYTEA NULL)");
+
+            for (String table : List.of("short_url", "short_url_expiring")) {
+                statement.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS target_fingerprint BYTEA");
+            }
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_short_url_expiring_owner_target " +
+                    "ON short_url_expiring(owner, target_fingerprint)");
+
+            List<String> partitions = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery("SELECT child.relname FROM pg_inherits " +
+                    "JOIN pg_class child ON child.oid = pg_inherits.inhrelid " +
+                    "WHERE pg_inherits.inhparent = 'short_url'::regclass")) {
+                while (resultSet.next()) {
+                    partitions.add(resultSet.getString(1));
+                }
+            }
+            for (String partition : partitions) {
+                int remainder = Integer.parseInt(partition.substring(partition.lastIndexOf("_p") + 2));
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_owner_target_p" + remainder +
+                        " ON " + partition + "(owner, target_fingerprint)");
+            }
+        }
+    }
+}
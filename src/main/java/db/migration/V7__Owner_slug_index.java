@@ -0,0 +1,38 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds (owner, slug) indexes so an owner's links can be paged in slug order without scanning.
+ */
+public class V7__Owner_slug_index extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_short_url_expiring_owner_slug " +
+                    "ON short_url_expiring(owner, slug)");
+
+            List<String> partitions = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery("SELECT child.relname FROM pg_inherits " +
+                    "JOIN pg_class child ON child.oid = pg_inherits.inhrelid " +
+                    "WHERE pg_inherits.inhparent = 'short_url'::regclass")) {
+                while (resultSet.next()) {
+                    partitions.add(resultSet.getString(1));
+                }
+            }
+            for (String partition : partitions) {
+                int remainder = Integer.parseInt(partition.substring(partition.lastIndexOf("_p") + 2));
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_owner_slug_p" + remainder +
+                        " ON " + partition + "(owner, slug)");
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package db.migration;
+
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressionProperties;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressor;
+import com.linkify.service.infrastructure.persistence.target.UrlFingerprint;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds original_url_hash, the {@link UrlFingerprint} of a link's plain URL, which owner lookups match on however the
+ * URL itself is stored. Existing rows are backfilled: plain rows in SQL, rows referencing a target from their
+ * fingerprint, and packed rows by unpacking them with the shipped dictionaries, which are never edited. The owner
+ * indexes on the plain, packed and target columns are replaced by one on (owner, original_url_hash).
+ */
+public class V8__Original_url_hash extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (String table : List.of("short_url", "short_url_expiring")) {
+                statement.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS original_url_hash BYTEA");
+                statement.execute("UPDATE " + table + " SET original_url_hash = target_fingerprint " +
+                        "WHERE original_url_hash IS NULL AND target_fingerprint IS NOT NULL");
+                statement.execute("UPDATE " + table + " SET original_url_hash = " +
+                        "substring(sha256(convert_to(original_url, 'UTF8')) FROM 1 FOR " + UrlFingerprint.BYTES +
+                        ") WHERE original_url_hash IS NULL AND original_url IS NOT NULL");
+                backfillPacked(connection, table);
+            }
+
+            for (String index : List.of("owner_original_url", "owner_original_url_packed", "owner_target")) {
+                statement.execute("DROP INDEX IF EXISTS idx_short_url_expiring_" + index);
+            }
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_short_url_expiring_owner_original_url_hash " +
+                    "ON short_url_expiring(owner, original_url_hash)");
+
+            List<String> partitions = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery("SELECT child.relname FROM pg_inherits " +
+                    "JOIN pg_class child ON child.oid = pg_inherits.inhrelid " +
+                    "WHERE pg_inherits.inhparent = 'short_url'::regclass")) {
+                while (resultSet.next()) {
+                    partitions.add(resultSet.getString(1));
+                }
+            }
+            for (String partition : partitions) {
+                int remainder = Integer.parseInt(partition.substring(partition.lastIndexOf("_p") + 2));
+                for (String index : List.of("owner_original_url", "owner_original_url_packed", "owner_target")) {
+                    statement.execute("DROP INDEX IF EXISTS idx_" + index + "_p" + remainder);
+                }
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_owner_original_url_hash_p" + remainder +
+                        " ON " + partition + "(owner, original_url_hash)");
+            }
+        }
+    }
+
+    private static void backfillPacked(Connection connection, String table) throws SQLException {
+        UrlCompressor urlCompressor = new UrlCompressor(new UrlCompressionProperties(false, 1));
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement("UPDATE " + table +
+                     " SET original_url_hash = ? WHERE slug = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet resultSet = select.executeQuery("SELECT slug, original_url_packed FROM " + table +
+                    " WHERE original_url_hash IS NULL AND original_url_packed IS NOT NULL")) {
+                int batched = 0;
+                while (resultSet.next()) {
+                    String originalUrl = urlCompressor.decompress(resultSet.getBytes("original_url_packed"));
+                    update.setBytes(1, UrlFingerprint.of(originalUrl).toBytes());
+                    update.setLong(2, resultSet.getLong("slug"));
+                    update.addBatch();
+                    if (++batched == BATCH_SIZE) {
+                        update.executeBatch();
+                        batched = 0;
+                    }
+                }
+                if (batched > 0) {
+                    update.executeBatch();
+                }
+            }
+        }
+    }
+}
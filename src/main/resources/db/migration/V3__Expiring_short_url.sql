@@ -0,0 +1,11 @@
+CREATE TABLE short_url_expiring (
+    slug VARCHAR(16) NOT NULL,
+    id INTEGER NOT NULL DEFAULT nextval('short_url_id_seq'),
+    owner VARCHAR(16) NOT NULL,
+    original_url VARCHAR(2048) NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL,
+    PRIMARY KEY (slug, expires_at)
+)
+PARTITION BY RANGE (expires_at);
+
+CREATE INDEX idx_short_url_expiring_owner_original_url ON short_url_expiring(owner, original_url);
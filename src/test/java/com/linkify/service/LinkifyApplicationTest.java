@@ -0,0 +1,29 @@
+package com.linkify.service;
+
+import com.linkify.service.infrastructure.persistence.ShortUrlDatabaseRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Flyway is off so the context starts without PostgreSQL; the pools and Redis connect lazily.
+@SpringBootTest(properties = "spring.flyway.enabled=false")
+public class LinkifyApplicationTest {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    public void testDefaultProfileWiresJdbcAndNotR2dbc() {
+        // Then
+        assertEquals(1, applicationContext.getBeanNamesForType(DataSource.class).length);
+        assertNotNull(applicationContext.getBean(NamedParameterJdbcTemplate.class));
+        assertNotNull(applicationContext.getBean(ShortUrlDatabaseRepository.class));
+        assertEquals(0, applicationContext.getBeanNamesForType(ConnectionFactory.class).length);
+    }
+}
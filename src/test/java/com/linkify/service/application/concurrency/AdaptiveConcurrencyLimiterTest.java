@@ -0,0 +1,101 @@
+package com.linkify.service.application.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+    private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void testRejectsWhenLimitIsReached() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(2), clock::get);
+
+        // When
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire().orElseThrow();
+        AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire().orElseThrow();
+
+        // Then
+        assertTrue(limiter.tryAcquire().isEmpty());
+        first.complete(true);
+        assertTrue(limiter.tryAcquire().isPresent());
+        second.complete(true);
+    }
+
+    @Test
+    public void testLimitGrowsWhileLatencyStaysLow() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(4), clock::get);
+
+        // When
+        for (int round = 0; round < 5; round++) {
+            runBatch(limiter, limiter.getLimit(), 10 * MILLISECOND, true);
+        }
+
+        // Then
+        assertTrue(limiter.getLimit() > 4);
+    }
+
+    @Test
+    public void testLimitBacksOffWhenLatencyRises() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(40), clock::get);
+        runBatch(limiter, 1, 10 * MILLISECOND, true);
+
+        // When
+        runBatch(limiter, 10, 100 * MILLISECOND, true);
+
+        // Then
+        assertTrue(limiter.getLimit() < 40);
+    }
+
+    @Test
+    public void testLimitBacksOffOnFailuresButNotBelowMinimum() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(properties(10), clock::get);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            runBatch(limiter, 1, MILLISECOND, false);
+        }
+
+        // Then
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    public void testDisabledLimiterNeverRejects() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new ConcurrencyLimitProperties(false, 1, 1, 1, 0.9, 2.0, Duration.ofSeconds(30)), clock::get
+        );
+
+        // When & Then
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire().isPresent());
+        }
+    }
+
+    private void runBatch(AdaptiveConcurrencyLimiter limiter, int size, long latencyNanos, boolean succeeded) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            limiter.tryAcquire().ifPresent(permits::add);
+        }
+
+        clock.addAndGet(latencyNanos);
+        permits.forEach(permit -> permit.complete(succeeded));
+    }
+
+    private static ConcurrencyLimitProperties properties(int initialLimit) {
+        return new ConcurrencyLimitProperties(true, initialLimit, 2, 100, 0.9, 2.0, Duration.ofMinutes(10));
+    }
+}
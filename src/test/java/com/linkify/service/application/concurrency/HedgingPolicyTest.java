@@ -0,0 +1,85 @@
+package com.linkify.service.application.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HedgingPolicyTest {
+    private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testHedgeDelayFollowsPercentileOfRecordedLatencies() {
+        // Given
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(properties(10));
+        for (int i = 1; i <= 100; i++) {
+            hedgingPolicy.recordPrimaryLatency(i * MILLISECOND / 10);
+        }
+
+        // When
+        hedgingPolicy.recomputeHedgeDelay();
+
+        // Then
+        assertEquals(95 * MILLISECOND / 10, hedgingPolicy.getHedgeDelayNanos());
+        hedgingPolicy.close();
+    }
+
+    @Test
+    public void testHedgeDelayStaysAtMaximumUntilEnoughSamples() {
+        // Given
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(properties(10));
+        for (int i = 0; i < 99; i++) {
+            hedgingPolicy.recordPrimaryLatency(MILLISECOND);
+        }
+
+        // When
+        hedgingPolicy.recomputeHedgeDelay();
+
+        // Then
+        assertEquals(20 * MILLISECOND, hedgingPolicy.getHedgeDelayNanos());
+        hedgingPolicy.close();
+    }
+
+    @Test
+    public void testBudgetIsSpentAndEarnedBackByLookups() {
+        // Given
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(properties(2));
+
+        // When
+        boolean first = hedgingPolicy.tryHedge();
+        boolean second = hedgingPolicy.tryHedge();
+        boolean spent = hedgingPolicy.tryHedge();
+        for (int i = 0; i < 20; i++) {
+            hedgingPolicy.recordPrimaryLatency(MILLISECOND);
+        }
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(spent);
+        assertTrue(hedgingPolicy.tryHedge());
+        assertFalse(hedgingPolicy.tryHedge());
+        hedgingPolicy.close();
+    }
+
+    @Test
+    public void testCloseShutsDownHedgeExecutor() {
+        // Given
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(properties(10));
+
+        // When
+        hedgingPolicy.close();
+
+        // Then
+        assertThrows(RejectedExecutionException.class, () -> hedgingPolicy.executor().execute(() -> {
+        }));
+        hedgingPolicy.recordPrimaryLatency(MILLISECOND);
+    }
+
+    private static HedgingProperties properties(int maxBurst) {
+        return new HedgingProperties(true, 0.95, Duration.ofMillis(1), Duration.ofMillis(20), 0.05, maxBurst);
+    }
+}
@@ -0,0 +1,81 @@
+package com.linkify.service.application.metrics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShortUrlFlightEventTest {
+
+    @Test
+    public void testCompletedEventRecordsSlugHashTierAndOutcome() throws Exception {
+        // Given
+        try (Recording recording = new Recording()) {
+            recording.enable(CacheLookupEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            // When
+            CacheLookupEvent event = new CacheLookupEvent();
+            event.begin();
+            event.complete(CacheLookupEvent.CACHE, "aBc123", CacheLookupEvent.HIT);
+            recording.stop();
+
+            // Then
+            List<RecordedEvent> events = events(recording, "linkify.CacheLookup");
+            assertEquals(1, events.size());
+            assertEquals("aBc123".hashCode(), events.get(0).getInt("slugHash"));
+            assertEquals("cache", events.get(0).getString("tier"));
+            assertEquals("hit", events.get(0).getString("outcome"));
+        }
+    }
+
+    @Test
+    public void testBundledSettingsDropFastLookupsAndKeepSlugCollisions() throws Exception {
+        // Given
+        Configuration configuration;
+        try (Reader reader = new InputStreamReader(getClass().getResourceAsStream("/jfr/linkify.jfc"),
+                StandardCharsets.UTF_8)) {
+            configuration = Configuration.create(reader);
+        }
+
+        try (Recording recording = new Recording(configuration)) {
+            recording.start();
+
+            // When
+            DatabaseLookupEvent databaseLookup = new DatabaseLookupEvent();
+            databaseLookup.begin();
+            databaseLookup.complete(DatabaseLookupEvent.DATABASE, "aBc123", DatabaseLookupEvent.MISS);
+            SlugCollisionEvent.retried(SlugCollisionEvent.DATABASE, "aBc123");
+            recording.stop();
+
+            // Then
+            assertTrue(events(recording, "linkify.DatabaseLookup").isEmpty());
+            List<RecordedEvent> collisions = events(recording, "linkify.SlugCollision");
+            assertEquals(1, collisions.size());
+            assertEquals("retried", collisions.get(0).getString("outcome"));
+        }
+    }
+
+    private static List<RecordedEvent> events(Recording recording, String name) throws Exception {
+        Path file = Files.createTempFile("linkify", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(name))
+                    .toList();
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
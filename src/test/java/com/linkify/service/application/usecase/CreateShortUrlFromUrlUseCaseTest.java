@@ -1,15 +1,20 @@
 package com.linkify.service.application.usecase;
 
+import com.linkify.service.application.concurrency.AdaptiveConcurrencyLimiter;
+import com.linkify.service.application.concurrency.ConcurrencyLimitProperties;
 import com.linkify.service.domain.event.ShortLinkCreatedEvent;
 import com.linkify.service.domain.exception.FailedToPersistException;
 import com.linkify.service.domain.model.ShortUrlDomainModel;
 import com.linkify.service.domain.port.ShortUrlPersistence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.Optional;
 
@@ -21,6 +26,8 @@ public class CreateShortUrlFromUrlUseCaseTest {
 
     private CreateShortUrlFromUrlUseCase createShortUrlFromUrlUseCase;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Mock
     private ShortUrlPersistence shortUrlCacheRepository;
 
@@ -30,11 +37,16 @@ public class CreateShortUrlFromUrlUseCaseTest {
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        adaptiveConcurrencyLimiter = new AdaptiveConcurrencyLimiter(
+                new ConcurrencyLimitProperties(true, 1, 1, 10, 0.9, 2.0, Duration.ofSeconds(30))
+        );
         createShortUrlFromUrlUseCase = new CreateShortUrlFromUrlUseCase(shortUrlCacheRepository,
-                shortUrlDatabaseRepository, applicationEventPublisher);
+                shortUrlDatabaseRepository, applicationEventPublisher, adaptiveConcurrencyLimiter, meterRegistry);
     }
 
     @Test
@@ -49,13 +61,12 @@ public class CreateShortUrlFromUrlUseCaseTest {
                 .thenReturn(Optional.of(cachedShortUrl));
 
         // When
-        Optional<ShortUrlDomainModel> result = createShortUrlFromUrlUseCase.execute(
+        UseCaseResult<ShortUrlDomainModel> result = createShortUrlFromUrlUseCase.execute(
                 new CreateShortUrlFromUrlCommand(originalUrl, owner, expirationDate)
         );
 
         // Then
-        assertTrue(result.isPresent());
-        assertEquals(cachedShortUrl, result.get());
+        assertEquals(UseCaseResult.found(cachedShortUrl), result);
         verify(shortUrlCacheRepository).getByOwnerAndOriginalUrl(owner, originalUrl);
         verify(shortUrlDatabaseRepository, never()).getByOwnerAndOriginalUrl(any(), any());
         verify(shortUrlDatabaseRepository, never()).save(any());
@@ -76,13 +87,12 @@ public class CreateShortUrlFromUrlUseCaseTest {
                 .thenReturn(Optional.of(dbShortUrl));
 
         // When
-        Optional<ShortUrlDomainModel> result = createShortUrlFromUrlUseCase.execute(
+        UseCaseResult<ShortUrlDomainModel> result = createShortUrlFromUrlUseCase.execute(
                 new CreateShortUrlFromUrlCommand(originalUrl, owner, expirationDate)
         );
 
         // Then
-        assertTrue(result.isPresent());
-        assertEquals(dbShortUrl, result.get());
+        assertEquals(UseCaseResult.found(dbShortUrl), result);
         verify(shortUrlCacheRepository).getByOwnerAndOriginalUrl(owner, originalUrl);
         verify(shortUrlDatabaseRepository).getByOwnerAndOriginalUrl(owner, originalUrl);
         verify(shortUrlDatabaseRepository, never()).save(any());
@@ -102,20 +112,23 @@ public class CreateShortUrlFromUrlUseCaseTest {
                 .thenReturn(Optional.empty());
 
         // When
-        Optional<ShortUrlDomainModel> result = createShortUrlFromUrlUseCase.execute(
+        UseCaseResult<ShortUrlDomainModel> result = createShortUrlFromUrlUseCase.execute(
                 new CreateShortUrlFromUrlCommand(originalUrl, owner, expirationDate)
         );
 
         // Then
-        assertTrue(result.isPresent());
-        assertEquals(originalUrl, result.get().getOriginalUrl());
-        assertNotNull(result.get().getUrlSlug());
+        UseCaseResult.Found<?> found = assertInstanceOf(UseCaseResult.Found.class, result);
+        ShortUrlDomainModel created = (ShortUrlDomainModel) found.value();
+        assertEquals(originalUrl, created.getOriginalUrl());
+        assertNotNull(created.getUrlSlug());
 
         verify(shortUrlCacheRepository).getByOwnerAndOriginalUrl(owner, originalUrl);
         verify(shortUrlDatabaseRepository).getByOwnerAndOriginalUrl(owner, originalUrl);
         verify(shortUrlDatabaseRepository).save(any(ShortUrlDomainModel.class));
         verify(shortUrlCacheRepository).save(any(ShortUrlDomainModel.class));
         verify(applicationEventPublisher).publishEvent(any(ShortLinkCreatedEvent.class));
+        assertEquals(1, meterRegistry.get("linkify.create.outcomes").tag("outcome", "created").counter().count());
+        assertEquals(1, meterRegistry.get("linkify.create").timer().count());
     }
 
     @Test
@@ -134,12 +147,12 @@ public class CreateShortUrlFromUrlUseCaseTest {
                 .when(shortUrlCacheRepository).save(any(ShortUrlDomainModel.class));
 
         // When
-        Optional<ShortUrlDomainModel> result = createShortUrlFromUrlUseCase.execute(
+        UseCaseResult<ShortUrlDomainModel> result = createShortUrlFromUrlUseCase.execute(
                 new CreateShortUrlFromUrlCommand(originalUrl, owner, expirationDate)
         );
 
         // Then
-        assertTrue(result.isEmpty());
+        assertInstanceOf(UseCaseResult.Unavailable.class, result);
 
         verify(shortUrlCacheRepository).getByOwnerAndOriginalUrl(owner, originalUrl);
         verify(shortUrlDatabaseRepository).getByOwnerAndOriginalUrl(owner, originalUrl);
@@ -147,4 +160,77 @@ public class CreateShortUrlFromUrlUseCaseTest {
         verify(shortUrlCacheRepository).save(any(ShortUrlDomainModel.class));
         verify(applicationEventPublisher).publishEvent(any(ShortLinkCreatedEvent.class));
     }
+
+    @Test
+    public void testExecuteReturnsUnavailableWhenDatabaseIsDown() {
+        // Given
+        String owner = "owner";
+        String originalUrl = "http://example.com";
+
+        when(shortUrlCacheRepository.getByOwnerAndOriginalUrl(owner, originalUrl))
+                .thenReturn(Optional.empty());
+        when(shortUrlDatabaseRepository.getByOwnerAndOriginalUrl(owner, originalUrl))
+                .thenReturn(Optional.empty());
+        doThrow(new DataAccessResourceFailureException("Connection refused"))
+                .when(shortUrlDatabaseRepository).save(any(ShortUrlDomainModel.class));
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = createShortUrlFromUrlUseCase.execute(
+                new CreateShortUrlFromUrlCommand(originalUrl, owner, null)
+        );
+
+        // Then
+        UseCaseResult.Unavailable<?> unavailable = assertInstanceOf(UseCaseResult.Unavailable.class, result);
+        assertEquals("Failed to create short URL", unavailable.reason());
+        verify(shortUrlCacheRepository, never()).save(any());
+        verify(applicationEventPublisher, never()).publishEvent(any());
+        assertEquals(1, meterRegistry.get("linkify.create.outcomes").tag("outcome", "failed").counter().count());
+        assertEquals(0, adaptiveConcurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    public void testExecuteCreatesNewShortUrlWhenStoredOneHasExpired() {
+        // Given
+        String owner = "owner";
+        String originalUrl = "http://example.com";
+        ShortUrlDomainModel expiredShortUrl = ShortUrlDomainModel.restore(originalUrl, owner, "expiredSlug",
+                OffsetDateTime.now().minusDays(1));
+
+        when(shortUrlCacheRepository.getByOwnerAndOriginalUrl(owner, originalUrl))
+                .thenReturn(Optional.empty());
+        when(shortUrlDatabaseRepository.getByOwnerAndOriginalUrl(owner, originalUrl))
+                .thenReturn(Optional.of(expiredShortUrl));
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = createShortUrlFromUrlUseCase.execute(
+                new CreateShortUrlFromUrlCommand(originalUrl, owner, null)
+        );
+
+        // Then
+        assertInstanceOf(UseCaseResult.Found.class, result);
+        assertNotEquals(UseCaseResult.found(expiredShortUrl), result);
+        verify(shortUrlDatabaseRepository).save(any(ShortUrlDomainModel.class));
+    }
+
+    @Test
+    public void testExecuteShedsCreationWhenConcurrencyLimitIsReached() {
+        // Given
+        String owner = "owner";
+        String originalUrl = "http://example.com";
+        AdaptiveConcurrencyLimiter.Permit permit = adaptiveConcurrencyLimiter.tryAcquire().orElseThrow();
+
+        when(shortUrlCacheRepository.getByOwnerAndOriginalUrl(owner, originalUrl))
+                .thenReturn(Optional.empty());
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = createShortUrlFromUrlUseCase.execute(
+                new CreateShortUrlFromUrlCommand(originalUrl, owner, null)
+        );
+
+        // Then
+        assertInstanceOf(UseCaseResult.Overloaded.class, result);
+        verifyNoInteractions(shortUrlDatabaseRepository);
+        assertEquals(1, adaptiveConcurrencyLimiter.getInFlight());
+        permit.complete(true);
+    }
 }
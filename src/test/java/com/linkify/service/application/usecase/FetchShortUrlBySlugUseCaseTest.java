@@ -1,18 +1,25 @@
 package com.linkify.service.application.usecase;
 
+import com.linkify.service.application.concurrency.AdaptiveConcurrencyLimiter;
+import com.linkify.service.application.concurrency.ConcurrencyLimitProperties;
+import com.linkify.service.application.concurrency.HedgingPolicy;
+import com.linkify.service.application.concurrency.HedgingProperties;
 import com.linkify.service.domain.event.ShortLinkFetchedEvent;
 import com.linkify.service.domain.exception.FailedToFetchException;
-import com.linkify.service.domain.exception.UrlNotFoundException;
+import com.linkify.service.domain.exception.FailedToPersistException;
 import com.linkify.service.domain.model.ShortUrlDomainModel;
-import com.linkify.service.infrastructure.persistence.ShortUrlCacheRepository;
-import com.linkify.service.infrastructure.persistence.ShortUrlDatabaseRepository;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Answer;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.RedisConnectionFailureException;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.Optional;
 
@@ -23,24 +30,36 @@ import static org.mockito.Mockito.*;
 public class FetchShortUrlBySlugUseCaseTest {
 
     @Mock
-    private ShortUrlCacheRepository shortUrlCacheRepository;
+    private ShortUrlPersistence shortUrlLocalCacheRepository;
 
     @Mock
-    private ShortUrlDatabaseRepository shortUrlDatabaseRepository;
+    private ShortUrlPersistence shortUrlCacheRepository;
+
+    @Mock
+    private ShortUrlPersistence shortUrlDatabaseRepository;
 
     @Mock
     private ApplicationEventPublisher applicationEventPublisher;
 
-    @InjectMocks
     private FetchShortUrlBySlugUseCase fetchShortUrlBySlugUseCase;
 
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        adaptiveConcurrencyLimiter = new AdaptiveConcurrencyLimiter(
+                new ConcurrencyLimitProperties(true, 1, 1, 10, 0.9, 2.0, Duration.ofSeconds(30))
+        );
+        fetchShortUrlBySlugUseCase = new FetchShortUrlBySlugUseCase(shortUrlLocalCacheRepository,
+                shortUrlCacheRepository, shortUrlDatabaseRepository, applicationEventPublisher,
+                adaptiveConcurrencyLimiter, new HedgingPolicy(hedgingProperties(false, 0)), meterRegistry);
     }
 
     @Test
-    public void testExecuteFetchesFromCache() throws FailedToFetchException {
+    public void testExecuteFetchesFromCache() {
         // Given
         String slug = "slug";
         ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
@@ -50,18 +69,126 @@ public class FetchShortUrlBySlugUseCaseTest {
         when(shortUrlCacheRepository.getShortUrl(slug)).thenReturn(Optional.of(shortUrlDomainModel));
 
         // When
-        Optional<ShortUrlDomainModel> result = fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand(slug));
+        UseCaseResult<ShortUrlDomainModel> result = fetchShortUrlBySlugUseCase.execute(
+                new FetchShortUrlBySlugCommand(slug)
+        );
 
         // Then
-        assertTrue(result.isPresent());
-        assertEquals(shortUrlDomainModel, result.get());
+        assertEquals(UseCaseResult.found(shortUrlDomainModel), result);
         verify(shortUrlCacheRepository).getShortUrl(slug);
         verifyNoInteractions(shortUrlDatabaseRepository);
         verify(applicationEventPublisher).publishEvent(any(ShortLinkFetchedEvent.class));
     }
 
     @Test
-    public void testExecuteFetchesFromDatabaseWhenNotInCache() throws FailedToFetchException {
+    public void testExecuteWritesDatabaseHitBackToCacheAfterEntryExpired() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
+                "http://example.com", "owner", slug, OffsetDateTime.now().plusDays(5)
+        );
+        when(shortUrlCacheRepository.getShortUrl(slug))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(shortUrlDomainModel));
+        when(shortUrlDatabaseRepository.getShortUrl(slug)).thenReturn(Optional.of(shortUrlDomainModel));
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> afterExpiry = fetchShortUrlBySlugUseCase.execute(
+                new FetchShortUrlBySlugCommand(slug)
+        );
+        UseCaseResult<ShortUrlDomainModel> resolvedAgain = fetchShortUrlBySlugUseCase.execute(
+                new FetchShortUrlBySlugCommand(slug)
+        );
+
+        // Then
+        assertEquals(UseCaseResult.found(shortUrlDomainModel), afterExpiry);
+        assertEquals(UseCaseResult.found(shortUrlDomainModel), resolvedAgain);
+        verify(shortUrlCacheRepository).save(shortUrlDomainModel);
+        verify(shortUrlDatabaseRepository, times(1)).getShortUrl(slug);
+    }
+
+    @Test
+    public void testExecuteStillResolvesWhenCacheWriteBackFails() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
+                "http://example.com", "owner", slug, OffsetDateTime.now().plusDays(5)
+        );
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenReturn(Optional.empty());
+        when(shortUrlDatabaseRepository.getShortUrl(slug)).thenReturn(Optional.of(shortUrlDomainModel));
+        doThrow(new FailedToPersistException("Redis is down", new Exception()))
+                .when(shortUrlCacheRepository).save(shortUrlDomainModel);
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = fetchShortUrlBySlugUseCase.execute(
+                new FetchShortUrlBySlugCommand(slug)
+        );
+
+        // Then
+        assertEquals(UseCaseResult.found(shortUrlDomainModel), result);
+    }
+
+    @Test
+    public void testExecuteRecordsOutcomeAndLatencyOfEveryResolve() {
+        // Given
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
+                "http://example.com", "owner", "slug", OffsetDateTime.now().plusDays(5)
+        );
+        when(shortUrlCacheRepository.getShortUrl("slug")).thenReturn(Optional.of(shortUrlDomainModel));
+
+        // When
+        fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand("slug"));
+        fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand("missing"));
+
+        // Then
+        assertEquals(1, meterRegistry.get("linkify.resolve.outcomes").tag("outcome", "cache_hit").counter().count());
+        assertEquals(1, meterRegistry.get("linkify.resolve.outcomes").tag("outcome", "miss").counter().count());
+        assertEquals(0, meterRegistry.get("linkify.resolve.outcomes").tag("outcome", "database_hit").counter().count());
+        assertEquals(2, meterRegistry.get("linkify.resolve").timer().count());
+        assertEquals(1, meterRegistry.get("linkify.events.publish").timer().count());
+    }
+
+    @Test
+    public void testExecuteFetchesFromLocalCacheWithoutTouchingRedisOrDatabase() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
+                "http://example.com", "owner", slug, OffsetDateTime.now().plusDays(5)
+        );
+
+        when(shortUrlLocalCacheRepository.getShortUrl(slug)).thenReturn(Optional.of(shortUrlDomainModel));
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = fetchShortUrlBySlugUseCase.execute(
+                new FetchShortUrlBySlugCommand(slug)
+        );
+
+        // Then
+        assertEquals(UseCaseResult.found(shortUrlDomainModel), result);
+        verifyNoInteractions(shortUrlCacheRepository, shortUrlDatabaseRepository);
+        verify(shortUrlLocalCacheRepository, never()).save(any());
+    }
+
+    @Test
+    public void testExecuteStoresCacheHitInLocalCache() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
+                "http://example.com", "owner", slug, OffsetDateTime.now().plusDays(5)
+        );
+
+        when(shortUrlLocalCacheRepository.getShortUrl(slug)).thenReturn(Optional.empty());
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenReturn(Optional.of(shortUrlDomainModel));
+
+        // When
+        fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand(slug));
+
+        // Then
+        verify(shortUrlLocalCacheRepository).save(shortUrlDomainModel);
+    }
+
+    @Test
+    public void testExecuteFetchesFromDatabaseWhenNotInCache() {
         // Given
         String slug = "slug";
         ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
@@ -72,36 +199,176 @@ public class FetchShortUrlBySlugUseCaseTest {
         when(shortUrlDatabaseRepository.getShortUrl(slug)).thenReturn(Optional.of(shortUrlDomainModel));
 
         // When
-        Optional<ShortUrlDomainModel> result = fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand(slug));
+        UseCaseResult<ShortUrlDomainModel> result = fetchShortUrlBySlugUseCase.execute(
+                new FetchShortUrlBySlugCommand(slug)
+        );
 
         // Then
-        assertTrue(result.isPresent());
-        assertEquals(shortUrlDomainModel, result.get());
+        assertEquals(UseCaseResult.found(shortUrlDomainModel), result);
         verify(shortUrlCacheRepository).getShortUrl(slug);
         verify(shortUrlDatabaseRepository).getShortUrl(slug);
         verify(applicationEventPublisher).publishEvent(any(ShortLinkFetchedEvent.class));
     }
 
     @Test
-    public void testExecuteThrowsUrlNotFoundExceptionWhenNotInCacheOrDatabase() {
+    public void testExecuteReturnsNotFoundWhenNotInCacheOrDatabase() {
         // Given
         String slug = "non_existing_slug";
 
         when(shortUrlCacheRepository.getShortUrl(slug)).thenReturn(Optional.empty());
         when(shortUrlDatabaseRepository.getShortUrl(slug)).thenReturn(Optional.empty());
 
-        // When/Then
-        assertThrows(UrlNotFoundException.class, () -> {
-            fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand(slug));
-        });
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = fetchShortUrlBySlugUseCase.execute(
+                new FetchShortUrlBySlugCommand(slug)
+        );
 
+        // Then
+        assertInstanceOf(UseCaseResult.NotFound.class, result);
         verify(shortUrlCacheRepository).getShortUrl(slug);
         verify(shortUrlDatabaseRepository).getShortUrl(slug);
         verify(applicationEventPublisher, never()).publishEvent(any());
     }
 
     @Test
-    public void testExecutePublishesEventWhenUrlIsFound() throws FailedToFetchException {
+    public void testExecuteReturnsExpiredWithoutPublishingEvent() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel expiredShortUrl = ShortUrlDomainModel.restore(
+                "http://example.com", "owner", slug, OffsetDateTime.now().minusDays(1)
+        );
+
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenReturn(Optional.empty());
+        when(shortUrlDatabaseRepository.getShortUrl(slug)).thenReturn(Optional.of(expiredShortUrl));
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = fetchShortUrlBySlugUseCase.execute(
+                new FetchShortUrlBySlugCommand(slug)
+        );
+
+        // Then
+        assertInstanceOf(UseCaseResult.Expired.class, result);
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void testExecuteFallsBackToDatabaseWhenCacheReadFails() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
+                "http://example.com", "owner", slug, null
+        );
+
+        when(shortUrlCacheRepository.getShortUrl(slug))
+                .thenThrow(new FailedToFetchException("Broken cache entry", new Exception()));
+        when(shortUrlDatabaseRepository.getShortUrl(slug)).thenReturn(Optional.of(shortUrlDomainModel));
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = fetchShortUrlBySlugUseCase.execute(
+                new FetchShortUrlBySlugCommand(slug)
+        );
+
+        // Then
+        assertEquals(UseCaseResult.found(shortUrlDomainModel), result);
+    }
+
+    @Test
+    public void testExecuteFallsBackToDatabaseWhenCacheIsUnreachable() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
+                "http://example.com", "owner", slug, null
+        );
+
+        when(shortUrlCacheRepository.getShortUrl(slug))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+        when(shortUrlDatabaseRepository.getShortUrl(slug)).thenReturn(Optional.of(shortUrlDomainModel));
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = fetchShortUrlBySlugUseCase.execute(
+                new FetchShortUrlBySlugCommand(slug)
+        );
+
+        // Then
+        assertEquals(UseCaseResult.found(shortUrlDomainModel), result);
+    }
+
+    @Test
+    public void testExecuteReturnsUnavailableWhenDatabaseFails() {
+        // Given
+        String slug = "slug";
+
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenReturn(Optional.empty());
+        when(shortUrlDatabaseRepository.getShortUrl(slug))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = fetchShortUrlBySlugUseCase.execute(
+                new FetchShortUrlBySlugCommand(slug)
+        );
+
+        // Then
+        assertInstanceOf(UseCaseResult.Unavailable.class, result);
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void testExecuteShedsDatabaseLookupWhenConcurrencyLimitIsReached() {
+        // Given
+        String slug = "slug";
+        AdaptiveConcurrencyLimiter.Permit permit = adaptiveConcurrencyLimiter.tryAcquire().orElseThrow();
+
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenReturn(Optional.empty());
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = fetchShortUrlBySlugUseCase.execute(
+                new FetchShortUrlBySlugCommand(slug)
+        );
+
+        // Then
+        assertInstanceOf(UseCaseResult.Overloaded.class, result);
+        verifyNoInteractions(shortUrlDatabaseRepository);
+        permit.complete(true);
+    }
+
+    @Test
+    public void testExecuteServesCacheHitsWhenConcurrencyLimitIsReached() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
+                "http://example.com", "owner", slug, null
+        );
+        AdaptiveConcurrencyLimiter.Permit permit = adaptiveConcurrencyLimiter.tryAcquire().orElseThrow();
+
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenReturn(Optional.of(shortUrlDomainModel));
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = fetchShortUrlBySlugUseCase.execute(
+                new FetchShortUrlBySlugCommand(slug)
+        );
+
+        // Then
+        assertEquals(UseCaseResult.found(shortUrlDomainModel), result);
+        permit.complete(true);
+    }
+
+    @Test
+    public void testExecuteReleasesPermitAfterDatabaseLookup() {
+        // Given
+        String slug = "slug";
+
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenReturn(Optional.empty());
+        when(shortUrlDatabaseRepository.getShortUrl(slug)).thenReturn(Optional.empty());
+
+        // When
+        fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand(slug));
+
+        // Then
+        assertEquals(0, adaptiveConcurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    public void testExecutePublishesEventWhenUrlIsFound() {
         // Given
         String slug = "slug";
         ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
@@ -116,4 +383,105 @@ public class FetchShortUrlBySlugUseCaseTest {
         // Then
         verify(applicationEventPublisher).publishEvent(any(ShortLinkFetchedEvent.class));
     }
+
+    @Test
+    public void testExecuteHedgesSlowCacheWithDatabase() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel cached = ShortUrlDomainModel.restore("http://example.com/cache", "owner", slug, null);
+        ShortUrlDomainModel stored = ShortUrlDomainModel.restore("http://example.com/database", "owner", slug, null);
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenAnswer(delayed(2000, Optional.of(cached)));
+        when(shortUrlDatabaseRepository.getShortUrl(slug)).thenReturn(Optional.of(stored));
+
+        // When
+        long startNanos = System.nanoTime();
+        UseCaseResult<ShortUrlDomainModel> result = hedgingUseCase(10).execute(new FetchShortUrlBySlugCommand(slug));
+
+        // Then
+        assertEquals("http://example.com/database",
+                ((UseCaseResult.Found<ShortUrlDomainModel>) result).value().getOriginalUrl());
+        assertTrue(Duration.ofNanos(System.nanoTime() - startNanos).compareTo(Duration.ofMillis(1000)) < 0);
+        verify(shortUrlDatabaseRepository).getShortUrl(slug);
+    }
+
+    @Test
+    public void testExecuteDoesNotHedgeFastCache() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel cached = ShortUrlDomainModel.restore("http://example.com", "owner", slug, null);
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenReturn(Optional.of(cached));
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = hedgingUseCase(10).execute(new FetchShortUrlBySlugCommand(slug));
+
+        // Then
+        assertEquals(UseCaseResult.found(cached), result);
+        verifyNoInteractions(shortUrlDatabaseRepository);
+    }
+
+    @Test
+    public void testExecuteWaitsForSlowCacheWhenHedgeBudgetIsSpent() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel cached = ShortUrlDomainModel.restore("http://example.com", "owner", slug, null);
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenAnswer(delayed(200, Optional.of(cached)));
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = hedgingUseCase(0).execute(new FetchShortUrlBySlugCommand(slug));
+
+        // Then
+        assertEquals(UseCaseResult.found(cached), result);
+        verifyNoInteractions(shortUrlDatabaseRepository);
+    }
+
+    @Test
+    public void testExecuteFallsBackToSlowCacheWhenHedgeFails() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel cached = ShortUrlDomainModel.restore("http://example.com", "owner", slug, null);
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenAnswer(delayed(200, Optional.of(cached)));
+        when(shortUrlDatabaseRepository.getShortUrl(slug))
+                .thenThrow(new DataAccessResourceFailureException("Database is down"));
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = hedgingUseCase(10).execute(new FetchShortUrlBySlugCommand(slug));
+
+        // Then
+        assertEquals(UseCaseResult.found(cached), result);
+        assertEquals(0, adaptiveConcurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    public void testExecuteUsesHedgeWhenSlowCacheMisses() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel stored = ShortUrlDomainModel.restore("http://example.com", "owner", slug, null);
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenAnswer(delayed(100, Optional.empty()));
+        when(shortUrlDatabaseRepository.getShortUrl(slug)).thenAnswer(delayed(200, Optional.of(stored)));
+
+        // When
+        UseCaseResult<ShortUrlDomainModel> result = hedgingUseCase(10).execute(new FetchShortUrlBySlugCommand(slug));
+
+        // Then
+        assertEquals(UseCaseResult.found(stored), result);
+        verify(shortUrlDatabaseRepository, times(1)).getShortUrl(slug);
+    }
+
+    private FetchShortUrlBySlugUseCase hedgingUseCase(int maxBurst) {
+        return new FetchShortUrlBySlugUseCase(shortUrlLocalCacheRepository, shortUrlCacheRepository,
+                shortUrlDatabaseRepository, applicationEventPublisher, adaptiveConcurrencyLimiter,
+                new HedgingPolicy(hedgingProperties(true, maxBurst)), meterRegistry);
+    }
+
+    private static HedgingProperties hedgingProperties(boolean enabled, int maxBurst) {
+        return new HedgingProperties(enabled, 0.95, Duration.ofMillis(1), Duration.ofMillis(20), 0.05, maxBurst);
+    }
+
+    private static Answer<Optional<ShortUrlDomainModel>> delayed(long millis,
+                                                                 Optional<ShortUrlDomainModel> shortUrlDomainModel) {
+        return invocation -> {
+            Thread.sleep(millis);
+            return shortUrlDomainModel;
+        };
+    }
 }
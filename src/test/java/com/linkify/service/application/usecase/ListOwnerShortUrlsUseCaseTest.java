@@ -0,0 +1,74 @@
+package com.linkify.service.application.usecase;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.OwnerShortUrlPersistence;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ListOwnerShortUrlsUseCaseTest {
+
+    @Mock
+    private OwnerShortUrlPersistence ownerShortUrlPersistence;
+
+    private ListOwnerShortUrlsUseCase listOwnerShortUrlsUseCase;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        listOwnerShortUrlsUseCase = new ListOwnerShortUrlsUseCase(ownerShortUrlPersistence);
+    }
+
+    @Test
+    public void testExecuteReturnsNextSlugWhenMoreLinksFollow() {
+        // Given
+        when(ownerShortUrlPersistence.listByOwner("owner", null, 3))
+                .thenReturn(List.of(link("AAAAAAAAAAE"), link("AAAAAAAAAAI"), link("AAAAAAAAAAM")));
+
+        // When
+        UseCaseResult<OwnerShortUrlsPage> result = listOwnerShortUrlsUseCase.execute(
+                new ListOwnerShortUrlsCommand("owner", null, 2));
+
+        // Then
+        assertEquals(UseCaseResult.found(new OwnerShortUrlsPage(List.of(link("AAAAAAAAAAE"), link("AAAAAAAAAAI")),
+                "AAAAAAAAAAI")), result);
+    }
+
+    @Test
+    public void testExecuteReturnsNoNextSlugOnLastPage() {
+        // Given
+        when(ownerShortUrlPersistence.listByOwner("owner", "AAAAAAAAAAI", 3))
+                .thenReturn(List.of(link("AAAAAAAAAAM")));
+
+        // When
+        UseCaseResult<OwnerShortUrlsPage> result = listOwnerShortUrlsUseCase.execute(
+                new ListOwnerShortUrlsCommand("owner", "AAAAAAAAAAI", 2));
+
+        // Then
+        assertEquals(UseCaseResult.found(new OwnerShortUrlsPage(List.of(link("AAAAAAAAAAM")), null)), result);
+    }
+
+    @Test
+    public void testExecuteReturnsUnavailableWhenDatabaseFails() {
+        // Given
+        when(ownerShortUrlPersistence.listByOwner("owner", null, 3)).thenThrow(new QueryTimeoutException("slow"));
+
+        // When
+        UseCaseResult<OwnerShortUrlsPage> result = listOwnerShortUrlsUseCase.execute(
+                new ListOwnerShortUrlsCommand("owner", null, 2));
+
+        // Then
+        assertInstanceOf(UseCaseResult.Unavailable.class, result);
+    }
+
+    private static ShortUrlDomainModel link(String slug) {
+        return ShortUrlDomainModel.restore("https://example.com/" + slug, "owner", slug, null);
+    }
+}
@@ -0,0 +1,168 @@
+package com.linkify.service.application.usecase;
+
+import com.linkify.service.application.concurrency.AdaptiveConcurrencyLimiter;
+import com.linkify.service.application.concurrency.ConcurrencyLimitProperties;
+import com.linkify.service.domain.event.ShortLinkCreatedEvent;
+import com.linkify.service.domain.exception.FailedToPersistException;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.ReactiveShortUrlPersistence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ReactiveCreateShortUrlFromUrlUseCaseTest {
+
+    private ReactiveCreateShortUrlFromUrlUseCase createShortUrlFromUrlUseCase;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ReactiveShortUrlPersistence shortUrlCacheRepository;
+
+    @Mock
+    private ReactiveShortUrlPersistence shortUrlDatabaseRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        adaptiveConcurrencyLimiter = new AdaptiveConcurrencyLimiter(
+                new ConcurrencyLimitProperties(true, 1, 1, 10, 0.9, 2.0, Duration.ofSeconds(30))
+        );
+        createShortUrlFromUrlUseCase = new ReactiveCreateShortUrlFromUrlUseCase(shortUrlCacheRepository,
+                shortUrlDatabaseRepository, applicationEventPublisher, adaptiveConcurrencyLimiter, meterRegistry);
+    }
+
+    @Test
+    public void testExecuteReturnsShortUrlFromDatabase() {
+        // Given
+        String owner = "owner";
+        String originalUrl = "http://example.com";
+        OffsetDateTime expirationDate = OffsetDateTime.now().plusDays(5);
+        ShortUrlDomainModel dbShortUrl = new ShortUrlDomainModel(originalUrl, owner, "dbSlug", expirationDate);
+
+        when(shortUrlCacheRepository.getByOwnerAndOriginalUrl(owner, originalUrl)).thenReturn(Mono.empty());
+        when(shortUrlDatabaseRepository.getByOwnerAndOriginalUrl(owner, originalUrl))
+                .thenReturn(Mono.just(dbShortUrl));
+
+        // When & Then
+        StepVerifier.create(createShortUrlFromUrlUseCase.execute(
+                        new CreateShortUrlFromUrlCommand(originalUrl, owner, expirationDate)))
+                .expectNext(UseCaseResult.found(dbShortUrl))
+                .verifyComplete();
+
+        verify(shortUrlDatabaseRepository, never()).save(any());
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void testExecuteCreatesNewShortUrlWhenNotFoundInCacheOrDatabase() {
+        // Given
+        String owner = "owner";
+        String originalUrl = "http://example.com";
+
+        when(shortUrlCacheRepository.getByOwnerAndOriginalUrl(owner, originalUrl)).thenReturn(Mono.empty());
+        when(shortUrlDatabaseRepository.getByOwnerAndOriginalUrl(owner, originalUrl)).thenReturn(Mono.empty());
+        when(shortUrlDatabaseRepository.save(any(ShortUrlDomainModel.class))).thenReturn(Mono.empty());
+        when(shortUrlCacheRepository.save(any(ShortUrlDomainModel.class))).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(createShortUrlFromUrlUseCase.execute(
+                        new CreateShortUrlFromUrlCommand(originalUrl, owner, null)))
+                .assertNext(result -> {
+                    UseCaseResult.Found<?> found = assertInstanceOf(UseCaseResult.Found.class, result);
+                    ShortUrlDomainModel created = (ShortUrlDomainModel) found.value();
+                    assertEquals(originalUrl, created.getOriginalUrl());
+                    assertNotNull(created.getUrlSlug());
+                })
+                .verifyComplete();
+
+        verify(shortUrlDatabaseRepository).save(any(ShortUrlDomainModel.class));
+        verify(shortUrlCacheRepository).save(any(ShortUrlDomainModel.class));
+        verify(applicationEventPublisher).publishEvent(any(ShortLinkCreatedEvent.class));
+        assertEquals(0, adaptiveConcurrencyLimiter.getInFlight());
+        assertEquals(1, meterRegistry.get("linkify.create.outcomes").tag("outcome", "created").counter().count());
+        assertEquals(1, meterRegistry.get("linkify.create").timer().count());
+    }
+
+    @Test
+    public void testExecuteReturnsUnavailableWhenCacheWriteFails() {
+        // Given
+        String owner = "owner";
+        String originalUrl = "http://example.com";
+
+        when(shortUrlCacheRepository.getByOwnerAndOriginalUrl(owner, originalUrl)).thenReturn(Mono.empty());
+        when(shortUrlDatabaseRepository.getByOwnerAndOriginalUrl(owner, originalUrl)).thenReturn(Mono.empty());
+        when(shortUrlDatabaseRepository.save(any(ShortUrlDomainModel.class))).thenReturn(Mono.empty());
+        when(shortUrlCacheRepository.save(any(ShortUrlDomainModel.class)))
+                .thenReturn(Mono.error(new FailedToPersistException("Failed to save to cache", new Exception())));
+
+        // When & Then
+        StepVerifier.create(createShortUrlFromUrlUseCase.execute(
+                        new CreateShortUrlFromUrlCommand(originalUrl, owner, null)))
+                .assertNext(result -> assertInstanceOf(UseCaseResult.Unavailable.class, result))
+                .verifyComplete();
+
+        verify(applicationEventPublisher).publishEvent(any(ShortLinkCreatedEvent.class));
+    }
+
+    @Test
+    public void testExecuteReturnsUnavailableWhenDatabaseIsDown() {
+        // Given
+        String owner = "owner";
+        String originalUrl = "http://example.com";
+
+        when(shortUrlCacheRepository.getByOwnerAndOriginalUrl(owner, originalUrl)).thenReturn(Mono.empty());
+        when(shortUrlDatabaseRepository.getByOwnerAndOriginalUrl(owner, originalUrl)).thenReturn(Mono.empty());
+        when(shortUrlDatabaseRepository.save(any(ShortUrlDomainModel.class)))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("Connection refused")));
+        when(shortUrlCacheRepository.save(any(ShortUrlDomainModel.class))).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(createShortUrlFromUrlUseCase.execute(
+                        new CreateShortUrlFromUrlCommand(originalUrl, owner, null)))
+                .expectNext(UseCaseResult.unavailable("Failed to create short URL"))
+                .verifyComplete();
+
+        verify(applicationEventPublisher, never()).publishEvent(any());
+        assertEquals(0, adaptiveConcurrencyLimiter.getInFlight());
+        assertEquals(1, meterRegistry.get("linkify.create.outcomes").tag("outcome", "failed").counter().count());
+    }
+
+    @Test
+    public void testExecuteShedsCreationWhenConcurrencyLimitIsReached() {
+        // Given
+        String owner = "owner";
+        String originalUrl = "http://example.com";
+        AdaptiveConcurrencyLimiter.Permit permit = adaptiveConcurrencyLimiter.tryAcquire().orElseThrow();
+
+        when(shortUrlCacheRepository.getByOwnerAndOriginalUrl(owner, originalUrl)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(createShortUrlFromUrlUseCase.execute(
+                        new CreateShortUrlFromUrlCommand(originalUrl, owner, null)))
+                .assertNext(result -> assertInstanceOf(UseCaseResult.Overloaded.class, result))
+                .verifyComplete();
+
+        verifyNoInteractions(shortUrlDatabaseRepository);
+        assertEquals(1, adaptiveConcurrencyLimiter.getInFlight());
+        permit.complete(true);
+    }
+}
@@ -0,0 +1,167 @@
+package com.linkify.service.application.usecase;
+
+import com.linkify.service.application.concurrency.AdaptiveConcurrencyLimiter;
+import com.linkify.service.application.concurrency.ConcurrencyLimitProperties;
+import com.linkify.service.domain.event.ShortLinkFetchedEvent;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.ReactiveShortUrlPersistence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ReactiveFetchShortUrlBySlugUseCaseTest {
+
+    @Mock
+    private ReactiveShortUrlPersistence shortUrlCacheRepository;
+
+    @Mock
+    private ReactiveShortUrlPersistence shortUrlDatabaseRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
+    private ReactiveFetchShortUrlBySlugUseCase fetchShortUrlBySlugUseCase;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(shortUrlCacheRepository.save(any())).thenReturn(Mono.empty());
+        adaptiveConcurrencyLimiter = new AdaptiveConcurrencyLimiter(
+                new ConcurrencyLimitProperties(true, 1, 1, 10, 0.9, 2.0, Duration.ofSeconds(30))
+        );
+        fetchShortUrlBySlugUseCase = new ReactiveFetchShortUrlBySlugUseCase(shortUrlCacheRepository,
+                shortUrlDatabaseRepository, applicationEventPublisher, adaptiveConcurrencyLimiter, meterRegistry);
+    }
+
+    @Test
+    public void testExecuteFetchesFromCache() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
+                "http://example.com", "owner", slug, OffsetDateTime.now().plusDays(5)
+        );
+
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenReturn(Mono.just(shortUrlDomainModel));
+
+        // When & Then
+        StepVerifier.create(fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand(slug)))
+                .expectNext(UseCaseResult.found(shortUrlDomainModel))
+                .verifyComplete();
+
+        verify(shortUrlDatabaseRepository, never()).getShortUrl(any());
+        verify(applicationEventPublisher).publishEvent(any(ShortLinkFetchedEvent.class));
+    }
+
+    @Test
+    public void testExecuteFetchesFromDatabaseWhenNotInCache() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
+                "http://example.com", "owner", slug, OffsetDateTime.now().plusDays(5)
+        );
+
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenReturn(Mono.empty());
+        when(shortUrlDatabaseRepository.getShortUrl(slug)).thenReturn(Mono.just(shortUrlDomainModel));
+
+        // When & Then
+        StepVerifier.create(fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand(slug)))
+                .expectNext(UseCaseResult.found(shortUrlDomainModel))
+                .verifyComplete();
+
+        verify(shortUrlDatabaseRepository).getShortUrl(slug);
+        verify(shortUrlCacheRepository).save(shortUrlDomainModel);
+        verify(applicationEventPublisher).publishEvent(any(ShortLinkFetchedEvent.class));
+    }
+
+    @Test
+    public void testExecuteFallsBackToDatabaseWhenCacheIsUnreachable() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
+                "http://example.com", "owner", slug, OffsetDateTime.now().plusDays(5)
+        );
+
+        when(shortUrlCacheRepository.getShortUrl(slug))
+                .thenReturn(Mono.error(new RedisConnectionFailureException("Connection refused")));
+        when(shortUrlDatabaseRepository.getShortUrl(slug)).thenReturn(Mono.just(shortUrlDomainModel));
+
+        // When & Then
+        StepVerifier.create(fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand(slug)))
+                .expectNext(UseCaseResult.found(shortUrlDomainModel))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testExecuteReturnsNotFoundWhenNotInCacheOrDatabase() {
+        // Given
+        String slug = "non_existing_slug";
+
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenReturn(Mono.empty());
+        when(shortUrlDatabaseRepository.getShortUrl(slug)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand(slug)))
+                .assertNext(result -> assertInstanceOf(UseCaseResult.NotFound.class, result))
+                .verifyComplete();
+
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    public void testExecuteShedsDatabaseLookupWhenConcurrencyLimitIsReached() {
+        // Given
+        String slug = "slug";
+        AdaptiveConcurrencyLimiter.Permit permit = adaptiveConcurrencyLimiter.tryAcquire().orElseThrow();
+
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand(slug)))
+                .assertNext(result -> assertInstanceOf(UseCaseResult.Overloaded.class, result))
+                .verifyComplete();
+
+        verifyNoInteractions(shortUrlDatabaseRepository);
+        assertEquals(1, meterRegistry.get("linkify.resolve.outcomes").tag("outcome", "overloaded").counter().count());
+        permit.complete(true);
+    }
+
+    @Test
+    public void testExecuteReturnsDatabasePermitAndRecordsOutcome() {
+        // Given
+        String slug = "slug";
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel(
+                "http://example.com", "owner", slug, OffsetDateTime.now().plusDays(5)
+        );
+
+        when(shortUrlCacheRepository.getShortUrl(slug)).thenReturn(Mono.empty());
+        when(shortUrlDatabaseRepository.getShortUrl(slug)).thenReturn(Mono.just(shortUrlDomainModel));
+
+        // When & Then
+        StepVerifier.create(fetchShortUrlBySlugUseCase.execute(new FetchShortUrlBySlugCommand(slug)))
+                .expectNext(UseCaseResult.found(shortUrlDomainModel))
+                .verifyComplete();
+
+        assertEquals(0, adaptiveConcurrencyLimiter.getInFlight());
+        assertEquals(1, meterRegistry.get("linkify.resolve.outcomes").tag("outcome", "database_hit").counter()
+                .count());
+        assertEquals(1, meterRegistry.get("linkify.resolve").timer().count());
+    }
+}
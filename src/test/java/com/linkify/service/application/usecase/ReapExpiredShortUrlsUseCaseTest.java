@@ -0,0 +1,133 @@
+package com.linkify.service.application.usecase;
+
+import com.linkify.service.domain.port.ExpiredShortUrlPersistence;
+import com.linkify.service.domain.port.ShortUrlCacheEviction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class ReapExpiredShortUrlsUseCaseTest {
+
+    @Mock
+    private ExpiredShortUrlPersistence expiredShortUrlPersistence;
+
+    @Mock
+    private ShortUrlCacheEviction shortUrlCacheEviction;
+
+    private ReapExpiredShortUrlsUseCase reapExpiredShortUrlsUseCase;
+
+    private final OffsetDateTime expiredBefore = OffsetDateTime.now();
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        reapExpiredShortUrlsUseCase = new ReapExpiredShortUrlsUseCase(expiredShortUrlPersistence,
+                shortUrlCacheEviction);
+    }
+
+    @Test
+    public void testExecuteDeletesEachPartitionUntilBatchIsNotFull() {
+        // Given
+        when(expiredShortUrlPersistence.partitions()).thenReturn(List.of("short_url_p0", "short_url_p1"));
+        when(expiredShortUrlPersistence.deleteExpired("short_url_p0", expiredBefore, 2))
+                .thenReturn(List.of("a", "b"), List.of("c"));
+        when(expiredShortUrlPersistence.deleteExpired("short_url_p1", expiredBefore, 2))
+                .thenReturn(List.of());
+
+        // When
+        ReapExpiredShortUrlsReport report = execute(2, 10);
+
+        // Then
+        assertEquals(Map.of("short_url_p0", 3L, "short_url_p1", 0L), report.reclaimedRows());
+        assertEquals(3, report.totalReclaimedRows());
+        assertEquals(3, report.evictedKeys());
+        verify(expiredShortUrlPersistence, times(2)).deleteExpired("short_url_p0", expiredBefore, 2);
+        verify(shortUrlCacheEviction).evict(List.of("a", "b"));
+        verify(shortUrlCacheEviction).evict(List.of("c"));
+    }
+
+    @Test
+    public void testExecuteStopsAfterMaxBatchesPerPartition() {
+        // Given
+        when(expiredShortUrlPersistence.partitions()).thenReturn(List.of("short_url_p0"));
+        when(expiredShortUrlPersistence.deleteExpired("short_url_p0", expiredBefore, 1))
+                .thenReturn(List.of("a"));
+
+        // When
+        ReapExpiredShortUrlsReport report = execute(1, 3);
+
+        // Then
+        assertEquals(3, report.totalReclaimedRows());
+        verify(expiredShortUrlPersistence, times(3)).deleteExpired("short_url_p0", expiredBefore, 1);
+    }
+
+    @Test
+    public void testExecuteContinuesWithNextPartitionWhenDeleteFails() {
+        // Given
+        when(expiredShortUrlPersistence.partitions()).thenReturn(List.of("short_url_p0", "short_url_p1"));
+        when(expiredShortUrlPersistence.deleteExpired("short_url_p0", expiredBefore, 10))
+                .thenThrow(new QueryTimeoutException("Timed out"));
+        when(expiredShortUrlPersistence.deleteExpired("short_url_p1", expiredBefore, 10))
+                .thenReturn(List.of("a"));
+
+        // When
+        ReapExpiredShortUrlsReport report = execute(10, 10);
+
+        // Then
+        assertEquals(List.of("short_url_p0"), report.failedPartitions());
+        assertEquals(1, report.totalReclaimedRows());
+    }
+
+    @Test
+    public void testExecuteKeepsDeletingWhenCacheEvictionFails() {
+        // Given
+        when(expiredShortUrlPersistence.partitions()).thenReturn(List.of("short_url_p0"));
+        when(expiredShortUrlPersistence.deleteExpired("short_url_p0", expiredBefore, 1))
+                .thenReturn(List.of("a"), List.of());
+        doThrow(new DataAccessResourceFailureException("Redis down")).when(shortUrlCacheEviction).evict(anyList());
+
+        // When
+        ReapExpiredShortUrlsReport report = execute(1, 10);
+
+        // Then
+        assertEquals(1, report.totalReclaimedRows());
+        assertEquals(0, report.evictedKeys());
+        verify(expiredShortUrlPersistence, times(2)).deleteExpired(any(), any(), anyInt());
+    }
+
+    @Test
+    public void testExecuteReturnsUnavailableWhenPartitionsCannotBeListed() {
+        // Given
+        when(expiredShortUrlPersistence.partitions()).thenThrow(new DataAccessResourceFailureException("Down"));
+
+        // When
+        UseCaseResult<ReapExpiredShortUrlsReport> result = reapExpiredShortUrlsUseCase.execute(
+                new ReapExpiredShortUrlsCommand(expiredBefore, 10, 10, Duration.ZERO)
+        );
+
+        // Then
+        assertInstanceOf(UseCaseResult.Unavailable.class, result);
+        verifyNoInteractions(shortUrlCacheEviction);
+    }
+
+    private ReapExpiredShortUrlsReport execute(int batchSize, int maxBatchesPerPartition) {
+        UseCaseResult<ReapExpiredShortUrlsReport> result = reapExpiredShortUrlsUseCase.execute(
+                new ReapExpiredShortUrlsCommand(expiredBefore, batchSize, maxBatchesPerPartition, Duration.ZERO)
+        );
+        UseCaseResult.Found<?> found = assertInstanceOf(UseCaseResult.Found.class, result);
+        return (ReapExpiredShortUrlsReport) found.value();
+    }
+}
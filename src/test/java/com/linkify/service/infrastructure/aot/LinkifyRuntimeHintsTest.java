@@ -0,0 +1,43 @@
+package com.linkify.service.infrastructure.aot;
+
+import com.linkify.service.application.metrics.CacheLookupEvent;
+import com.linkify.service.infrastructure.persistence.model.ShortUrlCacheModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinkifyRuntimeHintsTest {
+
+    @Test
+    public void testRegistersJacksonRecordsAndFlightEvents() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        new LinkifyRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ShortUrlCacheModel.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(
+                "com.linkify.service.infrastructure.rest.url.ShortUrlResponse")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CacheLookupEvent.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+    }
+
+    @Test
+    public void testRegistersUrlDictionaries() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        new LinkifyRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertTrue(RuntimeHintsPredicates.resource().forResource("url-dictionaries/v1.txt").test(hints));
+    }
+}
@@ -0,0 +1,115 @@
+package com.linkify.service.infrastructure.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccessLogTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testRecordsAreWrittenAsCompactJsonLines() throws Exception {
+        // Given
+        Path file = tempDir.resolve("access.log");
+        AccessLog accessLog = new AccessLog(properties(AccessLogLevel.ALL, file, Map.of()));
+
+        // When
+        accessLog.record(AccessLogRoutes.RESOLVE, 200, "slug", System.nanoTime());
+        accessLog.record(AccessLogRoutes.RESOLVE, 404, "sl\"ug", System.nanoTime());
+        accessLog.close();
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"route\":\"resolve\",\"status\":200,\"slug\":\"slug\""));
+        assertTrue(lines.get(1).contains("\"slug\":\"sl\\\"ug\""));
+    }
+
+    @Test
+    public void testErrorsLevelSkipsSuccessfulRequests() throws Exception {
+        // Given
+        Path file = tempDir.resolve("access.log");
+        AccessLog accessLog = new AccessLog(properties(AccessLogLevel.ERRORS, file, Map.of()));
+
+        // When
+        accessLog.record(AccessLogRoutes.RESOLVE, 200, "found", System.nanoTime());
+        accessLog.record(AccessLogRoutes.RESOLVE, 404, "missing", System.nanoTime());
+        accessLog.close();
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("missing"));
+    }
+
+    @Test
+    public void testZeroSampleRateAndOffLevelWriteNothing() throws Exception {
+        // Given
+        Path file = tempDir.resolve("access.log");
+        AccessLog accessLog = new AccessLog(properties(AccessLogLevel.ALL, file,
+                Map.of(AccessLogRoutes.RESOLVE, 0.0)));
+
+        // When
+        accessLog.record(AccessLogRoutes.RESOLVE, 200, "sampledOut", System.nanoTime());
+        accessLog.setLevel("OFF");
+        accessLog.record(AccessLogRoutes.CREATE, 201, "disabled", System.nanoTime());
+        accessLog.close();
+
+        // Then
+        assertFalse(accessLog.isEnabled());
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void testWriterStartsWhenTheLevelIsRaised() throws Exception {
+        // Given
+        Path file = tempDir.resolve("access.log");
+        AccessLog accessLog = new AccessLog(properties(AccessLogLevel.OFF, file, Map.of()));
+        assertFalse(accessLog.isWriterStarted());
+
+        // When
+        accessLog.setLevel("ALL");
+        accessLog.record(AccessLogRoutes.RESOLVE, 200, "slug", System.nanoTime());
+        accessLog.close();
+
+        // Then
+        assertTrue(accessLog.isWriterStarted());
+        assertEquals(1, Files.readAllLines(file).size());
+    }
+
+    @Test
+    public void testWriterKeepsGoingAfterAFailedWrite() throws Exception {
+        // Given
+        Path blocked = Files.createFile(tempDir.resolve("logs"));
+        Path file = blocked.resolve("access.log");
+        AccessLog accessLog = new AccessLog(properties(AccessLogLevel.ALL, file, Map.of()));
+        accessLog.record(AccessLogRoutes.RESOLVE, 200, "lost", System.nanoTime());
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (accessLog.getDropped() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // When
+        Files.delete(blocked);
+        accessLog.record(AccessLogRoutes.RESOLVE, 200, "written", System.nanoTime());
+        accessLog.close();
+
+        // Then
+        assertEquals(1, accessLog.getDropped());
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("written"));
+    }
+
+    private static AccessLogProperties properties(AccessLogLevel level, Path file, Map<String, Double> sampling) {
+        return new AccessLogProperties(level, file, 1024, 64, Duration.ofMillis(10), sampling);
+    }
+}
@@ -0,0 +1,117 @@
+package com.linkify.service.infrastructure.persistence;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressionProperties;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressor;
+import com.linkify.service.infrastructure.persistence.partitioning.ExpiryPartitioningProperties;
+import com.linkify.service.infrastructure.persistence.replica.ReplicaProperties;
+import com.linkify.service.infrastructure.persistence.replica.ReplicaReadRouting;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetCache;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetProperties;
+import org.flywaydb.core.Flyway;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the storage contract against PostgreSQL, in a schema of its own. Needs {@code -PtestJdbcUrl=...}, e.g. the
+ * docker-compose database.
+ */
+@EnabledIfSystemProperty(named = "linkify.test.jdbc-url", matches = ".+")
+public class ShortUrlDatabaseRepositoryContractTest extends ShortUrlPersistenceContractTest {
+    private static final String SCHEMA = "contract_test";
+
+    private SingleConnectionDataSource dataSource;
+    private ShortUrlDatabaseRepository shortUrlDatabaseRepository;
+
+    @BeforeEach
+    public void setUp() {
+        String url = System.getProperty("linkify.test.jdbc-url");
+        Flyway flyway = Flyway.configure()
+                .dataSource(url, null, null)
+                .schemas(SCHEMA)
+                .placeholders(Map.of("short_url_partitions", "4"))
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+
+        dataSource = new SingleConnectionDataSource(url, true);
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        namedParameterJdbcTemplate.getJdbcTemplate().execute("SET search_path TO " + SCHEMA);
+        shortUrlDatabaseRepository = new ShortUrlDatabaseRepository(namedParameterJdbcTemplate,
+                new ExpiryPartitioningProperties(false, Duration.ofDays(84), Duration.ofDays(1)),
+                new ReplicaReadRouting(new ReplicaProperties(false, List.of(), Duration.ofSeconds(1), 10)),
+                new UrlCompressor(new UrlCompressionProperties(false, 1)),
+                new UrlTargetCache(new UrlTargetProperties(false, 65536)), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Override
+    protected ShortUrlPersistence persistence() {
+        return shortUrlDatabaseRepository;
+    }
+
+    @Test
+    public void testListByOwnerPagesThroughAllLinksInSlugOrder() {
+        // Given
+        List<String> slugs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("https://example.com/" + i, "lister",
+                    null, null);
+            shortUrlDatabaseRepository.save(shortUrlDomainModel);
+            slugs.add(shortUrlDomainModel.getUrlSlug());
+        }
+        shortUrlDatabaseRepository.save(new ShortUrlDomainModel("https://example.com/other", "other", null, null));
+
+        // When
+        List<String> listed = new ArrayList<>();
+        String after = null;
+        List<ShortUrlDomainModel> page;
+        do {
+            page = shortUrlDatabaseRepository.listByOwner("lister", after, 2);
+            page.forEach(shortUrl -> listed.add(shortUrl.getUrlSlug()));
+            after = page.isEmpty() ? after : page.get(page.size() - 1).getUrlSlug();
+        } while (page.size() == 2);
+
+        // Then
+        assertEquals(slugs.stream().sorted((a, b) -> Long.compare(SlugCodec.decode(a), SlugCodec.decode(b)))
+                .toList(), listed);
+    }
+
+    @Test
+    public void testExportByOwnerStreamsEveryLink() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            shortUrlDatabaseRepository.save(new ShortUrlDomainModel("https://example.com/" + i, "exporter", null,
+                    null));
+        }
+        List<String> urls = new ArrayList<>();
+
+        // When
+        long exported = shortUrlDatabaseRepository.exportByOwner("exporter",
+                shortUrl -> urls.add(shortUrl.getOriginalUrl()));
+
+        // Then
+        assertEquals(3, exported);
+        assertEquals(List.of("https://example.com/0", "https://example.com/1", "https://example.com/2"),
+                urls.stream().sorted().toList());
+    }
+}
@@ -1,46 +1,75 @@
 package com.linkify.service.infrastructure.persistence;
 
 import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressor;
+import com.linkify.service.infrastructure.persistence.compression.UrlDictionary;
+import com.linkify.service.infrastructure.persistence.partitioning.ExpiryPartitioningProperties;
+import com.linkify.service.infrastructure.persistence.replica.ReplicaProperties;
+import com.linkify.service.infrastructure.persistence.replica.ReplicaReadRouting;
+import com.linkify.service.infrastructure.persistence.target.UrlFingerprint;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetCache;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataRetrievalFailureException;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.AdditionalMatchers.and;
+import static org.mockito.AdditionalMatchers.not;
 import static org.mockito.Mockito.*;
 
 public class ShortUrlDatabaseRepositoryTest {
+    private static final String SLUG = "unknownSlug";
+    private static final UrlCompressor DISABLED_COMPRESSION = new UrlCompressor(List.of(), 0);
+    private static final UrlTargetCache DISABLED_TARGETS = new UrlTargetCache(new UrlTargetProperties(false, 0));
 
     @Mock
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
-    @InjectMocks
     private ShortUrlDatabaseRepository shortUrlDatabaseRepository;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ReplicaReadRouting replicaReadRouting = new ReplicaReadRouting(
+            new ReplicaProperties(false, List.of(), Duration.ofSeconds(1), 10));
+
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.initMocks(this);
-
+        shortUrlDatabaseRepository = new ShortUrlDatabaseRepository(namedParameterJdbcTemplate,
+                new ExpiryPartitioningProperties(false, Duration.ofDays(84), Duration.ofDays(1)), replicaReadRouting,
+                DISABLED_COMPRESSION, DISABLED_TARGETS, meterRegistry);
     }
 
     @Test
     public void testSaveSuccessfully() {
         // Given
-        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("http://example.com", "owner", "slug",
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("http://example.com", "owner", SLUG,
                 OffsetDateTime.now().plusDays(5));
 
-        String sql = "INSERT INTO short_url (slug, owner, original_url, expires_at) " + "VALUES (:slug, :owner, " +
-                ":originalUrl, :expiresAt)";
+        String sql = "INSERT INTO short_url (slug, owner, original_url, original_url_packed, original_url_hash, " +
+                "target_fingerprint, expires_at) VALUES (:slug, :owner, :originalUrl, :originalUrlPacked, " +
+                ":originalUrlHash, :targetFingerprint, :expiresAt)";
 
         // When
         shortUrlDatabaseRepository.save(shortUrlDomainModel);
@@ -52,11 +81,12 @@ public class ShortUrlDatabaseRepositoryTest {
     @Test
     public void testSaveRetriesOnDuplicateSlug() {
         // Given
-        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("http://example.com", "owner", "slug",
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("http://example.com", "owner", SLUG,
                 OffsetDateTime.now().plusDays(5));
 
-        String sql = "INSERT INTO short_url (slug, owner, original_url, expires_at) " +
-                "VALUES (:slug, :owner, :originalUrl, :expiresAt)";
+        String sql = "INSERT INTO short_url (slug, owner, original_url, original_url_packed, original_url_hash, " +
+                "target_fingerprint, expires_at) VALUES (:slug, :owner, :originalUrl, :originalUrlPacked, " +
+                ":originalUrlHash, :targetFingerprint, :expiresAt)";
 
         doThrow(new DuplicateKeyException("Duplicate slug"))
                 .doReturn(1)
@@ -72,7 +102,7 @@ public class ShortUrlDatabaseRepositoryTest {
     @Test
     public void testGetShortUrlReturnsOptionalWithValue() {
         // Given
-        String slug = "slug";
+        String slug = SLUG;
         ShortUrlDomainModel expectedShortUrl = new ShortUrlDomainModel("http://example.com", "owner", slug,
                 OffsetDateTime.now().plusDays(5));
 
@@ -90,7 +120,7 @@ public class ShortUrlDatabaseRepositoryTest {
     @Test
     public void testGetShortUrlReturnsEmptyOptionalWhenNotFound() {
         // Given
-        String slug = "non_existing_slug";
+        String slug = "AAAAAAAAAAE";
 
         when(namedParameterJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class),
                 any(ResultSetExtractor.class))).thenReturn(Optional.empty());
@@ -136,4 +166,271 @@ public class ShortUrlDatabaseRepositoryTest {
         // Then
         assertFalse(result.isPresent());
     }
+
+    @Test
+    public void testSaveRoutesExpiringLinkToExpiringLayout() {
+        // Given
+        shortUrlDatabaseRepository = new ShortUrlDatabaseRepository(namedParameterJdbcTemplate,
+                new ExpiryPartitioningProperties(true, Duration.ofDays(84), Duration.ofDays(1)), replicaReadRouting,
+                DISABLED_COMPRESSION, DISABLED_TARGETS, meterRegistry);
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("http://example.com", "owner", "AAAAAAAAAAE",
+                OffsetDateTime.now().plusDays(5));
+
+        when(namedParameterJdbcTemplate.update(startsWith("INSERT INTO short_url_expiring"),
+                any(MapSqlParameterSource.class))).thenReturn(1);
+
+        // When
+        shortUrlDatabaseRepository.save(shortUrlDomainModel);
+
+        // Then
+        assertTrue(ShortUrlDomainModel.isExpiringSlug(shortUrlDomainModel.getUrlSlug()));
+        verify(namedParameterJdbcTemplate).update(startsWith("INSERT INTO short_url_expiring"),
+                any(MapSqlParameterSource.class));
+        verify(namedParameterJdbcTemplate, never()).update(startsWith("INSERT INTO short_url ("),
+                any(MapSqlParameterSource.class));
+    }
+
+    @Test
+    public void testSaveKeepsLinksBeyondHorizonInHashLayout() {
+        // Given
+        shortUrlDatabaseRepository = new ShortUrlDatabaseRepository(namedParameterJdbcTemplate,
+                new ExpiryPartitioningProperties(true, Duration.ofDays(84), Duration.ofDays(1)), replicaReadRouting,
+                DISABLED_COMPRESSION, DISABLED_TARGETS, meterRegistry);
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("http://example.com", "owner", SLUG,
+                OffsetDateTime.now().plusDays(365));
+
+        // When
+        shortUrlDatabaseRepository.save(shortUrlDomainModel);
+
+        // Then
+        verify(namedParameterJdbcTemplate).update(startsWith("INSERT INTO short_url ("),
+                any(MapSqlParameterSource.class));
+        verify(namedParameterJdbcTemplate, never()).update(startsWith("INSERT INTO short_url_expiring"),
+                any(MapSqlParameterSource.class));
+    }
+
+    @Test
+    public void testSaveFallsBackToHashLayoutWhenPartitionIsMissing() {
+        // Given
+        shortUrlDatabaseRepository = new ShortUrlDatabaseRepository(namedParameterJdbcTemplate,
+                new ExpiryPartitioningProperties(true, Duration.ofDays(84), Duration.ofDays(1)), replicaReadRouting,
+                DISABLED_COMPRESSION, DISABLED_TARGETS, meterRegistry);
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("http://example.com", "owner", SLUG,
+                OffsetDateTime.now().plusDays(5));
+
+        when(namedParameterJdbcTemplate.update(startsWith("INSERT INTO short_url_expiring"),
+                any(MapSqlParameterSource.class))).thenThrow(new DataIntegrityViolationException("no partition"));
+
+        // When
+        shortUrlDatabaseRepository.save(shortUrlDomainModel);
+
+        // Then
+        verify(namedParameterJdbcTemplate).update(startsWith("INSERT INTO short_url ("),
+                any(MapSqlParameterSource.class));
+    }
+
+    @Test
+    public void testGetShortUrlReadsOnlyHashLayoutForPermanentSlug() {
+        // Given
+        when(namedParameterJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class),
+                any(ResultSetExtractor.class))).thenReturn(Optional.empty());
+
+        // When
+        shortUrlDatabaseRepository.getShortUrl("AAAAAAAAAAE");
+
+        // Then
+        verify(namedParameterJdbcTemplate).query(and(contains("FROM short_url WHERE slug = :slug LIMIT 1"),
+                        not(contains("short_url_expiring"))),
+                any(MapSqlParameterSource.class), any(ResultSetExtractor.class));
+    }
+
+    @Test
+    public void testGetShortUrlBindsSlugAsInteger() {
+        // Given
+        ArgumentCaptor<MapSqlParameterSource> parameters = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        when(namedParameterJdbcTemplate.query(anyString(), parameters.capture(),
+                any(ResultSetExtractor.class))).thenReturn(Optional.empty());
+
+        // When
+        shortUrlDatabaseRepository.getShortUrl(SLUG);
+
+        // Then
+        assertEquals(SlugCodec.decode(SLUG), parameters.getValue().getValue("slug"));
+    }
+
+    @Test
+    public void testGetShortUrlSkipsDatabaseForStringsThatAreNotSlugs() {
+        // When
+        Optional<ShortUrlDomainModel> result = shortUrlDatabaseRepository.getShortUrl("non_existing_slug");
+
+        // Then
+        assertFalse(result.isPresent());
+        verifyNoInteractions(namedParameterJdbcTemplate);
+    }
+
+    @Test
+    public void testSaveStoresOnlyPackedUrlWhenCompressionIsEnabled() {
+        // Given
+        UrlCompressor urlCompressor = new UrlCompressor(List.of(UrlDictionary.load(1).orElseThrow()), 1);
+        shortUrlDatabaseRepository = new ShortUrlDatabaseRepository(namedParameterJdbcTemplate,
+                new ExpiryPartitioningProperties(false, Duration.ofDays(84), Duration.ofDays(1)), replicaReadRouting,
+                urlCompressor, DISABLED_TARGETS, meterRegistry);
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("https://www.example.com/?utm_source=x",
+                "owner", SLUG, null);
+        ArgumentCaptor<MapSqlParameterSource> parameters = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+
+        // When
+        shortUrlDatabaseRepository.save(shortUrlDomainModel);
+
+        // Then
+        verify(namedParameterJdbcTemplate).update(startsWith("INSERT INTO short_url ("), parameters.capture());
+        assertNull(parameters.getValue().getValue("originalUrl"));
+        assertEquals(shortUrlDomainModel.getOriginalUrl(),
+                urlCompressor.decompress((byte[]) parameters.getValue().getValue("originalUrlPacked")));
+    }
+
+    @Test
+    public void testGetByOwnerAndOriginalUrlMatchesUrlHash() {
+        // Given
+        String originalUrl = "https://www.example.com/";
+        ArgumentCaptor<MapSqlParameterSource> parameters = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        when(namedParameterJdbcTemplate.query(anyString(), parameters.capture(),
+                any(ResultSetExtractor.class))).thenReturn(Optional.empty());
+
+        // When
+        shortUrlDatabaseRepository.getByOwnerAndOriginalUrl("owner", originalUrl);
+
+        // Then
+        verify(namedParameterJdbcTemplate).query(and(contains("original_url_hash = :originalUrlHash"),
+                not(contains("original_url_packed IN"))), any(MapSqlParameterSource.class),
+                any(ResultSetExtractor.class));
+        assertArrayEquals(UrlFingerprint.of(originalUrl).toBytes(),
+                (byte[]) parameters.getValue().getValue("originalUrlHash"));
+    }
+
+    @Test
+    public void testSaveStoresUrlHashNextToPackedUrl() {
+        // Given
+        UrlCompressor urlCompressor = new UrlCompressor(List.of(UrlDictionary.load(1).orElseThrow()), 1);
+        shortUrlDatabaseRepository = new ShortUrlDatabaseRepository(namedParameterJdbcTemplate,
+                new ExpiryPartitioningProperties(false, Duration.ofDays(84), Duration.ofDays(1)), replicaReadRouting,
+                urlCompressor, DISABLED_TARGETS, meterRegistry);
+        String originalUrl = "https://www.example.com/";
+        ArgumentCaptor<MapSqlParameterSource> parameters = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+
+        // When
+        shortUrlDatabaseRepository.save(new ShortUrlDomainModel(originalUrl, "owner", SLUG, null));
+
+        // Then
+        verify(namedParameterJdbcTemplate).update(startsWith("INSERT INTO short_url ("), parameters.capture());
+        assertArrayEquals(UrlFingerprint.of(originalUrl).toBytes(),
+                (byte[]) parameters.getValue().getValue("originalUrlHash"));
+    }
+
+    @Test
+    public void testSaveReferencesSharedTargetAndUpsertsItEveryTime() {
+        // Given
+        shortUrlDatabaseRepository = new ShortUrlDatabaseRepository(namedParameterJdbcTemplate,
+                new ExpiryPartitioningProperties(false, Duration.ofDays(84), Duration.ofDays(1)), replicaReadRouting,
+                DISABLED_COMPRESSION, new UrlTargetCache(new UrlTargetProperties(true, 16)), meterRegistry);
+        String originalUrl = "https://www.example.com/popular";
+        ArgumentCaptor<MapSqlParameterSource> parameters = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+
+        // When
+        shortUrlDatabaseRepository.save(new ShortUrlDomainModel(originalUrl, "owner", SLUG, null));
+        shortUrlDatabaseRepository.save(new ShortUrlDomainModel(originalUrl, "other", "AAAAAAAAAAE", null));
+
+        // Then
+        verify(namedParameterJdbcTemplate, times(2)).update(
+                and(startsWith("INSERT INTO url_target"), contains("ON CONFLICT (fingerprint) DO NOTHING")),
+                any(MapSqlParameterSource.class));
+        verify(namedParameterJdbcTemplate, times(2)).update(startsWith("INSERT INTO short_url ("),
+                parameters.capture());
+        assertNull(parameters.getValue().getValue("originalUrl"));
+        assertArrayEquals(UrlFingerprint.of(originalUrl).toBytes(),
+                (byte[]) parameters.getValue().getValue("targetFingerprint"));
+    }
+
+    @Test
+    public void testSaveStoresTargetEvenWhenItIsInterned() {
+        // Given
+        UrlTargetCache urlTargetCache = new UrlTargetCache(new UrlTargetProperties(true, 16));
+        shortUrlDatabaseRepository = new ShortUrlDatabaseRepository(namedParameterJdbcTemplate,
+                new ExpiryPartitioningProperties(false, Duration.ofDays(84), Duration.ofDays(1)), replicaReadRouting,
+                DISABLED_COMPRESSION, urlTargetCache, meterRegistry);
+        String originalUrl = "https://www.example.com/popular";
+        urlTargetCache.intern(UrlFingerprint.of(originalUrl), originalUrl);
+
+        // When
+        shortUrlDatabaseRepository.save(new ShortUrlDomainModel(originalUrl, "owner", SLUG, null));
+
+        // Then
+        verify(namedParameterJdbcTemplate).update(startsWith("INSERT INTO url_target"),
+                any(MapSqlParameterSource.class));
+    }
+
+    @Test
+    public void testGetShortUrlFailsClearlyWhenTargetIsMissing() throws SQLException {
+        // Given
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getLong("slug")).thenReturn(SlugCodec.decode(SLUG));
+        when(resultSet.getBytes("target_fingerprint"))
+                .thenReturn(UrlFingerprint.of("https://www.example.com/").toBytes());
+        when(namedParameterJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class),
+                any(ResultSetExtractor.class)))
+                .thenAnswer(invocation -> invocation.<ResultSetExtractor<?>>getArgument(2).extractData(resultSet));
+
+        // When
+        DataRetrievalFailureException exception = assertThrows(DataRetrievalFailureException.class,
+                () -> shortUrlDatabaseRepository.getShortUrl(SLUG));
+
+        // Then
+        assertTrue(exception.getMessage().contains("url_target"));
+    }
+
+    @Test
+    public void testGetByOwnerAndOriginalUrlMatchesTargetFingerprint() {
+        // Given
+        ArgumentCaptor<MapSqlParameterSource> parameters = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        when(namedParameterJdbcTemplate.query(anyString(), parameters.capture(),
+                any(ResultSetExtractor.class))).thenReturn(Optional.empty());
+
+        // When
+        shortUrlDatabaseRepository.getByOwnerAndOriginalUrl("owner", "https://www.example.com/");
+
+        // Then
+        verify(namedParameterJdbcTemplate).query(contains("LEFT JOIN url_target"),
+                any(MapSqlParameterSource.class), any(ResultSetExtractor.class));
+        assertArrayEquals(UrlFingerprint.of("https://www.example.com/").toBytes(),
+                (byte[]) parameters.getValue().getValue("originalUrlHash"));
+    }
+
+    @Test
+    public void testListByOwnerContinuesAfterLastSlugWithoutOffset() {
+        // Given
+        ArgumentCaptor<MapSqlParameterSource> parameters = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        when(namedParameterJdbcTemplate.query(anyString(), parameters.capture(), any(RowMapper.class)))
+                .thenReturn(List.of());
+
+        // When
+        shortUrlDatabaseRepository.listByOwner("owner", SLUG, 20);
+
+        // Then
+        verify(namedParameterJdbcTemplate).query(and(contains("slug >= :fromSlug ORDER BY slug LIMIT :limit"),
+                not(contains("OFFSET"))), any(MapSqlParameterSource.class), any(RowMapper.class));
+        assertEquals(SlugCodec.decode(SLUG) + 1, parameters.getValue().getValue("fromSlug"));
+        assertEquals(20, parameters.getValue().getValue("limit"));
+    }
+
+    @Test
+    public void testListByOwnerAfterLargestSlugIsEmpty() {
+        // When
+        List<ShortUrlDomainModel> result = shortUrlDatabaseRepository.listByOwner("owner",
+                SlugCodec.encode(Long.MAX_VALUE), 20);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(namedParameterJdbcTemplate);
+    }
 }
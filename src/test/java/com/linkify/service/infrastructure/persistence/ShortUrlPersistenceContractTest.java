@@ -0,0 +1,130 @@
+package com.linkify.service.infrastructure.persistence;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link ShortUrlPersistence} storage engine has to share. Subclasses provide a fresh, empty store.
+ */
+public abstract class ShortUrlPersistenceContractTest {
+
+    protected abstract ShortUrlPersistence persistence();
+
+    @Test
+    public void testSavedShortUrlCanBeFetchedBySlug() {
+        // Given
+        OffsetDateTime expirationDate = OffsetDateTime.now(ZoneOffset.UTC).plusDays(5).truncatedTo(ChronoUnit.MICROS);
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("https://example.com/a", owner(), null,
+                expirationDate);
+        persistence().save(shortUrlDomainModel);
+
+        // When
+        Optional<ShortUrlDomainModel> result = persistence().getShortUrl(shortUrlDomainModel.getUrlSlug());
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(shortUrlDomainModel.getUrlSlug(), result.get().getUrlSlug());
+        assertEquals(shortUrlDomainModel.getOwner(), result.get().getOwner());
+        assertEquals("https://example.com/a", result.get().getOriginalUrl());
+        assertTrue(expirationDate.isEqual(result.get().getExpirationDate()));
+    }
+
+    @Test
+    public void testPermanentShortUrlHasNoExpirationDate() {
+        // Given
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("https://example.com/b", owner(), null,
+                null);
+        persistence().save(shortUrlDomainModel);
+
+        // When
+        Optional<ShortUrlDomainModel> result = persistence().getShortUrl(shortUrlDomainModel.getUrlSlug());
+
+        // Then
+        assertTrue(result.isPresent());
+        assertNull(result.get().getExpirationDate());
+    }
+
+    @Test
+    public void testGetShortUrlReturnsEmptyForUnknownSlug() {
+        // When
+        Optional<ShortUrlDomainModel> result = persistence().getShortUrl("unknownSlug");
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void testSavedShortUrlCanBeFetchedByOwnerAndOriginalUrl() {
+        // Given
+        String owner = owner();
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("https://example.com/c", owner, null, null);
+        persistence().save(shortUrlDomainModel);
+
+        // When
+        Optional<ShortUrlDomainModel> result = persistence().getByOwnerAndOriginalUrl(owner, "https://example.com/c");
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(shortUrlDomainModel.getUrlSlug(), result.get().getUrlSlug());
+    }
+
+    @Test
+    public void testGetByOwnerAndOriginalUrlDoesNotMatchOtherOwners() {
+        // Given
+        persistence().save(new ShortUrlDomainModel("https://example.com/d", owner(), null, null));
+
+        // When
+        Optional<ShortUrlDomainModel> result = persistence().getByOwnerAndOriginalUrl(owner(),
+                "https://example.com/d");
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void testSaveRegeneratesSlugWhenItIsTaken() {
+        // Given
+        ShortUrlDomainModel first = new ShortUrlDomainModel("https://example.com/e", owner(), null, null);
+        persistence().save(first);
+        ShortUrlDomainModel second = new ShortUrlDomainModel("https://example.com/f", owner(), first.getUrlSlug(),
+                null);
+
+        // When
+        persistence().save(second);
+
+        // Then
+        assertNotEquals(first.getUrlSlug(), second.getUrlSlug());
+        assertEquals("https://example.com/e",
+                persistence().getShortUrl(first.getUrlSlug()).orElseThrow().getOriginalUrl());
+        assertEquals("https://example.com/f",
+                persistence().getShortUrl(second.getUrlSlug()).orElseThrow().getOriginalUrl());
+    }
+
+    @Test
+    public void testExpiredShortUrlIsRestoredAsExpired() {
+        // Given
+        ShortUrlDomainModel shortUrlDomainModel = ShortUrlDomainModel.restore("https://example.com/g", owner(),
+                null, OffsetDateTime.now(ZoneOffset.UTC).minusDays(1));
+        persistence().save(shortUrlDomainModel);
+
+        // When
+        Optional<ShortUrlDomainModel> result = persistence().getShortUrl(shortUrlDomainModel.getUrlSlug());
+
+        // Then
+        assertTrue(result.isPresent());
+        assertTrue(result.get().isExpired());
+    }
+
+    private static String owner() {
+        return UUID.randomUUID().toString().substring(0, 16);
+    }
+}
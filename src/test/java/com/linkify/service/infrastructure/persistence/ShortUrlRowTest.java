@@ -0,0 +1,75 @@
+package com.linkify.service.infrastructure.persistence;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.infrastructure.persistence.compression.UrlCompressor;
+import com.linkify.service.infrastructure.persistence.compression.UrlDictionary;
+import com.linkify.service.infrastructure.persistence.target.UrlFingerprint;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetCache;
+import com.linkify.service.infrastructure.persistence.target.UrlTargetProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataRetrievalFailureException;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShortUrlRowTest {
+    private static final String SLUG = "unknownSlug";
+    private static final UrlTargetCache TARGETS = new UrlTargetCache(new UrlTargetProperties(true, 16));
+
+    @Test
+    public void testPackedRowReadsBackAsTheSameLink() {
+        // Given
+        UrlCompressor urlCompressor = new UrlCompressor(List.of(UrlDictionary.load(1).orElseThrow()), 1);
+        OffsetDateTime expirationDate = OffsetDateTime.now().plusDays(5);
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("https://www.example.com/?utm_source=x",
+                "owner", SLUG, expirationDate);
+
+        // When
+        ShortUrlRow row = ShortUrlRow.inline(shortUrlDomainModel, urlCompressor);
+        ShortUrlDomainModel restored = ShortUrlRow.read(row.slug(), row.owner(), row.originalUrl(),
+                row.originalUrlPacked(), null, row.expiresAt()).toDomainModel(urlCompressor, TARGETS);
+
+        // Then
+        assertNull(row.originalUrl());
+        assertEquals(UrlFingerprint.of(shortUrlDomainModel.getOriginalUrl()), row.originalUrlHash());
+        assertEquals(shortUrlDomainModel.getOriginalUrl(), restored.getOriginalUrl());
+        assertEquals(SLUG, restored.getUrlSlug());
+        assertEquals(expirationDate, restored.getExpirationDate());
+    }
+
+    @Test
+    public void testRowReferencingTargetKeepsOnlyTheFingerprint() {
+        // Given
+        String originalUrl = "https://www.example.com/popular";
+        ShortUrlRow inline = ShortUrlRow.inline(new ShortUrlDomainModel(originalUrl, "owner", SLUG, null),
+                new UrlCompressor(List.of(), 0));
+
+        // When
+        ShortUrlRow row = inline.referencingTarget().withSlug("AAAAAAAAAAE");
+
+        // Then
+        assertEquals(originalUrl, inline.originalUrl());
+        assertNull(row.originalUrl());
+        assertNull(row.originalUrlPacked());
+        assertEquals(UrlFingerprint.of(originalUrl), row.targetFingerprint());
+        assertEquals(UrlFingerprint.of(originalUrl), row.originalUrlHash());
+        assertEquals(SlugCodec.decode("AAAAAAAAAAE"), row.slug());
+    }
+
+    @Test
+    public void testReadFailsClearlyWhenTargetIsMissing() {
+        // Given
+        ShortUrlRow row = ShortUrlRow.read(SlugCodec.decode(SLUG), "owner", null, null,
+                UrlFingerprint.of("https://www.example.com/").toBytes(), null);
+
+        // When
+        DataRetrievalFailureException exception = assertThrows(DataRetrievalFailureException.class,
+                () -> row.toDomainModel(new UrlCompressor(List.of(), 0), TARGETS));
+
+        // Then
+        assertTrue(exception.getMessage().contains("url_target"));
+    }
+}
@@ -0,0 +1,82 @@
+package com.linkify.service.infrastructure.persistence.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UrlDictionaryTrainerTest {
+
+    private static List<String> corpus() {
+        List<String> corpus = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            corpus.add("https://shop.example.com/items/" + i + "?utm_source=mail"
+                    + (i % 2 == 0 ? "&utm_campaign=sale" : ""));
+            if (i % 5 == 0) {
+                corpus.add("https://news.example.org/story-" + i);
+            }
+        }
+        return corpus;
+    }
+
+    @Test
+    public void testPrefersPrefixesThatSaveTheMostBytes() {
+        // When
+        UrlDictionary dictionary = UrlDictionaryTrainer.train(2, corpus(), 255, 4096);
+
+        // Then
+        assertEquals(2, dictionary.version());
+        assertEquals("https://shop.example.com/items/", dictionary.prefixes().get(0));
+        assertTrue(dictionary.prefixes().contains("https://news.example.org/"));
+    }
+
+    @Test
+    public void testPutsMostFrequentTokensLast() {
+        // When
+        UrlDictionary dictionary = UrlDictionaryTrainer.train(2, corpus(), 255, 4096);
+
+        // Then
+        assertEquals(List.of("&utm_campaign=", "sale", "?utm_source=", "mail"), dictionary.tokens());
+    }
+
+    @Test
+    public void testKeepsTokensWithinTheBudget() {
+        // When
+        UrlDictionary dictionary = UrlDictionaryTrainer.train(2, corpus(), 255, 16);
+
+        // Then
+        assertEquals(List.of("?utm_source=", "mail"), dictionary.tokens());
+    }
+
+    @Test
+    public void testWrittenDictionaryReadsBack() throws IOException {
+        // Given
+        UrlDictionary dictionary = UrlDictionaryTrainer.train(3, corpus(), 255, 4096);
+        StringWriter writer = new StringWriter();
+
+        // When
+        dictionary.write(writer);
+        UrlDictionary read = UrlDictionary.read(3, new ByteArrayInputStream(
+                writer.toString().getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertEquals(dictionary.prefixes(), read.prefixes());
+        assertEquals(dictionary.tokens(), read.tokens());
+    }
+
+    @Test
+    public void testShippedDictionaryLoads() {
+        // When
+        UrlDictionary v1 = UrlDictionary.load(1).orElseThrow();
+
+        // Then
+        assertTrue(v1.prefixes().contains("https://www."));
+        assertTrue(UrlDictionary.load(255).isEmpty());
+    }
+}
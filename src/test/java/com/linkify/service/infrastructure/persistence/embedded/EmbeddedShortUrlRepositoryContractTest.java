@@ -0,0 +1,35 @@
+package com.linkify.service.infrastructure.persistence.embedded;
+
+import com.linkify.service.domain.port.ShortUrlPersistence;
+import com.linkify.service.infrastructure.persistence.ShortUrlPersistenceContractTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class EmbeddedShortUrlRepositoryContractTest extends ShortUrlPersistenceContractTest {
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedShortUrlStore embeddedShortUrlStore;
+    private EmbeddedShortUrlRepository embeddedShortUrlRepository;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        embeddedShortUrlStore = EmbeddedShortUrlStore.open(directory, 1 << 20, 16, false);
+        embeddedShortUrlRepository = new EmbeddedShortUrlRepository(embeddedShortUrlStore);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        embeddedShortUrlStore.close();
+    }
+
+    @Override
+    protected ShortUrlPersistence persistence() {
+        return embeddedShortUrlRepository;
+    }
+}
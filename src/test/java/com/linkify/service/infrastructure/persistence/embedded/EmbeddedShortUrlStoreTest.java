@@ -0,0 +1,206 @@
+package com.linkify.service.infrastructure.persistence.embedded;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmbeddedShortUrlStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testReopenRecoversSavedLinks() throws IOException {
+        // Given
+        ShortUrlDomainModel shortUrlDomainModel = link(1);
+        try (EmbeddedShortUrlStore store = EmbeddedShortUrlStore.open(directory, 1 << 20, 16, false)) {
+            store.putIfAbsent(shortUrlDomainModel);
+        }
+
+        // When
+        try (EmbeddedShortUrlStore store = EmbeddedShortUrlStore.open(directory, 1 << 20, 16, false)) {
+            // Then
+            assertEquals(1, store.size());
+            assertEquals("https://example.com/1",
+                    store.get(shortUrlDomainModel.getUrlSlug()).orElseThrow().getOriginalUrl());
+            assertTrue(store.getByOwnerAndOriginalUrl("owner", "https://example.com/1").isPresent());
+        }
+    }
+
+    @Test
+    public void testTornRecordIsDroppedOnRecovery() throws IOException {
+        // Given
+        ShortUrlDomainModel intact = link(1);
+        ShortUrlDomainModel torn = link(2);
+        try (EmbeddedShortUrlStore store = EmbeddedShortUrlStore.open(directory, 1 << 20, 16, false)) {
+            store.putIfAbsent(intact);
+            store.putIfAbsent(torn);
+        }
+
+        long lastByteOfTorn = 8 + ShortUrlRecord.encode(intact).length + ShortUrlRecord.encode(torn).length - 1;
+        try (FileChannel channel = FileChannel.open(directory.resolve("segment-00000000.dat"),
+                StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'#'}), lastByteOfTorn);
+        }
+
+        // When
+        ShortUrlDomainModel afterRecovery = link(3);
+        try (EmbeddedShortUrlStore store = EmbeddedShortUrlStore.open(directory, 1 << 20, 16, false)) {
+            store.putIfAbsent(afterRecovery);
+
+            // Then
+            assertTrue(store.get(intact.getUrlSlug()).isPresent());
+            assertTrue(store.get(torn.getUrlSlug()).isEmpty());
+        }
+
+        try (EmbeddedShortUrlStore store = EmbeddedShortUrlStore.open(directory, 1 << 20, 16, false)) {
+            assertEquals(2, store.size());
+            assertTrue(store.get(afterRecovery.getUrlSlug()).isPresent());
+        }
+    }
+
+    @Test
+    public void testPutIfAbsentRejectsTakenSlug() throws IOException {
+        // Given
+        try (EmbeddedShortUrlStore store = EmbeddedShortUrlStore.open(directory, 1 << 20, 16, false)) {
+            ShortUrlDomainModel first = link(1);
+            store.putIfAbsent(first);
+
+            // When
+            boolean written = store.putIfAbsent(new ShortUrlDomainModel("https://example.com/other", "owner",
+                    first.getUrlSlug(), null));
+
+            // Then
+            assertFalse(written);
+            assertEquals("https://example.com/1", store.get(first.getUrlSlug()).orElseThrow().getOriginalUrl());
+        }
+    }
+
+    @Test
+    public void testIndexGrowsAndSegmentsRollOver() throws IOException {
+        // Given
+        List<ShortUrlDomainModel> links = new ArrayList<>();
+        try (EmbeddedShortUrlStore store = EmbeddedShortUrlStore.open(directory, 4096, 16, false)) {
+            for (int i = 0; i < 1000; i++) {
+                ShortUrlDomainModel link = link(i);
+                store.putIfAbsent(link);
+                links.add(link);
+            }
+
+            // Then
+            assertTrue(store.segmentCount() > 1);
+            assertEquals(1000, store.size());
+        }
+
+        // When
+        try (EmbeddedShortUrlStore store = EmbeddedShortUrlStore.open(directory, 4096, 16, false)) {
+            // Then
+            for (ShortUrlDomainModel link : links) {
+                assertEquals(link.getOriginalUrl(), store.get(link.getUrlSlug()).orElseThrow().getOriginalUrl());
+            }
+        }
+    }
+
+    @Test
+    public void testCompactionDropsExpiredLinksAndKeepsLiveOnes() throws IOException {
+        // Given
+        List<ShortUrlDomainModel> live = new ArrayList<>();
+        List<ShortUrlDomainModel> expired = new ArrayList<>();
+        try (EmbeddedShortUrlStore store = EmbeddedShortUrlStore.open(directory, 4096, 16, false)) {
+            for (int i = 0; i < 300; i++) {
+                ShortUrlDomainModel link = i % 2 == 0 ? link(i) : ShortUrlDomainModel.restore(
+                        "https://example.com/" + i, "owner", null, OffsetDateTime.now().minusDays(2));
+                store.putIfAbsent(link);
+                (i % 2 == 0 ? live : expired).add(link);
+            }
+            int segmentsBefore = store.segmentCount();
+
+            // When
+            EmbeddedShortUrlStore.CompactionResult result = store.compact(Instant.now().minus(1, ChronoUnit.DAYS),
+                    0.3);
+
+            // Then
+            assertTrue(result.segmentsRewritten() > 0);
+            assertTrue(result.droppedLinks() > 0);
+            assertTrue(store.segmentCount() < segmentsBefore);
+        }
+
+        try (EmbeddedShortUrlStore store = EmbeddedShortUrlStore.open(directory, 4096, 16, false)) {
+            for (ShortUrlDomainModel link : live) {
+                assertEquals(link.getOriginalUrl(), store.get(link.getUrlSlug()).orElseThrow().getOriginalUrl());
+                assertTrue(store.getByOwnerAndOriginalUrl("owner", link.getOriginalUrl()).isPresent());
+            }
+            long remainingExpired = expired.stream().filter(link -> store.get(link.getUrlSlug()).isPresent()).count();
+            // Expired links survive only in the segment that was active during compaction.
+            assertTrue(remainingExpired < expired.size());
+        }
+    }
+
+    @Test
+    public void testReadersSeeEveryPublishedLinkWhileWriterAppendsAndCompacts() throws Exception {
+        // Given
+        int links = 5000;
+        AtomicReferenceArray<ShortUrlDomainModel> published = new AtomicReferenceArray<>(links);
+        AtomicInteger publishedCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try (EmbeddedShortUrlStore store = EmbeddedShortUrlStore.open(directory, 8192, 16, false)) {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(executor.submit(() -> {
+                    int misses = 0;
+                    while (publishedCount.get() < links) {
+                        int seen = publishedCount.get();
+                        if (seen > 0) {
+                            ShortUrlDomainModel link = published.get((int) (Math.random() * seen));
+                            if (store.get(link.getUrlSlug()).isEmpty()) {
+                                misses++;
+                            }
+                        }
+                    }
+                    return misses;
+                }));
+            }
+
+            // When
+            for (int i = 0; i < links; i++) {
+                ShortUrlDomainModel link = link(i);
+                store.putIfAbsent(link);
+                published.set(i, link);
+                publishedCount.incrementAndGet();
+                if (i % 1000 == 999) {
+                    store.compact(Instant.now(), 0.0);
+                }
+            }
+
+            // Then
+            for (Future<Integer> reader : readers) {
+                assertEquals(0, reader.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ShortUrlDomainModel link(int i) {
+        return new ShortUrlDomainModel("https://example.com/" + i, "owner", null, null);
+    }
+}
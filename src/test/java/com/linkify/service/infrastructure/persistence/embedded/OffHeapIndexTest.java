@@ -0,0 +1,78 @@
+package com.linkify.service.infrastructure.persistence.embedded;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapIndexTest {
+
+    @Test
+    public void testPutAndFindWithCollidingHashes() {
+        // Given
+        OffHeapIndex index = new OffHeapIndex(16);
+
+        // When
+        index.put(42L, 100L, existing -> existing == 100L);
+        index.put(42L, 200L, existing -> existing == 200L);
+
+        // Then
+        assertEquals(100L, index.find(42L, location -> location == 100L));
+        assertEquals(200L, index.find(42L, location -> location == 200L));
+        assertEquals(OffHeapIndex.NOT_FOUND, index.find(43L, location -> true));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testPutRepointsMatchingEntry() {
+        // Given
+        OffHeapIndex index = new OffHeapIndex(16);
+        index.put(42L, 100L, existing -> false);
+
+        // When
+        index.put(42L, 300L, existing -> existing == 100L);
+
+        // Then
+        assertEquals(300L, index.find(42L, location -> true));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testRemoveLeavesProbeSequenceIntact() {
+        // Given
+        OffHeapIndex index = new OffHeapIndex(16);
+        index.put(42L, 100L, existing -> false);
+        index.put(42L, 200L, existing -> false);
+
+        // When
+        boolean removed = index.remove(42L, 100L);
+
+        // Then
+        assertTrue(removed);
+        assertEquals(OffHeapIndex.NOT_FOUND, index.find(42L, location -> location == 100L));
+        assertEquals(200L, index.find(42L, location -> location == 200L));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testGrowKeepsLiveEntries() {
+        // Given
+        OffHeapIndex index = new OffHeapIndex(16);
+        for (long key = 1; key <= 11; key++) {
+            index.put(OffHeapIndex.hash("slug" + key), key, existing -> false);
+        }
+        index.remove(OffHeapIndex.hash("slug1"), 1L);
+
+        // When
+        assertTrue(index.needsGrowth());
+        OffHeapIndex grown = index.grow();
+
+        // Then
+        assertEquals(32, grown.capacity());
+        assertEquals(10, grown.size());
+        assertEquals(OffHeapIndex.NOT_FOUND, grown.find(OffHeapIndex.hash("slug1"), location -> true));
+        for (long key = 2; key <= 11; key++) {
+            long expected = key;
+            assertEquals(expected, grown.find(OffHeapIndex.hash("slug" + key), location -> location == expected));
+        }
+    }
+}
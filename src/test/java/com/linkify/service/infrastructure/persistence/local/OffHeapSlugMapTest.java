@@ -0,0 +1,137 @@
+package com.linkify.service.infrastructure.persistence.local;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapSlugMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        // Given
+        OffHeapSlugMap map = new OffHeapSlugMap(1 << 20, 128, 64 * 1024);
+        OffsetDateTime expiresAt = OffsetDateTime.now(ZoneOffset.UTC).plusDays(1).truncatedTo(ChronoUnit.MICROS);
+
+        // When
+        map.put(1L, ShortUrlDomainModel.restore("https://example.com/a", "owner", "a", expiresAt));
+        map.put(2L, ShortUrlDomainModel.restore("https://example.com/b", null, "b", null));
+
+        // Then
+        ShortUrlDomainModel first = map.get(1L, "a");
+        assertEquals("https://example.com/a", first.getOriginalUrl());
+        assertEquals("owner", first.getOwner());
+        assertEquals("a", first.getUrlSlug());
+        assertTrue(expiresAt.isEqual(first.getExpirationDate()));
+        ShortUrlDomainModel second = map.get(2L, "b");
+        assertNull(second.getOwner());
+        assertNull(second.getExpirationDate());
+        assertNull(map.get(3L, "c"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testPutReplacesEntryWithSameKey() {
+        // Given
+        OffHeapSlugMap map = new OffHeapSlugMap(1 << 20, 128, 64 * 1024);
+        map.put(1L, ShortUrlDomainModel.restore("https://example.com/old", "owner", "a", null));
+
+        // When
+        map.put(1L, ShortUrlDomainModel.restore("https://example.com/new", "owner", "a", null));
+
+        // Then
+        assertEquals("https://example.com/new", map.get(1L, "a").getOriginalUrl());
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testFullBucketKeepsRecentlyReadEntries() {
+        // Given
+        OffHeapSlugMap map = new OffHeapSlugMap(1, 128, 64 * 1024);
+        for (long key = 0; key < OffHeapSlugMap.WAYS; key++) {
+            map.put(key, ShortUrlDomainModel.restore("https://example.com/" + key, null, "s", null));
+        }
+        map.get(0L, "s");
+
+        // When
+        map.put(100L, ShortUrlDomainModel.restore("https://example.com/100", null, "s", null));
+
+        // Then
+        assertNotNull(map.get(0L, "s"));
+        assertNull(map.get(1L, "s"));
+        assertNotNull(map.get(100L, "s"));
+        assertEquals(OffHeapSlugMap.WAYS, map.size());
+    }
+
+    @Test
+    public void testStaysWithinBudgetWhenArenaWrapsAround() {
+        // Given
+        OffHeapSlugMap map = new OffHeapSlugMap(256 * 1024, 64, 16 * 1024);
+        long byteSize = map.byteSize();
+
+        // When
+        for (long key = 0; key < 100_000; key++) {
+            map.put(key, ShortUrlDomainModel.restore("https://example.com/" + key, "owner", "s", null));
+        }
+
+        // Then
+        assertEquals(byteSize, map.byteSize());
+        assertTrue(map.size() <= map.capacity());
+        assertEquals("https://example.com/99999", map.get(99_999L, "s").getOriginalUrl());
+        assertNull(map.get(0L, "s"));
+        int found = 0;
+        for (long key = 0; key < 100_000; key++) {
+            ShortUrlDomainModel shortUrlDomainModel = map.get(key, "s");
+            if (shortUrlDomainModel != null) {
+                assertEquals("https://example.com/" + key, shortUrlDomainModel.getOriginalUrl());
+                found++;
+            }
+        }
+        assertEquals(map.size(), found);
+    }
+
+    @Test
+    public void testConcurrentReadersNeverSeeAnotherKeysEntry() throws Exception {
+        // Given
+        OffHeapSlugMap map = new OffHeapSlugMap(64 * 1024, 64, 4 * 1024);
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> readers = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            readers.add(executor.submit(() -> {
+                while (running.get()) {
+                    for (long key = 0; key < 2_000; key++) {
+                        ShortUrlDomainModel shortUrlDomainModel = map.get(key, "s");
+                        if (shortUrlDomainModel != null) {
+                            assertEquals("https://example.com/" + key, shortUrlDomainModel.getOriginalUrl());
+                        }
+                    }
+                }
+            }));
+        }
+        for (int round = 0; round < 20; round++) {
+            for (long key = 0; key < 2_000; key++) {
+                map.put(key, ShortUrlDomainModel.restore("https://example.com/" + key, "owner", "s", null));
+            }
+        }
+        running.set(false);
+
+        // Then
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,82 @@
+package com.linkify.service.infrastructure.persistence.partitioning;
+
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.domain.port.ShortUrlCacheEviction;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ExpiringPartitionMaintenanceTest {
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ShortUrlCacheEviction shortUrlCacheEviction = mock(ShortUrlCacheEviction.class);
+
+    @Test
+    public void testPartitionNameRoundTrip() {
+        // Given
+        LocalDate week = LocalDate.of(2026, 10, 19);
+
+        // When
+        String partition = ExpiringPartitionMaintenance.partitionName(week);
+
+        // Then
+        assertEquals("short_url_expiring_w20261019", partition);
+        assertEquals(week, ExpiringPartitionMaintenance.weekOf(partition));
+        assertNull(ExpiringPartitionMaintenance.weekOf("short_url_p0"));
+    }
+
+    @Test
+    public void testWeekStartsOnMonday() {
+        assertEquals(LocalDate.of(2026, 10, 19), ExpiringPartitionMaintenance.weekStart(LocalDate.of(2026, 10, 25)));
+        assertEquals(LocalDate.of(2026, 10, 19), ExpiringPartitionMaintenance.weekStart(LocalDate.of(2026, 10, 19)));
+    }
+
+    @Test
+    public void testMaintainCreatesPartitionsUpToHorizonAndDropsExpiredOnes() {
+        // Given
+        ExpiringPartitionMaintenance maintenance = new ExpiringPartitionMaintenance(jdbcTemplate,
+                shortUrlCacheEviction, new ExpiryPartitioningProperties(true, Duration.ofDays(14), Duration.ofDays(1)));
+        LocalDate thisWeek = ExpiringPartitionMaintenance.weekStart(OffsetDateTime.now(ZoneOffset.UTC).toLocalDate());
+        String expired = ExpiringPartitionMaintenance.partitionName(thisWeek.minusWeeks(3));
+        String current = ExpiringPartitionMaintenance.partitionName(thisWeek);
+
+        when(jdbcTemplate.queryForList(startsWith("SELECT child.relname"), eq(String.class)))
+                .thenReturn(List.of(expired, current));
+        when(jdbcTemplate.queryForList(startsWith("SELECT slug FROM " + expired + " ORDER BY"), eq(Long.class)))
+                .thenReturn(List.of(1L, 2L));
+        when(jdbcTemplate.queryForList(startsWith("SELECT slug FROM " + expired + " WHERE"), eq(Long.class), eq(2L)))
+                .thenReturn(List.of());
+
+        // When
+        maintenance.maintain();
+
+        // Then
+        verify(jdbcTemplate, atLeast(3)).execute(startsWith("CREATE TABLE IF NOT EXISTS short_url_expiring_w"));
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS " + current + " PARTITION OF short_url_expiring " +
+                "FOR VALUES FROM ('" + thisWeek + "T00:00:00Z') TO ('" + thisWeek.plusWeeks(1) + "T00:00:00Z')");
+        verify(shortUrlCacheEviction).evict(List.of(SlugCodec.encode(1L), SlugCodec.encode(2L)));
+        verify(jdbcTemplate).execute("DROP TABLE " + expired);
+        verify(jdbcTemplate, never()).execute("DROP TABLE " + current);
+    }
+
+    @Test
+    public void testMaintainDoesNothingWhenDisabled() {
+        // Given
+        ExpiringPartitionMaintenance maintenance = new ExpiringPartitionMaintenance(jdbcTemplate,
+                shortUrlCacheEviction,
+                new ExpiryPartitioningProperties(false, Duration.ofDays(14), Duration.ofDays(1)));
+
+        // When
+        maintenance.maintain();
+
+        // Then
+        verifyNoInteractions(jdbcTemplate, shortUrlCacheEviction);
+    }
+}
@@ -0,0 +1,45 @@
+package com.linkify.service.infrastructure.persistence.partitioning;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShortUrlPartitionLayoutTest {
+
+    @Test
+    public void testCreateTableCreatesRequestedPartitionsWithIndexes() {
+        // When
+        List<String> statements = ShortUrlPartitionLayout.createTable(8);
+
+        // Then
+        assertEquals(1 + 8 * 5, statements.size());
+        assertTrue(statements.get(0).startsWith("CREATE TABLE short_url ("));
+        assertTrue(statements.get(0).contains("id SERIAL"));
+        assertTrue(statements.contains(
+                "CREATE TABLE short_url_p7 PARTITION OF short_url FOR VALUES WITH (MODULUS 8, REMAINDER 7)"));
+        assertTrue(statements.contains("CREATE INDEX idx_short_url_expires_at_p7 ON short_url_p7(expires_at)"));
+        assertTrue(statements.contains("CREATE INDEX IF NOT EXISTS idx_owner_original_url_hash_p7 " +
+                "ON short_url_p7(owner, original_url_hash)"));
+        assertTrue(statements.contains("CREATE INDEX IF NOT EXISTS idx_owner_slug_p7 ON short_url_p7(owner, slug)"));
+    }
+
+    @Test
+    public void testCreateShadowTableUsesSuffixedNamesAndSharedSequence() {
+        // When
+        List<String> statements = ShortUrlPartitionLayout.createShadowTable(2);
+
+        // Then
+        assertTrue(statements.get(0).startsWith("CREATE TABLE short_url_next ("));
+        assertTrue(statements.get(0).contains("nextval('short_url_id_seq')"));
+        assertTrue(statements.get(0).contains("CONSTRAINT unique_slug_next UNIQUE(slug)"));
+        assertTrue(statements.contains("CREATE INDEX IF NOT EXISTS idx_owner_original_url_hash_next_p1 " +
+                "ON short_url_next_p1(owner, original_url_hash)"));
+    }
+
+    @Test
+    public void testRejectsNonPositivePartitionCount() {
+        assertThrows(IllegalArgumentException.class, () -> ShortUrlPartitionLayout.createTable(0));
+    }
+}
@@ -0,0 +1,105 @@
+package com.linkify.service.infrastructure.persistence.partitioning;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repartitions against PostgreSQL, in a schema of its own. Needs {@code -PtestJdbcUrl=...}, e.g. the docker-compose
+ * database.
+ */
+@EnabledIfSystemProperty(named = "linkify.test.jdbc-url", matches = ".+")
+public class ShortUrlRepartitionerTest {
+    private static final String SCHEMA = "repartition_test";
+
+    private String url;
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ShortUrlRepartitioner shortUrlRepartitioner;
+
+    @BeforeEach
+    public void setUp() {
+        url = System.getProperty("linkify.test.jdbc-url");
+        Flyway flyway = Flyway.configure()
+                .dataSource(url, null, null)
+                .schemas(SCHEMA)
+                .placeholders(Map.of("short_url_partitions", "4"))
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+
+        dataSource = new SingleConnectionDataSource(url, true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("SET search_path TO " + SCHEMA);
+        shortUrlRepartitioner = new ShortUrlRepartitioner(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    public void testChangeCommittedAfterLaterOneWasReplayedIsNotLost() throws Exception {
+        // Given
+        RepartitionProperties properties = new RepartitionProperties(8, 100, 2, 0, false);
+        insert(1L, "https://example.com/copied");
+        List<String> sourcePartitions = shortUrlRepartitioner.prepare(properties);
+        assertEquals(1, shortUrlRepartitioner.copy(sourcePartitions, properties));
+
+        try (Connection first = connection(); Connection second = connection()) {
+            // The first writer records the lower change id but commits after the second one has been replayed.
+            first.setAutoCommit(false);
+            insert(first, 2L, "https://example.com/committed-last");
+            insert(second, 3L, "https://example.com/committed-first");
+
+            // When
+            shortUrlRepartitioner.catchUp(properties);
+            first.commit();
+            shortUrlRepartitioner.switchOver(properties);
+        }
+
+        // Then
+        assertEquals(8, jdbcTemplate.queryForObject("SELECT count(*) FROM pg_inherits " +
+                "WHERE inhparent = 'short_url'::regclass", Integer.class));
+        assertEquals(List.of(1L, 2L, 3L), jdbcTemplate.queryForList("SELECT slug FROM short_url ORDER BY slug",
+                Long.class));
+    }
+
+    private Connection connection() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET search_path TO " + SCHEMA);
+        }
+        return connection;
+    }
+
+    private void insert(long slug, String originalUrl) {
+        jdbcTemplate.update("INSERT INTO short_url (slug, owner, original_url) VALUES (?, 'owner', ?)", slug,
+                originalUrl);
+    }
+
+    private static void insert(Connection connection, long slug, String originalUrl) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO short_url (slug, owner, original_url) VALUES (" + slug + ", 'owner', '" +
+                    originalUrl + "')");
+        }
+    }
+}
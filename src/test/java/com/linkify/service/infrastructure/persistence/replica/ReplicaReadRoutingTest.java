@@ -0,0 +1,88 @@
+package com.linkify.service.infrastructure.persistence.replica;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicaReadRoutingTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void testReadIsMarkedForReplicaWhenEnabled() {
+        // Given
+        ReplicaReadRouting replicaReadRouting = new ReplicaReadRouting(properties(true), now::get);
+
+        // When
+        boolean replicaRead = replicaReadRouting.read("slug", ReplicaReadRouting::isReplicaRead);
+
+        // Then
+        assertTrue(replicaRead);
+        assertFalse(ReplicaReadRouting.isReplicaRead());
+    }
+
+    @Test
+    public void testReadStaysOnPrimaryWhenDisabled() {
+        // Given
+        ReplicaReadRouting replicaReadRouting = new ReplicaReadRouting(properties(false), now::get);
+
+        // When
+        boolean replicaRead = replicaReadRouting.read("slug", ReplicaReadRouting::isReplicaRead);
+
+        // Then
+        assertFalse(replicaRead);
+    }
+
+    @Test
+    public void testRecentlyWrittenKeyIsReadFromPrimaryUntilLagBoundPasses() {
+        // Given
+        ReplicaReadRouting replicaReadRouting = new ReplicaReadRouting(properties(true), now::get);
+        replicaReadRouting.written("slug");
+
+        // When
+        boolean withinBound = replicaReadRouting.read("slug", ReplicaReadRouting::isReplicaRead);
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        boolean afterBound = replicaReadRouting.read("slug", ReplicaReadRouting::isReplicaRead);
+
+        // Then
+        assertFalse(withinBound);
+        assertTrue(afterBound);
+    }
+
+    @Test
+    public void testOtherKeysAreNotAffectedByRecentWrite() {
+        // Given
+        ReplicaReadRouting replicaReadRouting = new ReplicaReadRouting(properties(true), now::get);
+        replicaReadRouting.written("slug");
+
+        // When
+        boolean replicaRead = replicaReadRouting.read("other", ReplicaReadRouting::isReplicaRead);
+
+        // Then
+        assertTrue(replicaRead);
+    }
+
+    @Test
+    public void testEvictExpiredWritesKeepsWritesWithinLagBound() {
+        // Given
+        ReplicaReadRouting replicaReadRouting = new ReplicaReadRouting(properties(true), now::get);
+        replicaReadRouting.written("old");
+        now.addAndGet(Duration.ofMillis(1500).toNanos());
+        replicaReadRouting.written("new");
+
+        // When
+        replicaReadRouting.evictExpiredWrites();
+
+        // Then
+        assertTrue(replicaReadRouting.read("old", ReplicaReadRouting::isReplicaRead));
+        assertFalse(replicaReadRouting.read("new", ReplicaReadRouting::isReplicaRead));
+    }
+
+    private ReplicaProperties properties(boolean enabled) {
+        return new ReplicaProperties(enabled, List.of(), Duration.ofSeconds(1), 10);
+    }
+}
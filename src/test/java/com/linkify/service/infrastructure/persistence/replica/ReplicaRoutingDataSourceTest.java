@@ -0,0 +1,100 @@
+package com.linkify.service.infrastructure.persistence.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource first = mock(DataSource.class);
+    private final DataSource second = mock(DataSource.class);
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private ReplicaReadRouting replicaReadRouting;
+
+    @BeforeEach
+    public void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", first);
+        replicas.put("replica-1", second);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas);
+        replicaReadRouting = new ReplicaReadRouting(
+                new ReplicaProperties(true, List.of(), Duration.ofSeconds(1), 10));
+    }
+
+    @Test
+    public void testUnmarkedWorkGoesToPrimary() {
+        // Given
+        routingDataSource.setHealthy("replica-0", true);
+
+        // When
+        Object key = routingDataSource.determineCurrentLookupKey();
+
+        // Then
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, key);
+    }
+
+    @Test
+    public void testReplicaReadsGoToPrimaryUntilLagHasBeenMeasured() {
+        // When
+        Object key = replicaReadRouting.read("slug", routingDataSource::determineCurrentLookupKey);
+
+        // Then
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, key);
+    }
+
+    @Test
+    public void testReplicaReadsAreSpreadOverHealthyReplicas() {
+        // Given
+        routingDataSource.setHealthy("replica-0", true);
+        routingDataSource.setHealthy("replica-1", true);
+
+        // When
+        Object firstKey = replicaReadRouting.read("slug", routingDataSource::determineCurrentLookupKey);
+        Object secondKey = replicaReadRouting.read("slug", routingDataSource::determineCurrentLookupKey);
+
+        // Then
+        assertNotEquals(firstKey, secondKey);
+        assertTrue(List.of("replica-0", "replica-1").containsAll(List.of(firstKey, secondKey)));
+    }
+
+    @Test
+    public void testLaggingReplicaIsSkipped() {
+        // Given
+        routingDataSource.setHealthy("replica-0", true);
+        routingDataSource.setHealthy("replica-1", true);
+        routingDataSource.setHealthy("replica-0", false);
+
+        // When & Then
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica-1", replicaReadRouting.read("slug", routingDataSource::determineCurrentLookupKey));
+        }
+        assertSame(second, routingDataSource.getReplica("replica-1"));
+    }
+
+    @Test
+    public void testCloseClosesPrimaryAndReplicaPools() throws Exception {
+        // Given
+        HikariDataSource primaryPool = mock(HikariDataSource.class);
+        HikariDataSource replicaPool = mock(HikariDataSource.class);
+        ReplicaRoutingDataSource pooled = new ReplicaRoutingDataSource(primaryPool, Map.of("replica-0", replicaPool));
+
+        // When
+        pooled.close();
+
+        // Then
+        verify(primaryPool).close();
+        verify(replicaPool).close();
+    }
+}
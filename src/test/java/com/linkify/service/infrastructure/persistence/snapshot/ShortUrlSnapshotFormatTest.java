@@ -0,0 +1,110 @@
+package com.linkify.service.infrastructure.persistence.snapshot;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShortUrlSnapshotFormatTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRoundTripsBlocksWrittenFromSeveralCalls() throws IOException {
+        // Given
+        Path file = directory.resolve("links.snapshot");
+        OffsetDateTime expirationDate = OffsetDateTime.of(2030, 1, 2, 3, 4, 5, 6_000, ZoneOffset.UTC);
+        List<ShortUrlDomainModel> first = List.of(link(1, null), link(-7, expirationDate));
+        List<ShortUrlDomainModel> second = List.of(link(Long.MAX_VALUE, null));
+
+        // When
+        try (ShortUrlSnapshotWriter writer = new ShortUrlSnapshotWriter(file)) {
+            writer.write(first);
+            writer.write(List.of());
+            writer.write(second);
+        }
+
+        // Then
+        assertEquals(3, ShortUrlSnapshotReader.verify(file));
+        try (ShortUrlSnapshotReader reader = new ShortUrlSnapshotReader(file)) {
+            assertSameLinks(first, reader.nextBlock());
+            assertSameLinks(second, reader.nextBlock());
+            assertNull(reader.nextBlock());
+        }
+    }
+
+    @Test
+    public void testVerifyRejectsCorruptedFile() throws IOException {
+        // Given
+        Path file = snapshot();
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 21] ^= 1;
+        Files.write(file, bytes);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> ShortUrlSnapshotReader.verify(file));
+    }
+
+    @Test
+    public void testVerifyRejectsTruncatedFile() throws IOException {
+        // Given
+        Path file = snapshot();
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 9));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> ShortUrlSnapshotReader.verify(file));
+        assertTrue(exception.getMessage().contains("truncated"));
+    }
+
+    @Test
+    public void testAbortPublishesNothing() throws IOException {
+        // Given
+        Path file = directory.resolve("links.snapshot");
+        ShortUrlSnapshotWriter writer = new ShortUrlSnapshotWriter(file);
+        writer.write(List.of(link(1, null)));
+
+        // When
+        writer.abort();
+
+        // Then
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private Path snapshot() throws IOException {
+        Path file = directory.resolve("links.snapshot");
+        try (ShortUrlSnapshotWriter writer = new ShortUrlSnapshotWriter(file)) {
+            writer.write(List.of(link(1, null), link(2, null), link(3, null)));
+        }
+        return file;
+    }
+
+    private static ShortUrlDomainModel link(long slug, OffsetDateTime expirationDate) {
+        return ShortUrlDomainModel.restore("https://example.com/" + slug + "?q=é", "owner" + slug % 10,
+                SlugCodec.encode(slug), expirationDate);
+    }
+
+    private static void assertSameLinks(List<ShortUrlDomainModel> expected, List<ShortUrlDomainModel> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getUrlSlug(), actual.get(i).getUrlSlug());
+            assertEquals(expected.get(i).getOwner(), actual.get(i).getOwner());
+            assertEquals(expected.get(i).getOriginalUrl(), actual.get(i).getOriginalUrl());
+            assertEquals(expected.get(i).getExpirationDate(), actual.get(i).getExpirationDate());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.linkify.service.infrastructure.persistence.snapshot;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.domain.model.SlugCodec;
+import com.linkify.service.infrastructure.persistence.target.UrlFingerprint;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShortUrlSnapshotRestorerTest {
+
+    @Test
+    public void testCsvQuotesTextHashesUrlsAndLeavesMissingExpiryEmpty() {
+        // Given
+        OffsetDateTime expirationDate = OffsetDateTime.of(2030, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC);
+        List<ShortUrlDomainModel> shortUrls = List.of(
+                ShortUrlDomainModel.restore("https://example.com/?q=\"a,b\"", "owner", SlugCodec.encode(42), null),
+                ShortUrlDomainModel.restore("https://example.com/", "owner", SlugCodec.encode(-1), expirationDate));
+
+        // When
+        String csv = new String(ShortUrlSnapshotRestorer.csv(shortUrls), StandardCharsets.UTF_8);
+
+        // Then
+        assertEquals("42,\"owner\",\"https://example.com/?q=\"\"a,b\"\"\"," +
+                urlHash("https://example.com/?q=\"a,b\"") + ",\n" +
+                "-1,\"owner\",\"https://example.com/\"," + urlHash("https://example.com/") +
+                ",2030-01-02T03:04:05Z\n", csv);
+    }
+
+    private static String urlHash(String originalUrl) {
+        return "\\x" + HexFormat.of().formatHex(UrlFingerprint.of(originalUrl).toBytes());
+    }
+}
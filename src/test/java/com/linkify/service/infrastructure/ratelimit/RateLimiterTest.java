@@ -0,0 +1,118 @@
+package com.linkify.service.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class RateLimiterTest {
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+
+    @Test
+    public void testDisabledLimiterAlwaysAllows() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(properties(false), redisTemplate);
+
+        // When & Then
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rateLimiter.tryAcquire(RateLimitScope.CREATE_OWNER, "owner").allowed());
+        }
+        rateLimiter.synchronize();
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    public void testOwnerBudgetIsRejectedWithRetryAfter() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(properties(true), redisTemplate);
+
+        // When
+        RateLimitDecision first = rateLimiter.tryAcquire(RateLimitScope.CREATE_OWNER, "owner");
+        RateLimitDecision second = rateLimiter.tryAcquire(RateLimitScope.CREATE_OWNER, "owner");
+        RateLimitDecision otherOwner = rateLimiter.tryAcquire(RateLimitScope.CREATE_OWNER, "other");
+
+        // Then
+        assertTrue(first.allowed());
+        assertFalse(second.allowed());
+        assertTrue(second.retryAfterSeconds() >= 1);
+        assertTrue(otherOwner.allowed());
+    }
+
+    @Test
+    public void testScopesWithoutBudgetAreNotLimited() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(properties(true), redisTemplate);
+
+        // When & Then
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rateLimiter.tryAcquire(RateLimitScope.RESOLVE_CLIENT, "127.0.0.1").allowed());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSynchronizeClosesBucketWhenClusterUsageIsOverBudget() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(properties(true), redisTemplate);
+        rateLimiter.tryAcquire(RateLimitScope.CREATE_CLIENT, "10.0.0.1");
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(100_000L, true));
+
+        // When
+        rateLimiter.synchronize();
+
+        // Then
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+        assertFalse(rateLimiter.tryAcquire(RateLimitScope.CREATE_CLIENT, "10.0.0.1").allowed());
+    }
+
+    @Test
+    public void testSynchronizeEvictsIdleBucketsWhenRedisSyncIsOff() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(properties(true, false, Duration.ZERO), redisTemplate);
+        assertTrue(rateLimiter.tryAcquire(RateLimitScope.CREATE_OWNER, "owner").allowed());
+        assertFalse(rateLimiter.tryAcquire(RateLimitScope.CREATE_OWNER, "owner").allowed());
+
+        // When
+        rateLimiter.synchronize();
+
+        // Then
+        assertTrue(rateLimiter.tryAcquire(RateLimitScope.CREATE_OWNER, "owner").allowed());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    public void testSynchronizeKeepsBucketsWithUnreportedPermitsWhenRedisSyncIsOn() {
+        // Given
+        RateLimiter rateLimiter = new RateLimiter(properties(true, true, Duration.ZERO), redisTemplate);
+        assertTrue(rateLimiter.tryAcquire(RateLimitScope.CREATE_OWNER, "owner").allowed());
+        assertFalse(rateLimiter.tryAcquire(RateLimitScope.CREATE_OWNER, "owner").allowed());
+
+        // When
+        rateLimiter.synchronize();
+
+        // Then
+        assertFalse(rateLimiter.tryAcquire(RateLimitScope.CREATE_OWNER, "owner").allowed());
+    }
+
+    private static RateLimitProperties properties(boolean enabled) {
+        return properties(enabled, true, Duration.ofMinutes(10));
+    }
+
+    private static RateLimitProperties properties(boolean enabled, boolean redisSync, Duration idleEviction) {
+        return new RateLimitProperties(
+                enabled,
+                new RateLimitProperties.Budget(0.001, 1),
+                new RateLimitProperties.Budget(1000, 1000),
+                null,
+                redisSync,
+                Duration.ofMinutes(1),
+                idleEviction
+        );
+    }
+}
@@ -0,0 +1,53 @@
+package com.linkify.service.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBurstIsAllowedThenRejectedUntilRefill() {
+        // Given
+        long now = 1_000 * SECOND;
+        TokenBucket tokenBucket = new TokenBucket(1, 2, now);
+
+        // When & Then
+        assertEquals(0, tokenBucket.tryAcquire(now));
+        assertEquals(0, tokenBucket.tryAcquire(now));
+        assertEquals(SECOND, tokenBucket.tryAcquire(now));
+        assertEquals(0, tokenBucket.tryAcquire(now + SECOND));
+    }
+
+    @Test
+    public void testBlockUntilRejectsUntilTheGivenTime() {
+        // Given
+        long now = 1_000 * SECOND;
+        TokenBucket tokenBucket = new TokenBucket(10, 5, now);
+
+        // When
+        tokenBucket.blockUntil(now + 30 * SECOND);
+
+        // Then
+        assertTrue(tokenBucket.tryAcquire(now + 29 * SECOND) > 0);
+        assertEquals(0, tokenBucket.tryAcquire(now + 30 * SECOND));
+    }
+
+    @Test
+    public void testGrantedPermitsAreReportedOnceForSynchronization() {
+        // Given
+        long now = 1_000 * SECOND;
+        TokenBucket tokenBucket = new TokenBucket(100, 10, now);
+
+        // When
+        tokenBucket.tryAcquire(now);
+        tokenBucket.tryAcquire(now);
+
+        // Then
+        assertEquals(2, tokenBucket.drainUnsynchronizedPermits());
+        assertEquals(0, tokenBucket.drainUnsynchronizedPermits());
+    }
+}
@@ -0,0 +1,105 @@
+package com.linkify.service.infrastructure.rest.url;
+
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShortUrlCachePolicyTest {
+    private static final Instant NOW = Instant.parse("2030-01-01T00:00:00Z");
+
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @Test
+    public void testResponseUsesDefaultMaxAgeForPermanentLink() {
+        // Given
+        ShortUrlCachePolicy policy = new ShortUrlCachePolicy(new HttpCacheProperties(Duration.ofHours(1), null), clock);
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("http://example.com", "owner", "slug", null);
+
+        // When
+        ResponseEntity<ShortUrlResponse> response = policy.toResponse(shortUrlDomainModel, null);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("max-age=3600, public", response.getHeaders().getCacheControl());
+        assertNotNull(response.getHeaders().getETag());
+        assertEquals("http://example.com", response.getBody().redirectionUrl());
+    }
+
+    @Test
+    public void testMaxAgeIsBoundedByExpirationDate() {
+        // Given
+        ShortUrlCachePolicy policy = new ShortUrlCachePolicy(new HttpCacheProperties(Duration.ofHours(1), null), clock);
+        OffsetDateTime expirationDate = OffsetDateTime.ofInstant(NOW.plusSeconds(120), ZoneOffset.UTC);
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("http://example.com", "owner", "slug",
+                expirationDate);
+
+        // When
+        ResponseEntity<ShortUrlResponse> response = policy.toResponse(shortUrlDomainModel, null);
+
+        // Then
+        assertEquals("max-age=120, public", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    public void testOwnerPolicyOverridesDefaults() {
+        // Given
+        HttpCacheProperties properties = new HttpCacheProperties(Duration.ofHours(1), Map.of(
+                "private", new HttpCacheProperties.OwnerPolicy(null, true),
+                "short", new HttpCacheProperties.OwnerPolicy(Duration.ofSeconds(30), false)
+        ));
+        ShortUrlCachePolicy policy = new ShortUrlCachePolicy(properties, clock);
+
+        // When
+        String privateCacheControl = policy.toResponse(
+                new ShortUrlDomainModel("http://example.com", "private", "slug", null), null
+        ).getHeaders().getCacheControl();
+        String shortCacheControl = policy.toResponse(
+                new ShortUrlDomainModel("http://example.com", "short", "slug", null), null
+        ).getHeaders().getCacheControl();
+
+        // Then
+        assertEquals("no-store", privateCacheControl);
+        assertEquals("max-age=30, public", shortCacheControl);
+    }
+
+    @Test
+    public void testMatchingIfNoneMatchReturnsNotModified() {
+        // Given
+        ShortUrlCachePolicy policy = new ShortUrlCachePolicy(new HttpCacheProperties(Duration.ofHours(1), null), clock);
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("http://example.com", "owner", "slug", null);
+        String etag = policy.etag(shortUrlDomainModel);
+
+        // When
+        ResponseEntity<ShortUrlResponse> response = policy.toResponse(shortUrlDomainModel, "\"other\", W/" + etag);
+
+        // Then
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(etag, response.getHeaders().getFirst(HttpHeaders.ETAG));
+        assertNull(response.getBody());
+    }
+
+    @Test
+    public void testEtagChangesWithOriginalUrl() {
+        // Given
+        ShortUrlCachePolicy policy = new ShortUrlCachePolicy(new HttpCacheProperties(Duration.ofHours(1), null), clock);
+
+        // When
+        String first = policy.etag(new ShortUrlDomainModel("http://example.com/a", "owner", "slug", null));
+        String second = policy.etag(new ShortUrlDomainModel("http://example.com/b", "owner", "slug", null));
+
+        // Then
+        assertNotEquals(first, second);
+        assertTrue(first.startsWith("\"") && first.endsWith("\""));
+    }
+}
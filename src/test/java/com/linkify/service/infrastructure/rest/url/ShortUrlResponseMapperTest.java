@@ -0,0 +1,40 @@
+package com.linkify.service.infrastructure.rest.url;
+
+import com.linkify.service.application.usecase.UseCaseResult;
+import com.linkify.service.domain.model.ShortUrlDomainModel;
+import com.linkify.service.infrastructure.rest.handler.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShortUrlResponseMapperTest {
+    private final ShortUrlResponseMapper mapper = new ShortUrlResponseMapper(
+            new ShortUrlCachePolicy(new HttpCacheProperties(Duration.ofHours(1), null)));
+
+    @Test
+    public void testCreatedLinkIsReturnedWithCreatedStatus() {
+        // Given
+        ShortUrlDomainModel shortUrlDomainModel = new ShortUrlDomainModel("http://example.com", "owner", "slug", null);
+
+        // When
+        ResponseEntity<?> response = mapper.created(UseCaseResult.found(shortUrlDomainModel));
+
+        // Then
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(new ShortUrlResponse("slug", "http://example.com"), response.getBody());
+    }
+
+    @Test
+    public void testUnavailableStoreOnCreateIsServiceUnavailable() {
+        // When
+        ResponseEntity<?> response = mapper.created(UseCaseResult.unavailable("Failed to create short URL"));
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals(new ErrorResponse(503, "Failed to create short URL"), response.getBody());
+    }
+}